@@ -1,16 +1,31 @@
 package project.toDoListApp.controller;
 
-import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
 import java.time.DateTimeException;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 import javafx.application.Platform;
 import javafx.beans.binding.BooleanBinding;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.concurrent.Worker;
 import javafx.event.Event;
 import javafx.geometry.Insets;
 import javafx.scene.control.Alert;
@@ -21,6 +36,7 @@ import javafx.scene.control.DatePicker;
 import javafx.scene.control.Dialog;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
+import javafx.scene.control.TextInputDialog;
 import javafx.scene.control.Tooltip;
 import javafx.scene.layout.GridPane;
 import javafx.scene.paint.Color;
@@ -29,8 +45,20 @@ import javafx.scene.web.WebView;
 import javafx.stage.Stage;
 import javafx.util.StringConverter;
 import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskPriority;
 import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.utility.AutoSaveScheduler;
+import project.toDoListApp.utility.BackgroundSaver;
 import project.toDoListApp.utility.FileUtility;
+import project.toDoListApp.utility.ReminderScheduler;
+import project.toDoListApp.utility.SearchIndex;
+import project.toDoListApp.utility.SearchQuery;
+import project.toDoListApp.utility.TaskColumns;
+import project.toDoListApp.utility.TaskCommands;
+import project.toDoListApp.utility.TaskCompletions;
+import project.toDoListApp.utility.TaskStatistics;
+import project.toDoListApp.utility.UndoHistory;
+import project.toDoListApp.view.AutoCompletion;
 import project.toDoListApp.view.ImageLoader;
 import project.toDoListApp.view.ToDoListAppGUI;
 
@@ -40,57 +68,194 @@ import project.toDoListApp.view.ToDoListAppGUI;
  */
 public class Controller {
   private static final String DATE_FORMAT = "dd/MM/yyyy";
+
+  /**
+   * The register is saved automatically after this many milliseconds without changes.
+   */
+  private static final long AUTOSAVE_QUIET_PERIOD = 5000;
+
+  /**
+   * The register is saved automatically as soon as this many changes are unsaved.
+   */
+  private static final int AUTOSAVE_CHANGE_THRESHOLD = 50;
+
+  /**
+   * The time of the due date the tasks are reminded at.
+   */
+  private static final LocalTime REMINDER_TIME = LocalTime.of(9, 0);
+
+  /**
+   * How often the due reminders are checked for, in milliseconds.
+   */
+  private static final long REMINDER_TICK = 30_000;
+
+  /**
+   * The highest number of completions shown below a text field.
+   */
+  private static final int MAX_COMPLETIONS = 8;
+
+  /**
+   * The highest number of changes that can be undone.
+   */
+  private static final int UNDO_LIMIT = 200;
+
   private final TaskRegister taskRegister;
-  private final ObservableList<Task> taskListWrapper;
+  private final FilteredSortedTaskList taskListWrapper;
+  private final TaskViewModels taskViewModels;
+  private final SearchIndex searchIndex;
+  private final TaskCompletions taskCompletions;
+  private final ReminderScheduler reminderScheduler;
+  private final TaskStatistics taskStatistics;
+  private final TaskColumns taskColumns;
   private final FileUtility fileUtility;
+  private final BackgroundSaver backgroundSaver;
+  private final AutoSaveScheduler autoSaveScheduler;
+  private final ReadOnlyStringWrapper saveStatus;
+  private final ReadOnlyBooleanWrapper saving;
+  private final UndoHistory undoHistory;
+  private final ReadOnlyStringWrapper undoName;
+  private final ReadOnlyStringWrapper redoName;
 
   private boolean hideCompleteMode;
+  private SearchQuery searchQuery;
   private Task currentTask;
 
+  /**
+   * The text of the editor once the description of the current task was loaded in it.
+   * The editor normalizes the HTML it is given, so a description shown and left as it was
+   * can still differ from the description of the task.
+   */
+  private String loadedDescription;
+  private int savesInProgress;
+  private Consumer<Task> onTaskDue;
+
   /**
    * Instantiates the controller.
    */
   public Controller() {
     this.fileUtility = new FileUtility();
     this.taskRegister = this.fileUtility.getRegister();
+    this.backgroundSaver = new BackgroundSaver(this.fileUtility);
+    this.autoSaveScheduler = new AutoSaveScheduler(() -> this.saveTaskRegisterToFile(false),
+        Platform::runLater, AUTOSAVE_QUIET_PERIOD, AUTOSAVE_CHANGE_THRESHOLD);
+    this.taskRegister.addListener(this.autoSaveScheduler);
+    this.saveStatus = new ReadOnlyStringWrapper("");
+    this.saving = new ReadOnlyBooleanWrapper(false);
+    this.undoHistory = new UndoHistory(UNDO_LIMIT);
+    this.undoName = new ReadOnlyStringWrapper("");
+    this.redoName = new ReadOnlyStringWrapper("");
+    this.undoHistory.setOnChanged(() -> {
+      this.undoName.set(Objects.requireNonNullElse(this.undoHistory.getUndoName(), ""));
+      this.redoName.set(Objects.requireNonNullElse(this.undoHistory.getRedoName(), ""));
+    });
 
-    this.taskListWrapper = FXCollections.observableArrayList(this.taskRegister.getAllTasks());
+    this.taskViewModels = new TaskViewModels();
+    this.taskRegister.addListener(this.taskViewModels);
+    // The index must follow a change before the shown tasks are filtered again
+    this.searchIndex = new SearchIndex(this.taskRegister);
+    this.taskRegister.addListener(this.searchIndex);
+    this.taskRegister.setTextIndex(this.searchIndex);
+    this.searchQuery = SearchQuery.parse(null);
+    this.taskCompletions = new TaskCompletions(this.taskRegister);
+    this.taskRegister.addListener(this.taskCompletions);
+    this.reminderScheduler = new ReminderScheduler(this.taskRegister, this::taskDue,
+        Platform::runLater, Clock.systemDefaultZone(), REMINDER_TIME, REMINDER_TICK);
+    this.taskRegister.addListener(this.reminderScheduler);
+    this.taskStatistics = new TaskStatistics(this.taskRegister, Clock.systemDefaultZone());
+    this.taskRegister.addListener(this.taskStatistics);
+    this.taskColumns = new TaskColumns(this.taskRegister);
+    this.taskRegister.addListener(this.taskColumns);
+    this.taskListWrapper = new FilteredSortedTaskList(this.taskRegister, this::isTaskVisible);
+    this.taskRegister.addListener(this.taskListWrapper);
 
     this.hideCompleteMode = false;
     this.currentTask = null;
+    this.loadedDescription = null;
+    this.savesInProgress = 0;
+    this.onTaskDue = null;
     //this.fillRegisterWithTestTasks();
   }
 
   /**
    * Displays a given Task to the given parameters.
+   * A task whose description could not be loaded is not displayed, so the description
+   * it has on disk is never replaced by the empty editor.
    *
    * @param task          The task to display, can not be null
    * @param taskTitle     The TextField to set the title to, can not be null
    * @param editor        The TextArea to set the task text content to, can not be null
    * @param dueDateButton The dueDateButton to enable after a Task is displayed, can not be null
    * @param dueDateLabel  The Label to set the end date text to, can not be null
+   * @return True if the task is displayed, false otherwise
    */
-  public void displayTask(Task task, TextField taskTitle,
-                          HTMLEditor editor, Button dueDateButton, Label dueDateLabel) {
+  public boolean displayTask(Task task, TextField taskTitle,
+                             HTMLEditor editor, Button dueDateButton, Label dueDateLabel) {
     if (task != null
         && taskTitle != null
         && editor != null
         && dueDateButton != null
         && dueDateLabel != null) {
-      // Save the current task to the register and update the task list
+      // Save the current task to the register, the task list follows the changes
       this.saveTaskToRegister(taskTitle, editor);
-      this.updateObservableList();
 
+      String description;
+      try {
+        description = task.getDescription();
+      } catch (UncheckedIOException e) {
+        this.showDescriptionNotLoadedDialog(task);
+        return false;
+      }
       this.currentTask = task;
-      editor.setHtmlText(task.getDescription());
+      this.loadDescription(task, description, editor);
       taskTitle.setText(task.getTaskName());
       dueDateButton.setText("Set due date");
       dueDateLabel.setText("Due date: " + this.getLocalDateAsString(task.getDueDate()));
+      return true;
     }
+    return false;
+  }
+
+  /**
+   * Loads the description of the given task in the given editor and keeps the text of the editor
+   * once it is loaded. The editor loads the description in the background, its text is the
+   * given description until the load has finished and the normalized description after.
+   *
+   * @param task        The task to show the description of
+   * @param description The description of the task
+   * @param editor      The editor to show the description in
+   */
+  private void loadDescription(Task task, String description, HTMLEditor editor) {
+    WebView webView = (WebView) editor.lookup(".web-view");
+    if (webView != null) {
+      ReadOnlyObjectProperty<Worker.State> loadState =
+          webView.getEngine().getLoadWorker().stateProperty();
+      loadState.addListener(new ChangeListener<>() {
+        @Override
+        public void changed(ObservableValue<? extends Worker.State> observable,
+                            Worker.State oldState, Worker.State newState) {
+          if (newState == Worker.State.SUCCEEDED
+              || newState == Worker.State.FAILED || newState == Worker.State.CANCELLED) {
+            loadState.removeListener(this);
+            // The editor drops the given description once it has seen the load finish
+            Platform.runLater(() -> {
+              if (Controller.this.currentTask == task) {
+                Controller.this.loadedDescription = editor.getHtmlText();
+              }
+            });
+          }
+        }
+      });
+    }
+    editor.setHtmlText(description);
+    this.loadedDescription = editor.getHtmlText();
   }
 
   /**
    * Saves the current task to the register after updating it's title and text content.
+   * The description is only changed if the text of the editor differs from the text it had
+   * once the description was loaded. The description is left as it was otherwise, even if the
+   * editor normalized it, so every change made to a description is a change in the history,
+   * and the normalization is recorded along with the next edit of the description.
    *
    * @param editor    The TextArea to save the text from,
    *                  can not be null
@@ -99,11 +264,15 @@ public class Controller {
    */
   public void saveTaskToRegister(TextField taskTitle, HTMLEditor editor) {
     if (this.currentTask != null && taskTitle != null && editor != null) {
-      if (taskTitle.getText().isBlank()) {
-      } else {
-        this.currentTask.setTaskName(taskTitle.getText());
+      // A blank title keeps the title the task had
+      String title = taskTitle.getText().isBlank()
+          ? this.currentTask.getTaskName() : taskTitle.getText();
+      String description = editor.getHtmlText();
+      if (description.equals(this.loadedDescription)) {
+        // Only normalized by the editor, the description the task has is kept
+        description = this.currentTask.getDescription();
       }
-      this.currentTask.setDescription(editor.getHtmlText());
+      this.undoHistory.perform(TaskCommands.editTask(this.currentTask, title, description));
 
       this.taskRegister.addTask(this.currentTask);
 
@@ -116,17 +285,60 @@ public class Controller {
    */
   private void clearSelectedTask() {
     this.currentTask = null;
+    this.loadedDescription = null;
   }
 
   /**
-   * Updates the observable list of tasks with fresh values from the task register.
+   * Returns true if the given task is shown in the current display mode
+   * and matches the current search.
+   *
+   * @param task The task to check
+   * @return True if the task is shown, false otherwise
    */
-  private void updateObservableList() {
-    if (this.hideCompleteMode) {
-      this.taskListWrapper.setAll(this.taskRegister.getAllUncompletedTasks());
-    } else {
-      this.taskListWrapper.setAll(this.taskRegister.getAllTasks());
+  private boolean isTaskVisible(Task task) {
+    return (!this.hideCompleteMode || !task.getStatus())
+        && this.searchIndex.matches(task, this.searchQuery);
+  }
+
+  /**
+   * Shows only the tasks matching the given search, all the tasks if it holds no words.
+   * The words are searched for in the titles, categories and descriptions of the tasks.
+   *
+   * @param text The search text, can be null
+   */
+  public void doSearch(String text) {
+    SearchQuery query = SearchQuery.parse(text);
+    if (!query.isEmpty() || !this.searchQuery.isEmpty()) {
+      Collection<Task> changedTasks;
+      if (query.isEmpty() || this.searchQuery.isEmpty()) {
+        changedTasks = this.taskRegister.getAllTasks();
+      } else {
+        // Only the tasks shown now and the tasks matching the new search can change
+        changedTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+        changedTasks.addAll(this.taskListWrapper);
+        changedTasks.addAll(this.searchIndex.getMatchingTasks(query));
+      }
+      this.searchQuery = query;
+      this.taskListWrapper.refilter(changedTasks);
+    }
+  }
+
+  /**
+   * Returns the completions of the given search text, the matching categories first
+   * and then the matching task titles.
+   *
+   * @param text The search text to complete, can not be null
+   * @return A List of the completions, the ones of the most tasks first
+   */
+  public List<String> getSearchCompletions(String text) {
+    List<String> completions =
+        new ArrayList<>(this.taskCompletions.completeCategory(text, MAX_COMPLETIONS));
+    for (String title : this.taskCompletions.completeTitle(text, MAX_COMPLETIONS)) {
+      if (completions.size() < MAX_COMPLETIONS && !completions.contains(title)) {
+        completions.add(title);
+      }
     }
+    return completions;
   }
 
   /**
@@ -143,19 +355,27 @@ public class Controller {
         "None")
         .withStatus(true)
         .build());
-
-    this.updateObservableList();
   }
 
   /**
-   * Returns an ObservableList that holds the tasks.
+   * Returns an ObservableList that holds the tasks shown in the current display mode,
+   * in the order of its comparator.
    *
-   * @return an ObservableList that holds the tasks
+   * @return an ObservableList that holds the tasks shown in the current display mode
    */
-  public ObservableList<Task> getTaskListWrapper() {
+  public FilteredSortedTaskList getTaskListWrapper() {
     return this.taskListWrapper;
   }
 
+  /**
+   * Returns the view models of the tasks, holding the properties the table cells bind to.
+   *
+   * @return the view models of the tasks
+   */
+  public TaskViewModels getTaskViewModels() {
+    return this.taskViewModels;
+  }
+
   /**
    * Returns a String representation of the given LocalDate, or 'No date set' if null.
    *
@@ -205,12 +425,33 @@ public class Controller {
     } else {
       LocalDate newEndDate = this.doGetEndDateDialog();
       if (newEndDate != null && dateLabel != null) {
-        this.currentTask.setDueDate(newEndDate);
+        this.undoHistory.perform(TaskCommands.setDueDate(this.currentTask, newEndDate));
         dateLabel.setText("Due date: " + this.getLocalDateAsString(newEndDate));
       }
     }
   }
 
+  /**
+   * Sets the action that shows a reminder of a task when it is due.
+   * Changing the due date of a task or deleting it moves or drops its reminder.
+   *
+   * @param onTaskDue The action given the due task, null to show no reminders
+   */
+  public void setOnTaskDue(Consumer<Task> onTaskDue) {
+    this.onTaskDue = onTaskDue;
+  }
+
+  /**
+   * Called on the application thread when a task is due, shows its reminder.
+   *
+   * @param task The due task
+   */
+  private void taskDue(Task task) {
+    if (this.onTaskDue != null) {
+      this.onTaskDue.accept(task);
+    }
+  }
+
   /**
    * Deletes a reminder form the list.
    *
@@ -222,16 +463,141 @@ public class Controller {
       this.showPleaseSelectItemDialog();
     } else {
       if (this.showDeleteConfirmationDialog()) {
-        this.taskRegister.removeTask(this.currentTask);
+        this.undoHistory.perform(
+            TaskCommands.removeTasks(this.taskRegister, List.of(this.currentTask)));
         this.clearSelectedTask();
         success = true;
-
-        this.updateObservableList();
       }
     }
     return success;
   }
 
+  /**
+   * Deletes the given tasks from the list at once, after a single confirmation.
+   *
+   * @param tasks The tasks to delete, can not be null
+   * @return Returns true if the current task was among the deleted tasks, false otherwise
+   */
+  public boolean doDeleteTasks(List<Task> tasks) {
+    boolean currentTaskDeleted = false;
+    if (tasks == null || tasks.isEmpty()) {
+      this.showPleaseSelectItemDialog();
+    } else if (this.showDeleteConfirmationDialog(tasks.size())) {
+      this.undoHistory.perform(TaskCommands.removeTasks(this.taskRegister, tasks));
+      if (tasks.contains(this.currentTask)) {
+        this.clearSelectedTask();
+        currentTaskDeleted = true;
+      }
+    }
+    return currentTaskDeleted;
+  }
+
+  /**
+   * Sets the status of the given tasks at once.
+   *
+   * @param tasks          The tasks to change, can not be null
+   * @param status         The status to set, true if the tasks are complete, false otherwise
+   * @param toDoListAppGUI The GUI showing the tasks, can not be null
+   */
+  public void doSetStatus(List<Task> tasks, boolean status, ToDoListAppGUI toDoListAppGUI) {
+    if (tasks != null && toDoListAppGUI != null) {
+      this.undoHistory.perform(TaskCommands.setStatus(this.taskRegister, tasks, status));
+      if (tasks.contains(this.currentTask)) {
+        this.checkTaskVisibility(this.currentTask, toDoListAppGUI);
+      }
+    }
+  }
+
+  /**
+   * Sets the priority of the given tasks at once.
+   *
+   * @param tasks    The tasks to change, can not be null
+   * @param priority The priority to set, can not be null
+   */
+  public void doSetPriority(List<Task> tasks, TaskPriority priority) {
+    if (tasks != null && priority != null) {
+      this.undoHistory.perform(TaskCommands.setPriority(this.taskRegister, tasks, priority));
+    }
+  }
+
+  /**
+   * Asks for a category and sets it as the category of the given tasks at once.
+   *
+   * @param tasks The tasks to change, can not be null
+   */
+  public void doSetCategory(List<Task> tasks) {
+    if (tasks == null || tasks.isEmpty()) {
+      this.showPleaseSelectItemDialog();
+    } else {
+      TextInputDialog dialog = new TextInputDialog(tasks.get(0).getCategory());
+      this.addIconToDialog(dialog);
+      dialog.setTitle("Set category");
+      dialog.setHeaderText("Set the category of " + tasks.size()
+          + (tasks.size() == 1 ? " task" : " tasks"));
+      dialog.setContentText("Category:");
+      AutoCompletion.install(dialog.getEditor(),
+          text -> this.taskCompletions.completeCategory(text, MAX_COMPLETIONS));
+
+      Optional<String> category = dialog.showAndWait();
+      if (category.isPresent() && !category.get().isBlank()) {
+        this.undoHistory.perform(
+            TaskCommands.setCategory(this.taskRegister, tasks, category.get().trim()));
+      }
+    }
+  }
+
+  /**
+   * Records a status the user changed in the table, so it can be undone,
+   * and checks if the task is still shown.
+   *
+   * @param task           The task whose status was changed, can not be null
+   * @param toDoListAppGUI The GUI showing the tasks, can not be null
+   */
+  public void doRecordStatusEdit(Task task, ToDoListAppGUI toDoListAppGUI) {
+    if (task != null && toDoListAppGUI != null) {
+      this.undoHistory.record(TaskCommands.statusChanged(this.taskRegister, task));
+      this.checkTaskVisibility(task, toDoListAppGUI);
+    }
+  }
+
+  /**
+   * Undoes the most recent change, after saving the current task so its pending edit
+   * is the change undone.
+   *
+   * @param taskTitle The TextField holding the title of the current task, can not be null
+   * @param editor    The editor holding the description of the current task, can not be null
+   * @return The task that was displayed if it is still in the register, to display it again,
+   *         null otherwise
+   */
+  public Task doUndo(TextField taskTitle, HTMLEditor editor) {
+    Task shownTask = this.currentTask;
+    this.saveTaskToRegister(taskTitle, editor);
+    this.undoHistory.undo();
+    return this.stillInRegister(shownTask);
+  }
+
+  /**
+   * Redoes the most recently undone change, after saving the current task.
+   *
+   * @param taskTitle The TextField holding the title of the current task, can not be null
+   * @param editor    The editor holding the description of the current task, can not be null
+   * @return The task that was displayed if it is still in the register, to display it again,
+   *         null otherwise
+   */
+  public Task doRedo(TextField taskTitle, HTMLEditor editor) {
+    Task shownTask = this.currentTask;
+    this.saveTaskToRegister(taskTitle, editor);
+    this.undoHistory.redo();
+    return this.stillInRegister(shownTask);
+  }
+
+  /**
+   * Returns the given task if it is in the register, null otherwise.
+   */
+  private Task stillInRegister(Task task) {
+    return (task != null && this.taskRegister.getTask(task.getId()) == task) ? task : null;
+  }
+
   /**
    * Checks if the given Task should be shown in the Task table mode or not.
    *
@@ -239,9 +605,7 @@ public class Controller {
    */
   public void checkTaskVisibility(Task task, ToDoListAppGUI toDoListAppGUI) {
     if (this.getHideCompleteMode()) {
-      this.updateObservableList();
-
-      // Disable the editor (center pane) and save the selected Task
+      // The task list already follows the status change, disable the editor (center pane) and save the selected Task
       // only if the currently displayed Task is marked as complete
       if (task == this.getCurrentlySelectedTask()) {
         this.saveTaskToRegister(toDoListAppGUI.getTaskTitleTextField(),
@@ -249,13 +613,7 @@ public class Controller {
 
         toDoListAppGUI.disableCenterPane();
       }
-
-      // Clear the table if the Task just marked as complete was the last one
-      if (this.getTaskListWrapper().isEmpty()) {
-        toDoListAppGUI.getTaskTableView().getItems().clear();
-      }
     }
-    toDoListAppGUI.refreshTable();
   }
 
   /**
@@ -275,7 +633,8 @@ public class Controller {
    */
   public void doToggleDisplayMode(boolean mode, ToDoListAppGUI toDoListAppGUI) {
     this.doChangeDisplayMode(mode);
-    this.updateObservableList();
+    // Only the completed tasks are shown in one mode and hidden in the other
+    this.taskListWrapper.refilter(this.taskRegister.getAllCompletedTasks());
 
     if (this.getCurrentlySelectedTask() != null) {
       if (this.getHideCompleteMode() && this.getCurrentlySelectedTask().getStatus()) {
@@ -287,21 +646,41 @@ public class Controller {
         toDoListAppGUI.disableCenterPane();
       }
     }
-    toDoListAppGUI.refreshTable();
   }
 
   /**
-   * Saves the task register to a file.
+   * Saves the task register to a file in the background.
+   * The changes are captured immediately, the file is written without blocking the GUI
+   * and the save status is updated once the write is done.
    *
    * @param showFeedbackMode True to show a feedback dialog, false otherwise
    */
   public void saveTaskRegisterToFile(boolean showFeedbackMode) {
-    try {
-      this.fileUtility.saveToFile("tasks/savedTasks.txt", this.taskRegister);
+    this.autoSaveScheduler.markSaved();
+    this.savesInProgress++;
+    this.saving.set(true);
+    this.saveStatus.set("Saving . . .");
+
+    this.backgroundSaver.save(this.taskRegister).whenComplete((ignored, error) ->
+        Platform.runLater(() -> this.onSaveCompleted(error == null, showFeedbackMode)));
+  }
+
+  /**
+   * Updates the save status after a background save is done, runs on the FX thread.
+   *
+   * @param success          True if the save was written, false otherwise
+   * @param showFeedbackMode True to show a feedback dialog, false otherwise
+   */
+  private void onSaveCompleted(boolean success, boolean showFeedbackMode) {
+    this.savesInProgress--;
+    this.saving.set(this.savesInProgress > 0);
+    if (success) {
+      this.saveStatus.set("All changes saved");
       if (showFeedbackMode) {
         this.doShowSaveSuccessfulDialog();
       }
-    } catch (IOException e) {
+    } else {
+      this.saveStatus.set("Changes not saved");
       if (showFeedbackMode) {
         this.doShowSaveUnsuccessfulDialog();
       }
@@ -339,7 +718,21 @@ public class Controller {
     alert.setTitle("Information");
     alert.setHeaderText("Successfully saved");
     alert.setContentText("The tasks were successfully saved to disk");
-    alert.showAndWait();
+    alert.show();
+  }
+
+  /**
+   * Displays a warning dialog that notifies the user that the description of the given task
+   * could not be loaded from disk.
+   */
+  private void showDescriptionNotLoadedDialog(Task task) {
+    Alert alert = new Alert(Alert.AlertType.WARNING);
+    this.addIconToDialog(alert);
+    alert.setTitle("Warning");
+    alert.setHeaderText("Description not loaded");
+    alert.setContentText("The description of \"" + task.getTaskName() + "\" could not be read"
+        + " from disk, the task can not be opened");
+    alert.show();
   }
 
   /**
@@ -351,7 +744,7 @@ public class Controller {
     alert.setTitle("Warning");
     alert.setHeaderText("Not saved");
     alert.setContentText("The tasks were not saved to disk");
-    alert.showAndWait();
+    alert.show();
   }
 
   /**
@@ -371,6 +764,14 @@ public class Controller {
       if (result.get() == ButtonType.OK) {
         this.saveTaskToRegister(taskTitle, editor);
         this.saveTaskRegisterToFile(false);
+        this.autoSaveScheduler.shutdown();
+        this.reminderScheduler.shutdown();
+        try {
+          // Only wait for the writes already handed to the background saver
+          this.backgroundSaver.shutdown();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
         Platform.exit();
       } else {
         event.consume();
@@ -402,6 +803,9 @@ public class Controller {
 
     TextField category = new TextField();
     category.setPromptText("Category");
+    // Suggest the categories in use, so a category is not added twice under another name
+    AutoCompletion.install(category,
+        text -> this.taskCompletions.completeCategory(text, MAX_COMPLETIONS));
 
     DatePicker datePicker = this.getDatePicker(true);
 
@@ -442,8 +846,7 @@ public class Controller {
 
     if (result.isPresent()) {
       Task newTask = result.get();
-      this.taskRegister.addTask(newTask);
-      this.updateObservableList();
+      this.undoHistory.perform(TaskCommands.addTasks(this.taskRegister, List.of(newTask)));
     }
   }
 
@@ -469,13 +872,25 @@ public class Controller {
    * @return <code>true</code> if the user confirms the delete
    */
   public boolean showDeleteConfirmationDialog() {
+    return this.showDeleteConfirmationDialog(1);
+  }
+
+  /**
+   * Displays a delete confirmation dialog for the given number of reminders.
+   *
+   * @param numberOfReminders The number of reminders to delete
+   * @return <code>true</code> if the user confirms the delete
+   */
+  private boolean showDeleteConfirmationDialog(int numberOfReminders) {
     boolean deleteConfirmed = false;
 
     Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
     this.addIconToDialog(alert);
     alert.setTitle("Delete confirmation");
     alert.setHeaderText("Delete confirmation");
-    alert.setContentText("Are you sure you want to delete this reminder?");
+    alert.setContentText((numberOfReminders == 1)
+        ? "Are you sure you want to delete this reminder?"
+        : "Are you sure you want to delete these " + numberOfReminders + " reminders?");
 
     Optional<ButtonType> result = alert.showAndWait();
 
@@ -630,4 +1045,58 @@ public class Controller {
   public Task getCurrentlySelectedTask() {
     return this.currentTask;
   }
+
+  /**
+   * Returns a property holding a short description of the last save.
+   *
+   * @return The save status text property
+   */
+  public ReadOnlyStringProperty saveStatusProperty() {
+    return this.saveStatus.getReadOnlyProperty();
+  }
+
+  /**
+   * Returns the statistics of the tasks, kept up to date as the tasks change.
+   *
+   * @return The statistics of the tasks
+   */
+  public TaskStatistics getTaskStatistics() {
+    return this.taskStatistics;
+  }
+
+  /**
+   * Returns the tasks as columns, counted over for the counts the statistics do not keep.
+   *
+   * @return The tasks as columns, kept up to date as the tasks change
+   */
+  public TaskColumns getTaskColumns() {
+    return this.taskColumns;
+  }
+
+  /**
+   * Returns a property holding the name of the change undone next, empty if there is none.
+   *
+   * @return The undo name property
+   */
+  public ReadOnlyStringProperty undoNameProperty() {
+    return this.undoName.getReadOnlyProperty();
+  }
+
+  /**
+   * Returns a property holding the name of the change redone next, empty if there is none.
+   *
+   * @return The redo name property
+   */
+  public ReadOnlyStringProperty redoNameProperty() {
+    return this.redoName.getReadOnlyProperty();
+  }
+
+  /**
+   * Returns a property that is true while a save is being written in the background.
+   *
+   * @return The saving property
+   */
+  public ReadOnlyBooleanProperty savingProperty() {
+    return this.saving.getReadOnlyProperty();
+  }
 }
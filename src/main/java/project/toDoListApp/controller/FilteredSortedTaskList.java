@@ -0,0 +1,318 @@
+package project.toDoListApp.controller;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import javafx.collections.ObservableListBase;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.model.TaskRegisterListener;
+
+/**
+ * Class FilteredSortedTaskList represents a read-only observable list of the tasks in a TaskRegister
+ * that are accepted by a filter, kept in the order of a comparator.
+ * The changes made to the register are applied one task at a time: an added, removed or changed task
+ * is only filtered and put in its place again, the rest of the list is left as it is.
+ * When something the filter depends on changes, only the tasks it may affect are filtered again.
+ *
+ * <p>The register is not an ObservableList and the tasks have no observable properties,
+ * so a FilteredList under a SortedList would need a second list mirroring every task of the register,
+ * and the FilteredList can only filter again by being given a new predicate, which tests every task.
+ * Keeping a single list lets a change be filtered and placed directly, and lets the tasks affected
+ * by a change of the filter be tested on their own.
+ * The index of every task in the list is kept, the tasks are looked up by reference
+ * since their sort key may have changed since they were put in place.
+ */
+public final class FilteredSortedTaskList extends ObservableListBase<Task>
+    implements TaskRegisterListener {
+  private final List<Task> tasks;
+  private final Map<Task, Integer> indexes;
+  private final Predicate<Task> filter;
+  private Comparator<Task> comparator;
+
+  /**
+   * FilteredSortedTaskList constructor.
+   *
+   * @param register The register holding the tasks, can not be null.
+   *                 The list must be added to the listeners of the register to follow its changes
+   * @param filter   The filter accepting the tasks to show, can not be null
+   */
+  public FilteredSortedTaskList(TaskRegister register, Predicate<Task> filter) {
+    if (register == null || filter == null) {
+      throw new IllegalArgumentException("register or filter can not be null!");
+    }
+    this.tasks = new ArrayList<>();
+    this.indexes = new IdentityHashMap<>();
+    this.filter = filter;
+    this.comparator = null;
+    for (Task task : register.getAllTasks()) {
+      if (filter.test(task)) {
+        this.indexes.put(task, this.tasks.size());
+        this.tasks.add(task);
+      }
+    }
+  }
+
+  @Override
+  public Task get(int index) {
+    return this.tasks.get(index);
+  }
+
+  @Override
+  public int size() {
+    return this.tasks.size();
+  }
+
+  /**
+   * Returns the comparator the tasks are ordered by.
+   *
+   * @return The comparator, null if the tasks are kept in the order they were added in
+   */
+  public Comparator<Task> getComparator() {
+    return this.comparator;
+  }
+
+  /**
+   * Orders the tasks by the given comparator.
+   * The list is reported as permuted, so the selection of a table showing it follows the tasks.
+   *
+   * @param comparator The comparator, null to keep the tasks in their current order
+   */
+  public void setComparator(Comparator<Task> comparator) {
+    this.comparator = comparator;
+    if (comparator != null) {
+      this.tasks.sort(comparator);
+
+      int[] permutation = new int[this.tasks.size()];
+      for (int i = 0; i < this.tasks.size(); i++) {
+        permutation[this.indexes.put(this.tasks.get(i), i)] = i;
+      }
+      this.beginChange();
+      this.nextPermutation(0, permutation.length, permutation);
+      this.endChange();
+    }
+  }
+
+  /**
+   * Filters the given tasks again, after something the filter depends on has changed.
+   * Only the given tasks are tested, the filter must still give the same result for the other tasks.
+   *
+   * @param changedTasks The tasks to filter again, can not be null
+   */
+  public void refilter(Collection<Task> changedTasks) {
+    if (changedTasks == null) {
+      throw new IllegalArgumentException("changedTasks can not be null!");
+    }
+    Set<Task> hidden = Collections.newSetFromMap(new IdentityHashMap<>());
+    Set<Task> shown = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Task task : changedTasks) {
+      boolean visible = this.filter.test(task);
+      if (visible != this.indexes.containsKey(task)) {
+        if (visible) {
+          shown.add(task);
+        } else {
+          hidden.add(task);
+        }
+      }
+    }
+    this.removeAll(hidden);
+    this.addAll(new ArrayList<>(shown));
+  }
+
+  @Override
+  public void taskAdded(Task task) {
+    if (!this.indexes.containsKey(task) && this.filter.test(task)) {
+      int index = this.insertionIndexOf(task);
+      this.tasks.add(index, task);
+      this.reindex(index, this.tasks.size());
+
+      this.beginChange();
+      this.nextAdd(index, index + 1);
+      this.endChange();
+    }
+  }
+
+  @Override
+  public void taskRemoved(Task task) {
+    Integer index = this.indexes.remove(task);
+    if (index != null) {
+      this.tasks.remove((int) index);
+      this.reindex(index, this.tasks.size());
+
+      this.beginChange();
+      this.nextRemove(index, task);
+      this.endChange();
+    }
+  }
+
+  @Override
+  public void taskUpdated(Task task) {
+    boolean visible = this.filter.test(task);
+    if (!this.indexes.containsKey(task)) {
+      if (visible) {
+        this.taskAdded(task);
+      }
+    } else if (!visible) {
+      this.taskRemoved(task);
+    } else {
+      int index = this.indexes.get(task);
+      this.tasks.remove(index);
+      int newIndex = index;
+      if (!this.isInOrderAt(task, index)) {
+        newIndex = this.insertionIndexOf(task);
+      }
+      this.tasks.add(newIndex, task);
+      this.reindex(Math.min(index, newIndex), Math.max(index, newIndex) + 1);
+
+      this.beginChange();
+      if (newIndex != index) {
+        this.nextPermutation(Math.min(index, newIndex), Math.max(index, newIndex) + 1,
+            this.movePermutation(index, newIndex));
+      }
+      this.nextUpdate(newIndex);
+      this.endChange();
+    }
+  }
+
+  @Override
+  public void tasksChanged(List<Task> added, List<Task> removed, List<Task> updated) {
+    // Reported as a single change, whatever the size of the batch
+    this.beginChange();
+    Set<Task> removedTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+    removedTasks.addAll(removed);
+    this.removeAll(removedTasks);
+    List<Task> addedTasks = new ArrayList<>();
+    for (Task task : added) {
+      if (!this.indexes.containsKey(task) && this.filter.test(task)) {
+        addedTasks.add(task);
+      }
+    }
+    this.addAll(addedTasks);
+    Set<Task> updatedTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Task task : updated) {
+      if (updatedTasks.add(task)) {
+        this.taskUpdated(task);
+      }
+    }
+    this.endChange();
+  }
+
+  /**
+   * Removes the given tasks in a single pass over the list, reported as a single change.
+   */
+  private void removeAll(Set<Task> removedTasks) {
+    if (!removedTasks.isEmpty()) {
+      this.beginChange();
+      int kept = 0;
+      for (int i = 0; i < this.tasks.size(); i++) {
+        Task task = this.tasks.get(i);
+        if (removedTasks.contains(task)) {
+          this.indexes.remove(task);
+          this.nextRemove(kept, task);
+        } else {
+          this.tasks.set(kept, task);
+          this.indexes.put(task, kept);
+          kept++;
+        }
+      }
+      this.tasks.subList(kept, this.tasks.size()).clear();
+      this.endChange();
+    }
+  }
+
+  /**
+   * Merges the given tasks into the list in a single pass, reported as a single change.
+   */
+  private void addAll(List<Task> addedTasks) {
+    if (!addedTasks.isEmpty()) {
+      if (this.comparator != null) {
+        addedTasks.sort(this.comparator);
+      }
+      List<Task> merged = new ArrayList<>(this.tasks.size() + addedTasks.size());
+      int next = 0;
+      int firstAdded = -1;
+      this.beginChange();
+      for (Task addedTask : addedTasks) {
+        while (next < this.tasks.size() && (this.comparator == null
+            || this.comparator.compare(this.tasks.get(next), addedTask) <= 0)) {
+          merged.add(this.tasks.get(next));
+          next++;
+        }
+        if (firstAdded < 0) {
+          firstAdded = merged.size();
+        }
+        this.nextAdd(merged.size(), merged.size() + 1);
+        merged.add(addedTask);
+      }
+      merged.addAll(this.tasks.subList(next, this.tasks.size()));
+      this.tasks.clear();
+      this.tasks.addAll(merged);
+      this.reindex(firstAdded, this.tasks.size());
+      this.endChange();
+    }
+  }
+
+  /**
+   * Returns the index the given task has to be inserted at to keep the list in order,
+   * after the tasks equal to it. Without a comparator, the task goes at the end.
+   */
+  private int insertionIndexOf(Task task) {
+    int low = 0;
+    int high = this.tasks.size();
+    if (this.comparator != null) {
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (this.comparator.compare(this.tasks.get(middle), task) <= 0) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+    }
+    return high;
+  }
+
+  /**
+   * Returns true if the given task, taken out of the list, is still in order at the given index.
+   */
+  private boolean isInOrderAt(Task task, int index) {
+    return this.comparator == null
+        || ((index == 0 || this.comparator.compare(this.tasks.get(index - 1), task) <= 0)
+        && (index == this.tasks.size() || this.comparator.compare(task, this.tasks.get(index)) <= 0));
+  }
+
+  /**
+   * Stores the index of the tasks between the two indexes, after they have been moved in the list.
+   */
+  private void reindex(int from, int to) {
+    for (int i = from; i < to; i++) {
+      this.indexes.put(this.tasks.get(i), i);
+    }
+  }
+
+  /**
+   * Returns the permutation of the range between the two indexes,
+   * made by moving the element at the first index to the second one.
+   */
+  private int[] movePermutation(int from, int to) {
+    int start = Math.min(from, to);
+    int[] permutation = new int[Math.abs(to - from) + 1];
+    for (int i = 0; i < permutation.length; i++) {
+      int index = start + i;
+      if (index == from) {
+        permutation[i] = to;
+      } else if (from < to) {
+        permutation[i] = index - 1;
+      } else {
+        permutation[i] = index + 1;
+      }
+    }
+    return permutation;
+  }
+}
@@ -0,0 +1,243 @@
+package project.toDoListApp.controller;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javafx.collections.ObservableListBase;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskCursor;
+import project.toDoListApp.model.TaskQuery;
+import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.model.TaskRegisterListener;
+
+/**
+ * Class PagedTaskList represents all the tasks of a register in a given order,
+ * read from the register a page at a time as they are asked for.
+ * A table showing the list only reads the pages of the rows it shows, and only the last pages
+ * read are kept, so the memory used does not grow with the register. The register keeps
+ * its tasks in the order of the list, so a page is read at its position directly,
+ * without going over the tasks before it.
+ *
+ * <p>An added or removed task is reported at its place. After a change, a kept page is only
+ * read again if its tasks are not the same anymore: a task of the page changed or was removed,
+ * a task was put in it, or the tasks before it are not as many as before. A changed task
+ * is reported as updated at its new place, and the rows of the pages read again as updated
+ * too, since the task may have moved from one of them. The pages kept must cover
+ * the rows shown, the other rows are read again when they are shown.</p>
+ *
+ * <p>The list must be read on the thread the register is changed on. A page read on another
+ * thread between a change and the notification of the change may not match the list,
+ * the read then throws a ConcurrentModificationException.</p>
+ */
+public final class PagedTaskList extends ObservableListBase<Task>
+    implements TaskRegisterListener {
+  private final TaskRegister register;
+  private final TaskQuery.Order order;
+  private final Comparator<Task> comparator;
+  private final int pageSize;
+
+  /**
+   * The last pages read, by page number, the least recently read first.
+   */
+  private final Map<Integer, List<Task>> pages;
+  private int size;
+
+  /**
+   * PagedTaskList constructor, keeps the tasks of the register in the given order.
+   *
+   * @param register  The register holding the tasks, can not be null.
+   *                  The list must be added to the listeners of the register to follow its changes
+   * @param order     The order of the tasks, can not be null
+   * @param pageSize  The number of tasks read at a time, must be positive
+   * @param pagesKept The number of pages kept, must be positive
+   */
+  public PagedTaskList(TaskRegister register, TaskQuery.Order order, int pageSize, int pagesKept) {
+    if (register == null || order == null) {
+      throw new IllegalArgumentException("register or order can not be null!");
+    }
+    if (pageSize <= 0 || pagesKept <= 0) {
+      throw new IllegalArgumentException("pageSize and pagesKept must be positive!");
+    }
+    register.keepOrder(order);
+    this.register = register;
+    this.order = order;
+    this.comparator = order.getComparator().thenComparingLong(Task::getId);
+    this.pageSize = pageSize;
+    this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, List<Task>> eldest) {
+        return this.size() > pagesKept;
+      }
+    };
+    this.size = register.getNumberOfTasks();
+  }
+
+  @Override
+  public Task get(int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + this.size);
+    }
+    int pageNumber = index / this.pageSize;
+    List<Task> page = this.pages.get(pageNumber);
+    if (page == null) {
+      page = this.register.getPage(this.order, pageNumber * this.pageSize, this.pageSize).getTasks();
+      this.pages.put(pageNumber, page);
+    }
+    int offset = index % this.pageSize;
+    if (offset >= page.size()) {
+      // The register lost tasks the list has not been told of yet
+      this.pages.remove(pageNumber);
+      throw new ConcurrentModificationException(
+          "The register changed before the list was told of the change!");
+    }
+    return page.get(offset);
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the number of pages currently kept in memory.
+   *
+   * @return The number of pages kept
+   */
+  public int getNumberOfPagesKept() {
+    return this.pages.size();
+  }
+
+  @Override
+  public void taskAdded(Task task) {
+    this.tasksChanged(List.of(task), List.of(), List.of());
+  }
+
+  @Override
+  public void taskRemoved(Task task) {
+    this.tasksChanged(List.of(), List.of(task), List.of());
+  }
+
+  @Override
+  public void taskUpdated(Task task) {
+    this.tasksChanged(List.of(), List.of(), List.of(task));
+  }
+
+  @Override
+  public void tasksChanged(List<Task> added, List<Task> removed, List<Task> updated) {
+    List<Task> addedTasks = this.sortedCopyOf(added);
+    List<Task> removedTasks = this.sortedCopyOf(removed);
+    // The positions are counted in the register as it is now, holding the added tasks
+    int[] addedPositions = this.positionsOf(addedTasks);
+    int[] updatedPositions = this.positionsOf(updated);
+    int[] removedPositions = this.positionsOf(removedTasks);
+    int addedBefore = 0;
+    for (int i = 0; i < removedPositions.length; i++) {
+      while (addedBefore < addedTasks.size()
+          && this.comparator.compare(addedTasks.get(addedBefore), removedTasks.get(i)) < 0) {
+        addedBefore++;
+      }
+      removedPositions[i] -= addedBefore;
+    }
+    this.size = this.register.getNumberOfTasks();
+
+    Set<Task> changedTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+    changedTasks.addAll(removed);
+    changedTasks.addAll(updated);
+    List<Integer> changedPages = new ArrayList<>();
+    for (Map.Entry<Integer, List<Task>> page : this.pages.entrySet()) {
+      if (!this.isStillRead(page.getKey(), page.getValue(), changedTasks,
+          addedPositions, updatedPositions)) {
+        changedPages.add(page.getKey());
+      }
+    }
+    this.pages.keySet().removeAll(changedPages);
+
+    // Removed first, then added, each in order, every position is right at the time it is reported
+    this.beginChange();
+    for (int i = 0; i < removedPositions.length; i++) {
+      this.nextRemove(removedPositions[i], removedTasks.get(i));
+    }
+    for (int position : addedPositions) {
+      this.nextAdd(position, position + 1);
+    }
+    for (int position : updatedPositions) {
+      this.nextUpdate(position);
+    }
+    if (!updated.isEmpty()) {
+      // A changed task may have moved out of the pages read again, shifting their rows
+      for (int pageNumber : changedPages) {
+        int end = Math.min(this.size, (pageNumber + 1) * this.pageSize);
+        for (int index = pageNumber * this.pageSize; index < end; index++) {
+          this.nextUpdate(index);
+        }
+      }
+    }
+    this.endChange();
+  }
+
+  /**
+   * Returns true if the given kept page still holds the tasks at its rows after a change:
+   * none of its tasks was changed, no task was put in it,
+   * and the tasks before it and in it are as many as before.
+   *
+   * @param pageNumber       The number of the page
+   * @param page             The tasks of the page, as they were read
+   * @param changedTasks     The tasks removed or changed
+   * @param addedPositions   The positions of the added tasks
+   * @param updatedPositions The positions of the changed tasks
+   */
+  private boolean isStillRead(int pageNumber, List<Task> page, Set<Task> changedTasks,
+      int[] addedPositions, int[] updatedPositions) {
+    int start = pageNumber * this.pageSize;
+    int end = start + page.size();
+    boolean stillRead = (page.size() == this.pageSize || end == this.size);
+    for (int i = 0; stillRead && i < page.size(); i++) {
+      stillRead = !changedTasks.contains(page.get(i));
+    }
+    for (int i = 0; stillRead && i < addedPositions.length; i++) {
+      stillRead = addedPositions[i] < start || addedPositions[i] >= end;
+    }
+    for (int i = 0; stillRead && i < updatedPositions.length; i++) {
+      stillRead = updatedPositions[i] < start || updatedPositions[i] >= end;
+    }
+    if (stillRead && !page.isEmpty()) {
+      stillRead = this.positionOf(page.get(0)) == start
+          && this.positionOf(page.get(page.size() - 1)) == end - 1;
+    }
+    return stillRead;
+  }
+
+  /**
+   * Returns the positions of the given tasks in the register as it is now.
+   */
+  private int[] positionsOf(List<Task> tasks) {
+    int[] positions = new int[tasks.size()];
+    for (int i = 0; i < positions.length; i++) {
+      positions[i] = this.positionOf(tasks.get(i));
+    }
+    return positions;
+  }
+
+  /**
+   * Returns the position of the given task in the register as it is now,
+   * counted in the tasks the register keeps in order.
+   */
+  private int positionOf(Task task) {
+    return this.register.getPosition(TaskCursor.of(this.order, task));
+  }
+
+  /**
+   * Returns a copy of the given tasks, in order.
+   */
+  private List<Task> sortedCopyOf(List<Task> tasks) {
+    List<Task> sorted = new ArrayList<>(tasks);
+    sorted.sort(this.comparator);
+    return sorted;
+  }
+}
@@ -0,0 +1,101 @@
+package project.toDoListApp.controller;
+
+import java.util.function.Consumer;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.beans.property.SimpleBooleanProperty;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskPriority;
+
+/**
+ * Class TaskViewModel represents the JavaFX properties of a single task shown in the table.
+ * It is created once per task and kept up to date by {@link TaskViewModels},
+ * so the table cells can bind to the same properties every time they show the task.
+ * The status property is writable, a change made to it by the user is made to the task.
+ */
+public final class TaskViewModel {
+  private final Task task;
+  private final ReadOnlyStringWrapper taskName;
+  private final ReadOnlyObjectWrapper<TaskPriority> priority;
+  private final BooleanProperty status;
+
+  /**
+   * True while the properties are being updated from the task, the changes are not made by the user.
+   */
+  private boolean updating;
+
+  /**
+   * TaskViewModel constructor.
+   *
+   * @param task         The task to show, can not be null
+   * @param statusEdited Called with the task after the user changed its status, can not be null
+   */
+  TaskViewModel(Task task, Consumer<Task> statusEdited) {
+    if (task == null || statusEdited == null) {
+      throw new IllegalArgumentException("task or statusEdited can not be null!");
+    }
+    this.task = task;
+    this.taskName = new ReadOnlyStringWrapper(task.getTaskName());
+    this.priority = new ReadOnlyObjectWrapper<>(task.getTaskPriority());
+    this.status = new SimpleBooleanProperty(task.getStatus());
+    this.status.addListener((observable, wasDone, isDone) -> {
+      if (!this.updating) {
+        task.setActiveStatus(isDone);
+        statusEdited.accept(task);
+      }
+    });
+  }
+
+  /**
+   * Returns the task shown.
+   *
+   * @return The task shown
+   */
+  public Task getTask() {
+    return this.task;
+  }
+
+  /**
+   * Returns the property holding the name of the task.
+   *
+   * @return The property holding the name of the task
+   */
+  public ReadOnlyStringProperty taskNameProperty() {
+    return this.taskName.getReadOnlyProperty();
+  }
+
+  /**
+   * Returns the property holding the priority of the task.
+   *
+   * @return The property holding the priority of the task
+   */
+  public ReadOnlyObjectProperty<TaskPriority> priorityProperty() {
+    return this.priority.getReadOnlyProperty();
+  }
+
+  /**
+   * Returns the property holding the status of the task, true if the task is done.
+   *
+   * @return The property holding the status of the task
+   */
+  public BooleanProperty statusProperty() {
+    return this.status;
+  }
+
+  /**
+   * Sets the properties to the current values of the task.
+   */
+  void update() {
+    this.updating = true;
+    try {
+      this.taskName.set(this.task.getTaskName());
+      this.priority.set(this.task.getTaskPriority());
+      this.status.set(this.task.getStatus());
+    } finally {
+      this.updating = false;
+    }
+  }
+}
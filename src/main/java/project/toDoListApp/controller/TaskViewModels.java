@@ -0,0 +1,80 @@
+package project.toDoListApp.controller;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskRegisterListener;
+
+/**
+ * Class TaskViewModels represents the view models of the tasks in a TaskRegister.
+ * A view model is created the first time its task is shown and reused from then on,
+ * it follows the changes made to its task and is dropped when the task is removed.
+ */
+public final class TaskViewModels implements TaskRegisterListener {
+  private final Map<Task, TaskViewModel> viewModels;
+  private Consumer<Task> statusEdited;
+
+  /**
+   * TaskViewModels constructor.
+   */
+  public TaskViewModels() {
+    this.viewModels = new IdentityHashMap<>();
+    this.statusEdited = task -> {
+    };
+  }
+
+  /**
+   * Returns the view model of the given task, created if the task has none yet.
+   *
+   * @param task The task to get the view model of, can not be null
+   * @return The view model of the given task
+   */
+  public TaskViewModel get(Task task) {
+    TaskViewModel viewModel = this.viewModels.get(task);
+    if (viewModel == null) {
+      viewModel = new TaskViewModel(task, editedTask -> this.statusEdited.accept(editedTask));
+      this.viewModels.put(task, viewModel);
+    }
+    return viewModel;
+  }
+
+  /**
+   * Returns the number of view models created and not dropped.
+   *
+   * @return The number of view models
+   */
+  public int size() {
+    return this.viewModels.size();
+  }
+
+  /**
+   * Sets the action performed after the user changed the status of a task through its view model.
+   *
+   * @param statusEdited Called with the task after the user changed its status, can not be null
+   */
+  public void setOnStatusEdited(Consumer<Task> statusEdited) {
+    if (statusEdited == null) {
+      throw new IllegalArgumentException("statusEdited can not be null!");
+    }
+    this.statusEdited = statusEdited;
+  }
+
+  @Override
+  public void taskAdded(Task task) {
+    // The view model is created when the task is first shown
+  }
+
+  @Override
+  public void taskRemoved(Task task) {
+    this.viewModels.remove(task);
+  }
+
+  @Override
+  public void taskUpdated(Task task) {
+    TaskViewModel viewModel = this.viewModels.get(task);
+    if (viewModel != null) {
+      viewModel.update();
+    }
+  }
+}
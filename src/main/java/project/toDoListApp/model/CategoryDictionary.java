@@ -0,0 +1,89 @@
+package project.toDoListApp.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class CategoryDictionary represents the categories used by the tasks of a TaskRegister,
+ * each one given a small int code in the order it was first used.
+ * A task in the register holds the code of its category and the single String instance
+ * of the category name kept here, so a category name is held once however many tasks use it.
+ *
+ * <p>A code stays assigned to its category for the lifetime of the dictionary,
+ * so a category can be grouped by comparing ints.</p>
+ */
+public final class CategoryDictionary {
+  /**
+   * The code of a category not in a dictionary.
+   */
+  public static final int NO_CODE = -1;
+
+  private final List<String> names;
+  private final Map<String, Integer> codes;
+
+  /**
+   * CategoryDictionary constructor.
+   */
+  CategoryDictionary() {
+    this.names = new ArrayList<>();
+    this.codes = new HashMap<>();
+  }
+
+  /**
+   * Returns the code of the given category, assigning the next free code if it is new.
+   *
+   * @param name The name of the category, can not be null
+   * @return The code of the category
+   */
+  int encode(String name) {
+    Integer code = this.codes.get(name);
+    if (code == null) {
+      code = this.names.size();
+      this.names.add(name);
+      this.codes.put(name, code);
+    }
+    return code;
+  }
+
+  /**
+   * Returns the code of the given category.
+   *
+   * @param name The name of the category
+   * @return The code of the category, {@link #NO_CODE} if it is not in the dictionary
+   */
+  public int getCode(String name) {
+    Integer code = this.codes.get(name);
+    return (code != null) ? code : NO_CODE;
+  }
+
+  /**
+   * Returns the name of the category with the given code.
+   *
+   * @param code The code of the category
+   * @return The name of the category, null if no category has the code
+   */
+  public String getName(int code) {
+    return (code >= 0 && code < this.names.size()) ? this.names.get(code) : null;
+  }
+
+  /**
+   * Returns the names of all the categories, ordered by code.
+   *
+   * @return An unmodifiable List of the category names, the name at index i has the code i
+   */
+  public List<String> getNames() {
+    return Collections.unmodifiableList(this.names);
+  }
+
+  /**
+   * Returns the number of categories in the dictionary.
+   *
+   * @return The number of categories in the dictionary
+   */
+  public int size() {
+    return this.names.size();
+  }
+}
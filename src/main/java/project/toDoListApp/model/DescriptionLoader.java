@@ -0,0 +1,18 @@
+package project.toDoListApp.model;
+
+/**
+ * Interface DescriptionLoader represents a store the descriptions of tasks are kept in
+ * outside of the heap, a task then only holds the location of its description
+ * and loads it on demand.
+ */
+public interface DescriptionLoader {
+  /**
+   * Loads the description stored at the given location.
+   *
+   * @param offset The offset of the stored description
+   * @param length The length of the stored description in bytes
+   * @return The stored description
+   * @throws java.io.UncheckedIOException If the description could not be loaded
+   */
+  String loadDescription(long offset, int length);
+}
@@ -0,0 +1,283 @@
+package project.toDoListApp.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Class LongTaskMap represents a hash map from task ids to tasks, specialized for
+ * primitive long keys so that no key is ever boxed.
+ * The keys and values are kept in two parallel arrays using open addressing
+ * with linear probing, removed entries are filled by shifting the following entries back,
+ * so lookups never have to skip over deleted markers.
+ *
+ * <p>The key 0 marks an empty slot and can not be used, task ids start at 1.</p>
+ */
+public final class LongTaskMap implements Iterable<Task> {
+  private static final int MIN_CAPACITY = 16;
+
+  private long[] keys;
+  private Task[] values;
+  private int size;
+  private int mask;
+
+  /**
+   * LongTaskMap constructor.
+   */
+  public LongTaskMap() {
+    this(MIN_CAPACITY);
+  }
+
+  /**
+   * LongTaskMap constructor with room for the given number of tasks before it grows.
+   *
+   * @param expectedSize The number of tasks the map is expected to hold
+   */
+  public LongTaskMap(int expectedSize) {
+    int capacity = MIN_CAPACITY;
+    while (capacity < expectedSize * 2) {
+      capacity <<= 1;
+    }
+    this.allocate(capacity);
+  }
+
+  /**
+   * Returns the task with the given id.
+   *
+   * @param id The id of the task
+   * @return The task with the given id, null if none
+   */
+  public Task get(long id) {
+    if (id == 0) {
+      return null;
+    }
+    // Read through locals and bounded, so a read racing a change can not loop forever
+    long[] keys = this.keys;
+    Task[] values = this.values;
+    int mask = keys.length - 1;
+    int slot = this.slotOf(id) & mask;
+    for (int probes = 0; probes < keys.length && keys[slot] != 0; probes++) {
+      if (keys[slot] == id) {
+        return values[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+    return null;
+  }
+
+  /**
+   * Returns true if the map holds a task with the given id.
+   *
+   * @param id The id of the task
+   * @return True if the map holds a task with the given id, false otherwise
+   */
+  public boolean containsKey(long id) {
+    return this.get(id) != null;
+  }
+
+  /**
+   * Maps the given id to the given task.
+   *
+   * @param id   The id of the task, can not be 0
+   * @param task The task, can not be null
+   * @return The task previously mapped to the id, null if none
+   */
+  public Task put(long id, Task task) {
+    if (id == 0 || task == null) {
+      throw new IllegalArgumentException("id can not be 0 and task can not be null!");
+    }
+    int slot = this.slotOf(id);
+    while (this.keys[slot] != 0) {
+      if (this.keys[slot] == id) {
+        Task previous = this.values[slot];
+        this.values[slot] = task;
+        return previous;
+      }
+      slot = (slot + 1) & this.mask;
+    }
+    this.keys[slot] = id;
+    this.values[slot] = task;
+    this.size++;
+    if (this.size * 2 > this.keys.length) {
+      this.resize(this.keys.length * 2);
+    }
+    return null;
+  }
+
+  /**
+   * Removes the task with the given id.
+   *
+   * @param id The id of the task
+   * @return The removed task, null if none
+   */
+  public Task remove(long id) {
+    if (id == 0) {
+      return null;
+    }
+    int slot = this.slotOf(id);
+    while (this.keys[slot] != id) {
+      if (this.keys[slot] == 0) {
+        return null;
+      }
+      slot = (slot + 1) & this.mask;
+    }
+    Task removed = this.values[slot];
+    this.shiftBack(slot);
+    this.size--;
+    return removed;
+  }
+
+  /**
+   * Returns the number of tasks in the map.
+   *
+   * @return The number of tasks in the map
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns true if the map holds no tasks.
+   *
+   * @return True if the map is empty, false otherwise
+   */
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  /**
+   * Removes all the tasks.
+   */
+  public void clear() {
+    Arrays.fill(this.keys, 0);
+    Arrays.fill(this.values, null);
+    this.size = 0;
+  }
+
+  /**
+   * Returns a new List holding all the tasks in the map.
+   *
+   * @return A List of the tasks in no particular order
+   */
+  public List<Task> values() {
+    List<Task> tasks = new ArrayList<>(this.size);
+    for (int i = 0; i < this.keys.length; i++) {
+      if (this.keys[i] != 0) {
+        tasks.add(this.values[i]);
+      }
+    }
+    return tasks;
+  }
+
+  /**
+   * Returns a new array holding all the tasks in the map.
+   *
+   * @return An array of the tasks in no particular order
+   */
+  public Task[] toArray() {
+    Task[] tasks = new Task[this.size];
+    int index = 0;
+    for (int i = 0; i < this.keys.length; i++) {
+      if (this.keys[i] != 0) {
+        tasks[index++] = this.values[i];
+      }
+    }
+    return tasks;
+  }
+
+  /**
+   * Returns an iterator over the tasks in the map, in no particular order.
+   * The map must not be changed while iterating.
+   *
+   * @return An iterator over the tasks
+   */
+  @Override
+  public Iterator<Task> iterator() {
+    return new Iterator<>() {
+      private int slot = this.nextSlot(0);
+
+      @Override
+      public boolean hasNext() {
+        return this.slot < LongTaskMap.this.keys.length;
+      }
+
+      @Override
+      public Task next() {
+        if (!this.hasNext()) {
+          throw new NoSuchElementException();
+        }
+        Task task = LongTaskMap.this.values[this.slot];
+        this.slot = this.nextSlot(this.slot + 1);
+        return task;
+      }
+
+      private int nextSlot(int from) {
+        int next = from;
+        while (next < LongTaskMap.this.keys.length && LongTaskMap.this.keys[next] == 0) {
+          next++;
+        }
+        return next;
+      }
+    };
+  }
+
+  /**
+   * Returns the preferred slot of the given id.
+   * The id is mixed first, consecutive ids would otherwise fill a single run of slots.
+   */
+  private int slotOf(long id) {
+    long mixed = id * 0x9E3779B97F4A7C15L;
+    return (int) (mixed ^ (mixed >>> 32)) & this.mask;
+  }
+
+  /**
+   * Empties the given slot by moving back the entries following it
+   * that can not be found anymore otherwise.
+   */
+  private void shiftBack(int emptied) {
+    int empty = emptied;
+    int slot = (empty + 1) & this.mask;
+    while (this.keys[slot] != 0) {
+      int preferred = this.slotOf(this.keys[slot]);
+      // Move the entry if the empty slot lies on the way from its preferred slot to it
+      if (((slot - preferred) & this.mask) >= ((slot - empty) & this.mask)) {
+        this.keys[empty] = this.keys[slot];
+        this.values[empty] = this.values[slot];
+        empty = slot;
+      }
+      slot = (slot + 1) & this.mask;
+    }
+    this.keys[empty] = 0;
+    this.values[empty] = null;
+  }
+
+  /**
+   * Moves all the entries to new arrays of the given capacity.
+   */
+  private void resize(int capacity) {
+    long[] oldKeys = this.keys;
+    Task[] oldValues = this.values;
+    this.allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != 0) {
+        int slot = this.slotOf(oldKeys[i]);
+        while (this.keys[slot] != 0) {
+          slot = (slot + 1) & this.mask;
+        }
+        this.keys[slot] = oldKeys[i];
+        this.values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  /**
+   * Allocates empty arrays of the given capacity, a power of two.
+   */
+  private void allocate(int capacity) {
+    this.keys = new long[capacity];
+    this.values = new Task[capacity];
+    this.mask = capacity - 1;
+  }
+}
@@ -1,7 +1,12 @@
 package project.toDoListApp.model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.util.Objects;
 
 /**
  * Class Task represents a single task in the To-do list application.
@@ -9,14 +14,61 @@ import java.time.LocalDate;
  * status and the date on which the task was created.
  */
 public class Task implements Serializable {
+  /**
+   * Kept equal to the value computed for the original class so that
+   * registers saved by earlier versions can still be read.
+   */
+  private static final long serialVersionUID = 4540717208109057222L;
+
+  /**
+   * The fields written by Java serialization, in the form used by earlier versions:
+   * the priority is written as its name.
+   */
+  private static final ObjectStreamField[] serialPersistentFields = {
+      new ObjectStreamField("id", long.class),
+      new ObjectStreamField("taskName", String.class),
+      new ObjectStreamField("description", String.class),
+      new ObjectStreamField("category", String.class),
+      new ObjectStreamField("priority", String.class),
+      new ObjectStreamField("dueDate", LocalDate.class),
+      new ObjectStreamField("status", boolean.class),
+      new ObjectStreamField("dateAdded", LocalDate.class)
+  };
+
+  private long id;
   private String taskName;
+
+  /**
+   * The description of the task, null while it is only held by the description loader.
+   */
   private String description;
   private String category;
-  private String priority;
+
+  /**
+   * The code of the category in the dictionary of the register the task is in,
+   * {@link CategoryDictionary#NO_CODE} while the task is not in a register.
+   */
+  private transient int categoryCode;
+  private TaskPriority priority;
   private LocalDate dueDate;
   private boolean status;
 
-  private final LocalDate dateAdded;
+  /**
+   * The creation date of the task, only assigned by the constructors and by readObject.
+   */
+  private LocalDate dateAdded;
+
+  /**
+   * The register this task currently belongs to, notified on every change.
+   */
+  private transient TaskRegister register;
+
+  /**
+   * The store the description is loaded from, null if the description is held in memory.
+   */
+  private transient DescriptionLoader descriptionLoader;
+  private transient long descriptionOffset;
+  private transient int descriptionLength;
 
   /**
    * Constructor for task objects.
@@ -33,8 +85,9 @@ public class Task implements Serializable {
     this.taskName = taskName;
     this.description = description;
     this.category = category;
+    this.categoryCode = CategoryDictionary.NO_CODE;
     this.dueDate = dueDate;
-    this.priority = "Medium";
+    this.priority = TaskPriority.MEDIUM;
 
     this.status = false;
     this.dateAdded = LocalDate.now();
@@ -54,13 +107,97 @@ public class Task implements Serializable {
     this.taskName = taskName;
     this.description = description;
     this.category = category;
-    this.priority = "Medium";
+    this.categoryCode = CategoryDictionary.NO_CODE;
+    this.priority = TaskPriority.MEDIUM;
 
     this.dueDate = null;
     this.status = false;
     this.dateAdded = LocalDate.now();
   }
 
+  /**
+   * Constructor used by the TaskBuilder, allows restoring all the fields of a task.
+   */
+  private Task(TaskBuilder builder) {
+    if (builder.taskName == null || builder.category == null
+        || (builder.description == null && builder.descriptionLoader == null)) {
+      throw new IllegalArgumentException("taskName, description or category can not be null!");
+    }
+    if (builder.taskName.isBlank()) {
+      throw new IllegalArgumentException("taskName can not be blank!");
+    }
+
+    this.id = builder.id;
+    this.taskName = builder.taskName;
+    this.description = builder.description;
+    this.category = builder.category;
+    this.categoryCode = CategoryDictionary.NO_CODE;
+    this.priority = (builder.priority != null) ? builder.priority : TaskPriority.MEDIUM;
+
+    this.dueDate = builder.dueDate;
+    this.status = builder.status;
+    this.dateAdded = (builder.dateAdded != null) ? builder.dateAdded : LocalDate.now();
+    if (builder.descriptionLoader != null) {
+      this.setStoredDescription(builder.descriptionLoader,
+          builder.descriptionOffset, builder.descriptionLength);
+    }
+  }
+
+  /**
+   * Returns the unique id of the task, assigned by the register it was added to.
+   *
+   * @return The id of the task, 0 if the task was never added to a register
+   */
+  public long getId() {
+    return this.id;
+  }
+
+  /**
+   * Sets the id of the task.
+   *
+   * @param id The id to set, must be positive
+   */
+  void setId(long id) {
+    this.id = id;
+  }
+
+  /**
+   * Returns the register this task belongs to.
+   *
+   * @return The register this task belongs to, null if none
+   */
+  TaskRegister getRegister() {
+    return this.register;
+  }
+
+  /**
+   * Sets the register this task belongs to.
+   *
+   * @param register The register to set, null to detach the task
+   */
+  void setRegister(TaskRegister register) {
+    this.register = register;
+  }
+
+  /**
+   * Notifies the register this task belongs to that a field is about to change,
+   * the field must be changed and {@link #fireUpdated()} called right after.
+   */
+  private void fireUpdating() {
+    if (this.register != null) {
+      this.register.taskUpdating(this);
+    }
+  }
+
+  /**
+   * Notifies the register this task belongs to that the task has changed.
+   */
+  private void fireUpdated() {
+    if (this.register != null) {
+      this.register.taskUpdated(this);
+    }
+  }
+
   /**
    * Returns the task name (title).
    *
@@ -82,39 +219,106 @@ public class Task implements Serializable {
       if (taskName.isBlank()) {
         throw new IllegalArgumentException("Task name can not be blank");
       }
-      this.taskName = taskName;
+      if (!taskName.equals(this.taskName)) {
+        this.fireUpdating();
+        this.taskName = taskName;
+        this.fireUpdated();
+      }
     }
   }
 
   /**
    * Returns the task description.
+   * A stored description is loaded from its description loader on every call,
+   * it is not kept in memory by the task.
    *
    * @return The task description as a String
+   * @throws java.io.UncheckedIOException If the stored description could not be loaded
    */
   public String getDescription() {
+    if (this.description == null) {
+      return (this.descriptionLoader != null)
+          ? this.descriptionLoader.loadDescription(this.descriptionOffset, this.descriptionLength)
+          : "";
+    }
     return this.description;
   }
 
   /**
    * Sets the given description.
+   * The description is held in memory until it is stored again.
    *
    * @param description The description to set,
    *                    can not be null
    */
   public void setDescription(String description) {
-    if (description != null) {
+    if (description != null && !description.equals(this.getDescription())) {
+      this.fireUpdating();
       this.description = description;
+      this.descriptionLoader = null;
+      this.descriptionOffset = 0;
+      this.descriptionLength = 0;
+      this.fireUpdated();
+    }
+  }
+
+  /**
+   * Returns true if the description is stored outside of the task
+   * and loaded on demand, false if it is held in memory.
+   *
+   * @return True if the description is stored, false otherwise
+   */
+  public boolean isDescriptionStored() {
+    return this.descriptionLoader != null;
+  }
+
+  /**
+   * Returns the offset of the stored description.
+   *
+   * @return The offset of the stored description, 0 if the description is not stored
+   */
+  public long getDescriptionOffset() {
+    return this.descriptionOffset;
+  }
+
+  /**
+   * Returns the length of the stored description in bytes.
+   *
+   * @return The length of the stored description, 0 if the description is not stored
+   */
+  public int getDescriptionLength() {
+    return this.descriptionLength;
+  }
+
+  /**
+   * Marks the description as stored at the given location,
+   * the copy held in memory is released and loaded from the given loader from now on.
+   * This does not change the description, so the register is not notified.
+   *
+   * @param descriptionLoader The loader holding the description, can not be null
+   * @param offset            The offset of the stored description
+   * @param length            The length of the stored description in bytes
+   */
+  public void setStoredDescription(DescriptionLoader descriptionLoader, long offset, int length) {
+    if (descriptionLoader == null) {
+      throw new IllegalArgumentException("descriptionLoader can not be null!");
     }
+    this.descriptionLoader = descriptionLoader;
+    this.descriptionOffset = offset;
+    this.descriptionLength = length;
+    this.description = null;
   }
 
   /**
    * Sets the priority of the task.
    *
-   * @param priority The String priority to be set, not blank or null
+   * @param priority The priority to be set, not null
    */
-  public void setPriority(String priority) {
-    if (priority != null && !priority.isBlank()) {
+  public void setTaskPriority(TaskPriority priority) {
+    if (priority != null && priority != this.priority) {
+      this.fireUpdating();
       this.priority = priority;
+      this.fireUpdated();
     }
   }
 
@@ -123,10 +327,45 @@ public class Task implements Serializable {
    *
    * @return the priority of the task
    */
-  public String getPriority() {
+  public TaskPriority getTaskPriority() {
     return this.priority;
   }
 
+  /**
+   * Sets the priority of the task by its name, a blank or null name is ignored.
+   *
+   * @param priority The name of the priority to be set, like "High", can not be an unknown name
+   */
+  public void setPriority(String priority) {
+    this.setTaskPriority(priorityNamed(priority));
+  }
+
+  /**
+   * Returns the priority with the given name, null for a blank or null name.
+   *
+   * @param name The name of the priority, like "High"
+   * @return The priority with the given name, null if the name is blank or null
+   */
+  private static TaskPriority priorityNamed(String name) {
+    if (name == null || name.isBlank()) {
+      return null;
+    }
+    TaskPriority priority = TaskPriority.fromDisplayName(name);
+    if (priority == null) {
+      throw new IllegalArgumentException("priority must be Low, Medium or High, not " + name + "!");
+    }
+    return priority;
+  }
+
+  /**
+   * Returns the name of the priority of the task.
+   *
+   * @return the name of the priority of the task, like "Medium"
+   */
+  public String getPriority() {
+    return this.priority.getDisplayName();
+  }
+
   /**
    * Returns the category.
    *
@@ -136,6 +375,31 @@ public class Task implements Serializable {
     return this.category;
   }
 
+  /**
+   * Returns the code of the category in the category dictionary of the register the task is in.
+   * Tasks in the same register are in the same category if their codes are equal.
+   *
+   * @return The code of the category, {@link CategoryDictionary#NO_CODE} if the task is not in
+   *     a register
+   */
+  public int getCategoryCode() {
+    return this.categoryCode;
+  }
+
+  /**
+   * Sets the code of the category, and the category name to the instance held by the dictionary.
+   * Called by the register the task is in, does not notify it.
+   *
+   * @param code The code of the category, {@link CategoryDictionary#NO_CODE} to clear it
+   * @param name The name of the category, equal to the current one, null to keep the current one
+   */
+  void setCategoryCode(int code, String name) {
+    this.categoryCode = code;
+    if (name != null) {
+      this.category = name;
+    }
+  }
+
   /**
    * Sets the given String as the task's category.
    *
@@ -144,8 +408,11 @@ public class Task implements Serializable {
    */
   public void setCategory(String category) {
     if (category != null) {
-      if (!category.isBlank()) {
+      if (!category.isBlank() && !category.equals(this.category)) {
+        this.fireUpdating();
         this.category = category;
+        this.categoryCode = CategoryDictionary.NO_CODE;
+        this.fireUpdated();
       }
     }
   }
@@ -167,12 +434,44 @@ public class Task implements Serializable {
    */
   public void setDueDate(LocalDate dueDate) {
     if (dueDate != null) {
-      if (dueDate.isAfter(this.getDateAdded())) {
+      if (dueDate.isAfter(this.getDateAdded()) && !dueDate.equals(this.dueDate)) {
+        this.fireUpdating();
         this.dueDate = dueDate;
+        this.fireUpdated();
       }
     }
   }
 
+  /**
+   * Returns the current due date of the task, to be restored later
+   * with {@link #restoreDueDate(SavedDueDate)}.
+   *
+   * @return The saved due date of the task
+   */
+  public SavedDueDate saveDueDate() {
+    return new SavedDueDate(this, this.dueDate);
+  }
+
+  /**
+   * Restores the due date the task had when it was saved, when a change of the due date is undone.
+   * The date was valid for the task when it was saved, so it is not checked again against the
+   * date the task was created: a task created on the day it is due gets that due date back.
+   * Only a due date saved from this task can be restored, so no other date gets past the check
+   * of {@link #setDueDate(LocalDate)}.
+   *
+   * @param saved The due date saved from this task, can not be null
+   */
+  public void restoreDueDate(SavedDueDate saved) {
+    if (saved == null || saved.task != this) {
+      throw new IllegalArgumentException("saved must be a due date saved from this task!");
+    }
+    if (!Objects.equals(saved.dueDate, this.dueDate)) {
+      this.fireUpdating();
+      this.dueDate = saved.dueDate;
+      this.fireUpdated();
+    }
+  }
+
   /**
    * Returns the task status.
    *
@@ -189,7 +488,11 @@ public class Task implements Serializable {
    * @param status The status to set
    */
   public void setActiveStatus(boolean status) {
-    this.status = status;
+    if (this.status != status) {
+      this.fireUpdating();
+      this.status = status;
+      this.fireUpdated();
+    }
   }
 
   /**
@@ -201,6 +504,41 @@ public class Task implements Serializable {
     return this.dateAdded;
   }
 
+  /**
+   * Writes the description inline, a task read back by Java serialization
+   * has no access to the description loader.
+   */
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    ObjectOutputStream.PutField fields = out.putFields();
+    fields.put("id", this.id);
+    fields.put("taskName", this.taskName);
+    fields.put("description", this.getDescription());
+    fields.put("category", this.category);
+    fields.put("priority", this.priority.getDisplayName());
+    fields.put("dueDate", this.dueDate);
+    fields.put("status", this.status);
+    fields.put("dateAdded", this.dateAdded);
+    out.writeFields();
+  }
+
+  /**
+   * Reads a task written by writeObject or by an earlier version,
+   * unknown priority names are read as Medium.
+   */
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    ObjectInputStream.GetField fields = in.readFields();
+    this.id = fields.get("id", 0L);
+    this.taskName = (String) fields.get("taskName", null);
+    this.description = (String) fields.get("description", "");
+    this.category = (String) fields.get("category", null);
+    this.categoryCode = CategoryDictionary.NO_CODE;
+    TaskPriority readPriority = TaskPriority.fromDisplayName((String) fields.get("priority", null));
+    this.priority = (readPriority != null) ? readPriority : TaskPriority.MEDIUM;
+    this.dueDate = (LocalDate) fields.get("dueDate", null);
+    this.status = fields.get("status", false);
+    this.dateAdded = (LocalDate) fields.get("dateAdded", null);
+  }
+
   @Override
   public String toString() {
     return "Task{"
@@ -221,6 +559,12 @@ public class Task implements Serializable {
     private final String category;
     private LocalDate dueDate;
     private boolean status;
+    private long id;
+    private TaskPriority priority;
+    private LocalDate dateAdded;
+    private DescriptionLoader descriptionLoader;
+    private long descriptionOffset;
+    private int descriptionLength;
 
     /**
      * Instantiates the PatientBuilder with the required arguments.
@@ -258,17 +602,112 @@ public class Task implements Serializable {
       return this;
     }
 
+    /**
+     * Sets the task's id and returns the TaskBuilder, intermediate operation.
+     * Used when restoring a task that was previously added to a register.
+     *
+     * @param id The task's id to set, must be positive
+     * @return The TaskBuilder with the given id
+     */
+    public TaskBuilder withId(long id) {
+      if (id > 0) {
+        this.id = id;
+      }
+      return this;
+    }
+
+    /**
+     * Sets the task's priority and returns the TaskBuilder, intermediate operation.
+     *
+     * @param priority The task's priority to set, not null
+     * @return The TaskBuilder with the given priority
+     */
+    public TaskBuilder withTaskPriority(TaskPriority priority) {
+      if (priority != null) {
+        this.priority = priority;
+      }
+      return this;
+    }
+
+    /**
+     * Sets the task's priority by its name and returns the TaskBuilder, intermediate operation.
+     *
+     * @param priority The name of the task's priority to set, like "High",
+     *                 can not be an unknown name, a blank or null name is ignored
+     * @return The TaskBuilder with the given priority
+     */
+    public TaskBuilder withPriority(String priority) {
+      return this.withTaskPriority(priorityNamed(priority));
+    }
+
+    /**
+     * Sets the task's creation date and returns the TaskBuilder, intermediate operation.
+     *
+     * @param dateAdded The task's creation date to set
+     * @return The TaskBuilder with the given creation date
+     */
+    public TaskBuilder withDateAdded(LocalDate dateAdded) {
+      if (dateAdded != null) {
+        this.dateAdded = dateAdded;
+      }
+      return this;
+    }
+
+    /**
+     * Sets the location of the task's stored description and returns the TaskBuilder,
+     * intermediate operation. The description given to the constructor may then be null.
+     *
+     * @param descriptionLoader The loader holding the description
+     * @param offset            The offset of the stored description
+     * @param length            The length of the stored description in bytes
+     * @return The TaskBuilder with the given stored description
+     */
+    public TaskBuilder withStoredDescription(DescriptionLoader descriptionLoader,
+                                             long offset, int length) {
+      if (descriptionLoader != null) {
+        this.descriptionLoader = descriptionLoader;
+        this.descriptionOffset = offset;
+        this.descriptionLength = length;
+      }
+      return this;
+    }
+
     /**
      * Returns an instance of a Task according to the provided arguments, terminal operation.
      *
      * @return An instance of a Task with the provided arguments
      */
     public Task build() {
-      Task task = new Task(this.taskName, this.description, this.category);
+      return new Task(this);
+    }
+  }
 
-      task.dueDate = this.dueDate;
-      task.status = this.status;
-      return task;
+  /**
+   * Class SavedDueDate represents the due date a task had at one time,
+   * it can only be restored to the task it was saved from.
+   */
+  public static final class SavedDueDate {
+    private final Task task;
+    private final LocalDate dueDate;
+
+    /**
+     * SavedDueDate constructor.
+     *
+     * @param task    The task the due date was saved from
+     * @param dueDate The due date of the task, null if it had none
+     */
+    private SavedDueDate(Task task, LocalDate dueDate) {
+      this.task = task;
+      this.dueDate = dueDate;
+    }
+
+    /**
+     * Returns the saved due date.
+     *
+     * @return The saved due date, null if the task had none
+     */
+    public LocalDate getDueDate() {
+      return this.dueDate;
     }
   }
 }
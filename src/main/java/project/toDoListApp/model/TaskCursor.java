@@ -0,0 +1,136 @@
+package project.toDoListApp.model;
+
+import java.util.Comparator;
+
+/**
+ * Class TaskCursor represents a position in the tasks of a register taken in a given order:
+ * the sort key of a task at the time the cursor was taken, and the id of the task breaking ties.
+ * A cursor does not hold the task, so a page read after it stays where it was
+ * even if that task was changed or removed meanwhile.
+ * The dates and the priority are kept as a number and the title as the string,
+ * so comparing a cursor to a task compares the fields directly, without boxing them.
+ */
+public final class TaskCursor implements Comparable<TaskCursor> {
+  private final TaskQuery.Order order;
+
+  /**
+   * The sort key in every order but the title, compared as a number.
+   */
+  private final long key;
+
+  /**
+   * The sort key in the title order, null in the other orders.
+   */
+  private final String title;
+  private final long id;
+
+  /**
+   * TaskCursor constructor.
+   */
+  private TaskCursor(TaskQuery.Order order, long key, String title, long id) {
+    this.order = order;
+    this.key = key;
+    this.title = title;
+    this.id = id;
+  }
+
+  /**
+   * Returns the cursor at the given task in the given order.
+   *
+   * @param order The order of the tasks, can not be null
+   * @param task  The task, can not be null
+   * @return The cursor at the task
+   */
+  public static TaskCursor of(TaskQuery.Order order, Task task) {
+    if (order == null || task == null) {
+      throw new IllegalArgumentException("order and task can not be null!");
+    }
+    return new TaskCursor(order, keyOf(order, task),
+        (order == TaskQuery.Order.TITLE) ? task.getTaskName() : null, task.getId());
+  }
+
+  /**
+   * Returns the comparator putting tasks in the order of their cursors in the given order,
+   * the cursors are not created.
+   *
+   * @param order The order of the tasks
+   * @return The comparator of the tasks
+   */
+  static Comparator<Task> comparator(TaskQuery.Order order) {
+    if (order == TaskQuery.Order.TITLE) {
+      return (first, second) -> {
+        int compared = first.getTaskName().compareTo(second.getTaskName());
+        return (compared != 0) ? compared : Long.compare(first.getId(), second.getId());
+      };
+    }
+    return (first, second) -> {
+      int compared = Long.compare(keyOf(order, first), keyOf(order, second));
+      return (compared != 0) ? compared : Long.compare(first.getId(), second.getId());
+    };
+  }
+
+  /**
+   * Compares this cursor to the cursor the given task has in the order of this cursor,
+   * the cursor of the task is not created.
+   *
+   * @param task The task to compare with
+   * @return A negative number if this cursor is before the task, 0 if it is at the task
+   *     and a positive number if it is after the task
+   */
+  int compareTo(Task task) {
+    int compared = (this.title != null)
+        ? this.title.compareTo(task.getTaskName())
+        : Long.compare(this.key, keyOf(this.order, task));
+    return (compared != 0) ? compared : Long.compare(this.id, task.getId());
+  }
+
+  /**
+   * Returns the sort key of the given task in the given order as a number,
+   * 0 in the title order, which is compared by the title itself.
+   */
+  private static long keyOf(TaskQuery.Order order, Task task) {
+    switch (order) {
+      case DUE_DATE:
+        // The tasks without a due date last
+        return (task.getDueDate() != null) ? task.getDueDate().toEpochDay() : Long.MAX_VALUE;
+      case PRIORITY:
+        // The highest priority first
+        return -task.getTaskPriority().ordinal();
+      case TITLE:
+        return 0;
+      default:
+        // The tasks without a date added first
+        return (task.getDateAdded() != null) ? task.getDateAdded().toEpochDay() : Long.MIN_VALUE;
+    }
+  }
+
+  /**
+   * Returns the order of the tasks the cursor is a position in.
+   *
+   * @return The order of the tasks
+   */
+  public TaskQuery.Order getOrder() {
+    return this.order;
+  }
+
+  @Override
+  public int compareTo(TaskCursor other) {
+    int compared = (this.title != null)
+        ? this.title.compareTo(other.title)
+        : Long.compare(this.key, other.key);
+    return (compared != 0) ? compared : Long.compare(this.id, other.id);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof TaskCursor
+        && ((TaskCursor) other).order == this.order
+        && this.compareTo((TaskCursor) other) == 0;
+  }
+
+  @Override
+  public int hashCode() {
+    int keyHash = (this.title != null) ? this.title.hashCode() : Long.hashCode(this.key);
+    return 31 * keyHash + Long.hashCode(this.id);
+  }
+}
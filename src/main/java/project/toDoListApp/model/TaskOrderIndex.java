@@ -0,0 +1,293 @@
+package project.toDoListApp.model;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Class TaskOrderIndex represents the tasks of a register kept in one of the orders of a query.
+ * The tasks are kept in a tree that counts the tasks under each of its nodes, so a task is found
+ * by its cursor or by its position in the order, and the position of a cursor is counted,
+ * going down a single path of the tree.
+ *
+ * <p>The tree is a treap: every node is given a random weight and a node weighs more than
+ * the nodes under it, which keeps the tree balanced whatever order the tasks are added in.
+ * A task must be removed before one of its fields changes and be added again afterwards,
+ * like in the other indexes of the register.</p>
+ */
+final class TaskOrderIndex {
+  private final Comparator<Task> comparator;
+  private final SplittableRandom random;
+  private Node root;
+
+  /**
+   * TaskOrderIndex constructor, creates an empty index.
+   *
+   * @param order The order the tasks are kept in
+   */
+  TaskOrderIndex(TaskQuery.Order order) {
+    this.comparator = TaskCursor.comparator(order);
+    this.random = new SplittableRandom();
+    this.root = null;
+  }
+
+  /**
+   * Returns the number of tasks in the index.
+   *
+   * @return The number of tasks
+   */
+  int size() {
+    return sizeOf(this.root);
+  }
+
+  /**
+   * Adds the given task in its place, does nothing if the index already holds it.
+   *
+   * @param task The task to add
+   */
+  void add(Task task) {
+    if (!this.contains(task)) {
+      this.root = this.insert(this.root, new Node(task, this.random.nextInt()));
+    }
+  }
+
+  /**
+   * Removes the given task, found by its current field values.
+   *
+   * @param task The task to remove
+   */
+  void remove(Task task) {
+    this.root = this.delete(this.root, task);
+  }
+
+  /**
+   * Returns the task at the given position in the order.
+   *
+   * @param position The position of the task, from 0 to the number of tasks excluded
+   * @return The task at the position
+   */
+  Task get(int position) {
+    Node node = this.root;
+    int skipped = position;
+    while (skipped != sizeOf(node.left)) {
+      if (skipped < sizeOf(node.left)) {
+        node = node.left;
+      } else {
+        skipped -= sizeOf(node.left) + 1;
+        node = node.right;
+      }
+    }
+    return node.task;
+  }
+
+  /**
+   * Returns the number of tasks before the given cursor, the position of the cursor.
+   *
+   * @param cursor The cursor, in the order of the index
+   * @return The number of tasks before the cursor
+   */
+  int countBefore(TaskCursor cursor) {
+    return this.count(cursor, 1);
+  }
+
+  /**
+   * Returns the number of tasks before the given cursor and at it,
+   * the position of the first task after the cursor.
+   *
+   * @param cursor The cursor, in the order of the index
+   * @return The number of tasks up to the cursor
+   */
+  int countUpTo(TaskCursor cursor) {
+    return this.count(cursor, 0);
+  }
+
+  /**
+   * Adds the tasks from the given position on to the given list, in order, up to the given number.
+   * The tree is gone down once to the first task, then in order from there.
+   *
+   * @param from  The position of the first task
+   * @param count The highest number of tasks to add
+   * @param into  The list to add the tasks to
+   */
+  void copy(int from, int count, List<Task> into) {
+    // The nodes left to visit, the next one on top
+    Deque<Node> path = new ArrayDeque<>();
+    Node node = this.root;
+    int skipped = from;
+    while (node != null) {
+      if (skipped <= sizeOf(node.left)) {
+        path.push(node);
+        node = (skipped < sizeOf(node.left)) ? node.left : null;
+      } else {
+        skipped -= sizeOf(node.left) + 1;
+        node = node.right;
+      }
+    }
+    for (int copied = 0; copied < count && !path.isEmpty(); copied++) {
+      Node next = path.pop();
+      into.add(next.task);
+      for (Node left = next.right; left != null; left = left.left) {
+        path.push(left);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of tasks the given cursor compares to at least the given result with.
+   */
+  private int count(TaskCursor cursor, int lowestResult) {
+    int count = 0;
+    Node node = this.root;
+    while (node != null) {
+      if (cursor.compareTo(node.task) >= lowestResult) {
+        count += sizeOf(node.left) + 1;
+        node = node.right;
+      } else {
+        node = node.left;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns true if the index holds the given task, found by its current field values.
+   */
+  private boolean contains(Task task) {
+    Node node = this.root;
+    while (node != null) {
+      int compared = this.comparator.compare(task, node.task);
+      if (compared == 0) {
+        return true;
+      }
+      node = (compared < 0) ? node.left : node.right;
+    }
+    return false;
+  }
+
+  /**
+   * Inserts the given node in the tree under the given node, returns the new top of that tree.
+   */
+  private Node insert(Node node, Node added) {
+    if (node == null) {
+      return added;
+    }
+    Node top = node;
+    if (this.comparator.compare(added.task, node.task) < 0) {
+      node.left = this.insert(node.left, added);
+      node.count();
+      if (node.left.weight > node.weight) {
+        top = rotateRight(node);
+      }
+    } else {
+      node.right = this.insert(node.right, added);
+      node.count();
+      if (node.right.weight > node.weight) {
+        top = rotateLeft(node);
+      }
+    }
+    return top;
+  }
+
+  /**
+   * Deletes the node of the given task from the tree under the given node,
+   * returns the new top of that tree.
+   */
+  private Node delete(Node node, Task task) {
+    if (node == null) {
+      return null;
+    }
+    int compared = this.comparator.compare(task, node.task);
+    if (compared == 0) {
+      return merge(node.left, node.right);
+    }
+    if (compared < 0) {
+      node.left = this.delete(node.left, task);
+    } else {
+      node.right = this.delete(node.right, task);
+    }
+    node.count();
+    return node;
+  }
+
+  /**
+   * Merges two trees, every task of the first one before every task of the second one,
+   * returns the top of the merged tree.
+   */
+  private static Node merge(Node left, Node right) {
+    if (left == null) {
+      return right;
+    }
+    if (right == null) {
+      return left;
+    }
+    if (left.weight > right.weight) {
+      left.right = merge(left.right, right);
+      left.count();
+      return left;
+    }
+    right.left = merge(left, right.left);
+    right.count();
+    return right;
+  }
+
+  /**
+   * Lifts the left node of the given node above it, returns the lifted node.
+   */
+  private static Node rotateRight(Node node) {
+    Node lifted = node.left;
+    node.left = lifted.right;
+    lifted.right = node;
+    node.count();
+    lifted.count();
+    return lifted;
+  }
+
+  /**
+   * Lifts the right node of the given node above it, returns the lifted node.
+   */
+  private static Node rotateLeft(Node node) {
+    Node lifted = node.right;
+    node.right = lifted.left;
+    lifted.left = node;
+    node.count();
+    lifted.count();
+    return lifted;
+  }
+
+  /**
+   * Returns the number of tasks in the tree under the given node, 0 for no node.
+   */
+  private static int sizeOf(Node node) {
+    return (node != null) ? node.size : 0;
+  }
+
+  /**
+   * Class Node represents a task in the tree, the nodes before and after it,
+   * and the number of tasks in the tree it is the top of.
+   */
+  private static final class Node {
+    private final Task task;
+    private final int weight;
+    private Node left;
+    private Node right;
+    private int size;
+
+    /**
+     * Node constructor, creates a node without nodes under it.
+     */
+    private Node(Task task, int weight) {
+      this.task = task;
+      this.weight = weight;
+      this.size = 1;
+    }
+
+    /**
+     * Counts the tasks of the tree again, after the nodes under this node changed.
+     */
+    private void count() {
+      this.size = sizeOf(this.left) + sizeOf(this.right) + 1;
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package project.toDoListApp.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class TaskPage represents a window of the tasks of a register in a given order,
+ * and the cursor the next window starts after.
+ */
+public final class TaskPage {
+  private final List<Task> tasks;
+  private final TaskCursor next;
+
+  /**
+   * TaskPage constructor.
+   *
+   * @param tasks The tasks of the page, in order, can not be null
+   * @param next  The cursor the next page starts after, null if this is the last page
+   */
+  TaskPage(List<Task> tasks, TaskCursor next) {
+    this.tasks = Collections.unmodifiableList(tasks);
+    this.next = next;
+  }
+
+  /**
+   * Returns the tasks of the page, in order.
+   *
+   * @return An unmodifiable List of the tasks of the page
+   */
+  public List<Task> getTasks() {
+    return this.tasks;
+  }
+
+  /**
+   * Returns the cursor the next page starts after.
+   *
+   * @return The cursor of the next page, null if this is the last page
+   */
+  public TaskCursor getNext() {
+    return this.next;
+  }
+
+  /**
+   * Returns true if there are tasks after this page.
+   *
+   * @return True if there is a next page, false otherwise
+   */
+  public boolean hasNext() {
+    return this.next != null;
+  }
+}
@@ -0,0 +1,71 @@
+package project.toDoListApp.model;
+
+/**
+ * Enum TaskPriority represents the priority of a task, ordered from the lowest to the highest.
+ * Priorities compare by their ordinal, which is also the form they are saved in,
+ * so the order of the constants must never change and new ones can only be added at the end.
+ */
+public enum TaskPriority {
+  LOW("Low"),
+  MEDIUM("Medium"),
+  HIGH("High");
+
+  /**
+   * The priorities by ordinal, {@link #values()} would return a new array every time.
+   */
+  private static final TaskPriority[] PRIORITIES = values();
+
+  private final String displayName;
+
+  /**
+   * TaskPriority constructor.
+   *
+   * @param displayName The name of the priority as shown to the user
+   */
+  TaskPriority(String displayName) {
+    this.displayName = displayName;
+  }
+
+  /**
+   * Returns the name of the priority as shown to the user.
+   *
+   * @return The name of the priority, like "Medium"
+   */
+  public String getDisplayName() {
+    return this.displayName;
+  }
+
+  /**
+   * Returns the priority with the given name, ignoring case.
+   *
+   * @param displayName The name of the priority, like "Medium"
+   * @return The priority with the given name, null if there is none
+   */
+  public static TaskPriority fromDisplayName(String displayName) {
+    TaskPriority found = null;
+    for (TaskPriority priority : PRIORITIES) {
+      if (priority.displayName.equalsIgnoreCase(displayName)) {
+        found = priority;
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Returns the priority with the given ordinal.
+   *
+   * @param ordinal The ordinal of the priority
+   * @return The priority with the given ordinal, null if there is none
+   */
+  public static TaskPriority fromOrdinal(int ordinal) {
+    if (ordinal < 0 || ordinal >= PRIORITIES.length) {
+      return null;
+    }
+    return PRIORITIES[ordinal];
+  }
+
+  @Override
+  public String toString() {
+    return this.displayName;
+  }
+}
@@ -0,0 +1,298 @@
+package project.toDoListApp.model;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/**
+ * Class TaskQuery represents a query over the tasks of a TaskRegister: the conditions a task
+ * must meet, the order to return the tasks in and the highest number of tasks to return.
+ * A query is run by {@link TaskRegister#query(TaskQuery)}, which reads the tasks from
+ * the index narrowing them down the most and only tests the remaining conditions on those.
+ *
+ * <p>Queries are immutable and built with a {@link QueryBuilder}.</p>
+ */
+public final class TaskQuery {
+  /**
+   * Enum Order represents an order the tasks of a query can be returned in.
+   */
+  public enum Order {
+    /**
+     * By due date, the tasks without a due date last.
+     */
+    DUE_DATE(Comparator.comparing(Task::getDueDate,
+        Comparator.nullsLast(Comparator.naturalOrder()))),
+    /**
+     * By priority, the highest first.
+     */
+    PRIORITY(Comparator.comparing(Task::getTaskPriority).reversed()),
+    /**
+     * By title.
+     */
+    TITLE(Comparator.comparing(Task::getTaskName)),
+    /**
+     * By the date the tasks were added, the oldest first.
+     */
+    DATE_ADDED(Comparator.comparing(Task::getDateAdded,
+        Comparator.nullsFirst(Comparator.naturalOrder())));
+
+    private final Comparator<Task> comparator;
+
+    /**
+     * Order constructor.
+     *
+     * @param comparator The comparator of the tasks in this order
+     */
+    Order(Comparator<Task> comparator) {
+      this.comparator = comparator;
+    }
+
+    /**
+     * Returns the comparator of the tasks in this order.
+     *
+     * @return The comparator of the tasks
+     */
+    public Comparator<Task> getComparator() {
+      return this.comparator;
+    }
+  }
+
+  private final Boolean status;
+  private final String category;
+  private final TaskPriority priority;
+  private final LocalDate dueFrom;
+  private final LocalDate dueTo;
+  private final String text;
+  private final Order order;
+  private final int limit;
+
+  /**
+   * TaskQuery constructor, used by the builder.
+   */
+  private TaskQuery(QueryBuilder builder) {
+    this.status = builder.status;
+    this.category = builder.category;
+    this.priority = builder.priority;
+    this.dueFrom = builder.dueFrom;
+    this.dueTo = builder.dueTo;
+    this.text = builder.text;
+    this.order = builder.order;
+    this.limit = builder.limit;
+  }
+
+  /**
+   * Returns the status the tasks must have.
+   *
+   * @return True for completed tasks, false for uncompleted ones, null for any status
+   */
+  public Boolean getStatus() {
+    return this.status;
+  }
+
+  /**
+   * Returns the category the tasks must be in.
+   *
+   * @return The category, null for any category
+   */
+  public String getCategory() {
+    return this.category;
+  }
+
+  /**
+   * Returns the priority the tasks must have.
+   *
+   * @return The priority, null for any priority
+   */
+  public TaskPriority getPriority() {
+    return this.priority;
+  }
+
+  /**
+   * Returns the first due date the tasks may have.
+   *
+   * @return The first due date, null if the due date is not queried
+   */
+  public LocalDate getDueFrom() {
+    return this.dueFrom;
+  }
+
+  /**
+   * Returns the last due date the tasks may have.
+   *
+   * @return The last due date, null if the due date is not queried
+   */
+  public LocalDate getDueTo() {
+    return this.dueTo;
+  }
+
+  /**
+   * Returns the text the tasks must match.
+   *
+   * @return The text, null for any text
+   */
+  public String getText() {
+    return this.text;
+  }
+
+  /**
+   * Returns the order the tasks are returned in.
+   *
+   * @return The order, null for no particular order
+   */
+  public Order getOrder() {
+    return this.order;
+  }
+
+  /**
+   * Returns the highest number of tasks returned.
+   *
+   * @return The highest number of tasks, Integer.MAX_VALUE for no limit
+   */
+  public int getLimit() {
+    return this.limit;
+  }
+
+  /**
+   * Returns true if the given task meets the conditions of the query, except the text.
+   *
+   * @param task The task to test, can not be null
+   * @return True if the task meets the conditions, false otherwise
+   */
+  public boolean accepts(Task task) {
+    return (this.status == null || task.getStatus() == this.status)
+        && (this.category == null || this.category.equals(task.getCategory()))
+        && (this.priority == null || task.getTaskPriority() == this.priority)
+        && (this.dueFrom == null || (task.getDueDate() != null
+            && !task.getDueDate().isBefore(this.dueFrom) && !task.getDueDate().isAfter(this.dueTo)));
+  }
+
+  /**
+   * The QueryBuilder class is responsible for building an instance
+   * of a TaskQuery class according to the Builder design pattern.
+   * Without any condition, the query returns all the tasks.
+   */
+  public static final class QueryBuilder {
+    private Boolean status;
+    private String category;
+    private TaskPriority priority;
+    private LocalDate dueFrom;
+    private LocalDate dueTo;
+    private String text;
+    private Order order;
+    private int limit;
+
+    /**
+     * Instantiates the QueryBuilder of a query without conditions.
+     */
+    public QueryBuilder() {
+      this.limit = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Only accepts the tasks with the given status, intermediate operation.
+     *
+     * @param status True for completed tasks, false for uncompleted ones
+     * @return The QueryBuilder with the given status
+     */
+    public QueryBuilder withStatus(boolean status) {
+      this.status = status;
+      return this;
+    }
+
+    /**
+     * Only accepts the tasks in the given category, intermediate operation.
+     *
+     * @param category The category, can not be null
+     * @return The QueryBuilder with the given category
+     */
+    public QueryBuilder withCategory(String category) {
+      if (category == null) {
+        throw new IllegalArgumentException("category can not be null!");
+      }
+      this.category = category;
+      return this;
+    }
+
+    /**
+     * Only accepts the tasks with the given priority, intermediate operation.
+     *
+     * @param priority The priority, can not be null
+     * @return The QueryBuilder with the given priority
+     */
+    public QueryBuilder withPriority(TaskPriority priority) {
+      if (priority == null) {
+        throw new IllegalArgumentException("priority can not be null!");
+      }
+      this.priority = priority;
+      return this;
+    }
+
+    /**
+     * Only accepts the tasks due between the given dates, both included, intermediate operation.
+     * Tasks without a due date are not accepted.
+     *
+     * @param from The first due date, can not be null
+     * @param to   The last due date, can not be null
+     * @return The QueryBuilder with the given due dates
+     */
+    public QueryBuilder withDueBetween(LocalDate from, LocalDate to) {
+      if (from == null || to == null) {
+        throw new IllegalArgumentException("from and to can not be null!");
+      }
+      this.dueFrom = from;
+      this.dueTo = to;
+      return this;
+    }
+
+    /**
+     * Only accepts the tasks matching the given search text, intermediate operation.
+     * A blank text accepts all the tasks.
+     *
+     * @param text The search text, can not be null
+     * @return The QueryBuilder with the given text
+     */
+    public QueryBuilder withText(String text) {
+      if (text == null) {
+        throw new IllegalArgumentException("text can not be null!");
+      }
+      this.text = text.isBlank() ? null : text;
+      return this;
+    }
+
+    /**
+     * Returns the tasks in the given order, intermediate operation.
+     *
+     * @param order The order, can not be null
+     * @return The QueryBuilder with the given order
+     */
+    public QueryBuilder orderBy(Order order) {
+      if (order == null) {
+        throw new IllegalArgumentException("order can not be null!");
+      }
+      this.order = order;
+      return this;
+    }
+
+    /**
+     * Returns at most the given number of tasks, intermediate operation.
+     *
+     * @param limit The highest number of tasks, can not be negative
+     * @return The QueryBuilder with the given limit
+     */
+    public QueryBuilder withLimit(int limit) {
+      if (limit < 0) {
+        throw new IllegalArgumentException("limit can not be negative!");
+      }
+      this.limit = limit;
+      return this;
+    }
+
+    /**
+     * Builds the query, terminal operation.
+     *
+     * @return The built TaskQuery
+     */
+    public TaskQuery build() {
+      return new TaskQuery(this);
+    }
+  }
+}
@@ -1,55 +1,717 @@
 package project.toDoListApp.model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Class TaskRegister represents a register that can hold Tasks.
  * It is responsible for adding, removing and returning a list of the tasks.
+ * The tasks are kept by their unique id, so a task can be looked up by its id in constant time.
+ *
+ * <p>The tasks are indexed by status, category, priority and due date, so that a filtered
+ * list of tasks costs time in proportion to its size instead of the size of the register.
+ * A task in the register takes itself out of the indexes before one of the indexed fields
+ * changes and is put back afterwards, so the indexes always match the tasks.
+ * The tasks can also be kept in the orders pages of them are read in.</p>
+ *
+ * <p>The lists of all, uncompleted and completed tasks are immutable snapshots,
+ * built on the first read after a change and then shared by all the readers until
+ * the next change, so reading them repeatedly does not copy the register.
+ * A change only drops the snapshots it affects.</p>
+ *
+ * <p>The register can be read and changed from any thread. Every change, including a change
+ * to a field of a task in the register, is made holding the write lock of a StampedLock,
+ * so it happens-before every read that starts after it. Reads of a single field, like the
+ * number of tasks, are made optimistically, without taking the lock, and only repeated holding
+ * the read lock if a change was made meanwhile. Reads going over the tasks or the indexes are
+ * made holding the read lock, a change can leave them in a state that can not be gone over.
+ * Several reads that must see the same state of the register are made through
+ * {@link #read(Supplier)}. The listeners are notified on the thread that made the change,
+ * after the lock was released. A listener may change the register, but a task in the register
+ * can not be changed while the change of another one is being made.</p>
+ *
+ * <p>The categories are kept in a CategoryDictionary, a task in the register holds
+ * the int code of its category and the name instance shared by all the tasks in it.</p>
  */
 public class TaskRegister implements Serializable {
-  private final HashSet<Task> tasks;
+  /**
+   * Kept equal to the value computed for the original class so that
+   * registers saved by earlier versions can still be read.
+   */
+  private static final long serialVersionUID = 18532494211709090L;
+
+  /**
+   * A query is run against the text index only if no register index
+   * narrows the tasks down to this many.
+   */
+  private static final int TEXT_INDEX_THRESHOLD = 256;
+
+  /**
+   * The serialized form of earlier versions, the tasks are written as a HashSet.
+   */
+  private static final ObjectStreamField[] serialPersistentFields = {
+      new ObjectStreamField("tasks", HashSet.class),
+      new ObjectStreamField("nextId", long.class)
+  };
+
+  private transient LongTaskMap tasks;
+  private long nextId;
+
+  private transient List<TaskRegisterListener> listeners;
+
+  /**
+   * Guards the tasks, the indexes and the fields of the tasks in the register.
+   */
+  private transient StampedLock lock;
+
+  /**
+   * True on a thread holding the read lock, the lock is not reentrant.
+   */
+  private transient ThreadLocal<Boolean> holdingReadLock;
+
+  /**
+   * The stamp of the write lock held from {@link #taskUpdating(Task)} to {@link #taskUpdated(Task)}.
+   */
+  private transient long updateStamp;
+
+  /**
+   * The thread between {@link #taskUpdating(Task)} and {@link #taskUpdated(Task)}, null if none.
+   * Only the thread changing a task ever finds itself in updatingThread.
+   */
+  private transient Thread updatingThread;
+
+  // ---- INDEXES, rebuilt after deserialization
+  private transient Set<Task> uncompletedTasks;
+  private transient Set<Task> completedTasks;
+  private transient CategoryDictionary categories;
+
+  /**
+   * The tasks of every category, at the index of the category code.
+   */
+  private transient List<Set<Task>> tasksByCategory;
+  private transient Map<TaskPriority, Set<Task>> tasksByPriority;
+  private transient NavigableMap<LocalDate, Set<Task>> tasksByDueDate;
+  private transient Set<Task> tasksWithoutDueDate;
+
+  /**
+   * The tasks in each of the orders kept, see {@link #keepOrder(TaskQuery.Order)}.
+   */
+  private transient Map<TaskQuery.Order, TaskOrderIndex> tasksByOrder;
+
+  // ---- SNAPSHOTS, rebuilt on the first read after a change
+  private transient SnapshotCache allTasksSnapshot;
+  private transient SnapshotCache uncompletedTasksSnapshot;
+  private transient SnapshotCache completedTasksSnapshot;
+
+  /**
+   * The status of the task being updated, before the update.
+   */
+  private transient boolean statusBeforeUpdate;
+
+  /**
+   * The thread running a batch and the changes of the batch, null outside of a batch.
+   * Only the thread running the batch ever finds itself in batchThread.
+   */
+  private transient Thread batchThread;
+  private transient Batch batch;
+
+  /**
+   * The index the text condition of a query is run against, null to search the tasks.
+   */
+  private transient TaskTextIndex textIndex;
 
   /**
    * Constructor for a task register.
    */
   public TaskRegister() {
-    this.tasks = new HashSet<>();
+    this.tasks = new LongTaskMap();
+    this.nextId = 1;
+    this.listeners = new CopyOnWriteArrayList<>();
+    this.lock = new StampedLock();
+    this.holdingReadLock = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    this.createIndexes();
   }
 
   /**
    * Adds a given task to the tasks list.
+   * The task is given a unique id if it does not have one yet,
+   * or if its id is already taken by another task in the register.
    *
    * @param task The task to add,
    *             can be a duplicate but can not be null
    */
   public void addTask(Task task) {
-    if (task != null) {
-      this.tasks.add(task);
+    if (task == null) {
+      return;
+    }
+    boolean added;
+    long stamp = this.lock.writeLock();
+    try {
+      added = this.putTask(task);
+    } finally {
+      this.lock.unlockWrite(stamp);
+    }
+
+    if (added) {
+      for (TaskRegisterListener listener : this.listeners) {
+        listener.taskAdded(task);
+      }
+    }
+  }
+
+  /**
+   * Runs the given reader against a single state of the register and returns its result.
+   * The reader is run holding the read lock, it may call the other getters of the register
+   * but must not change it.
+   *
+   * @param reader The reader to run, can not be null
+   * @param <R>    The type of the result
+   * @return The result of the reader
+   */
+  public <R> R read(Supplier<R> reader) {
+    if (reader == null) {
+      throw new IllegalArgumentException("reader can not be null!");
     }
+    return this.readLocked(reader);
   }
 
   /**
    * Returns a List of all the tasks present in the register.
+   * The List is an immutable snapshot, shared by all the calls made until the next task
+   * is added or removed.
    *
-   * @return A List of all the tasks present in the register in a random order
+   * @return An unmodifiable List of all the tasks present in the register in a random order
    */
   public List<Task> getAllTasks() {
-    return new ArrayList<>(this.tasks);
+    return this.getSnapshot(this.allTasksSnapshot, () -> this.tasks.toArray());
+  }
+
+  /**
+   * Returns the task with the given id.
+   *
+   * @param id The id of the task
+   * @return The task with the given id, null if the register holds no such task
+   */
+  public Task getTask(long id) {
+    return this.readLocked(() -> this.tasks.get(id));
   }
 
   /**
    * Returns a List of all the active tasks present in the register.
+   * The List is an immutable snapshot, shared by all the calls made until the next change
+   * of the uncompleted tasks.
    *
-   * @return A List of all the tasks present in the register in a random order
+   * @return An unmodifiable List of all the uncompleted tasks in a random order
    */
   public List<Task> getAllUncompletedTasks() {
-    return this.tasks.stream()
-        .filter(task -> !task.getStatus())
-        .collect(Collectors.toList());
+    return this.getSnapshot(this.uncompletedTasksSnapshot,
+        () -> this.uncompletedTasks.toArray(new Task[0]));
+  }
+
+  /**
+   * Returns a List of all the completed tasks present in the register.
+   * The List is an immutable snapshot, shared by all the calls made until the next change
+   * of the completed tasks.
+   *
+   * @return An unmodifiable List of all the completed tasks in a random order
+   */
+  public List<Task> getAllCompletedTasks() {
+    return this.getSnapshot(this.completedTasksSnapshot,
+        () -> this.completedTasks.toArray(new Task[0]));
+  }
+
+  /**
+   * Returns a List of all the tasks in the given category.
+   *
+   * @param category The category to get the tasks of
+   * @return A List of the tasks in the given category in a random order, empty if none
+   */
+  public List<Task> getTasksByCategory(String category) {
+    return this.readLocked(
+        () -> this.getTasksByCategory(this.categories.getCode(category)));
+  }
+
+  /**
+   * Returns a List of all the tasks in the category with the given code.
+   *
+   * @param categoryCode The code of the category to get the tasks of
+   * @return A List of the tasks in the category in a random order, empty if none
+   */
+  public List<Task> getTasksByCategory(int categoryCode) {
+    return this.readLocked(
+        () -> copyOf((categoryCode >= 0 && categoryCode < this.tasksByCategory.size())
+            ? this.tasksByCategory.get(categoryCode) : null));
+  }
+
+  /**
+   * Returns all the categories used by the tasks in the register.
+   *
+   * @return A List of the categories ordered by code
+   */
+  public List<String> getCategories() {
+    return this.readLocked(() -> {
+      List<String> usedCategories = new ArrayList<>();
+      for (int code = 0; code < this.tasksByCategory.size(); code++) {
+        if (!this.tasksByCategory.get(code).isEmpty()) {
+          usedCategories.add(this.categories.getName(code));
+        }
+      }
+      return usedCategories;
+    });
+  }
+
+  /**
+   * Returns the dictionary of the categories of the tasks in the register.
+   * It may also hold categories no task in the register uses anymore.
+   * The dictionary is changed along with the register, another thread must only read it
+   * through {@link #read(Supplier)}.
+   *
+   * @return The category dictionary of the register
+   */
+  public CategoryDictionary getCategoryDictionary() {
+    return this.categories;
+  }
+
+  /**
+   * Returns a List of all the tasks with the given priority.
+   *
+   * @param priority The priority to get the tasks of
+   * @return A List of the tasks with the given priority in a random order, empty if none
+   */
+  public List<Task> getTasksByPriority(TaskPriority priority) {
+    return this.readLocked(() -> copyOf(this.tasksByPriority.get(priority)));
+  }
+
+  /**
+   * Returns a List of all the tasks with the priority of the given name.
+   *
+   * @param priority The name of the priority to get the tasks of, like "High"
+   * @return A List of the tasks with the given priority in a random order, empty if none
+   */
+  public List<Task> getTasksByPriority(String priority) {
+    return this.getTasksByPriority(TaskPriority.fromDisplayName(priority));
+  }
+
+  /**
+   * Returns a List of all the tasks due between the given dates, both included.
+   *
+   * @param from The first due date to include, can not be null
+   * @param to   The last due date to include, can not be null
+   * @return A List of the tasks due between the given dates, ordered by due date
+   */
+  public List<Task> getTasksDueBetween(LocalDate from, LocalDate to) {
+    if (from == null || to == null) {
+      throw new IllegalArgumentException("from or to can not be null!");
+    }
+    return this.readLocked(() -> {
+      List<Task> dueTasks = new ArrayList<>();
+      if (!from.isAfter(to)) {
+        for (Set<Task> tasksOnDate : this.tasksByDueDate.subMap(from, true, to, true).values()) {
+          dueTasks.addAll(tasksOnDate);
+        }
+      }
+      return dueTasks;
+    });
+  }
+
+  /**
+   * Returns a List of all the tasks without a due date.
+   *
+   * @return A List of the tasks without a due date in a random order
+   */
+  public List<Task> getTasksWithoutDueDate() {
+    return this.readLocked(() -> new ArrayList<>(this.tasksWithoutDueDate));
+  }
+
+  /**
+   * Sets the index the text condition of a query is run against.
+   * Without one, the title, category and description of the tasks are searched.
+   *
+   * @param textIndex The text index, null to search the tasks
+   */
+  public void setTextIndex(TaskTextIndex textIndex) {
+    this.textIndex = textIndex;
+  }
+
+  /**
+   * Returns the tasks meeting the conditions of the given query, in its order and up to its limit.
+   * The tasks are read from the index narrowing them down the most, the other conditions are
+   * only tested on the tasks read. With a limit, the tasks are ordered by keeping the first
+   * tasks only, or read in order from the due date index when ordered by due date.
+   *
+   * <p>The stream is over the tasks read when this method was called,
+   * the remaining conditions are tested as it is consumed.</p>
+   *
+   * @param query The query to run, can not be null
+   * @return A Stream of the tasks meeting the query
+   */
+  public Stream<Task> query(TaskQuery query) {
+    if (query == null) {
+      throw new IllegalArgumentException("query can not be null!");
+    }
+    QueryPlan plan = this.plan(query);
+    Predicate<Task> filter = plan.filter;
+    if (plan.ordered || query.getOrder() == null) {
+      return plan.candidates.stream().filter(filter).limit(query.getLimit());
+    }
+    Comparator<Task> comparator = query.getOrder().getComparator();
+    if (query.getLimit() >= plan.candidates.size()) {
+      return plan.candidates.stream().filter(filter).sorted(comparator);
+    }
+    return firstOf(plan.candidates.stream().filter(filter), comparator, query.getLimit()).stream();
+  }
+
+  /**
+   * Returns a description of how the given query is run: the index the tasks are read from
+   * and the number of tasks read.
+   *
+   * @param query The query, can not be null
+   * @return A description of the plan of the query, like "category index, 12 tasks"
+   */
+  public String explain(TaskQuery query) {
+    if (query == null) {
+      throw new IllegalArgumentException("query can not be null!");
+    }
+    QueryPlan plan = this.plan(query);
+    return plan.source + ", " + plan.candidates.size() + " tasks";
+  }
+
+  /**
+   * Returns the plan of the given query: the tasks read from the index narrowing them down
+   * the most, and the filter of the remaining conditions.
+   */
+  private QueryPlan plan(TaskQuery query) {
+    String text = query.getText();
+    TaskTextIndex index = this.textIndex;
+    Predicate<Task> textFilter = (text == null) ? null
+        : (index != null) ? index.matcher(text) : searchFilter(text);
+    Predicate<Task> filter = (textFilter == null) ? query::accepts
+        : task -> query.accepts(task) && textFilter.test(task);
+
+    QueryPlan plan = this.readLocked(() -> this.planFromIndexes(query, filter));
+    if (plan == null && text != null && index != null) {
+      // Only searched when no index narrows the tasks down enough, the text index is the costliest
+      Set<Task> matchingTasks = index.getMatchingTasks(text);
+      plan = this.readLocked(() -> this.planFromIndexes(query, filter));
+      if (plan == null || matchingTasks.size() < plan.candidates.size()) {
+        plan = new QueryPlan("text index", new ArrayList<>(matchingTasks), query::accepts, false);
+      }
+    }
+    if (plan == null) {
+      plan = this.readLocked(() -> this.planFromIndexes(query, filter, Integer.MAX_VALUE));
+    }
+    return plan;
+  }
+
+  /**
+   * Returns the plan reading the tasks from the register index narrowing them down the most,
+   * null if that still leaves more tasks than it is worth searching the text index for.
+   */
+  private QueryPlan planFromIndexes(TaskQuery query, Predicate<Task> filter) {
+    return this.planFromIndexes(query, filter,
+        (query.getText() != null && this.textIndex != null) ? TEXT_INDEX_THRESHOLD : Integer.MAX_VALUE);
+  }
+
+  /**
+   * Returns the plan reading the tasks from the register index narrowing them down the most,
+   * null if that leaves more than the given number of tasks. Called holding the lock.
+   */
+  private QueryPlan planFromIndexes(TaskQuery query, Predicate<Task> filter, int maxCandidates) {
+    String source = "all tasks";
+    Collection<Task> best = null;
+    int bestSize = this.tasks.size();
+    if (query.getStatus() != null) {
+      Set<Task> statusTasks = query.getStatus() ? this.completedTasks : this.uncompletedTasks;
+      if (statusTasks.size() < bestSize) {
+        source = "status index";
+        best = statusTasks;
+        bestSize = statusTasks.size();
+      }
+    }
+    if (query.getCategory() != null) {
+      int code = this.categories.getCode(query.getCategory());
+      Set<Task> categoryTasks = (code >= 0 && code < this.tasksByCategory.size())
+          ? this.tasksByCategory.get(code) : Collections.emptySet();
+      if (categoryTasks.size() < bestSize) {
+        source = "category index";
+        best = categoryTasks;
+        bestSize = categoryTasks.size();
+      }
+    }
+    if (query.getPriority() != null) {
+      Set<Task> priorityTasks = this.tasksByPriority.get(query.getPriority());
+      if (priorityTasks.size() < bestSize) {
+        source = "priority index";
+        best = priorityTasks;
+        bestSize = priorityTasks.size();
+      }
+    }
+    Collection<Set<Task>> dueTasks = (query.getDueFrom() == null) ? null
+        : query.getDueFrom().isAfter(query.getDueTo()) ? Collections.emptyList()
+        : this.tasksByDueDate.subMap(query.getDueFrom(), true, query.getDueTo(), true).values();
+    if (dueTasks != null) {
+      // Counted only as far as it could beat the best index so far
+      int dueSize = 0;
+      Iterator<Set<Task>> dates = dueTasks.iterator();
+      while (dueSize < bestSize && dates.hasNext()) {
+        dueSize += dates.next().size();
+      }
+      if (dueSize < bestSize) {
+        source = "due date index";
+        best = null;
+        bestSize = dueSize;
+      }
+    }
+
+    QueryPlan plan = null;
+    if (query.getOrder() == TaskQuery.Order.DUE_DATE && query.getLimit() < bestSize
+        && ("all tasks".equals(source) || "due date index".equals(source))) {
+      // Read in order, only until the limit is reached
+      plan = this.planInDueDateOrder(query, filter);
+    } else if ("due date index".equals(source)) {
+      List<Task> candidates = new ArrayList<>(bestSize);
+      for (Set<Task> tasksOnDate : dueTasks) {
+        candidates.addAll(tasksOnDate);
+      }
+      plan = new QueryPlan(source, candidates, filter, false);
+    } else if (bestSize <= maxCandidates) {
+      plan = new QueryPlan(source,
+          (best != null) ? new ArrayList<>(best) : Arrays.asList(this.tasks.toArray()), filter, false);
+    }
+    return plan;
+  }
+
+  /**
+   * Returns the plan reading the tasks in order from the due date index until the limit
+   * of the query is reached, the tasks without a due date last. Called holding the lock.
+   */
+  private QueryPlan planInDueDateOrder(TaskQuery query, Predicate<Task> filter) {
+    Collection<Set<Task>> dueTasks = (query.getDueFrom() == null) ? this.tasksByDueDate.values()
+        : this.tasksByDueDate.subMap(query.getDueFrom(), true, query.getDueTo(), true).values();
+    List<Task> candidates = new ArrayList<>();
+    Iterator<Set<Task>> dates = dueTasks.iterator();
+    while (candidates.size() < query.getLimit() && dates.hasNext()) {
+      for (Task task : dates.next()) {
+        if (filter.test(task)) {
+          candidates.add(task);
+        }
+      }
+    }
+    if (query.getDueFrom() == null) {
+      Iterator<Task> undatedTasks = this.tasksWithoutDueDate.iterator();
+      while (candidates.size() < query.getLimit() && undatedTasks.hasNext()) {
+        Task task = undatedTasks.next();
+        if (filter.test(task)) {
+          candidates.add(task);
+        }
+      }
+    }
+    // The tasks of the last date read may go past the limit
+    return new QueryPlan("due date index in order", candidates, task -> true, true);
+  }
+
+  /**
+   * Returns a filter searching the title, category and description of the tasks
+   * for the given text, ignoring case.
+   */
+  private static Predicate<Task> searchFilter(String text) {
+    String searched = text.trim().toLowerCase();
+    return task -> task.getTaskName().toLowerCase().contains(searched)
+        || task.getCategory().toLowerCase().contains(searched)
+        || task.getDescription().toLowerCase().contains(searched);
+  }
+
+  /**
+   * Returns the first tasks of the given stream in the given order, up to the given number,
+   * keeping only that many tasks at a time.
+   */
+  private static List<Task> firstOf(Stream<Task> tasks, Comparator<Task> comparator, int limit) {
+    List<Task> first = new ArrayList<>();
+    if (limit > 0) {
+      PriorityQueue<Task> kept = new PriorityQueue<>(limit + 1, comparator.reversed());
+      tasks.forEach(task -> {
+        if (kept.size() < limit) {
+          kept.add(task);
+        } else if (comparator.compare(task, kept.peek()) < 0) {
+          // Only a task before the last one kept is kept instead of it
+          kept.poll();
+          kept.add(task);
+        }
+      });
+      first.addAll(kept);
+      first.sort(comparator);
+    }
+    return first;
+  }
+
+  /**
+   * Keeps the tasks in the given order from now on, to read pages of the tasks in that order.
+   * The tasks are put in order once, then every change keeps them in order for as long as
+   * the register lives, so an order is only kept for a view reading pages in it.
+   * Does nothing if the order is already kept.
+   *
+   * @param order The order to keep the tasks in, can not be null
+   */
+  public void keepOrder(TaskQuery.Order order) {
+    if (order == null) {
+      throw new IllegalArgumentException("order can not be null!");
+    }
+    long stamp = this.lock.writeLock();
+    try {
+      if (!this.tasksByOrder.containsKey(order)) {
+        TaskOrderIndex index = new TaskOrderIndex(order);
+        for (Task task : this.tasks) {
+          index.add(task);
+        }
+        this.tasksByOrder.put(order, index);
+      }
+    } finally {
+      this.lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Returns the page of tasks in the given order that starts after the given cursor.
+   * Pages read one after the other with the cursor of the previous page stay stable:
+   * a task added or removed meanwhile only shifts the pages after it.
+   * The page is read from the tasks kept in the order, found after the cursor without
+   * going over the tasks before it.
+   *
+   * @param order    The order of the tasks, must be kept, see {@link #keepOrder(TaskQuery.Order)}
+   * @param after    The cursor the page starts after, null for the first page
+   * @param pageSize The highest number of tasks in the page, must be positive
+   * @return The page of tasks
+   * @throws IllegalStateException If the tasks are not kept in the given order
+   */
+  public TaskPage getPage(TaskQuery.Order order, TaskCursor after, int pageSize) {
+    this.checkCursor(order, after);
+    if (pageSize <= 0) {
+      throw new IllegalArgumentException("pageSize must be positive!");
+    }
+    return this.readLocked(() -> {
+      TaskOrderIndex index = this.orderIndex(order);
+      return pageOf(order, index, (after != null) ? index.countUpTo(after) : 0, pageSize);
+    });
+  }
+
+  /**
+   * Returns the page of tasks in the given order that starts at the given position.
+   * The page is read from the tasks kept in the order, found at the position without
+   * going over the tasks before it.
+   *
+   * @param order    The order of the tasks, must be kept, see {@link #keepOrder(TaskQuery.Order)}
+   * @param position The position of the first task of the page, can not be negative
+   * @param pageSize The highest number of tasks in the page, must be positive
+   * @return The page of tasks, empty if there are no tasks from the position on
+   * @throws IllegalStateException If the tasks are not kept in the given order
+   */
+  public TaskPage getPage(TaskQuery.Order order, int position, int pageSize) {
+    this.checkCursor(order, null);
+    if (position < 0 || pageSize <= 0) {
+      throw new IllegalArgumentException("position can not be negative and pageSize must be positive!");
+    }
+    return this.readLocked(() -> pageOf(order, this.orderIndex(order), position, pageSize));
+  }
+
+  /**
+   * Returns the cursor after the given number of tasks following the given cursor,
+   * without reading the tasks in between into a page.
+   *
+   * @param order The order of the tasks, must be kept, see {@link #keepOrder(TaskQuery.Order)}
+   * @param after The cursor to start after, null to start before the first task
+   * @param count The number of tasks to skip, can not be negative
+   * @return The cursor after the skipped tasks, the given cursor if none were skipped
+   * @throws IllegalStateException If the tasks are not kept in the given order
+   */
+  public TaskCursor skip(TaskQuery.Order order, TaskCursor after, int count) {
+    this.checkCursor(order, after);
+    if (count < 0) {
+      throw new IllegalArgumentException("count can not be negative!");
+    }
+    return this.readLocked(() -> {
+      TaskOrderIndex index = this.orderIndex(order);
+      int from = (after != null) ? index.countUpTo(after) : 0;
+      int to = (int) Math.min((long) from + count, index.size());
+      return (to > from) ? TaskCursor.of(order, index.get(to - 1)) : after;
+    });
+  }
+
+  /**
+   * Returns the position the given cursor is at: the number of tasks before it in its order.
+   * The tasks before it are counted in the tasks kept in the order, without going over them.
+   *
+   * @param cursor The cursor, its order must be kept, see {@link #keepOrder(TaskQuery.Order)}
+   * @return The number of tasks before the cursor
+   * @throws IllegalStateException If the tasks are not kept in the order of the cursor
+   */
+  public int getPosition(TaskCursor cursor) {
+    if (cursor == null) {
+      throw new IllegalArgumentException("cursor can not be null!");
+    }
+    return this.readLocked(() -> this.orderIndex(cursor.getOrder()).countBefore(cursor));
+  }
+
+  /**
+   * Checks that the given order is not null and the given cursor, if any, is in that order.
+   */
+  private void checkCursor(TaskQuery.Order order, TaskCursor cursor) {
+    if (order == null) {
+      throw new IllegalArgumentException("order can not be null!");
+    }
+    if (cursor != null && cursor.getOrder() != order) {
+      throw new IllegalArgumentException("The cursor is not in the given order!");
+    }
+  }
+
+  /**
+   * Returns the tasks kept in the given order. Called holding the lock.
+   *
+   * @throws IllegalStateException If the tasks are not kept in the given order
+   */
+  private TaskOrderIndex orderIndex(TaskQuery.Order order) {
+    TaskOrderIndex index = this.tasksByOrder.get(order);
+    if (index == null) {
+      throw new IllegalStateException("The tasks are not kept in the order " + order + "!");
+    }
+    return index;
+  }
+
+  /**
+   * Returns the page of the tasks of the given index from the given position on.
+   * Called holding the lock.
+   */
+  private static TaskPage pageOf(TaskQuery.Order order, TaskOrderIndex index, int position,
+      int pageSize) {
+    List<Task> tasks = new ArrayList<>(Math.min(pageSize, index.size()));
+    index.copy(position, pageSize, tasks);
+    if (tasks.isEmpty() || position + tasks.size() >= index.size()) {
+      return new TaskPage(tasks, null);
+    }
+    return new TaskPage(tasks, TaskCursor.of(order, tasks.get(tasks.size() - 1)));
   }
 
   /**
@@ -64,7 +726,103 @@ public class TaskRegister implements Serializable {
     if (task == null) {
       return false;
     }
-    return this.tasks.remove(task);
+    boolean removed;
+    long stamp = this.lock.writeLock();
+    try {
+      removed = this.takeTask(task);
+    } finally {
+      this.lock.unlockWrite(stamp);
+    }
+
+    if (removed) {
+      for (TaskRegisterListener listener : this.listeners) {
+        listener.taskRemoved(task);
+      }
+    }
+    return removed;
+  }
+
+  /**
+   * Adds the given tasks to the register as a single change,
+   * the listeners are notified once of all the added tasks.
+   * Null tasks and tasks already in the register are skipped.
+   *
+   * @param tasks The tasks to add, can not be null
+   */
+  public void addAll(Collection<Task> tasks) {
+    if (tasks == null) {
+      throw new IllegalArgumentException("tasks can not be null!");
+    }
+    Batch batch = this.beginBatch();
+    try {
+      for (Task task : tasks) {
+        if (task != null && this.putTask(task)) {
+          batch.added.add(task);
+        }
+      }
+    } finally {
+      this.endBatch(batch);
+    }
+  }
+
+  /**
+   * Removes every task accepted by the given filter from the register as a single change,
+   * the listeners are notified once of all the removed tasks.
+   *
+   * @param filter The filter accepting the tasks to remove, can not be null
+   * @return The removed tasks
+   */
+  public List<Task> removeIf(Predicate<Task> filter) {
+    if (filter == null) {
+      throw new IllegalArgumentException("filter can not be null!");
+    }
+    Batch batch = this.beginBatch();
+    try {
+      for (Task task : this.tasks.toArray()) {
+        if (filter.test(task) && this.takeTask(task)) {
+          batch.removed.add(task);
+        }
+      }
+    } finally {
+      this.endBatch(batch);
+    }
+    return batch.removed;
+  }
+
+  /**
+   * Sets the status of the given tasks as a single change.
+   *
+   * @param tasks  The tasks to change, tasks not in the register are skipped, can not be null
+   * @param status The status to set, true if the tasks are complete, false otherwise
+   */
+  public void setStatus(Collection<Task> tasks, boolean status) {
+    this.updateAll(tasks, task -> task.setActiveStatus(status));
+  }
+
+  /**
+   * Sets the priority of the given tasks as a single change.
+   *
+   * @param tasks    The tasks to change, tasks not in the register are skipped, can not be null
+   * @param priority The priority to set, can not be null
+   */
+  public void setPriority(Collection<Task> tasks, TaskPriority priority) {
+    if (priority == null) {
+      throw new IllegalArgumentException("priority can not be null!");
+    }
+    this.updateAll(tasks, task -> task.setTaskPriority(priority));
+  }
+
+  /**
+   * Sets the category of the given tasks as a single change.
+   *
+   * @param tasks    The tasks to change, tasks not in the register are skipped, can not be null
+   * @param category The category to set, can not be blank or null
+   */
+  public void setCategory(Collection<Task> tasks, String category) {
+    if (category == null || category.isBlank()) {
+      throw new IllegalArgumentException("category can not be blank or null!");
+    }
+    this.updateAll(tasks, task -> task.setCategory(category));
   }
 
   /**
@@ -73,6 +831,477 @@ public class TaskRegister implements Serializable {
    * @return The number of tasks in the register
    */
   public int getNumberOfTasks() {
-    return this.tasks.size();
+    return this.readOptimistically(() -> this.tasks.size());
+  }
+
+  /**
+   * Returns the id the next task added to the register will get.
+   *
+   * @return The next free id
+   */
+  public long getNextId() {
+    return this.readOptimistically(() -> this.nextId);
+  }
+
+  /**
+   * Makes sure that no id below the given one is ever assigned to a new task,
+   * used to keep ids unique across saves even after tasks were removed.
+   *
+   * @param nextId The lowest id that may be assigned to a new task
+   */
+  public void reserveIds(long nextId) {
+    long stamp = this.lock.writeLock();
+    try {
+      if (nextId > this.nextId) {
+        this.nextId = nextId;
+      }
+    } finally {
+      this.lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Adds a listener that is notified of every change made to the tasks in the register.
+   *
+   * @param listener The listener to add, can not be null
+   */
+  public void addListener(TaskRegisterListener listener) {
+    if (listener != null) {
+      this.listeners.add(listener);
+    }
+  }
+
+  /**
+   * Removes a previously added listener.
+   *
+   * @param listener The listener to remove
+   */
+  public void removeListener(TaskRegisterListener listener) {
+    this.listeners.remove(listener);
+  }
+
+  /**
+   * Called by a task in the register before one of its fields changes, takes the write lock
+   * and the task out of the indexes until {@link #taskUpdated(Task)} is called.
+   *
+   * @param task The task about to change
+   */
+  void taskUpdating(Task task) {
+    if (this.updatingThread == Thread.currentThread()) {
+      // The lock is not reentrant and a single change of a task is tracked at a time
+      throw new IllegalStateException(
+          "A task can not be changed while another task is changing!");
+    }
+    // A task changed by a batch is changed holding the lock of the batch
+    if (this.batchThread != Thread.currentThread()) {
+      this.updateStamp = this.lock.writeLock();
+    }
+    this.updatingThread = Thread.currentThread();
+    this.unindexTask(task);
+    this.statusBeforeUpdate = task.getStatus();
+  }
+
+  /**
+   * Called by a task in the register after one of its fields has changed,
+   * puts the task back in the indexes and releases the write lock.
+   *
+   * @param task The changed task
+   */
+  void taskUpdated(Task task) {
+    boolean inBatch = this.batchThread == Thread.currentThread();
+    try {
+      this.indexTask(task);
+      if (task.getStatus() != this.statusBeforeUpdate) {
+        // The task moved from one status snapshot to the other, the other fields are not in them
+        this.uncompletedTasksSnapshot.drop();
+        this.completedTasksSnapshot.drop();
+      }
+    } finally {
+      this.updatingThread = null;
+      if (!inBatch) {
+        this.lock.unlockWrite(this.updateStamp);
+      }
+    }
+    if (inBatch) {
+      this.batch.updated.add(task);
+    } else {
+      for (TaskRegisterListener listener : this.listeners) {
+        listener.taskUpdated(task);
+      }
+    }
+  }
+
+  /**
+   * Applies the given change to each of the given tasks in the register as a single change.
+   */
+  private void updateAll(Collection<Task> tasks, Consumer<Task> change) {
+    if (tasks == null) {
+      throw new IllegalArgumentException("tasks can not be null!");
+    }
+    Batch batch = this.beginBatch();
+    try {
+      for (Task task : tasks) {
+        if (task != null && this.tasks.get(task.getId()) == task) {
+          change.accept(task);
+        }
+      }
+    } finally {
+      this.endBatch(batch);
+    }
+  }
+
+  /**
+   * Takes the write lock for a batch of changes, the tasks changed on this thread
+   * are recorded in the returned batch instead of being notified one by one.
+   */
+  private Batch beginBatch() {
+    long stamp = this.lock.writeLock();
+    this.batch = new Batch(stamp);
+    this.batchThread = Thread.currentThread();
+    return this.batch;
+  }
+
+  /**
+   * Releases the write lock of the given batch and notifies the listeners of its changes.
+   */
+  private void endBatch(Batch batch) {
+    this.batchThread = null;
+    this.batch = null;
+    this.lock.unlockWrite(batch.stamp);
+    if (!batch.isEmpty()) {
+      for (TaskRegisterListener listener : this.listeners) {
+        listener.tasksChanged(batch.added, batch.removed, batch.updated);
+      }
+    }
+  }
+
+  /**
+   * Adds the given task, called holding the write lock.
+   *
+   * @return True if the task was added, false if it already was in the register
+   */
+  private boolean putTask(Task task) {
+    boolean added = this.tasks.get(task.getId()) != task;
+    if (added) {
+      this.assignId(task);
+      this.tasks.put(task.getId(), task);
+      task.setRegister(this);
+      this.encodeCategory(task);
+      this.indexTask(task);
+      this.dropSnapshots(task.getStatus());
+    }
+    return added;
+  }
+
+  /**
+   * Removes the given task, called holding the write lock.
+   *
+   * @return True if the task was removed, false if it was not in the register
+   */
+  private boolean takeTask(Task task) {
+    boolean removed = this.tasks.get(task.getId()) == task;
+    if (removed) {
+      this.tasks.remove(task.getId());
+      this.unindexTask(task);
+      task.setRegister(null);
+      task.setCategoryCode(CategoryDictionary.NO_CODE, null);
+      this.dropSnapshots(task.getStatus());
+    }
+    return removed;
+  }
+
+  /**
+   * Gives the given task the next free id if it does not have one or its id is taken,
+   * makes sure that future ids do not collide with it otherwise.
+   *
+   * @param task The task to assign an id to
+   */
+  private void assignId(Task task) {
+    if (task.getId() <= 0 || this.tasks.containsKey(task.getId())) {
+      task.setId(this.nextId++);
+    } else if (task.getId() >= this.nextId) {
+      this.nextId = task.getId() + 1;
+    }
+  }
+
+  /**
+   * Creates the empty indexes.
+   */
+  private void createIndexes() {
+    this.uncompletedTasks = new HashSet<>();
+    this.completedTasks = new HashSet<>();
+    this.categories = new CategoryDictionary();
+    this.tasksByCategory = new ArrayList<>();
+    this.tasksByPriority = new EnumMap<>(TaskPriority.class);
+    this.tasksByDueDate = new TreeMap<>();
+    this.tasksWithoutDueDate = new HashSet<>();
+    this.tasksByOrder = new EnumMap<>(TaskQuery.Order.class);
+    this.allTasksSnapshot = new SnapshotCache();
+    this.uncompletedTasksSnapshot = new SnapshotCache();
+    this.completedTasksSnapshot = new SnapshotCache();
+  }
+
+  /**
+   * Adds the given task to the indexes, does nothing for the indexes already holding it.
+   *
+   * @param task The task to index
+   */
+  private void indexTask(Task task) {
+    (task.getStatus() ? this.completedTasks : this.uncompletedTasks).add(task);
+    if (task.getCategoryCode() == CategoryDictionary.NO_CODE) {
+      // The category has changed since the task was indexed
+      this.encodeCategory(task);
+    }
+    this.tasksByCategory.get(task.getCategoryCode()).add(task);
+    this.tasksByPriority.computeIfAbsent(task.getTaskPriority(), key -> new HashSet<>()).add(task);
+    if (task.getDueDate() != null) {
+      this.tasksByDueDate.computeIfAbsent(task.getDueDate(), key -> new HashSet<>()).add(task);
+    } else {
+      this.tasksWithoutDueDate.add(task);
+    }
+    for (TaskOrderIndex index : this.tasksByOrder.values()) {
+      index.add(task);
+    }
+  }
+
+  /**
+   * Gives the given task the code of its category, adding the category to the dictionary
+   * if it is new, and the category name instance held by the dictionary.
+   *
+   * @param task The task to encode the category of
+   */
+  private void encodeCategory(Task task) {
+    int code = this.categories.encode(task.getCategory());
+    if (code == this.tasksByCategory.size()) {
+      this.tasksByCategory.add(new HashSet<>());
+    }
+    task.setCategoryCode(code, this.categories.getName(code));
+  }
+
+  /**
+   * Removes the given task from the indexes, by its current field values.
+   *
+   * @param task The task to remove from the indexes
+   */
+  private void unindexTask(Task task) {
+    (task.getStatus() ? this.completedTasks : this.uncompletedTasks).remove(task);
+    this.tasksByCategory.get(task.getCategoryCode()).remove(task);
+    removeFromIndex(this.tasksByPriority, task.getTaskPriority(), task);
+    if (task.getDueDate() != null) {
+      removeFromIndex(this.tasksByDueDate, task.getDueDate(), task);
+    } else {
+      this.tasksWithoutDueDate.remove(task);
+    }
+    for (TaskOrderIndex index : this.tasksByOrder.values()) {
+      index.remove(task);
+    }
+  }
+
+  /**
+   * Removes the given task from the set of the given key, and the set once it is empty.
+   */
+  private static <K> void removeFromIndex(Map<K, Set<Task>> index, K key, Task task) {
+    Set<Task> indexedTasks = index.get(key);
+    if (indexedTasks != null && indexedTasks.remove(task) && indexedTasks.isEmpty()) {
+      index.remove(key);
+    }
+  }
+
+  /**
+   * Drops the snapshot of all the tasks and the snapshot of the tasks with the given status,
+   * after a task with the status was added or removed.
+   */
+  private void dropSnapshots(boolean status) {
+    this.allTasksSnapshot.drop();
+    (status ? this.completedTasksSnapshot : this.uncompletedTasksSnapshot).drop();
+  }
+
+  /**
+   * Returns the snapshot held by the given cache, or a new one of the given tasks if it was dropped.
+   */
+  private List<Task> getSnapshot(SnapshotCache cache, Supplier<Task[]> tasks) {
+    List<Task> snapshot = cache.get();
+    if (snapshot == null) {
+      // The version is read along with the tasks, a snapshot kept late is never taken for a newer one
+      Object[] versioned = this.readLocked(() -> new Object[] {cache.version, tasks.get()});
+      snapshot = Collections.unmodifiableList(Arrays.asList((Task[]) versioned[1]));
+      cache.put(snapshot, (long) versioned[0]);
+    }
+    return snapshot;
+  }
+
+  /**
+   * Runs the given reader holding the read lock and returns its result.
+   * A reader run by a batch, or by a thread already holding the read lock, is run directly.
+   */
+  private <R> R readLocked(Supplier<R> reader) {
+    if (this.batchThread == Thread.currentThread() || this.holdingReadLock.get()) {
+      return reader.get();
+    }
+    long stamp = this.lock.readLock();
+    this.holdingReadLock.set(Boolean.TRUE);
+    try {
+      return reader.get();
+    } finally {
+      this.holdingReadLock.set(Boolean.FALSE);
+      this.lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Runs the given reader without taking the lock and returns its result if the register was not
+   * changed meanwhile, runs it again holding the read lock otherwise. Only for readers of a single
+   * field: a reader going over a collection may find it half changed, and must use readLocked.
+   */
+  private <R> R readOptimistically(Supplier<R> reader) {
+    long stamp = this.lock.tryOptimisticRead();
+    R result = reader.get();
+    return this.lock.validate(stamp) ? result : this.readLocked(reader);
+  }
+
+  /**
+   * Returns a List holding the given tasks, an empty List for null.
+   */
+  private static List<Task> copyOf(Collection<Task> tasks) {
+    return (tasks != null) ? new ArrayList<>(tasks) : new ArrayList<>();
+  }
+
+  /**
+   * Writes the register in the serialized form of earlier versions.
+   */
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    ObjectOutputStream.PutField fields = out.putFields();
+    fields.put("tasks", new HashSet<>(this.getAllTasks()));
+    fields.put("nextId", this.getNextId());
+    out.writeFields();
+  }
+
+  /**
+   * Restores the transient state after the register has been deserialized.
+   * Registers saved by earlier versions do not contain task ids, these are assigned here.
+   */
+  @SuppressWarnings("unchecked")
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    ObjectInputStream.GetField fields = in.readFields();
+    HashSet<Task> savedTasks = (HashSet<Task>) fields.get("tasks", null);
+    this.nextId = fields.get("nextId", 0L);
+    this.tasks = new LongTaskMap(savedTasks != null ? savedTasks.size() : 0);
+    this.listeners = new CopyOnWriteArrayList<>();
+    this.lock = new StampedLock();
+    this.holdingReadLock = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    this.createIndexes();
+    if (this.nextId <= 0) {
+      this.nextId = 1;
+    }
+    if (savedTasks != null) {
+      for (Task task : savedTasks) {
+        this.assignId(task);
+        this.tasks.put(task.getId(), task);
+        task.setRegister(this);
+        this.encodeCategory(task);
+        this.indexTask(task);
+      }
+    }
+  }
+
+  /**
+   * Class QueryPlan represents how a query is run: the tasks read from an index,
+   * the filter of the conditions the index does not cover, and whether the tasks
+   * already are in the order of the query.
+   */
+  private static final class QueryPlan {
+    private final String source;
+    private final List<Task> candidates;
+    private final Predicate<Task> filter;
+    private final boolean ordered;
+
+    /**
+     * QueryPlan constructor.
+     */
+    private QueryPlan(String source, List<Task> candidates, Predicate<Task> filter, boolean ordered) {
+      this.source = source;
+      this.candidates = candidates;
+      this.filter = filter;
+      this.ordered = ordered;
+    }
+  }
+
+  /**
+   * Class Batch represents a batch of changes made holding the write lock once.
+   * An updated task is recorded once for every field changed.
+   */
+  private static final class Batch {
+    private final long stamp;
+    private final List<Task> added;
+    private final List<Task> removed;
+    private final List<Task> updated;
+
+    /**
+     * Batch constructor.
+     */
+    private Batch(long stamp) {
+      this.stamp = stamp;
+      this.added = new ArrayList<>();
+      this.removed = new ArrayList<>();
+      this.updated = new ArrayList<>();
+    }
+
+    /**
+     * Returns true if nothing was changed by the batch.
+     */
+    private boolean isEmpty() {
+      return this.added.isEmpty() && this.removed.isEmpty() && this.updated.isEmpty();
+    }
+  }
+
+  /**
+   * Class SnapshotCache represents an immutable snapshot of tasks shared by the readers
+   * until it is dropped by a change. Every drop starts a new version, a snapshot is only
+   * returned while the version it was read at is the current one.
+   */
+  private static final class SnapshotCache {
+    /**
+     * Only changed holding the write lock.
+     */
+    private volatile long version;
+    private volatile VersionedSnapshot snapshot;
+
+    /**
+     * Returns the snapshot of the current version, null if there is none.
+     */
+    private List<Task> get() {
+      VersionedSnapshot current = this.snapshot;
+      return (current != null && current.version == this.version) ? current.tasks : null;
+    }
+
+    /**
+     * Keeps the given snapshot, read at the given version.
+     */
+    private void put(List<Task> tasks, long version) {
+      this.snapshot = new VersionedSnapshot(tasks, version);
+    }
+
+    /**
+     * Drops the snapshot, called holding the write lock.
+     */
+    private void drop() {
+      this.version++;
+    }
+  }
+
+  /**
+   * Class VersionedSnapshot represents a snapshot of tasks and the version it was read at.
+   */
+  private static final class VersionedSnapshot {
+    private final List<Task> tasks;
+    private final long version;
+
+    /**
+     * VersionedSnapshot constructor.
+     */
+    private VersionedSnapshot(List<Task> tasks, long version) {
+      this.tasks = tasks;
+      this.version = version;
+    }
   }
 }
@@ -0,0 +1,51 @@
+package project.toDoListApp.model;
+
+import java.util.List;
+
+/**
+ * Interface TaskRegisterListener represents a listener that is notified
+ * of every change made to the tasks of a TaskRegister.
+ */
+public interface TaskRegisterListener {
+  /**
+   * Called after a task has been added to the register.
+   *
+   * @param task The added task
+   */
+  void taskAdded(Task task);
+
+  /**
+   * Called after a task has been removed from the register.
+   *
+   * @param task The removed task
+   */
+  void taskRemoved(Task task);
+
+  /**
+   * Called after one of the fields of a task in the register has changed.
+   *
+   * @param task The changed task
+   */
+  void taskUpdated(Task task);
+
+  /**
+   * Called after a batch of changes was made to the register, in place of a call for each change.
+   * A task updated several times by the batch is in the updated tasks several times.
+   * By default, each change is passed to the methods above in turn.
+   *
+   * @param added   The added tasks
+   * @param removed The removed tasks
+   * @param updated The updated tasks, still in the register
+   */
+  default void tasksChanged(List<Task> added, List<Task> removed, List<Task> updated) {
+    for (Task task : added) {
+      this.taskAdded(task);
+    }
+    for (Task task : removed) {
+      this.taskRemoved(task);
+    }
+    for (Task task : updated) {
+      this.taskUpdated(task);
+    }
+  }
+}
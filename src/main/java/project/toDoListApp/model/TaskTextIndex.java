@@ -0,0 +1,26 @@
+package project.toDoListApp.model;
+
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Interface TaskTextIndex represents an index of the text of the tasks of a TaskRegister,
+ * used by the register to run the text condition of a query.
+ */
+public interface TaskTextIndex {
+  /**
+   * Returns the tasks matching the given search text.
+   *
+   * @param text The search text, can not be blank or null
+   * @return A Set of the matching tasks
+   */
+  Set<Task> getMatchingTasks(String text);
+
+  /**
+   * Returns a predicate accepting the tasks matching the given search text.
+   *
+   * @param text The search text, can not be blank or null
+   * @return A predicate accepting the matching tasks
+   */
+  Predicate<Task> matcher(String text);
+}
@@ -0,0 +1,142 @@
+package project.toDoListApp.utility;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskRegisterListener;
+
+/**
+ * Class AutoSaveScheduler represents a scheduler that saves the register automatically.
+ * It listens to the changes made to the register and saves once no change was made
+ * for the quiet period, or as soon as the number of unsaved changes reaches the threshold.
+ * A burst of changes therefore results in a single save, and nothing is saved without changes.
+ *
+ * <p>All the methods, except the timer, are expected to be called from the thread that
+ * changes the register. The save action is run on that thread through the given executor.</p>
+ */
+public class AutoSaveScheduler implements TaskRegisterListener {
+  private final Runnable saveAction;
+  private final Executor ownerExecutor;
+  private final long quietPeriodMillis;
+  private final int changeThreshold;
+  private final ScheduledExecutorService timer;
+
+  private ScheduledFuture<?> scheduledSave;
+  private int unsavedChanges;
+
+  /**
+   * AutoSaveScheduler constructor.
+   *
+   * @param saveAction        The action that saves the register, can not be null
+   * @param ownerExecutor     Runs tasks on the thread that changes the register, can not be null
+   * @param quietPeriodMillis The time without changes after which the register is saved
+   * @param changeThreshold   The number of unsaved changes after which the register is saved
+   */
+  public AutoSaveScheduler(Runnable saveAction, Executor ownerExecutor,
+                           long quietPeriodMillis, int changeThreshold) {
+    if (saveAction == null || ownerExecutor == null) {
+      throw new IllegalArgumentException("saveAction or ownerExecutor can not be null!");
+    }
+    if (quietPeriodMillis <= 0 || changeThreshold <= 0) {
+      throw new IllegalArgumentException("quietPeriodMillis and changeThreshold must be positive!");
+    }
+    this.saveAction = saveAction;
+    this.ownerExecutor = ownerExecutor;
+    this.quietPeriodMillis = quietPeriodMillis;
+    this.changeThreshold = changeThreshold;
+    this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "autosave-timer");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    this.scheduledSave = null;
+    this.unsavedChanges = 0;
+  }
+
+  @Override
+  public void taskAdded(Task task) {
+    this.changed();
+  }
+
+  @Override
+  public void taskRemoved(Task task) {
+    this.changed();
+  }
+
+  @Override
+  public void taskUpdated(Task task) {
+    this.changed();
+  }
+
+  @Override
+  public void tasksChanged(List<Task> added, List<Task> removed, List<Task> updated) {
+    // A batch counts as a single change, however many tasks it changed
+    this.changed();
+  }
+
+  /**
+   * Saves the register now if there are unsaved changes.
+   */
+  public void flush() {
+    this.cancelScheduledSave();
+    if (this.unsavedChanges > 0) {
+      this.unsavedChanges = 0;
+      this.saveAction.run();
+    }
+  }
+
+  /**
+   * Marks all the changes as saved, called when the register was saved by other means.
+   */
+  public void markSaved() {
+    this.cancelScheduledSave();
+    this.unsavedChanges = 0;
+  }
+
+  /**
+   * Returns the number of changes made since the last save.
+   *
+   * @return The number of unsaved changes
+   */
+  public int getUnsavedChanges() {
+    return this.unsavedChanges;
+  }
+
+  /**
+   * Stops the scheduler, no further automatic saves are made.
+   */
+  public void shutdown() {
+    this.cancelScheduledSave();
+    this.timer.shutdownNow();
+  }
+
+  /**
+   * Records a change and saves or (re)schedules the save.
+   */
+  private void changed() {
+    this.unsavedChanges++;
+    if (this.unsavedChanges >= this.changeThreshold) {
+      this.flush();
+    } else if (!this.timer.isShutdown()) {
+      this.cancelScheduledSave();
+      this.scheduledSave = this.timer.schedule(
+          () -> this.ownerExecutor.execute(this::flush),
+          this.quietPeriodMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Cancels the scheduled save, if any.
+   */
+  private void cancelScheduledSave() {
+    if (this.scheduledSave != null) {
+      this.scheduledSave.cancel(false);
+      this.scheduledSave = null;
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package project.toDoListApp.utility;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import project.toDoListApp.model.TaskRegister;
+
+/**
+ * Class BackgroundSaver represents a saver that writes the register to the disk
+ * on a dedicated I/O thread, so that the caller is never blocked by the disk.
+ * The changes are captured on the calling thread, saves requested while an earlier one
+ * is still waiting to be written are merged into that one.
+ */
+public class BackgroundSaver {
+  /**
+   * The longest time to wait for the last write when shutting down, in seconds.
+   */
+  private static final long SHUTDOWN_TIMEOUT = 30;
+
+  private final FileUtility fileUtility;
+  private final ExecutorService executor;
+
+  /**
+   * The save waiting to be written and the result shared by all the saves merged into it,
+   * both guarded by this.
+   */
+  private SaveRequest queuedRequest;
+  private CompletableFuture<Void> queuedResult;
+
+  /**
+   * BackgroundSaver constructor.
+   *
+   * @param fileUtility The FileUtility used to capture and write the saves, can not be null
+   */
+  public BackgroundSaver(FileUtility fileUtility) {
+    if (fileUtility == null) {
+      throw new IllegalArgumentException("fileUtility can not be null!");
+    }
+    this.fileUtility = fileUtility;
+    this.executor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "task-saver");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Captures the changes made to the given register and schedules them to be written.
+   * Nothing is written if the register has not changed since the last save.
+   * Must be called from the thread that changes the register.
+   *
+   * @param register The register to save, can not be null
+   * @return A future completed once the changes are on the disk,
+   *         or completed exceptionally if the write failed
+   */
+  public synchronized CompletableFuture<Void> save(TaskRegister register) {
+    if (!this.fileUtility.hasUnsavedChanges()) {
+      return (this.queuedResult != null)
+          ? this.queuedResult : CompletableFuture.completedFuture(null);
+    }
+    SaveRequest request = this.fileUtility.prepareSave(register);
+    if (this.queuedRequest != null) {
+      // An earlier save has not been picked up yet, write both at once
+      this.queuedRequest.merge(request);
+      return this.queuedResult;
+    }
+    this.queuedRequest = request;
+    this.queuedResult = new CompletableFuture<>();
+    CompletableFuture<Void> result = this.queuedResult;
+    this.executor.execute(this::writeQueuedRequest);
+    return result;
+  }
+
+  /**
+   * Stops accepting saves and waits for the write in progress and the queued one to finish.
+   *
+   * @throws InterruptedException If interrupted while waiting
+   */
+  public void shutdown() throws InterruptedException {
+    this.executor.shutdown();
+    this.executor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Writes the queued save, runs on the I/O thread.
+   */
+  private void writeQueuedRequest() {
+    SaveRequest request;
+    CompletableFuture<Void> result;
+    synchronized (this) {
+      request = this.queuedRequest;
+      result = this.queuedResult;
+      this.queuedRequest = null;
+      this.queuedResult = null;
+    }
+
+    try {
+      this.fileUtility.writeSave(request);
+      result.complete(null);
+    } catch (IOException | RuntimeException e) {
+      result.completeExceptionally(e);
+    }
+  }
+}
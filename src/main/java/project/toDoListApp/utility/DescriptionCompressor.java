@@ -0,0 +1,111 @@
+package project.toDoListApp.utility;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Class DescriptionCompressor represents the compression of the task descriptions.
+ * The descriptions are HTMLEditor markup, most of which is the same in every task,
+ * so they are deflated with a preset dictionary holding that markup.
+ * Even a description of a few words then shrinks to little more than its text.
+ *
+ * <p>The dictionary is part of the file format, descriptions compressed with it can only be
+ * decompressed with the exact same bytes. It must never be changed, a different dictionary
+ * needs a new description encoding in the DescriptionStore.</p>
+ */
+public class DescriptionCompressor {
+  /**
+   * The markup written by the HTMLEditor, the most common parts last,
+   * as these are the cheapest to refer to.
+   */
+  private static final byte[] DICTIONARY = (
+      "<ol><li></li></ol><ul><li></li></ul><blockquote></blockquote><hr><pre></pre>"
+          + "<h1></h1><h2></h2><h3></h3><b></b><i></i><u></u><strike></strike>"
+          + "<table><tbody><tr><td></td></tr></tbody></table><a href=\"https://"
+          + "<font face=\"Segoe UI\" size=\"3\"></font><font color=\"#000000\">"
+          + "<span style=\"background-color: rgb(255, 255, 255);\">"
+          + "<span style=\"color: rgb(0, 0, 0);\">"
+          + "<span style=\"font-weight: bold;\"><span style=\"font-style: italic;\">"
+          + "<span style=\"text-decoration: underline;\"><span style=\"font-size: 12px;\">"
+          + "<div style=\"text-align: center;\"></div><div style=\"text-align: right;\">"
+          + "<p style=\"text-align: justify;\"><p style=\"text-align: left;\">"
+          + "<font face=\"System\"><span style=\"font-family: System;\">"
+          + "<span style=\"font-family: &quot;Segoe UI&quot;;\">"
+          + "<span style=\"font-family: &quot;&quot;;\"></span></p><p><br></p>"
+          + "</span></font></div><div><br></div>"
+          + "<html dir=\"ltr\"><head></head><body contenteditable=\"true\"><p>"
+          + "</p></body></html>"
+          + "<html dir=\"ltr\"><head></head><body contenteditable=\"true\"></body></html>")
+      .getBytes(StandardCharsets.UTF_8);
+
+  private final Deflater deflater;
+  private final Inflater inflater;
+  private byte[] buffer;
+
+  /**
+   * DescriptionCompressor constructor.
+   */
+  public DescriptionCompressor() {
+    // No zlib wrapper, the records are already framed and checksummed
+    this.deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+    this.inflater = new Inflater(true);
+    this.buffer = new byte[4096];
+  }
+
+  /**
+   * Compresses the given bytes.
+   *
+   * @param bytes The UTF-8 bytes of a description, can not be null
+   * @return The compressed bytes, or null if they are not smaller than the given bytes
+   */
+  public synchronized byte[] compress(byte[] bytes) {
+    this.deflater.reset();
+    this.deflater.setDictionary(DICTIONARY);
+    this.deflater.setInput(bytes);
+    this.deflater.finish();
+
+    int length = 0;
+    while (!this.deflater.finished()) {
+      if (length == this.buffer.length) {
+        this.buffer = Arrays.copyOf(this.buffer, this.buffer.length * 2);
+      }
+      length += this.deflater.deflate(this.buffer, length, this.buffer.length - length);
+      if (length >= bytes.length) {
+        return null;
+      }
+    }
+    return Arrays.copyOf(this.buffer, length);
+  }
+
+  /**
+   * Decompresses bytes compressed by {@link #compress(byte[])}.
+   *
+   * @param source The buffer holding the compressed bytes, all of its remaining bytes are read
+   * @param length The length of the decompressed bytes
+   * @return The decompressed bytes
+   * @throws DataFormatException If the source does not hold the given number of compressed bytes
+   */
+  public synchronized byte[] decompress(ByteBuffer source, int length)
+      throws DataFormatException {
+    this.inflater.reset();
+    this.inflater.setDictionary(DICTIONARY);
+    this.inflater.setInput(source.array(), source.arrayOffset() + source.position(),
+        source.remaining());
+
+    byte[] bytes = new byte[length];
+    int inflated = 0;
+    while (inflated < length) {
+      int count = this.inflater.inflate(bytes, inflated, length - inflated);
+      if (count == 0 && (this.inflater.finished() || this.inflater.needsInput())) {
+        throw new DataFormatException("The compressed description is truncated");
+      }
+      inflated += count;
+    }
+    source.position(source.limit());
+    return bytes;
+  }
+}
@@ -0,0 +1,437 @@
+package project.toDoListApp.utility;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.DataFormatException;
+import project.toDoListApp.model.DescriptionLoader;
+import project.toDoListApp.model.Task;
+
+/**
+ * Class DescriptionStore represents the file the task descriptions are kept in,
+ * apart from the rest of the task data. Task records only hold the offset and length
+ * of their description, which is loaded on demand through a small cache,
+ * so the descriptions are neither decoded nor held in memory when the tasks are loaded.
+ *
+ * <p>The file starts with the TaskCodec header, followed by the descriptions,
+ * each one framed and checksummed by the TaskCodec. Descriptions are only ever appended:
+ * a changed description is staged at the end of the file and the old one becomes garbage,
+ * until {@link #compact(Collection)} copies the live descriptions to a file of the next generation.</p>
+ *
+ * <p>A description is stored deflated by the DescriptionCompressor, as its uncompressed length
+ * followed by the compressed bytes, unless compressing does not make it smaller.
+ * An encoding byte in front of every description tells the two apart.</p>
+ *
+ * <p>Staging a description only encodes it in memory and assigns its offset,
+ * the staged bytes are written by the thread writing the save, before the records
+ * referring to them. Until then the description is served from memory.</p>
+ */
+public class DescriptionStore implements DescriptionLoader {
+  /**
+   * The name of a description file is this prefix, followed by its generation and the suffix.
+   */
+  public static final String FILE_PREFIX = "descriptions-";
+  public static final String FILE_SUFFIX = ".dat";
+
+  private static final String TEMPORARY_SUFFIX = ".tmp";
+  private static final byte UTF_8 = 0;
+  private static final byte DEFLATED_UTF_8 = 1;
+
+  /**
+   * The number of loaded descriptions kept in memory.
+   */
+  private static final int CACHE_SIZE = 32;
+
+  /**
+   * The logger.
+   */
+  private final Logger logger;
+
+  private final Path directory;
+
+  /**
+   * Encodes the staged descriptions, only used by the thread changing the tasks.
+   */
+  private final TaskCodec codec;
+  private final DescriptionCompressor compressor;
+
+  /**
+   * The most recently loaded descriptions by offset, in access order.
+   */
+  private final Map<Long, String> cache;
+
+  /**
+   * The staged descriptions by offset, until they are written to the file.
+   */
+  private final ConcurrentSkipListMap<Long, String> unwritten;
+
+  /**
+   * Chunks that could not be written, written again with the next save.
+   */
+  private final ConcurrentLinkedQueue<Chunk> failedChunks;
+
+  private volatile Path descriptionFile;
+  private long generation;
+  private boolean open;
+
+  /**
+   * The offset the next staged description is given, the end of the file once all is written.
+   */
+  private long nextOffset;
+
+  /**
+   * The offset of the first description staged since the last drain.
+   */
+  private long stagedOffset;
+
+  /**
+   * DescriptionStore constructor.
+   *
+   * @param directory The directory the description files are kept in, can not be null
+   */
+  public DescriptionStore(Path directory) {
+    if (directory == null) {
+      throw new IllegalArgumentException("directory can not be null!");
+    }
+    this.logger = Logger.getLogger(this.getClass().toString());
+    this.directory = directory;
+    this.codec = new TaskCodec();
+    this.compressor = new DescriptionCompressor();
+    this.cache = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+        return this.size() > CACHE_SIZE;
+      }
+    };
+    this.unwritten = new ConcurrentSkipListMap<>();
+    this.failedChunks = new ConcurrentLinkedQueue<>();
+    this.descriptionFile = this.fileOf(0);
+    this.generation = 0;
+    this.open = false;
+  }
+
+  /**
+   * Opens the description file of the given generation,
+   * new descriptions are staged at its end.
+   *
+   * @param generation The generation stored in the snapshot of the register
+   * @throws IOException If the size of the file could not be read
+   */
+  public void open(long generation) throws IOException {
+    Path file = this.fileOf(generation);
+    long size = Files.exists(file) ? Files.size(file) : 0;
+
+    this.descriptionFile = file;
+    this.generation = generation;
+    this.open = true;
+    synchronized (this.cache) {
+      this.cache.clear();
+    }
+    this.codec.begin();
+    if (size < TaskCodec.HEADER_SIZE) {
+      // A new file, the header is written together with the first descriptions
+      this.stagedOffset = 0;
+      this.codec.putHeader();
+      this.nextOffset = TaskCodec.HEADER_SIZE;
+    } else {
+      this.stagedOffset = size;
+      this.nextOffset = size;
+    }
+  }
+
+  /**
+   * Returns the generation of the open description file.
+   *
+   * @return The generation of the description file
+   */
+  public long getGeneration() {
+    return this.generation;
+  }
+
+  /**
+   * Returns the path of the open description file.
+   *
+   * @return The path of the description file
+   */
+  public Path getDescriptionFile() {
+    return this.descriptionFile;
+  }
+
+  /**
+   * Returns the size the description file has once all the staged descriptions are written.
+   *
+   * @return The size of the description file in bytes
+   */
+  public long getFileSize() {
+    return this.nextOffset;
+  }
+
+  /**
+   * Stages the description of the given task if it is held in memory,
+   * the task then refers to the staged description and releases its own copy.
+   * Must be called from the thread that changes the tasks.
+   *
+   * @param task The task to store the description of, can not be null
+   */
+  public void store(Task task) {
+    if (task.isDescriptionStored()) {
+      return;
+    }
+    this.ensureOpen();
+    String description = task.getDescription();
+    byte[] bytes = description.getBytes(StandardCharsets.UTF_8);
+    byte[] compressed = this.compressor.compress(bytes);
+
+    long offset = this.nextOffset;
+    int length;
+    this.codec.beginRecord();
+    if (compressed != null) {
+      this.codec.putByte(DEFLATED_UTF_8);
+      this.codec.putInt(bytes.length);
+      this.codec.putBytes(compressed);
+      length = TaskCodec.FRAME_SIZE + Byte.BYTES + Integer.BYTES + compressed.length;
+    } else {
+      this.codec.putByte(UTF_8);
+      this.codec.putBytes(bytes);
+      length = TaskCodec.FRAME_SIZE + Byte.BYTES + bytes.length;
+    }
+    this.codec.endRecord();
+    this.nextOffset += length;
+
+    this.unwritten.put(offset, description);
+    task.setStoredDescription(this, offset, length);
+  }
+
+  @Override
+  public String loadDescription(long offset, int length) {
+    String description = this.unwritten.get(offset);
+    if (description != null) {
+      return description;
+    }
+    synchronized (this.cache) {
+      description = this.cache.get(offset);
+    }
+    if (description != null) {
+      return description;
+    }
+
+    try {
+      description = this.read(offset, length);
+    } catch (IOException e) {
+      // Never shown nor saved as an empty description, which would overwrite the stored one
+      this.logger.log(Level.WARNING, "The description at " + offset + " could not be read", e);
+      throw new UncheckedIOException("The description at " + offset + " could not be read", e);
+    }
+    synchronized (this.cache) {
+      this.cache.put(offset, description);
+    }
+    return description;
+  }
+
+  /**
+   * Returns the descriptions staged since the last call, together with the ones
+   * that could not be written before. Must be called from the thread that changes the tasks.
+   *
+   * @return The chunks to pass to {@link #write(List)}
+   */
+  List<Chunk> drain() {
+    List<Chunk> chunks = new ArrayList<>();
+    Chunk failed;
+    while ((failed = this.failedChunks.poll()) != null) {
+      chunks.add(failed);
+    }
+    ByteBuffer staged = this.codec.finish();
+    if (staged.hasRemaining()) {
+      chunks.add(new Chunk(this.stagedOffset, FileUtility.copyOf(staged)));
+    }
+    this.codec.begin();
+    this.stagedOffset = this.nextOffset;
+    return chunks;
+  }
+
+  /**
+   * Writes the given chunks to the description file and waits until they are on the disk.
+   * Every chunk is written at its own offset, so writing a chunk again is harmless.
+   * Does not access the staging state, so it may be called from any thread.
+   *
+   * @param chunks The chunks returned by {@link #drain()}
+   * @throws IOException If the description file could not be written to
+   */
+  void write(List<Chunk> chunks) throws IOException {
+    if (chunks.isEmpty()) {
+      return;
+    }
+    Files.createDirectories(this.directory);
+    try (FileChannel channel = FileChannel.open(this.descriptionFile,
+        StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      for (Chunk chunk : chunks) {
+        ByteBuffer bytes = chunk.bytes.duplicate();
+        long position = chunk.offset;
+        while (bytes.hasRemaining()) {
+          position += channel.write(bytes, position);
+        }
+      }
+      channel.force(false);
+    }
+    for (Chunk chunk : chunks) {
+      this.unwritten.subMap(chunk.offset, chunk.offset + chunk.bytes.remaining()).clear();
+    }
+  }
+
+  /**
+   * Keeps the given chunks, which could not be written, for the next call to {@link #drain()}.
+   *
+   * @param chunks The chunks that could not be written
+   */
+  void writeFailed(List<Chunk> chunks) {
+    this.failedChunks.addAll(chunks);
+  }
+
+  /**
+   * Copies the descriptions of the given tasks to the file of the next generation,
+   * leaving out the garbage of replaced descriptions, and makes the tasks refer to the copies.
+   * The old file is left in place for the snapshot still referring to it,
+   * it can be deleted once a snapshot referring to the new generation has been written.
+   * Must not be called while descriptions are staged.
+   *
+   * @param tasks All the tasks referring to the open description file, can not be null
+   * @return The old description file
+   * @throws IOException If the descriptions could not be copied, the store is then unchanged
+   */
+  public Path compact(Collection<Task> tasks) throws IOException {
+    this.ensureOpen();
+    List<Task> storedTasks = new ArrayList<>();
+    for (Task task : tasks) {
+      if (task.isDescriptionStored()) {
+        storedTasks.add(task);
+      }
+    }
+
+    long newGeneration = this.generation + 1;
+    Path newFile = this.fileOf(newGeneration);
+    Path temporaryFile = newFile.resolveSibling(newFile.getFileName() + TEMPORARY_SUFFIX);
+    long[] newOffsets = new long[storedTasks.size()];
+    try (FileChannel source = FileChannel.open(this.descriptionFile, StandardOpenOption.READ);
+         FileChannel target = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+             StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      FileUtility.writeFully(target, TaskCodec.encodeHeader());
+      long position = TaskCodec.HEADER_SIZE;
+      for (int i = 0; i < newOffsets.length; i++) {
+        Task task = storedTasks.get(i);
+        long copied = 0;
+        while (copied < task.getDescriptionLength()) {
+          long transferred = source.transferTo(task.getDescriptionOffset() + copied,
+              task.getDescriptionLength() - copied, target);
+          if (transferred <= 0) {
+            throw new IOException("The description file ends before the description at "
+                + task.getDescriptionOffset());
+          }
+          copied += transferred;
+        }
+        newOffsets[i] = position;
+        position += task.getDescriptionLength();
+      }
+      target.force(true);
+    }
+    try {
+      Files.move(temporaryFile, newFile,
+          StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temporaryFile, newFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    Path oldFile = this.descriptionFile;
+    this.open(newGeneration);
+    for (int i = 0; i < newOffsets.length; i++) {
+      Task task = storedTasks.get(i);
+      task.setStoredDescription(this, newOffsets[i], task.getDescriptionLength());
+    }
+    return oldFile;
+  }
+
+  /**
+   * Returns the description file of the given generation.
+   */
+  private Path fileOf(long generation) {
+    return this.directory.resolve(FILE_PREFIX + generation + FILE_SUFFIX);
+  }
+
+  /**
+   * Opens the first generation if no description file was opened yet.
+   */
+  private void ensureOpen() {
+    if (!this.open) {
+      try {
+        this.open(this.generation);
+      } catch (IOException e) {
+        throw new IllegalStateException("The description file could not be opened", e);
+      }
+    }
+  }
+
+  /**
+   * Reads and decodes the description at the given location from the file.
+   */
+  private String read(long offset, int length) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    try (FileChannel channel = FileChannel.open(this.descriptionFile, StandardOpenOption.READ)) {
+      while (buffer.hasRemaining()
+          && channel.read(buffer, offset + buffer.position()) >= 0) {
+        // Keep reading until the whole description is read or the end of the file is reached
+      }
+    }
+    buffer.flip();
+
+    ByteBuffer record = this.codec.getRecord(buffer);
+    if (record == null || !record.hasRemaining()) {
+      throw new IOException("The description is damaged");
+    }
+    byte encoding = record.get();
+    if (encoding == UTF_8) {
+      return new String(record.array(), record.arrayOffset() + record.position(),
+          record.remaining(), StandardCharsets.UTF_8);
+    }
+    if (encoding != DEFLATED_UTF_8 || record.remaining() < Integer.BYTES) {
+      throw new IOException("Unsupported description encoding " + encoding);
+    }
+    try {
+      int uncompressedLength = record.getInt();
+      if (uncompressedLength < 0) {
+        throw new DataFormatException("Negative description length");
+      }
+      return new String(this.compressor.decompress(record, uncompressedLength),
+          StandardCharsets.UTF_8);
+    } catch (DataFormatException e) {
+      throw new IOException("The compressed description is damaged", e);
+    }
+  }
+
+  /**
+   * A run of staged descriptions, to be written at the given offset of the description file.
+   */
+  static final class Chunk {
+    private final long offset;
+    private final ByteBuffer bytes;
+
+    private Chunk(long offset, ByteBuffer bytes) {
+      this.offset = offset;
+      this.bytes = bytes;
+    }
+  }
+}
@@ -6,7 +6,18 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
 import java.util.logging.Logger;
+import project.toDoListApp.model.Task;
 import project.toDoListApp.model.TaskRegister;
 
 /**
@@ -14,16 +25,92 @@ import project.toDoListApp.model.TaskRegister;
  * reading and writing objects to and from the disk.
  */
 public class FileUtility {
+  /**
+   * The directory the tasks are saved to by default.
+   */
+  public static final String TASKS_DIRECTORY = "tasks";
+
+  /**
+   * The file holding the last full snapshot of the register, in the TaskCodec format.
+   */
+  public static final String SNAPSHOT_FILE = "savedTasks.dat";
+
+  /**
+   * The file holding the changes made since the last snapshot.
+   */
+  public static final String JOURNAL_FILE = "savedTasks.journal";
+
+  /**
+   * The file written by earlier versions using Java serialization,
+   * only read once to migrate it to the TaskCodec format.
+   */
+  public static final String LEGACY_SNAPSHOT_FILE = "savedTasks.txt";
+
+  /**
+   * The suffix of the temporary file a snapshot is written to before it replaces the old one.
+   */
+  private static final String TEMPORARY_SUFFIX = ".tmp";
+
+  /**
+   * The suffix a snapshot that could not be read is renamed to, so that it is not overwritten.
+   */
+  private static final String DAMAGED_SUFFIX = ".damaged";
+
+  /**
+   * The suffix the legacy file is renamed to once it was migrated, so that it is never migrated
+   * again over newer tasks, but can still be recovered by hand.
+   */
+  private static final String MIGRATED_SUFFIX = ".migrated";
+
+  /**
+   * The journal is compacted into a new snapshot once it holds more records than this
+   * or than the register holds tasks, whichever is larger.
+   */
+  private static final int MIN_COMPACTION_ENTRIES = 1000;
+
+  /**
+   * The description file is compacted on startup once it is larger than this
+   * and more than half of it is taken up by replaced descriptions.
+   */
+  private static final long MIN_DESCRIPTION_COMPACTION_BYTES = 1024 * 1024;
+
   /**
    * The logger.
    */
   private final Logger logger;
 
+  private final Path snapshotFile;
+  private final Path legacySnapshotFile;
+  private final DescriptionStore descriptionStore;
+  private final TaskCodec codec;
+  private final TaskJournal journal;
+
+  /**
+   * Set when a write failed, the journal records it held are lost,
+   * so the next save writes a full snapshot instead.
+   */
+  private final AtomicBoolean snapshotRequired;
+
   /**
    * FileUtility constructor.
    */
   public FileUtility() {
+    this(TASKS_DIRECTORY);
+  }
+
+  /**
+   * FileUtility constructor with a custom directory for the saved tasks.
+   *
+   * @param directory The directory the tasks are saved to, can not be null
+   */
+  public FileUtility(String directory) {
     this.logger = Logger.getLogger(this.getClass().toString());
+    this.snapshotFile = Paths.get(directory, SNAPSHOT_FILE);
+    this.legacySnapshotFile = Paths.get(directory, LEGACY_SNAPSHOT_FILE);
+    this.descriptionStore = new DescriptionStore(Paths.get(directory));
+    this.codec = new TaskCodec(this.descriptionStore);
+    this.journal = new TaskJournal(Paths.get(directory, JOURNAL_FILE), this.descriptionStore);
+    this.snapshotRequired = new AtomicBoolean(false);
   }
 
   /**
@@ -36,11 +123,11 @@ public class FileUtility {
    * @throws IOException If the saving process fails for any reason.
    */
   public void saveToFile(String destinationFile, Object object) throws IOException {
-    File dir = new File("tasks");
-    if (!dir.exists()) {
-      dir.mkdir();
-    }
     File outputFile = new File(destinationFile);
+    File parentDir = outputFile.getAbsoluteFile().getParentFile();
+    if (parentDir != null && !parentDir.exists()) {
+      parentDir.mkdirs();
+    }
     try (ObjectOutputStream os = new ObjectOutputStream(new FileOutputStream(outputFile))) {
       os.writeObject(object);
     }
@@ -67,8 +154,47 @@ public class FileUtility {
     return obj;
   }
 
+  /**
+   * Writes the given register to the given file in the TaskCodec format.
+   * The descriptions held in memory are written to the description file first.
+   *
+   * @param destinationFile The file to write to
+   * @param register        The register to write, can not be null
+   * @throws IOException If the writing process fails for any reason
+   */
+  public void writeRegister(Path destinationFile, TaskRegister register) throws IOException {
+    ByteBuffer encoded = this.codec.encodeRegister(register);
+    this.descriptionStore.write(this.descriptionStore.drain());
+    this.writeAtomically(destinationFile, encoded);
+  }
+
+  /**
+   * Reads a register written by {@link #writeRegister(Path, TaskRegister)}.
+   * Damaged task records are skipped and logged.
+   * The descriptions are not read, the tasks load them from the description file on demand.
+   *
+   * @param sourceFile The file to read from
+   * @return The register that was read
+   * @throws IOException If the reading process fails for any reason
+   */
+  public TaskRegister readRegister(Path sourceFile) throws IOException {
+    TaskRegister register = this.codec.decodeRegister(readFully(sourceFile));
+    this.descriptionStore.open(this.codec.getDescriptionGeneration());
+    if (this.codec.getSkippedRecords() > 0) {
+      this.logger.log(Level.WARNING, "Skipped " + this.codec.getSkippedRecords()
+          + " damaged tasks in " + sourceFile);
+    }
+    return register;
+  }
+
   /**
    * Returns the saved TaskRegister from the disk if possible, returns a new TaskRegister otherwise.
+   * The journal is replayed over the last snapshot and then attached to the register,
+   * so that all further changes are recorded for the next save.
+   * A register saved by an earlier version is migrated to the current format once,
+   * and its file is renamed. A snapshot that can not be read is renamed and kept, instead of being
+   * overwritten by the next save, and the register saved by an earlier version is then not read
+   * in its place, as it is older than the damaged snapshot.
    *
    * @return The saved TaskRegister instance from the disk
    */
@@ -76,8 +202,21 @@ public class FileUtility {
     TaskRegister register = null;
 
     try {
-      register = (TaskRegister) this.readFromFile("tasks/savedTasks.txt");
-    } catch (IOException | ClassNotFoundException ignored) {
+      if (Files.exists(this.snapshotFile)) {
+        register = this.readRegister(this.snapshotFile);
+        if (this.codec.getVersion() != TaskCodec.VERSION) {
+          // Move the descriptions out of the snapshot with the next save
+          this.snapshotRequired.set(true);
+        }
+      } else if (Files.exists(this.legacySnapshotFile) && !Files.exists(this.getDamagedFile())) {
+        register = this.migrateLegacySnapshot();
+      } else {
+        // Only the journal may have been written so far, it refers to the first generation
+        this.descriptionStore.open(0);
+      }
+    } catch (IOException | ClassNotFoundException e) {
+      this.logger.log(Level.SEVERE, "The saved tasks could not be read", e);
+      this.keepDamagedSnapshot();
     }
 
     if (register == null) {
@@ -86,6 +225,261 @@ public class FileUtility {
       register = new TaskRegister();
     }
 
+    try {
+      this.journal.setGeneration(this.descriptionStore.getGeneration());
+      this.journal.replay(register);
+      if (this.journal.isStale()) {
+        this.resetJournal();
+      } else if (this.journal.isOutdated()) {
+        // Replace the old journal with a snapshot on the next save
+        this.snapshotRequired.set(true);
+      }
+    } catch (IOException e) {
+      this.logger.log(Level.WARNING, "The journal could not be replayed", e);
+      this.resetJournal();
+    }
+    this.compactDescriptions(register);
+    register.addListener(this.journal);
+
     return register;
   }
+
+  /**
+   * Saves the changes made to the given register since the last save.
+   * Only the changes are appended to the journal, unless the journal has grown large enough
+   * to be compacted, in which case a full snapshot is written and the journal is cleared.
+   *
+   * @param register The register returned by {@link #getRegister()}, can not be null
+   * @throws IOException If the saving process fails for any reason
+   */
+  public void saveRegister(TaskRegister register) throws IOException {
+    this.writeSave(this.prepareSave(register));
+  }
+
+  /**
+   * Captures the changes made to the given register since the last save,
+   * must be called from the thread that changes the register.
+   * This only encodes the data in memory, the slow disk access is left to
+   * {@link #writeSave(SaveRequest)}, which may be called from another thread.
+   *
+   * @param register The register returned by {@link #getRegister()}, can not be null
+   * @return The captured save, to be passed to {@link #writeSave(SaveRequest)}
+   */
+  public SaveRequest prepareSave(TaskRegister register) {
+    if (register == null) {
+      throw new IllegalArgumentException("register can not be null!");
+    }
+    ByteBuffer snapshot = null;
+    int journalSize = this.journal.getEntryCount() + this.journal.getPendingCount();
+    if (this.snapshotRequired.getAndSet(false)
+        || journalSize > Math.max(MIN_COMPACTION_ENTRIES, register.getNumberOfTasks())) {
+      snapshot = copyOf(this.codec.encodeRegister(register));
+      this.journal.discard();
+    }
+    ByteBuffer journalRecords = this.journal.drain();
+    // Encoding the tasks stages their changed descriptions, so these are drained last
+    return new SaveRequest(this.descriptionStore.drain(), snapshot, journalRecords);
+  }
+
+  /**
+   * Returns true if the register was changed since the last captured save.
+   *
+   * @return True if there is anything to save, false otherwise
+   */
+  public boolean hasUnsavedChanges() {
+    return this.journal.getPendingCount() > 0 || this.snapshotRequired.get();
+  }
+
+  /**
+   * Writes a save captured by {@link #prepareSave(TaskRegister)} to the disk.
+   * The descriptions are written first, so that no record refers to a missing description.
+   * If the write fails, the next captured save will be a full snapshot.
+   *
+   * @param request The save to write, can not be null
+   * @throws IOException If the saving process fails for any reason
+   */
+  public void writeSave(SaveRequest request) throws IOException {
+    try {
+      this.descriptionStore.write(request.getDescriptions());
+      if (request.getSnapshot() != null) {
+        this.writeAtomically(this.snapshotFile, request.getSnapshot().duplicate());
+        this.journal.deleteFile();
+      }
+      this.journal.append(request.getJournalRecords().duplicate());
+    } catch (IOException e) {
+      this.descriptionStore.writeFailed(request.getDescriptions());
+      this.snapshotRequired.set(true);
+      throw e;
+    }
+  }
+
+  /**
+   * Copies the live descriptions to a new description file once the old one
+   * is mostly taken up by replaced descriptions, and writes a snapshot referring to it.
+   * The old description file is only deleted after the snapshot has been written.
+   */
+  private void compactDescriptions(TaskRegister register) {
+    long liveBytes = 0;
+    for (Task task : register.getAllTasks()) {
+      liveBytes += task.getDescriptionLength();
+    }
+    long fileSize = this.descriptionStore.getFileSize();
+    if (fileSize < MIN_DESCRIPTION_COMPACTION_BYTES || fileSize < 2 * liveBytes) {
+      return;
+    }
+
+    try {
+      Path oldFile = this.descriptionStore.compact(register.getAllTasks());
+      this.journal.setGeneration(this.descriptionStore.getGeneration());
+      this.snapshotRequired.set(true);
+      this.saveRegister(register);
+      Files.deleteIfExists(oldFile);
+      this.logger.log(Level.INFO, "Compacted the descriptions from " + fileSize + " to "
+          + this.descriptionStore.getFileSize() + " bytes");
+    } catch (IOException e) {
+      this.logger.log(Level.WARNING, "The descriptions could not be compacted", e);
+    }
+  }
+
+  /**
+   * Reads the register saved by an earlier version with Java serialization
+   * and writes it in the current format. The old file is then renamed, it is never read again.
+   *
+   * @return The migrated register
+   */
+  private TaskRegister migrateLegacySnapshot() throws IOException, ClassNotFoundException {
+    TaskRegister register = (TaskRegister) this.readFromFile(this.legacySnapshotFile.toString());
+    this.writeRegister(this.snapshotFile, register);
+    this.logger.log(Level.INFO, "Migrated " + register.getNumberOfTasks()
+        + " tasks from " + this.legacySnapshotFile + " to " + this.snapshotFile);
+    Path migratedFile = this.legacySnapshotFile.resolveSibling(
+        this.legacySnapshotFile.getFileName() + MIGRATED_SUFFIX);
+    try {
+      Files.move(this.legacySnapshotFile, migratedFile, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      // The snapshot is read from now on, and a damaged snapshot keeps the old file from being read
+      this.logger.log(Level.WARNING, "The migrated file could not be renamed", e);
+    }
+    return register;
+  }
+
+  /**
+   * Renames a snapshot that could not be read, so that it can be recovered by hand.
+   */
+  private void keepDamagedSnapshot() {
+    try {
+      if (Files.exists(this.snapshotFile)) {
+        Path damagedFile = this.getDamagedFile();
+        Files.move(this.snapshotFile, damagedFile, StandardCopyOption.REPLACE_EXISTING);
+        this.logger.log(Level.SEVERE, "The unreadable snapshot was moved to " + damagedFile);
+      }
+    } catch (IOException e) {
+      this.logger.log(Level.WARNING, "The unreadable snapshot could not be moved", e);
+    }
+  }
+
+  /**
+   * Returns the file a snapshot that could not be read is kept in.
+   */
+  private Path getDamagedFile() {
+    return this.snapshotFile.resolveSibling(this.snapshotFile.getFileName() + DAMAGED_SUFFIX);
+  }
+
+  /**
+   * Deletes an unreadable journal so that new changes are not appended to it.
+   */
+  private void resetJournal() {
+    try {
+      this.journal.reset();
+    } catch (IOException e) {
+      this.logger.log(Level.WARNING, "The journal could not be deleted", e);
+    }
+  }
+
+  /**
+   * Replaces the given file with the given buffer, so that the file either holds
+   * the old or the new contents even if the application crashes or the disk is full.
+   * The buffer is written to a temporary file, flushed to the disk
+   * and then moved over the old file in a single step.
+   */
+  private void writeAtomically(Path destinationFile, ByteBuffer buffer) throws IOException {
+    Path parent = destinationFile.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    Path temporaryFile = destinationFile.resolveSibling(
+        destinationFile.getFileName() + TEMPORARY_SUFFIX);
+    try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      writeFully(channel, buffer);
+      channel.force(true);
+    }
+
+    try {
+      Files.move(temporaryFile, destinationFile,
+          StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temporaryFile, destinationFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+    this.syncDirectory(parent);
+  }
+
+  /**
+   * Flushes the directory entry of a moved file to the disk where the platform supports it.
+   */
+  private void syncDirectory(Path directory) {
+    if (directory == null) {
+      return;
+    }
+    try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+      channel.force(true);
+    } catch (IOException e) {
+      // Directories can not be opened on all platforms, the move itself is still atomic
+    }
+  }
+
+  /**
+   * Returns a copy of the remaining bytes of the given buffer.
+   */
+  static ByteBuffer copyOf(ByteBuffer buffer) {
+    ByteBuffer copy = ByteBuffer.allocate(buffer.remaining());
+    copy.put(buffer);
+    copy.flip();
+    return copy;
+  }
+
+  /**
+   * Writes all the remaining bytes of the given buffer to the given channel.
+   *
+   * @param channel The channel to write to
+   * @param buffer  The buffer to write
+   * @throws IOException If the writing process fails for any reason
+   */
+  static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  /**
+   * Reads the whole given file into a heap buffer.
+   *
+   * @param sourceFile The file to read
+   * @return A buffer holding the contents of the file, ready to be read
+   * @throws IOException If the reading process fails for any reason
+   */
+  static ByteBuffer readFully(Path sourceFile) throws IOException {
+    try (FileChannel channel = FileChannel.open(sourceFile, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException(sourceFile + " is too large");
+      }
+      ByteBuffer buffer = ByteBuffer.allocate((int) size);
+      while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+        // Keep reading until the buffer is full or the end of the file is reached
+      }
+      buffer.flip();
+      return buffer;
+    }
+  }
 }
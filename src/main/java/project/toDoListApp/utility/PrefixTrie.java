@@ -0,0 +1,325 @@
+package project.toDoListApp.utility;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Class PrefixTrie represents a set of texts, counting how many times each one was added,
+ * that completes a prefix to the most used texts starting with it.
+ * The texts are matched ignoring case, the first one added is the one completed to,
+ * so "work" completes to "Work" if that was added first.
+ *
+ * <p>The trie is a radix trie, every edge holds the longest run of characters shared by
+ * the texts below it and the children of a node are kept in an array sorted by their first
+ * character. Every node also holds the highest count found below it,
+ * so the best completions are found without walking the texts that can not be among them.</p>
+ */
+public final class PrefixTrie {
+  private static final Node[] NO_CHILDREN = new Node[0];
+
+  /**
+   * Orders the candidates by descending count, then alphabetically,
+   * a text before the texts below it.
+   */
+  private static final Comparator<Candidate> CANDIDATE_ORDER =
+      Comparator.<Candidate>comparingInt(candidate -> -candidate.count)
+          .thenComparing(candidate -> candidate.key)
+          .thenComparing(candidate -> !candidate.text);
+
+  private final Node root;
+  private int size;
+
+  /**
+   * PrefixTrie constructor.
+   */
+  public PrefixTrie() {
+    this.root = new Node("");
+    this.size = 0;
+  }
+
+  /**
+   * Adds the given text once more.
+   *
+   * @param text The text to add, blank texts are ignored
+   */
+  public void add(String text) {
+    String key = normalize(text);
+    if (key.isEmpty()) {
+      return;
+    }
+    List<Node> path = new ArrayList<>();
+    path.add(this.root);
+    Node node = this.root;
+    int position = 0;
+    while (position < key.length()) {
+      int index = node.indexOfChild(key.charAt(position));
+      if (index < 0) {
+        Node leaf = new Node(key.substring(position));
+        node.insertChild(-index - 1, leaf);
+        node = leaf;
+        position = key.length();
+      } else {
+        Node child = node.children[index];
+        int common = commonLength(child.label, key, position);
+        if (common < child.label.length()) {
+          // The text leaves the edge half way, split it
+          Node middle = new Node(child.label.substring(0, common));
+          child.label = child.label.substring(common);
+          middle.children = new Node[] {child};
+          middle.bestCount = child.bestCount;
+          node.children[index] = middle;
+          child = middle;
+        }
+        node = child;
+        position += common;
+      }
+      path.add(node);
+    }
+    if (node.count == 0) {
+      node.text = text.trim();
+      this.size++;
+    }
+    node.count++;
+    updateBestCounts(path);
+  }
+
+  /**
+   * Removes the given text once, it is removed for good when it was removed as many times as added.
+   *
+   * @param text The text to remove
+   * @return True if the text was found, false otherwise
+   */
+  public boolean remove(String text) {
+    String key = normalize(text);
+    if (key.isEmpty()) {
+      return false;
+    }
+    List<Node> path = new ArrayList<>();
+    path.add(this.root);
+    Node node = this.root;
+    int position = 0;
+    while (position < key.length()) {
+      int index = node.indexOfChild(key.charAt(position));
+      if (index < 0 || !key.startsWith(node.children[index].label, position)) {
+        return false;
+      }
+      node = node.children[index];
+      position += node.label.length();
+      path.add(node);
+    }
+    if (node.count == 0) {
+      return false;
+    }
+    node.count--;
+    if (node.count == 0) {
+      node.text = null;
+      this.size--;
+      this.prune(path);
+    }
+    updateBestCounts(path);
+    return true;
+  }
+
+  /**
+   * Returns the most used texts starting with the given prefix, ignoring case.
+   *
+   * @param prefix The prefix to complete, can not be null
+   * @param limit  The highest number of texts to return
+   * @return A List of at most limit texts, the most used first, equally used ones alphabetically
+   */
+  public List<String> complete(String prefix, int limit) {
+    if (prefix == null) {
+      throw new IllegalArgumentException("prefix can not be null!");
+    }
+    String key = normalize(prefix);
+    List<String> completions = new ArrayList<>(Math.max(0, Math.min(limit, this.size)));
+    Node node = this.root;
+    String nodeKey = "";
+    int position = 0;
+    while (node != null && position < key.length()) {
+      int index = node.indexOfChild(key.charAt(position));
+      Node child = (index < 0) ? null : node.children[index];
+      int common = (child == null) ? 0 : commonLength(child.label, key, position);
+      // The prefix may end half way along the edge to the child
+      if (child != null && (common == child.label.length() || position + common == key.length())) {
+        nodeKey = key.substring(0, position) + child.label;
+        position += common;
+      } else {
+        child = null;
+      }
+      node = child;
+    }
+    if (node == null || limit <= 0) {
+      return completions;
+    }
+
+    // Best first, a node is only opened when none of the texts found so far beats its best count
+    PriorityQueue<Candidate> candidates = new PriorityQueue<>(CANDIDATE_ORDER);
+    candidates.add(new Candidate(node, nodeKey, node.bestCount, false));
+    while (!candidates.isEmpty() && completions.size() < limit) {
+      Candidate candidate = candidates.poll();
+      if (candidate.text) {
+        completions.add(candidate.node.text);
+      } else {
+        Node open = candidate.node;
+        if (open.count > 0) {
+          candidates.add(new Candidate(open, candidate.key, open.count, true));
+        }
+        for (Node child : open.children) {
+          candidates.add(new Candidate(child, candidate.key + child.label, child.bestCount, false));
+        }
+      }
+    }
+    return completions;
+  }
+
+  /**
+   * Returns the number of different texts in the trie.
+   *
+   * @return The number of different texts in the trie
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Removes the nodes left without texts at the end of the given path,
+   * and joins a node left with a single child to it.
+   */
+  private void prune(List<Node> path) {
+    int last = path.size() - 1;
+    Node node = path.get(last);
+    if (node.children.length == 0) {
+      Node parent = path.get(last - 1);
+      parent.removeChild(node);
+      path.remove(last);
+      node = parent;
+    }
+    if (node != this.root && node.count == 0 && node.children.length == 1) {
+      Node child = node.children[0];
+      node.label = node.label + child.label;
+      node.children = child.children;
+      node.count = child.count;
+      node.text = child.text;
+      node.bestCount = child.bestCount;
+    }
+  }
+
+  /**
+   * Sets the best count of every node on the given path, from the bottom up.
+   */
+  private static void updateBestCounts(List<Node> path) {
+    for (int i = path.size() - 1; i >= 0; i--) {
+      Node node = path.get(i);
+      int best = node.count;
+      for (Node child : node.children) {
+        best = Math.max(best, child.bestCount);
+      }
+      node.bestCount = best;
+    }
+  }
+
+  /**
+   * Returns the length of the run of characters the given label shares with the key
+   * from the given position.
+   */
+  private static int commonLength(String label, String key, int position) {
+    int length = Math.min(label.length(), key.length() - position);
+    int common = 0;
+    while (common < length && label.charAt(common) == key.charAt(position + common)) {
+      common++;
+    }
+    return common;
+  }
+
+  /**
+   * Returns the key the given text is matched by.
+   */
+  private static String normalize(String text) {
+    return (text == null) ? "" : text.trim().toLowerCase();
+  }
+
+  /**
+   * Class Node represents a node of the trie and the edge leading to it.
+   */
+  private static final class Node {
+    private String label;
+    private Node[] children;
+    private int count;
+    private int bestCount;
+    private String text;
+
+    /**
+     * Node constructor.
+     */
+    private Node(String label) {
+      this.label = label;
+      this.children = NO_CHILDREN;
+    }
+
+    /**
+     * Returns the index of the child whose label starts with the given character,
+     * or (-(insertion index) - 1) if none.
+     */
+    private int indexOfChild(char first) {
+      int low = 0;
+      int high = this.children.length - 1;
+      while (low <= high) {
+        int middle = (low + high) >>> 1;
+        char label = this.children[middle].label.charAt(0);
+        if (label < first) {
+          low = middle + 1;
+        } else if (label > first) {
+          high = middle - 1;
+        } else {
+          return middle;
+        }
+      }
+      return -low - 1;
+    }
+
+    /**
+     * Inserts the given child at the given index.
+     */
+    private void insertChild(int index, Node child) {
+      Node[] grown = Arrays.copyOf(this.children, this.children.length + 1);
+      System.arraycopy(grown, index, grown, index + 1, this.children.length - index);
+      grown[index] = child;
+      this.children = grown;
+    }
+
+    /**
+     * Removes the given child.
+     */
+    private void removeChild(Node child) {
+      int index = this.indexOfChild(child.label.charAt(0));
+      Node[] shrunk = (this.children.length == 1) ? NO_CHILDREN : new Node[this.children.length - 1];
+      System.arraycopy(this.children, 0, shrunk, 0, index);
+      System.arraycopy(this.children, index + 1, shrunk, index, this.children.length - index - 1);
+      this.children = shrunk;
+    }
+  }
+
+  /**
+   * Class Candidate represents a node still to be opened, or a text found, while completing.
+   */
+  private static final class Candidate {
+    private final Node node;
+    private final String key;
+    private final int count;
+    private final boolean text;
+
+    /**
+     * Candidate constructor.
+     */
+    private Candidate(Node node, String key, int count, boolean text) {
+      this.node = node;
+      this.key = key;
+      this.count = count;
+      this.text = text;
+    }
+  }
+}
@@ -0,0 +1,169 @@
+package project.toDoListApp.utility;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskQuery;
+import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.model.TaskRegisterListener;
+
+/**
+ * Class ReminderScheduler represents a scheduler that reminds of the tasks when they are due.
+ * Every uncompleted task due today or later has a reminder at the reminder time of its due date,
+ * kept in a timing wheel, so a change to a task only moves its own reminder.
+ * A task is reminded of once per due date, changing anything else does not remind again.
+ *
+ * <p>The listener methods are expected to be called from the thread that changes the register,
+ * the wheel is advanced by a timer. The reminder action is run on the thread that changes
+ * the register through the given executor.</p>
+ */
+public class ReminderScheduler implements TaskRegisterListener {
+  /**
+   * The number of slots of the wheel, one turn is a few hours with the usual tick.
+   */
+  private static final int WHEEL_SIZE = 512;
+
+  private final Consumer<Task> reminderAction;
+  private final Executor ownerExecutor;
+  private final Clock clock;
+  private final LocalTime reminderTime;
+  private final TimingWheel<Task> wheel;
+  private final ScheduledExecutorService timer;
+
+  /**
+   * The due date each task is (or was) reminded of, tasks without a reminder are left out.
+   */
+  private final Map<Task, LocalDate> reminderDates;
+
+  /**
+   * ReminderScheduler constructor, schedules the reminders of the tasks in the given register.
+   *
+   * @param taskRegister   The register whose tasks to remind of, can not be null
+   * @param reminderAction The action that shows a reminder, can not be null
+   * @param ownerExecutor  Runs tasks on the thread that changes the register, can not be null
+   * @param clock          The clock giving the current time and time zone, can not be null
+   * @param reminderTime   The time of the due date to remind at, can not be null
+   * @param tickMillis     How often the wheel is advanced in milliseconds, must be positive
+   */
+  public ReminderScheduler(TaskRegister taskRegister, Consumer<Task> reminderAction,
+                           Executor ownerExecutor, Clock clock, LocalTime reminderTime,
+                           long tickMillis) {
+    if (taskRegister == null || reminderAction == null || ownerExecutor == null
+        || clock == null || reminderTime == null) {
+      throw new IllegalArgumentException("The parameters can not be null!");
+    }
+    this.reminderAction = reminderAction;
+    this.ownerExecutor = ownerExecutor;
+    this.clock = clock;
+    this.reminderTime = reminderTime;
+    this.wheel = new TimingWheel<>(tickMillis, WHEEL_SIZE, clock.millis());
+    this.reminderDates = new IdentityHashMap<>();
+
+    // Only the uncompleted tasks due today or later have a reminder
+    taskRegister.query(new TaskQuery.QueryBuilder()
+        .withStatus(false)
+        .withDueBetween(LocalDate.now(clock), LocalDate.MAX)
+        .build()).forEach(this::reschedule);
+
+    this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "reminder-timer");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.timer.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void taskAdded(Task task) {
+    this.reschedule(task);
+  }
+
+  @Override
+  public synchronized void taskRemoved(Task task) {
+    this.wheel.cancel(task);
+    this.reminderDates.remove(task);
+  }
+
+  @Override
+  public void taskUpdated(Task task) {
+    this.reschedule(task);
+  }
+
+  /**
+   * Returns the number of reminders still to be shown.
+   *
+   * @return The number of scheduled reminders
+   */
+  public synchronized int getNumberOfScheduledReminders() {
+    return this.wheel.size();
+  }
+
+  /**
+   * Stops the scheduler, no further reminders are shown.
+   */
+  public void shutdown() {
+    this.timer.shutdownNow();
+  }
+
+  /**
+   * Moves the reminder of the given task to its due date, if that date changed.
+   */
+  private synchronized void reschedule(Task task) {
+    LocalDate reminderDate = this.getReminderDate(task);
+    if (reminderDate == null) {
+      this.wheel.cancel(task);
+      this.reminderDates.remove(task);
+    } else if (!reminderDate.equals(this.reminderDates.put(task, reminderDate))) {
+      this.wheel.schedule(task, reminderDate.atTime(this.reminderTime)
+          .atZone(this.clock.getZone()).toInstant().toEpochMilli());
+    }
+  }
+
+  /**
+   * Returns the date the given task is to be reminded of, null if it needs no reminder.
+   * A task due before today is overdue already and not reminded of.
+   */
+  private LocalDate getReminderDate(Task task) {
+    LocalDate dueDate = task.getDueDate();
+    return (!task.getStatus() && dueDate != null && !dueDate.isBefore(LocalDate.now(this.clock)))
+        ? dueDate : null;
+  }
+
+  /**
+   * Advances the wheel to the current time and hands the due tasks to the owner thread.
+   */
+  private void tick() {
+    List<Task> dueTasks = new ArrayList<>();
+    synchronized (this) {
+      this.wheel.advance(this.clock.millis(), dueTasks::add);
+    }
+    for (Task task : dueTasks) {
+      this.ownerExecutor.execute(() -> this.remind(task));
+    }
+  }
+
+  /**
+   * Runs the reminder action for the given task, unless it changed since it timed out.
+   */
+  private void remind(Task task) {
+    boolean stillDue;
+    synchronized (this) {
+      stillDue = !this.wheel.isScheduled(task)
+          && task.getDueDate() != null
+          && task.getDueDate().equals(this.reminderDates.get(task));
+    }
+    if (stillDue) {
+      this.reminderAction.accept(task);
+    }
+  }
+}
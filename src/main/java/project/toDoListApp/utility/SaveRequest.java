@@ -0,0 +1,81 @@
+package project.toDoListApp.utility;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class SaveRequest represents the data of one save, captured from the register
+ * at the time the save was requested so that it can be written later from another thread.
+ * It holds the staged descriptions, an optional full snapshot
+ * and the journal records written after it.
+ */
+public final class SaveRequest {
+  private final List<DescriptionStore.Chunk> descriptions;
+  private ByteBuffer snapshot;
+  private ByteBuffer journalRecords;
+
+  /**
+   * SaveRequest constructor.
+   *
+   * @param descriptions   The staged descriptions, written before the snapshot and the records
+   * @param snapshot       The encoded register, null if only journal records are written
+   * @param journalRecords The encoded journal records to append after the snapshot
+   */
+  SaveRequest(List<DescriptionStore.Chunk> descriptions,
+              ByteBuffer snapshot, ByteBuffer journalRecords) {
+    this.descriptions = new ArrayList<>(descriptions);
+    this.snapshot = snapshot;
+    this.journalRecords = journalRecords;
+  }
+
+  /**
+   * Merges a newer request into this one, so both are written in a single write.
+   * A newer snapshot already holds everything in this request and replaces it,
+   * newer journal records are appended after the records of this request.
+   * The staged descriptions of both requests are kept, the newer snapshot may refer to either.
+   *
+   * @param newer The request captured after this one, can not be null
+   */
+  public void merge(SaveRequest newer) {
+    this.descriptions.addAll(newer.descriptions);
+    if (newer.snapshot != null) {
+      this.snapshot = newer.snapshot;
+      this.journalRecords = newer.journalRecords;
+    } else if (newer.journalRecords.hasRemaining()) {
+      ByteBuffer merged = ByteBuffer.allocate(
+          this.journalRecords.remaining() + newer.journalRecords.remaining());
+      merged.put(this.journalRecords.duplicate());
+      merged.put(newer.journalRecords.duplicate());
+      merged.flip();
+      this.journalRecords = merged;
+    }
+  }
+
+  /**
+   * Returns the staged descriptions.
+   *
+   * @return The staged descriptions, can be empty
+   */
+  List<DescriptionStore.Chunk> getDescriptions() {
+    return this.descriptions;
+  }
+
+  /**
+   * Returns the encoded register.
+   *
+   * @return The encoded register, null if only journal records are written
+   */
+  ByteBuffer getSnapshot() {
+    return this.snapshot;
+  }
+
+  /**
+   * Returns the encoded journal records.
+   *
+   * @return The encoded journal records, can be empty
+   */
+  ByteBuffer getJournalRecords() {
+    return this.journalRecords;
+  }
+}
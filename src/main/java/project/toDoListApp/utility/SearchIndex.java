@@ -0,0 +1,532 @@
+package project.toDoListApp.utility;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.model.TaskRegisterListener;
+import project.toDoListApp.model.TaskTextIndex;
+
+/**
+ * Class SearchIndex represents a full-text index of the titles, categories and descriptions
+ * of the tasks in a TaskRegister. Every word maps to the tasks holding it, weighted by where
+ * and how often it was found, so a query only looks at the tasks holding its words.
+ * The descriptions are indexed as plain text, without the HTML markup.
+ *
+ * <p>The index is built the first time it is searched, the descriptions of all the tasks
+ * have to be loaded for it. From then on it follows the changes made to the register one task
+ * at a time, a description is only read again when it has changed.</p>
+ */
+public final class SearchIndex implements TaskRegisterListener, TaskTextIndex {
+  /**
+   * A word found in the title counts as much as this many words found in the description.
+   */
+  private static final int TITLE_WEIGHT = 3;
+
+  /**
+   * A word found in the category counts as much as this many words found in the description.
+   */
+  private static final int CATEGORY_WEIGHT = 2;
+
+  private final TaskRegister register;
+  private final Map<String, Postings> postings;
+  private final NavigableSet<String> sortedTerms;
+  private final Map<Task, IndexedTask> indexedTasks;
+  private boolean built;
+
+  /**
+   * SearchIndex constructor.
+   *
+   * @param register The register holding the tasks, can not be null.
+   *                 The index must be added to the listeners of the register to follow its changes
+   */
+  public SearchIndex(TaskRegister register) {
+    if (register == null) {
+      throw new IllegalArgumentException("register can not be null!");
+    }
+    this.register = register;
+    this.postings = new HashMap<>();
+    this.sortedTerms = new TreeSet<>();
+    this.indexedTasks = new IdentityHashMap<>();
+    this.built = false;
+  }
+
+  /**
+   * Returns the tasks matching the given query, the best matches first.
+   * A task ranks higher the more of the query words it holds, the more often it holds them,
+   * in its title before its category and description, and the rarer the words are.
+   *
+   * @param query The query, can not be null
+   * @return A List of the tasks matching the query, empty if the query is empty
+   */
+  public List<Task> search(SearchQuery query) {
+    Map<Task, double[]> scores = this.score(query);
+    List<ScoredTask> scoredTasks = new ArrayList<>(scores.size());
+    for (Map.Entry<Task, double[]> entry : scores.entrySet()) {
+      scoredTasks.add(new ScoredTask(entry.getKey(), entry.getValue()[0]));
+    }
+    scoredTasks.sort(null);
+
+    List<Task> tasks = new ArrayList<>(scoredTasks.size());
+    for (ScoredTask scoredTask : scoredTasks) {
+      tasks.add(scoredTask.task);
+    }
+    return tasks;
+  }
+
+  /**
+   * Returns the tasks matching the given query, in no particular order.
+   *
+   * @param query The query, can not be null
+   * @return A Set of the tasks matching the query, empty if the query is empty
+   */
+  public Set<Task> getMatchingTasks(SearchQuery query) {
+    return this.score(query).keySet();
+  }
+
+  /**
+   * Returns true if the given task matches the given query.
+   *
+   * @param task  The task to check
+   * @param query The query, can not be null
+   * @return True if the task matches the query or the query is empty, false otherwise
+   */
+  public boolean matches(Task task, SearchQuery query) {
+    if (query.isEmpty()) {
+      return true;
+    }
+    this.ensureBuilt();
+    IndexedTask indexedTask = this.indexedTasks.get(task);
+    boolean matches = false;
+    if (indexedTask != null) {
+      List<List<String>> alternatives = query.getAlternatives();
+      for (int i = 0; i < alternatives.size() && !matches; i++) {
+        matches = true;
+        List<String> terms = alternatives.get(i);
+        for (int j = 0; j < terms.size() && matches; j++) {
+          String term = terms.get(j);
+          if (query.isPrefix(i, j)) {
+            matches = indexedTask.holdsPrefix(term);
+          } else {
+            Postings found = this.postings.get(term);
+            matches = found != null && found.weights.containsKey(task);
+          }
+        }
+      }
+    }
+    return matches;
+  }
+
+  @Override
+  public Set<Task> getMatchingTasks(String text) {
+    return this.getMatchingTasks(SearchQuery.parse(text));
+  }
+
+  @Override
+  public Predicate<Task> matcher(String text) {
+    SearchQuery query = SearchQuery.parse(text);
+    return task -> this.matches(task, query);
+  }
+
+  /**
+   * Returns the number of different words in the index.
+   *
+   * @return The number of different words in the index, 0 if the index was not built yet
+   */
+  public int getNumberOfTerms() {
+    return this.postings.size();
+  }
+
+  @Override
+  public void taskAdded(Task task) {
+    if (this.built) {
+      this.indexTask(task);
+    }
+  }
+
+  @Override
+  public void taskRemoved(Task task) {
+    IndexedTask indexedTask = this.indexedTasks.remove(task);
+    if (indexedTask != null) {
+      for (Postings found : indexedTask.terms) {
+        this.removePosting(found, task);
+      }
+    }
+  }
+
+  @Override
+  public void taskUpdated(Task task) {
+    if (this.built) {
+      this.indexTask(task);
+    }
+  }
+
+  /**
+   * Splits the given text into lower case words of letters and digits.
+   *
+   * @param text  The text to split, can not be null
+   * @param terms Called with every word, in order
+   */
+  static void tokenize(String text, Consumer<String> terms) {
+    StringBuilder word = new StringBuilder();
+    for (int i = 0; i < text.length(); i++) {
+      appendCharacter(word, text.charAt(i), terms);
+    }
+    endWord(word, terms);
+  }
+
+  /**
+   * Splits the text of the given HTML into lower case words of letters and digits,
+   * in a single pass. The tags, styles and scripts are skipped,
+   * the common character references are read as their characters.
+   *
+   * @param html  The HTML to split, can not be null
+   * @param terms Called with every word, in order
+   */
+  static void tokenizeHtml(String html, Consumer<String> terms) {
+    StringBuilder word = new StringBuilder();
+    int i = 0;
+    while (i < html.length()) {
+      char c = html.charAt(i);
+      if (c == '<') {
+        endWord(word, terms);
+        int end = html.indexOf('>', i);
+        if (end < 0) {
+          break;
+        }
+        String closingTag = html.regionMatches(true, i + 1, "style", 0, 5) ? "</style"
+            : html.regionMatches(true, i + 1, "script", 0, 6) ? "</script" : null;
+        i = end + 1;
+        // The content of a style or script is not text, skip to its closing tag
+        while (closingTag != null && i < html.length()
+            && !html.regionMatches(true, i, closingTag, 0, closingTag.length())) {
+          i++;
+        }
+      } else if (c == '&') {
+        int end = html.indexOf(';', i);
+        if (end > i && end - i <= 8) {
+          String decoded = decodeReference(html.substring(i + 1, end));
+          for (int j = 0; j < decoded.length(); j++) {
+            appendCharacter(word, decoded.charAt(j), terms);
+          }
+          i = end + 1;
+        } else {
+          appendCharacter(word, c, terms);
+          i++;
+        }
+      } else {
+        appendCharacter(word, c, terms);
+        i++;
+      }
+    }
+    endWord(word, terms);
+  }
+
+  /**
+   * Adds the given character to the given word, or ends the word if it is not a letter or digit.
+   */
+  private static void appendCharacter(StringBuilder word, char c, Consumer<String> terms) {
+    if (Character.isLetterOrDigit(c)) {
+      word.append(Character.toLowerCase(c));
+    } else {
+      endWord(word, terms);
+    }
+  }
+
+  /**
+   * Passes on the given word if it is not empty and empties it.
+   */
+  private static void endWord(StringBuilder word, Consumer<String> terms) {
+    if (word.length() > 0) {
+      terms.accept(word.toString());
+      word.setLength(0);
+    }
+  }
+
+  /**
+   * Returns the character of the given character reference name, a space if unknown.
+   */
+  private static String decodeReference(String name) {
+    switch (name) {
+      case "amp":
+        return "&";
+      case "lt":
+        return "<";
+      case "gt":
+        return ">";
+      case "quot":
+        return "\"";
+      case "apos":
+        return "'";
+      default:
+        if (name.startsWith("#")) {
+          try {
+            int codePoint = (name.startsWith("#x") || name.startsWith("#X"))
+                ? Integer.parseInt(name.substring(2), 16) : Integer.parseInt(name.substring(1));
+            return new String(Character.toChars(codePoint));
+          } catch (IllegalArgumentException e) {
+            return " ";
+          }
+        }
+        return " ";
+    }
+  }
+
+  /**
+   * Indexes all the tasks of the register, if not done yet.
+   */
+  private void ensureBuilt() {
+    if (!this.built) {
+      this.built = true;
+      for (Task task : this.register.getAllTasks()) {
+        this.indexTask(task);
+      }
+    }
+  }
+
+  /**
+   * Returns the best score of every task matching the given query.
+   */
+  private Map<Task, double[]> score(SearchQuery query) {
+    if (query == null) {
+      throw new IllegalArgumentException("query can not be null!");
+    }
+    this.ensureBuilt();
+    Map<Task, double[]> scores = new IdentityHashMap<>();
+    for (int i = 0; i < query.getAlternatives().size(); i++) {
+      this.scoreAlternative(query, i, scores);
+    }
+    return scores;
+  }
+
+  /**
+   * Adds the scores of the tasks matching all the terms of the given alternative to the given scores.
+   */
+  private void scoreAlternative(SearchQuery query, int alternative, Map<Task, double[]> scores) {
+    List<String> terms = query.getAlternatives().get(alternative);
+    List<Map<Task, Integer>> termPostings = new ArrayList<>(terms.size());
+    for (int i = 0; i < terms.size(); i++) {
+      Map<Task, Integer> found;
+      if (query.isPrefix(alternative, i)) {
+        found = this.prefixPostings(terms.get(i));
+      } else {
+        Postings exact = this.postings.get(terms.get(i));
+        found = (exact == null) ? Collections.emptyMap() : exact.weights;
+      }
+      if (found.isEmpty()) {
+        return;
+      }
+      termPostings.add(found);
+    }
+    // Walk the rarest term and look the tasks up in the others
+    termPostings.sort(Comparator.comparingInt(Map::size));
+    double taskCount = this.indexedTasks.size();
+    double[] rarity = new double[termPostings.size()];
+    for (int i = 0; i < rarity.length; i++) {
+      rarity[i] = Math.log(1 + taskCount / termPostings.get(i).size());
+    }
+    for (Map.Entry<Task, Integer> entry : termPostings.get(0).entrySet()) {
+      Task task = entry.getKey();
+      double score = entry.getValue() * rarity[0];
+      for (int i = 1; i < rarity.length && score >= 0; i++) {
+        Integer weight = termPostings.get(i).get(task);
+        score = (weight == null) ? -1 : score + weight * rarity[i];
+      }
+      if (score >= 0) {
+        double[] total = scores.computeIfAbsent(task, key -> new double[1]);
+        total[0] = Math.max(total[0], score);
+      }
+    }
+  }
+
+  /**
+   * Returns the tasks holding a word starting with the given prefix, with the summed weights.
+   */
+  private Map<Task, Integer> prefixPostings(String prefix) {
+    Set<String> matching = this.sortedTerms.subSet(prefix, true, prefix + Character.MAX_VALUE, false);
+    if (matching.size() == 1) {
+      return this.postings.get(matching.iterator().next()).weights;
+    }
+    Map<Task, Integer> merged = new IdentityHashMap<>();
+    for (String term : matching) {
+      for (Map.Entry<Task, Integer> entry : this.postings.get(term).weights.entrySet()) {
+        merged.merge(entry.getKey(), entry.getValue(), Integer::sum);
+      }
+    }
+    return merged;
+  }
+
+  /**
+   * Returns the description of the given task to index, an empty one if it could not be loaded.
+   * The task is then only found by its title and category, the failure was already logged
+   * by the store of the description.
+   */
+  private static String descriptionOf(Task task) {
+    try {
+      return task.getDescription();
+    } catch (UncheckedIOException e) {
+      return "";
+    }
+  }
+
+  /**
+   * Indexes the current words of the given task, replacing the words it was indexed by.
+   */
+  private void indexTask(Task task) {
+    IndexedTask oldIndexedTask = this.indexedTasks.get(task);
+    Map<String, Integer> weights = new HashMap<>();
+    if (oldIndexedTask != null && oldIndexedTask.holdsDescriptionOf(task)) {
+      for (int i = 0; i < oldIndexedTask.descriptionTerms.length; i++) {
+        weights.put(oldIndexedTask.descriptionTerms[i].term, oldIndexedTask.descriptionWeights[i]);
+      }
+    } else {
+      tokenizeHtml(descriptionOf(task), term -> weights.merge(term, 1, Integer::sum));
+    }
+    Postings[] descriptionTerms = new Postings[weights.size()];
+    int[] descriptionWeights = new int[weights.size()];
+    this.resolve(weights, descriptionTerms, descriptionWeights);
+
+    tokenize(task.getTaskName(), term -> weights.merge(term, TITLE_WEIGHT, Integer::sum));
+    tokenize(task.getCategory(), term -> weights.merge(term, CATEGORY_WEIGHT, Integer::sum));
+    Postings[] terms = new Postings[weights.size()];
+    int[] termWeights = new int[weights.size()];
+    this.resolve(weights, terms, termWeights);
+
+    if (oldIndexedTask != null) {
+      for (Postings found : oldIndexedTask.terms) {
+        if (!weights.containsKey(found.term)) {
+          this.removePosting(found, task);
+        }
+      }
+    }
+    for (int i = 0; i < terms.length; i++) {
+      terms[i].weights.put(task, termWeights[i]);
+    }
+    this.indexedTasks.put(task, new IndexedTask(task, terms, descriptionTerms, descriptionWeights));
+  }
+
+  /**
+   * Fills the given arrays with the postings of the given words, added if new, and their weights.
+   */
+  private void resolve(Map<String, Integer> weights, Postings[] terms, int[] termWeights) {
+    int i = 0;
+    for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+      Postings found = this.postings.get(entry.getKey());
+      if (found == null) {
+        found = new Postings(entry.getKey());
+        this.postings.put(found.term, found);
+        this.sortedTerms.add(found.term);
+      }
+      terms[i] = found;
+      termWeights[i] = entry.getValue();
+      i++;
+    }
+  }
+
+  /**
+   * Removes the given task from the tasks holding the word of the given postings.
+   */
+  private void removePosting(Postings found, Task task) {
+    found.weights.remove(task);
+    if (found.weights.isEmpty()) {
+      this.postings.remove(found.term);
+      this.sortedTerms.remove(found.term);
+    }
+  }
+
+  /**
+   * Class Postings represents the tasks holding a word, with the weight of the word in each one.
+   * The word is kept once here, the tasks holding it refer to their postings.
+   */
+  private static final class Postings {
+    private final String term;
+    private final Map<Task, Integer> weights;
+
+    /**
+     * Postings constructor.
+     */
+    private Postings(String term) {
+      this.term = term;
+      this.weights = new IdentityHashMap<>(4);
+    }
+  }
+
+  /**
+   * Class IndexedTask represents the words a task was indexed by, the weights of the words
+   * found in its description, and where its description was stored at the time.
+   */
+  private static final class IndexedTask {
+    private final Postings[] terms;
+    private final Postings[] descriptionTerms;
+    private final int[] descriptionWeights;
+    private final boolean descriptionStored;
+    private final long descriptionOffset;
+
+    /**
+     * IndexedTask constructor.
+     */
+    private IndexedTask(Task task, Postings[] terms,
+                        Postings[] descriptionTerms, int[] descriptionWeights) {
+      this.terms = terms;
+      this.descriptionTerms = descriptionTerms;
+      this.descriptionWeights = descriptionWeights;
+      this.descriptionStored = task.isDescriptionStored();
+      this.descriptionOffset = task.getDescriptionOffset();
+    }
+
+    /**
+     * Returns true if the description of the given task is still the one indexed.
+     * A stored description never changes in place, a changed one is stored again elsewhere.
+     */
+    private boolean holdsDescriptionOf(Task task) {
+      return this.descriptionStored && task.isDescriptionStored()
+          && this.descriptionOffset == task.getDescriptionOffset();
+    }
+
+    /**
+     * Returns true if the task was indexed by a word starting with the given prefix.
+     */
+    private boolean holdsPrefix(String prefix) {
+      for (Postings found : this.terms) {
+        if (found.term.startsWith(prefix)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Class ScoredTask represents a task matching a query and its score,
+   * ordered by descending score and then by title.
+   */
+  private static final class ScoredTask implements Comparable<ScoredTask> {
+    private final Task task;
+    private final double score;
+
+    /**
+     * ScoredTask constructor.
+     */
+    private ScoredTask(Task task, double score) {
+      this.task = task;
+      this.score = score;
+    }
+
+    @Override
+    public int compareTo(ScoredTask other) {
+      int result = Double.compare(other.score, this.score);
+      return (result != 0) ? result : this.task.getTaskName().compareTo(other.task.getTaskName());
+    }
+  }
+}
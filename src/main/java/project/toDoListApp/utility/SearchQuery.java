@@ -0,0 +1,92 @@
+package project.toDoListApp.utility;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class SearchQuery represents a parsed full-text query.
+ * The words of a query must all be found in a task, unless they are split by OR,
+ * which finds the tasks matching either side: "milk eggs OR bread" finds the tasks holding
+ * both milk and eggs, or bread. The last word of a query still being typed
+ * matches every word starting with it.
+ */
+public final class SearchQuery {
+  /**
+   * The words that split a query into alternatives.
+   */
+  private static final String OR = "OR";
+  private static final String OR_SYMBOL = "|";
+
+  private final List<List<String>> alternatives;
+  private final boolean lastTermPrefix;
+
+  /**
+   * SearchQuery constructor.
+   */
+  private SearchQuery(List<List<String>> alternatives, boolean lastTermPrefix) {
+    this.alternatives = alternatives;
+    this.lastTermPrefix = lastTermPrefix;
+  }
+
+  /**
+   * Parses the given query text.
+   *
+   * @param text The query text, can be null
+   * @return The parsed query, empty if the text holds no words
+   */
+  public static SearchQuery parse(String text) {
+    List<List<String>> alternatives = new ArrayList<>();
+    boolean lastTermPrefix = false;
+    if (text != null) {
+      List<String> terms = new ArrayList<>();
+      for (String word : text.trim().split("\\s+")) {
+        if (word.equals(OR) || word.equals(OR_SYMBOL)) {
+          if (!terms.isEmpty()) {
+            alternatives.add(terms);
+            terms = new ArrayList<>();
+          }
+        } else {
+          SearchIndex.tokenize(word, terms::add);
+        }
+      }
+      if (!terms.isEmpty()) {
+        alternatives.add(terms);
+      }
+      // The last word is still being typed unless it was followed by a space
+      lastTermPrefix = !alternatives.isEmpty() && !text.isEmpty()
+          && !Character.isWhitespace(text.charAt(text.length() - 1));
+    }
+    return new SearchQuery(alternatives, lastTermPrefix);
+  }
+
+  /**
+   * Returns true if the query holds no words and so matches every task.
+   *
+   * @return True if the query is empty, false otherwise
+   */
+  public boolean isEmpty() {
+    return this.alternatives.isEmpty();
+  }
+
+  /**
+   * Returns the alternatives of the query, the terms of each one must all be found.
+   *
+   * @return The alternatives of the query, lists of lower case terms
+   */
+  public List<List<String>> getAlternatives() {
+    return Collections.unmodifiableList(this.alternatives);
+  }
+
+  /**
+   * Returns true if the given term of the given alternative matches every word starting with it.
+   *
+   * @param alternative The index of the alternative
+   * @param term        The index of the term in the alternative
+   * @return True if the term is a prefix, false if it must match a whole word
+   */
+  public boolean isPrefix(int alternative, int term) {
+    return this.lastTermPrefix && alternative == this.alternatives.size() - 1
+        && term == this.alternatives.get(alternative).size() - 1;
+  }
+}
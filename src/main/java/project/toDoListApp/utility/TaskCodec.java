@@ -0,0 +1,535 @@
+package project.toDoListApp.utility;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+import project.toDoListApp.model.CategoryDictionary;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskPriority;
+import project.toDoListApp.model.TaskRegister;
+
+/**
+ * Class TaskCodec represents the compact binary file format of the application.
+ * Every file starts with a magic number and a format version, followed by the records.
+ * A task is stored as its id, the length-prefixed UTF-8 title, description and category,
+ * one byte for the priority ordinal, the due date and creation date as epoch days and one status byte.
+ *
+ * <p>Since version 2 every record is framed by its length and the CRC32C checksum of its bytes,
+ * so a damaged or torn record is detected, and skipped by its length, without decoding it.
+ * Version 1 files, which have no framing, can still be read.</p>
+ *
+ * <p>Since version 3 a task record holds the offset and length of its description
+ * in the DescriptionStore instead of the description itself, and the register record holds
+ * the generation of the description file. Descriptions are still written inline
+ * by a codec without a DescriptionStore, a tag byte tells the two apart.</p>
+ *
+ * <p>Since version 4 the register record holds the category dictionary of the register,
+ * every category name once, and the task records of a snapshot hold the int code
+ * of their category. Task records written on their own, like the ones of the journal,
+ * still hold the category name, a tag byte tells the two apart.</p>
+ *
+ * <p>Records are written to a reusable heap buffer that grows as needed,
+ * which is then handed to a FileChannel in a single write.</p>
+ */
+public class TaskCodec {
+  /**
+   * The magic number every file starts with, "TDLA" in ASCII.
+   */
+  public static final int MAGIC = 0x54444C41;
+
+  /**
+   * The current version of the format.
+   */
+  public static final short VERSION = 4;
+
+  /**
+   * The last version of the format holding the categories inline in the task records.
+   */
+  public static final short INLINE_CATEGORY_VERSION = 3;
+
+  /**
+   * The last version of the format holding the descriptions inline in the task records.
+   */
+  public static final short INLINE_DESCRIPTION_VERSION = 2;
+
+  /**
+   * The first version of the format, without the record framing.
+   */
+  public static final short UNFRAMED_VERSION = 1;
+
+  /**
+   * The size of the file header in bytes.
+   */
+  public static final int HEADER_SIZE = Integer.BYTES + Short.BYTES;
+
+  /**
+   * The size of the frame in front of every record: the length and the checksum.
+   */
+  public static final int FRAME_SIZE = Integer.BYTES + Integer.BYTES;
+
+  private static final byte INLINE_DESCRIPTION = 0;
+  private static final byte STORED_DESCRIPTION = 1;
+  private static final byte INLINE_CATEGORY = 0;
+  private static final byte CODED_CATEGORY = 1;
+  private static final int NO_DATE = Integer.MIN_VALUE;
+  private static final int INITIAL_CAPACITY = 64 * 1024;
+
+  /**
+   * The store descriptions are written to and loaded from, null to write them inline.
+   */
+  private final DescriptionStore descriptionStore;
+
+  private ByteBuffer buffer;
+  private int recordStart;
+  private int skippedRecords;
+
+  /**
+   * The format version of the last header read, decides how task records are read.
+   */
+  private short version;
+  private long descriptionGeneration;
+
+  /**
+   * The category names of the last register decoded, at the index of their code.
+   */
+  private List<String> categoryNames;
+
+  /**
+   * TaskCodec constructor, the descriptions are written inline.
+   */
+  public TaskCodec() {
+    this(null);
+  }
+
+  /**
+   * TaskCodec constructor with a store for the descriptions.
+   *
+   * @param descriptionStore The store the descriptions are written to, null to write them inline
+   */
+  public TaskCodec(DescriptionStore descriptionStore) {
+    this.descriptionStore = descriptionStore;
+    this.buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+    this.recordStart = -1;
+    this.skippedRecords = 0;
+    this.version = VERSION;
+    this.descriptionGeneration = 0;
+    this.categoryNames = new ArrayList<>();
+  }
+
+  /**
+   * Encodes the whole register: the file header, a record holding the next free id,
+   * the number of tasks, the description file generation and the category names,
+   * and then a record for every task.
+   *
+   * <p>The register is encoded holding its read lock, so the file holds a single state of it:
+   * every category code written is in the category names written, and the number of tasks
+   * matches the task records. It may be called from a thread other than the one changing
+   * the register.</p>
+   *
+   * @param register The register to encode, can not be null
+   * @return A buffer holding the encoded register, ready to be written
+   */
+  public ByteBuffer encodeRegister(TaskRegister register) {
+    return register.read(() -> {
+      this.begin();
+      this.putHeader();
+      this.beginRecord();
+      this.putLong(register.getNextId());
+      List<Task> tasks = register.getAllTasks();
+      this.putInt(tasks.size());
+      this.putLong(this.descriptionStore != null ? this.descriptionStore.getGeneration() : 0);
+      List<String> names = register.getCategoryDictionary().getNames();
+      this.putInt(names.size());
+      for (String name : names) {
+        this.putString(name);
+      }
+      this.endRecord();
+      for (Task task : tasks) {
+        this.beginRecord();
+        this.putTask(task, true);
+        this.endRecord();
+      }
+      return this.finish();
+    });
+  }
+
+  /**
+   * Decodes a register encoded by {@link #encodeRegister(TaskRegister)}.
+   * Damaged task records are skipped, their number is available from
+   * {@link #getSkippedRecords()} afterwards.
+   *
+   * @param source The buffer to decode, positioned at the start of the file
+   * @return The decoded register
+   * @throws IOException If the buffer does not hold a valid register
+   */
+  public TaskRegister decodeRegister(ByteBuffer source) throws IOException {
+    this.skippedRecords = 0;
+    this.descriptionGeneration = 0;
+    this.categoryNames = new ArrayList<>();
+    try {
+      short version = this.checkHeader(source);
+      TaskRegister register = new TaskRegister();
+      if (version == UNFRAMED_VERSION) {
+        register.reserveIds(source.getLong());
+        int count = source.getInt();
+        for (int i = 0; i < count; i++) {
+          register.addTask(this.getTask(source));
+        }
+        return register;
+      }
+
+      ByteBuffer registerRecord = this.getRecord(source);
+      if (registerRecord == null) {
+        throw new IOException("The register record is damaged");
+      }
+      register.reserveIds(registerRecord.getLong());
+      int count = registerRecord.getInt();
+      if (version > INLINE_DESCRIPTION_VERSION) {
+        this.descriptionGeneration = registerRecord.getLong();
+      }
+      if (version > INLINE_CATEGORY_VERSION) {
+        int categoryCount = registerRecord.getInt();
+        for (int i = 0; i < categoryCount; i++) {
+          this.categoryNames.add(this.getString(registerRecord));
+        }
+      }
+      while (source.hasRemaining()) {
+        ByteBuffer taskRecord = this.getRecord(source);
+        if (taskRecord != null) {
+          register.addTask(this.getTask(taskRecord));
+        }
+      }
+      this.skippedRecords = count - register.getNumberOfTasks();
+      return register;
+    } catch (BufferUnderflowException e) {
+      throw new IOException("The register file is truncated");
+    }
+  }
+
+  /**
+   * Returns the number of task records skipped by the last call to
+   * {@link #decodeRegister(ByteBuffer)} because they were damaged or missing.
+   *
+   * @return The number of skipped task records
+   */
+  public int getSkippedRecords() {
+    return this.skippedRecords;
+  }
+
+  /**
+   * Returns the format version of the last header read by {@link #checkHeader(ByteBuffer)}.
+   *
+   * @return The version of the last file read
+   */
+  public short getVersion() {
+    return this.version;
+  }
+
+  /**
+   * Returns the description file generation stored in the last register
+   * decoded by {@link #decodeRegister(ByteBuffer)}.
+   *
+   * @return The description file generation, 0 for files written by older versions
+   */
+  public long getDescriptionGeneration() {
+    return this.descriptionGeneration;
+  }
+
+  /**
+   * Clears the internal buffer, the start of a new encoding.
+   */
+  public void begin() {
+    this.buffer.clear();
+  }
+
+  /**
+   * Flips and returns the internal buffer, the end of the current encoding.
+   * The returned buffer is only valid until the next call to {@link #begin()}.
+   *
+   * @return The encoded bytes, ready to be written
+   */
+  public ByteBuffer finish() {
+    this.buffer.flip();
+    return this.buffer;
+  }
+
+  /**
+   * Writes the file header.
+   */
+  public void putHeader() {
+    this.ensureCapacity(HEADER_SIZE);
+    this.buffer.putInt(MAGIC);
+    this.buffer.putShort(VERSION);
+  }
+
+  /**
+   * Returns a new buffer holding only the file header.
+   *
+   * @return A buffer holding the file header, ready to be written
+   */
+  public static ByteBuffer encodeHeader() {
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    header.putInt(MAGIC);
+    header.putShort(VERSION);
+    header.flip();
+    return header;
+  }
+
+  /**
+   * Reads and validates the file header.
+   *
+   * @param source The buffer to read from
+   * @return The version of the format the rest of the file is in
+   * @throws IOException If the magic number or version is not supported
+   */
+  public short checkHeader(ByteBuffer source) throws IOException {
+    if (source.remaining() < HEADER_SIZE || source.getInt() != MAGIC) {
+      throw new IOException("Not a task file");
+    }
+    short version = source.getShort();
+    if (version < UNFRAMED_VERSION || version > VERSION) {
+      throw new IOException("Unsupported file format version " + version);
+    }
+    this.version = version;
+    return version;
+  }
+
+  /**
+   * Starts a new record, everything written until {@link #endRecord()} belongs to it.
+   */
+  public void beginRecord() {
+    this.ensureCapacity(FRAME_SIZE);
+    this.recordStart = this.buffer.position();
+    // The frame is filled in once the record is complete
+    this.buffer.putInt(0);
+    this.buffer.putInt(0);
+  }
+
+  /**
+   * Ends the current record by writing its length and checksum in front of it.
+   */
+  public void endRecord() {
+    if (this.recordStart < 0) {
+      throw new IllegalStateException("No record was started");
+    }
+    int payloadStart = this.recordStart + FRAME_SIZE;
+    int length = this.buffer.position() - payloadStart;
+    CRC32C checksum = new CRC32C();
+    checksum.update(this.buffer.array(), this.buffer.arrayOffset() + payloadStart, length);
+    this.buffer.putInt(this.recordStart, length);
+    this.buffer.putInt(this.recordStart + Integer.BYTES, (int) checksum.getValue());
+    this.recordStart = -1;
+  }
+
+  /**
+   * Reads the next record written between {@link #beginRecord()} and {@link #endRecord()}.
+   * If the record is damaged, null is returned and the source is positioned after it.
+   * If the record is torn, because the file ends before it does, null is returned
+   * and the source is positioned at its end.
+   *
+   * @param source The buffer to read from, positioned at the start of a record
+   * @return A buffer holding only the bytes of the record, or null if it is damaged or torn
+   */
+  public ByteBuffer getRecord(ByteBuffer source) {
+    if (source.remaining() < FRAME_SIZE) {
+      source.position(source.limit());
+      return null;
+    }
+    int length = source.getInt();
+    int expectedChecksum = source.getInt();
+    if (length < 0 || length > source.remaining()) {
+      source.position(source.limit());
+      return null;
+    }
+
+    ByteBuffer record = source.slice();
+    record.limit(length);
+    source.position(source.position() + length);
+
+    CRC32C checksum = new CRC32C();
+    checksum.update(record.duplicate());
+    return ((int) checksum.getValue() == expectedChecksum) ? record : null;
+  }
+
+  /**
+   * Writes a single byte.
+   *
+   * @param value The byte to write
+   */
+  public void putByte(byte value) {
+    this.ensureCapacity(Byte.BYTES);
+    this.buffer.put(value);
+  }
+
+  /**
+   * Writes a single int.
+   *
+   * @param value The int to write
+   */
+  public void putInt(int value) {
+    this.ensureCapacity(Integer.BYTES);
+    this.buffer.putInt(value);
+  }
+
+  /**
+   * Writes a single long.
+   *
+   * @param value The long to write
+   */
+  public void putLong(long value) {
+    this.ensureCapacity(Long.BYTES);
+    this.buffer.putLong(value);
+  }
+
+  /**
+   * Writes the given bytes as they are.
+   *
+   * @param bytes The bytes to write, can not be null
+   */
+  public void putBytes(byte[] bytes) {
+    this.ensureCapacity(bytes.length);
+    this.buffer.put(bytes);
+  }
+
+  /**
+   * Writes all the fields of the given task, with the name of its category.
+   * If the codec has a DescriptionStore, a description held in memory is staged in it first
+   * and only its location is written.
+   *
+   * @param task The task to write, can not be null
+   */
+  public void putTask(Task task) {
+    this.putTask(task, false);
+  }
+
+  /**
+   * Writes all the fields of the given task, with the code of its category if asked to
+   * and the task has one. The code is only valid within the register record written with it.
+   */
+  private void putTask(Task task, boolean codedCategory) {
+    this.putLong(task.getId());
+    this.putString(task.getTaskName());
+    if (this.descriptionStore != null) {
+      this.descriptionStore.store(task);
+      this.putByte(STORED_DESCRIPTION);
+      this.putLong(task.getDescriptionOffset());
+      this.putInt(task.getDescriptionLength());
+    } else {
+      this.putByte(INLINE_DESCRIPTION);
+      this.putString(task.getDescription());
+    }
+    if (codedCategory && task.getCategoryCode() != CategoryDictionary.NO_CODE) {
+      this.putByte(CODED_CATEGORY);
+      this.putInt(task.getCategoryCode());
+    } else {
+      this.putByte(INLINE_CATEGORY);
+      this.putString(task.getCategory());
+    }
+    this.putByte((byte) task.getTaskPriority().ordinal());
+    this.putInt(task.getDueDate() == null ? NO_DATE : (int) task.getDueDate().toEpochDay());
+    this.putInt((int) task.getDateAdded().toEpochDay());
+    this.putByte((byte) (task.getStatus() ? 1 : 0));
+  }
+
+  /**
+   * Reads a task written by {@link #putTask(Task)}.
+   *
+   * @param source The buffer to read from
+   * @return The task that was read
+   * @throws BufferUnderflowException If the buffer ends before the task does
+   */
+  public Task getTask(ByteBuffer source) {
+    long id = source.getLong();
+    String taskName = this.getString(source);
+    String description = null;
+    long descriptionOffset = 0;
+    int descriptionLength = 0;
+    if (this.version <= INLINE_DESCRIPTION_VERSION || source.get() == INLINE_DESCRIPTION) {
+      description = this.getString(source);
+    } else {
+      descriptionOffset = source.getLong();
+      descriptionLength = source.getInt();
+      if (this.descriptionStore == null) {
+        description = "";
+      }
+    }
+    String category;
+    if (this.version <= INLINE_CATEGORY_VERSION || source.get() == INLINE_CATEGORY) {
+      category = this.getString(source);
+    } else {
+      // A category name decoded once is shared by all the tasks in the category
+      int code = source.getInt();
+      if (code < 0 || code >= this.categoryNames.size()) {
+        throw new BufferUnderflowException();
+      }
+      category = this.categoryNames.get(code);
+    }
+    byte priority = source.get();
+    int dueDate = source.getInt();
+    int dateAdded = source.getInt();
+    boolean status = source.get() != 0;
+
+    return new Task.TaskBuilder(taskName, description, category)
+        .withId(id)
+        .withTaskPriority(TaskPriority.fromOrdinal(priority))
+        .withDueDate(dueDate == NO_DATE ? null : LocalDate.ofEpochDay(dueDate))
+        .withDateAdded(LocalDate.ofEpochDay(dateAdded))
+        .withStatus(status)
+        .withStoredDescription(description == null ? this.descriptionStore : null,
+            descriptionOffset, descriptionLength)
+        .build();
+  }
+
+  /**
+   * Writes a String as its UTF-8 length followed by the UTF-8 bytes.
+   *
+   * @param string The String to write, can not be null
+   */
+  public void putString(String string) {
+    byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+    this.ensureCapacity(Integer.BYTES + bytes.length);
+    this.buffer.putInt(bytes.length);
+    this.buffer.put(bytes);
+  }
+
+  /**
+   * Reads a String written by {@link #putString(String)}.
+   *
+   * @param source The buffer to read from
+   * @return The String that was read
+   * @throws BufferUnderflowException If the buffer ends before the String does
+   */
+  public String getString(ByteBuffer source) {
+    int length = source.getInt();
+    if (length < 0 || length > source.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    if (!source.hasArray()) {
+      byte[] bytes = new byte[length];
+      source.get(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+    String string = new String(source.array(), source.arrayOffset() + source.position(),
+        length, StandardCharsets.UTF_8);
+    source.position(source.position() + length);
+    return string;
+  }
+
+  /**
+   * Grows the internal buffer so that it can hold the given number of additional bytes.
+   */
+  private void ensureCapacity(int additional) {
+    if (this.buffer.remaining() < additional) {
+      int required = this.buffer.position() + additional;
+      ByteBuffer grown = ByteBuffer.allocate(Math.max(required, this.buffer.capacity() * 2));
+      this.buffer.flip();
+      grown.put(this.buffer);
+      this.buffer = grown;
+    }
+  }
+}
@@ -0,0 +1,269 @@
+package project.toDoListApp.utility;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskPriority;
+import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.model.TaskRegisterListener;
+
+/**
+ * Class TaskColumns represents the tasks of a TaskRegister as columns of primitive values,
+ * one row per task: the due date and the date added as epoch days, the priority ordinal,
+ * the category code and the status as a bit. Counting tasks over the whole register scans
+ * a few packed arrays instead of following a reference to every task and its dates.
+ *
+ * <p>A removed task is replaced by the last row, so the rows stay packed and are not
+ * in any particular order. It follows the changes made to the register one task at a time,
+ * the listener methods and the counts are expected to be called from the same thread.</p>
+ */
+public final class TaskColumns implements TaskRegisterListener {
+  /**
+   * The due day of a task without a due date, after every other day,
+   * so the task is never overdue nor due between two dates.
+   */
+  public static final int NO_DUE_DATE = Integer.MAX_VALUE;
+
+  /**
+   * The day a task without a date added was added, before every other day.
+   */
+  public static final int NO_DATE_ADDED = Integer.MIN_VALUE;
+
+  private static final int INITIAL_CAPACITY = 64;
+  private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+  private final TaskRegister register;
+  private final Map<Task, Integer> rows;
+  private Task[] tasks;
+  private int[] dueDays;
+  private int[] addedDays;
+  private byte[] priorities;
+  private int[] categories;
+
+  /**
+   * The status of each row, one bit per row, set for a completed task.
+   */
+  private long[] completed;
+  private int size;
+
+  /**
+   * TaskColumns constructor.
+   *
+   * @param register The register holding the tasks, can not be null.
+   *                 The columns must be added to the listeners of the register
+   *                 to follow its changes
+   */
+  public TaskColumns(TaskRegister register) {
+    if (register == null) {
+      throw new IllegalArgumentException("register can not be null!");
+    }
+    this.register = register;
+    this.rows = new IdentityHashMap<>();
+    this.tasks = new Task[INITIAL_CAPACITY];
+    this.dueDays = new int[INITIAL_CAPACITY];
+    this.addedDays = new int[INITIAL_CAPACITY];
+    this.priorities = new byte[INITIAL_CAPACITY];
+    this.categories = new int[INITIAL_CAPACITY];
+    this.completed = new long[INITIAL_CAPACITY / Long.SIZE];
+    for (Task task : register.getAllTasks()) {
+      this.taskAdded(task);
+    }
+  }
+
+  /**
+   * Returns the number of rows, one for each task in the register.
+   *
+   * @return The number of rows
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the code of the given category, the index of its count in the counts by category.
+   *
+   * @param category The name of the category
+   * @return The code of the category, CategoryDictionary.NO_CODE if no task ever had it
+   */
+  public int getCategoryCode(String category) {
+    return this.register.getCategoryDictionary().getCode(category);
+  }
+
+  /**
+   * Returns the number of completed tasks.
+   *
+   * @return The number of completed tasks
+   */
+  public int countCompleted() {
+    int count = 0;
+    for (long word : this.completed) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  /**
+   * Returns the number of tasks with each priority and the given status.
+   *
+   * @param status True to count the completed tasks, false to count the uncompleted ones
+   * @return The number of tasks of each priority, indexed by the ordinal of the priority
+   */
+  public int[] countByPriority(boolean status) {
+    int[] counts = new int[PRIORITIES.length];
+    byte[] priorities = this.priorities;
+    long[] completed = this.completed;
+    long flip = status ? 0 : 1;
+    // Adding the bit instead of testing it leaves no branch to mispredict on mixed statuses
+    for (int row = 0; row < this.size; row++) {
+      counts[priorities[row]] += (int) (((completed[row >>> 6] >>> row) & 1) ^ flip);
+    }
+    return counts;
+  }
+
+  /**
+   * Returns the number of uncompleted tasks in each category that are due before the given day.
+   *
+   * @param today The first day a task is not overdue on, can not be null
+   * @return The number of overdue tasks in each category, indexed by the category code
+   */
+  public int[] countOverdueByCategory(LocalDate today) {
+    if (today == null) {
+      throw new IllegalArgumentException("today can not be null!");
+    }
+    int day = toDay(today);
+    int[] counts = new int[this.register.getCategoryDictionary().size()];
+    int[] dueDays = this.dueDays;
+    int[] categories = this.categories;
+    long[] completed = this.completed;
+    for (int row = 0; row < this.size; row++) {
+      int uncompleted = (int) (~(completed[row >>> 6] >>> row) & 1);
+      counts[categories[row]] += (dueDays[row] < day) ? uncompleted : 0;
+    }
+    return counts;
+  }
+
+  /**
+   * Returns the number of uncompleted tasks due between the given dates, both included.
+   *
+   * @param from The first due date, can not be null
+   * @param to   The last due date, can not be null
+   * @return The number of uncompleted tasks due between the dates
+   */
+  public int countUncompletedDueBetween(LocalDate from, LocalDate to) {
+    if (from == null || to == null) {
+      throw new IllegalArgumentException("from and to can not be null!");
+    }
+    int first = toDay(from);
+    int last = toDay(to);
+    int count = 0;
+    int[] dueDays = this.dueDays;
+    long[] completed = this.completed;
+    for (int row = 0; row < this.size; row++) {
+      if (dueDays[row] >= first && dueDays[row] <= last
+          && ((completed[row >>> 6] >>> row) & 1) == 0) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns the number of tasks added on or after the given date.
+   *
+   * @param date The first date added counted, can not be null
+   * @return The number of tasks added since the date
+   */
+  public int countAddedSince(LocalDate date) {
+    if (date == null) {
+      throw new IllegalArgumentException("date can not be null!");
+    }
+    int first = toDay(date);
+    int count = 0;
+    int[] addedDays = this.addedDays;
+    for (int row = 0; row < this.size; row++) {
+      if (addedDays[row] >= first) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public void taskAdded(Task task) {
+    if (this.size == this.tasks.length) {
+      int capacity = this.tasks.length * 2;
+      this.tasks = Arrays.copyOf(this.tasks, capacity);
+      this.dueDays = Arrays.copyOf(this.dueDays, capacity);
+      this.addedDays = Arrays.copyOf(this.addedDays, capacity);
+      this.priorities = Arrays.copyOf(this.priorities, capacity);
+      this.categories = Arrays.copyOf(this.categories, capacity);
+      this.completed = Arrays.copyOf(this.completed, capacity / Long.SIZE);
+    }
+    int row = this.size++;
+    this.tasks[row] = task;
+    this.rows.put(task, row);
+    this.write(row, task);
+  }
+
+  @Override
+  public void taskRemoved(Task task) {
+    Integer row = this.rows.remove(task);
+    if (row != null) {
+      // The last row takes the place of the removed one
+      int last = --this.size;
+      if (row != last) {
+        Task moved = this.tasks[last];
+        this.tasks[row] = moved;
+        this.dueDays[row] = this.dueDays[last];
+        this.addedDays[row] = this.addedDays[last];
+        this.priorities[row] = this.priorities[last];
+        this.categories[row] = this.categories[last];
+        this.setCompleted(row, ((this.completed[last >>> 6] >>> last) & 1) != 0);
+        this.rows.put(moved, row);
+      }
+      this.tasks[last] = null;
+      this.setCompleted(last, false);
+    }
+  }
+
+  @Override
+  public void taskUpdated(Task task) {
+    Integer row = this.rows.get(task);
+    if (row != null) {
+      this.write(row, task);
+    }
+  }
+
+  /**
+   * Writes the fields of the given task to the given row.
+   */
+  private void write(int row, Task task) {
+    this.dueDays[row] = (task.getDueDate() != null) ? toDay(task.getDueDate()) : NO_DUE_DATE;
+    this.addedDays[row] = (task.getDateAdded() != null) ? toDay(task.getDateAdded()) : NO_DATE_ADDED;
+    this.priorities[row] = (byte) task.getTaskPriority().ordinal();
+    this.categories[row] = task.getCategoryCode();
+    this.setCompleted(row, task.getStatus());
+  }
+
+  /**
+   * Sets or clears the status bit of the given row.
+   */
+  private void setCompleted(int row, boolean status) {
+    if (status) {
+      this.completed[row >>> 6] |= 1L << row;
+    } else {
+      this.completed[row >>> 6] &= ~(1L << row);
+    }
+  }
+
+  /**
+   * Returns the epoch day of the given date, the days far out of the int range
+   * are kept just inside it, apart from the days of the missing dates.
+   */
+  private static int toDay(LocalDate date) {
+    return (int) Math.max(Integer.MIN_VALUE + 1,
+        Math.min(Integer.MAX_VALUE - 1, date.toEpochDay()));
+  }
+}
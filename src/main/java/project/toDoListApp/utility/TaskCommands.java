@@ -0,0 +1,557 @@
+package project.toDoListApp.utility;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskPriority;
+import project.toDoListApp.model.TaskRegister;
+
+/**
+ * Class TaskCommands creates the commands of the changes the user makes to the tasks,
+ * to be kept in an {@link UndoHistory}. A command holds the tasks it changed and only
+ * the fields it changed: the old values of a batch are kept in arrays next to the tasks,
+ * and an edit of a description keeps only the span of text that changed, not the whole text.
+ *
+ * <p>A command captures the values to revert to when it is created,
+ * so it is created right before its change is made.</p>
+ */
+public final class TaskCommands {
+  private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+  /**
+   * TaskCommands constructor, not used.
+   */
+  private TaskCommands() {
+  }
+
+  /**
+   * Returns the command adding the given tasks to the register.
+   *
+   * @param register The register to add the tasks to, can not be null
+   * @param tasks    The tasks to add, can not be null
+   * @return The command adding the tasks
+   */
+  public static UndoHistory.Command addTasks(TaskRegister register, Collection<Task> tasks) {
+    checkArguments(register, tasks);
+    return new AddOrRemoveTasks(register, tasks.toArray(new Task[0]), true);
+  }
+
+  /**
+   * Returns the command removing the given tasks from the register.
+   *
+   * @param register The register to remove the tasks from, can not be null
+   * @param tasks    The tasks to remove, can not be null
+   * @return The command removing the tasks
+   */
+  public static UndoHistory.Command removeTasks(TaskRegister register, Collection<Task> tasks) {
+    checkArguments(register, tasks);
+    return new AddOrRemoveTasks(register, tasks.toArray(new Task[0]), false);
+  }
+
+  /**
+   * Returns the command setting the status of the given tasks, the tasks already having
+   * the status are left out.
+   *
+   * @param register The register holding the tasks, can not be null
+   * @param tasks    The tasks to change, can not be null
+   * @param status   The status to set, true if the tasks are complete, false otherwise
+   * @return The command setting the status
+   */
+  public static UndoHistory.Command setStatus(TaskRegister register, Collection<Task> tasks,
+                                              boolean status) {
+    checkArguments(register, tasks);
+    return new SetStatus(register, tasks.stream()
+        .filter(task -> task.getStatus() != status).toArray(Task[]::new), status);
+  }
+
+  /**
+   * Returns the command of a status the user has already changed, to be recorded in the history.
+   *
+   * @param register The register holding the task, can not be null
+   * @param task     The task whose status was changed, can not be null
+   * @return The command setting the current status of the task
+   */
+  public static UndoHistory.Command statusChanged(TaskRegister register, Task task) {
+    checkArguments(register, Collections.singletonList(task));
+    return new SetStatus(register, new Task[] {task}, task.getStatus());
+  }
+
+  /**
+   * Returns the command setting the priority of the given tasks.
+   *
+   * @param register The register holding the tasks, can not be null
+   * @param tasks    The tasks to change, can not be null
+   * @param priority The priority to set, can not be null
+   * @return The command setting the priority
+   */
+  public static UndoHistory.Command setPriority(TaskRegister register, Collection<Task> tasks,
+                                                TaskPriority priority) {
+    checkArguments(register, tasks);
+    if (priority == null) {
+      throw new IllegalArgumentException("priority can not be null!");
+    }
+    return new SetPriority(register, tasks.stream()
+        .filter(task -> task.getTaskPriority() != priority).toArray(Task[]::new), priority);
+  }
+
+  /**
+   * Returns the command setting the category of the given tasks.
+   *
+   * @param register The register holding the tasks, can not be null
+   * @param tasks    The tasks to change, can not be null
+   * @param category The category to set, can not be blank or null
+   * @return The command setting the category
+   */
+  public static UndoHistory.Command setCategory(TaskRegister register, Collection<Task> tasks,
+                                                String category) {
+    checkArguments(register, tasks);
+    if (category == null || category.isBlank()) {
+      throw new IllegalArgumentException("category can not be blank or null!");
+    }
+    return new SetCategory(register, tasks.stream()
+        .filter(task -> !category.equals(task.getCategory())).toArray(Task[]::new), category);
+  }
+
+  /**
+   * Returns the command setting the due date of the given task.
+   *
+   * @param task    The task to change, can not be null
+   * @param dueDate The due date to set, can not be null
+   * @return The command setting the due date
+   */
+  public static UndoHistory.Command setDueDate(Task task, LocalDate dueDate) {
+    if (task == null || dueDate == null) {
+      throw new IllegalArgumentException("task and dueDate can not be null!");
+    }
+    return new SetDueDate(task, task.saveDueDate(), dueDate);
+  }
+
+  /**
+   * Returns the command setting the title and the description of the given task,
+   * the ones left unchanged are not kept.
+   *
+   * @param task        The task to change, can not be null
+   * @param title       The title to set, can not be blank or null
+   * @param description The description to set, can not be null
+   * @return The command editing the task
+   */
+  public static UndoHistory.Command editTask(Task task, String title, String description) {
+    if (task == null || title == null || title.isBlank() || description == null) {
+      throw new IllegalArgumentException("task, title and description can not be null,"
+          + " title can not be blank!");
+    }
+    String oldTitle = task.getTaskName();
+    String oldDescription = task.getDescription();
+    return new EditTask(task,
+        title.equals(oldTitle) ? null : oldTitle,
+        title.equals(oldTitle) ? null : title,
+        description.equals(oldDescription) ? null : TextDiff.between(oldDescription, description));
+  }
+
+  /**
+   * Throws an IllegalArgumentException if the register or the tasks are null.
+   */
+  private static void checkArguments(TaskRegister register, Collection<Task> tasks) {
+    if (register == null || tasks == null || tasks.stream().anyMatch(Objects::isNull)) {
+      throw new IllegalArgumentException("register and tasks can not be null!");
+    }
+  }
+
+  /**
+   * Returns the name of a change made to the given number of tasks, like "Delete 3 tasks".
+   */
+  private static String nameOf(String change, int numberOfTasks) {
+    return (numberOfTasks == 1) ? change + " task" : change + " " + numberOfTasks + " tasks";
+  }
+
+  /**
+   * Class AddOrRemoveTasks represents adding tasks to the register or removing them from it.
+   */
+  private static final class AddOrRemoveTasks implements UndoHistory.Command {
+    private final TaskRegister register;
+    private final Task[] tasks;
+    private final boolean add;
+
+    /**
+     * AddOrRemoveTasks constructor.
+     *
+     * @param register The register of the tasks
+     * @param tasks    The tasks added or removed
+     * @param add      True to add the tasks, false to remove them
+     */
+    private AddOrRemoveTasks(TaskRegister register, Task[] tasks, boolean add) {
+      this.register = register;
+      this.tasks = tasks;
+      this.add = add;
+    }
+
+    @Override
+    public String getName() {
+      return nameOf(this.add ? "Add" : "Delete", this.tasks.length);
+    }
+
+    @Override
+    public void redo() {
+      this.apply(this.add);
+    }
+
+    @Override
+    public void undo() {
+      this.apply(!this.add);
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return this.tasks.length == 0;
+    }
+
+    /**
+     * Adds or removes the tasks at once, a removed task keeps its id and is added back as it was.
+     */
+    private void apply(boolean add) {
+      if (add) {
+        this.register.addAll(Arrays.asList(this.tasks));
+      } else {
+        Set<Task> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        removed.addAll(Arrays.asList(this.tasks));
+        this.register.removeIf(removed::contains);
+      }
+    }
+  }
+
+  /**
+   * Class SetStatus represents setting the status of tasks that all had the other status.
+   */
+  private static final class SetStatus implements UndoHistory.Command {
+    private final TaskRegister register;
+    private final List<Task> tasks;
+    private final boolean status;
+
+    /**
+     * SetStatus constructor.
+     *
+     * @param register The register of the tasks
+     * @param tasks    The tasks changed, all having the other status before
+     * @param status   The status set
+     */
+    private SetStatus(TaskRegister register, Task[] tasks, boolean status) {
+      this.register = register;
+      this.tasks = Arrays.asList(tasks);
+      this.status = status;
+    }
+
+    @Override
+    public String getName() {
+      return this.status ? "Mark as complete" : "Mark as incomplete";
+    }
+
+    @Override
+    public void redo() {
+      this.register.setStatus(this.tasks, this.status);
+    }
+
+    @Override
+    public void undo() {
+      this.register.setStatus(this.tasks, !this.status);
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return this.tasks.isEmpty();
+    }
+  }
+
+  /**
+   * Class SetPriority represents setting the priority of tasks, the old priorities
+   * are kept as ordinals next to the tasks.
+   */
+  private static final class SetPriority implements UndoHistory.Command {
+    private final TaskRegister register;
+    private final Task[] tasks;
+    private final byte[] oldPriorities;
+    private final TaskPriority priority;
+
+    /**
+     * SetPriority constructor, keeps the current priorities of the tasks.
+     *
+     * @param register The register of the tasks
+     * @param tasks    The tasks changed
+     * @param priority The priority set
+     */
+    private SetPriority(TaskRegister register, Task[] tasks, TaskPriority priority) {
+      this.register = register;
+      this.tasks = tasks;
+      this.oldPriorities = new byte[tasks.length];
+      for (int i = 0; i < tasks.length; i++) {
+        this.oldPriorities[i] = (byte) tasks[i].getTaskPriority().ordinal();
+      }
+      this.priority = priority;
+    }
+
+    @Override
+    public String getName() {
+      return "Set priority";
+    }
+
+    @Override
+    public void redo() {
+      this.register.setPriority(Arrays.asList(this.tasks), this.priority);
+    }
+
+    @Override
+    public void undo() {
+      // One change for each old priority
+      Map<TaskPriority, List<Task>> byPriority = new EnumMap<>(TaskPriority.class);
+      for (int i = 0; i < this.tasks.length; i++) {
+        byPriority.computeIfAbsent(PRIORITIES[this.oldPriorities[i]], priority -> new ArrayList<>())
+            .add(this.tasks[i]);
+      }
+      byPriority.forEach((priority, tasks) -> this.register.setPriority(tasks, priority));
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return this.tasks.length == 0;
+    }
+  }
+
+  /**
+   * Class SetCategory represents setting the category of tasks, the old categories are kept
+   * next to the tasks as the category names the tasks held, shared with the register.
+   */
+  private static final class SetCategory implements UndoHistory.Command {
+    private final TaskRegister register;
+    private final Task[] tasks;
+    private final String[] oldCategories;
+    private final String category;
+
+    /**
+     * SetCategory constructor, keeps the current categories of the tasks.
+     *
+     * @param register The register of the tasks
+     * @param tasks    The tasks changed
+     * @param category The category set
+     */
+    private SetCategory(TaskRegister register, Task[] tasks, String category) {
+      this.register = register;
+      this.tasks = tasks;
+      this.oldCategories = new String[tasks.length];
+      for (int i = 0; i < tasks.length; i++) {
+        this.oldCategories[i] = tasks[i].getCategory();
+      }
+      this.category = category;
+    }
+
+    @Override
+    public String getName() {
+      return "Set category";
+    }
+
+    @Override
+    public void redo() {
+      this.register.setCategory(Arrays.asList(this.tasks), this.category);
+    }
+
+    @Override
+    public void undo() {
+      // One change for each old category
+      Map<String, List<Task>> byCategory = new LinkedHashMap<>();
+      for (int i = 0; i < this.tasks.length; i++) {
+        byCategory.computeIfAbsent(this.oldCategories[i], category -> new ArrayList<>())
+            .add(this.tasks[i]);
+      }
+      byCategory.forEach((category, tasks) -> this.register.setCategory(tasks, category));
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return this.tasks.length == 0;
+    }
+  }
+
+  /**
+   * Class SetDueDate represents setting the due date of a task.
+   */
+  private static final class SetDueDate implements UndoHistory.Command {
+    private final Task task;
+    private final Task.SavedDueDate oldDueDate;
+    private final LocalDate dueDate;
+
+    /**
+     * SetDueDate constructor.
+     *
+     * @param task       The task changed
+     * @param oldDueDate The due date the task had, saved from the task
+     * @param dueDate    The due date set
+     */
+    private SetDueDate(Task task, Task.SavedDueDate oldDueDate, LocalDate dueDate) {
+      this.task = task;
+      this.oldDueDate = oldDueDate;
+      this.dueDate = dueDate;
+    }
+
+    @Override
+    public String getName() {
+      return "Set due date";
+    }
+
+    @Override
+    public void redo() {
+      this.task.setDueDate(this.dueDate);
+    }
+
+    @Override
+    public void undo() {
+      // The old date may not be after the date added, the task restores it as it was saved
+      this.task.restoreDueDate(this.oldDueDate);
+    }
+
+    @Override
+    public boolean isEmpty() {
+      // A due date not after the date added is refused by the task
+      return this.dueDate.equals(this.oldDueDate.getDueDate())
+          || !this.dueDate.isAfter(this.task.getDateAdded());
+    }
+  }
+
+  /**
+   * Class EditTask represents editing the title and the description of a task.
+   */
+  private static final class EditTask implements UndoHistory.Command {
+    private final Task task;
+    private final String oldTitle;
+    private final String title;
+    private final TextDiff descriptionDiff;
+
+    /**
+     * EditTask constructor.
+     *
+     * @param task            The task changed
+     * @param oldTitle        The title the task had, null if the title is unchanged
+     * @param title           The title set, null if the title is unchanged
+     * @param descriptionDiff The change made to the description, null if it is unchanged
+     */
+    private EditTask(Task task, String oldTitle, String title, TextDiff descriptionDiff) {
+      this.task = task;
+      this.oldTitle = oldTitle;
+      this.title = title;
+      this.descriptionDiff = descriptionDiff;
+    }
+
+    @Override
+    public String getName() {
+      return "Edit task";
+    }
+
+    @Override
+    public void redo() {
+      if (this.title != null) {
+        this.task.setTaskName(this.title);
+      }
+      if (this.descriptionDiff != null) {
+        this.task.setDescription(this.descriptionDiff.apply(this.task.getDescription()));
+      }
+    }
+
+    @Override
+    public void undo() {
+      if (this.oldTitle != null) {
+        this.task.setTaskName(this.oldTitle);
+      }
+      if (this.descriptionDiff != null) {
+        this.task.setDescription(this.descriptionDiff.revert(this.task.getDescription()));
+      }
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return this.title == null && this.descriptionDiff == null;
+    }
+  }
+
+  /**
+   * Class TextDiff represents the change from one text to another as the span that was replaced:
+   * the length of the start both texts share, the text removed after it and the text inserted
+   * in its place. The end both texts share is not kept, an edit in one place of a long
+   * description keeps only the few characters that changed.
+   */
+  private static final class TextDiff {
+    private final int start;
+    private final String removed;
+    private final String inserted;
+
+    /**
+     * TextDiff constructor.
+     *
+     * @param start    The length of the start both texts share
+     * @param removed  The text replaced
+     * @param inserted The text put in its place
+     */
+    private TextDiff(int start, String removed, String inserted) {
+      this.start = start;
+      this.removed = removed;
+      this.inserted = inserted;
+    }
+
+    /**
+     * Returns the change from the old text to the new text.
+     *
+     * @param oldText The text before the change
+     * @param newText The text after the change
+     * @return The change between the texts
+     */
+    private static TextDiff between(String oldText, String newText) {
+      int shortest = Math.min(oldText.length(), newText.length());
+      int start = 0;
+      while (start < shortest && oldText.charAt(start) == newText.charAt(start)) {
+        start++;
+      }
+      // The end is only shared after the start, so the spans do not overlap
+      int end = 0;
+      while (end < shortest - start
+          && oldText.charAt(oldText.length() - 1 - end) == newText.charAt(newText.length() - 1 - end)) {
+        end++;
+      }
+      return new TextDiff(start, oldText.substring(start, oldText.length() - end),
+          newText.substring(start, newText.length() - end));
+    }
+
+    /**
+     * Returns the new text, given the old text.
+     *
+     * @param oldText The text before the change
+     * @return The text after the change
+     */
+    private String apply(String oldText) {
+      return this.replace(oldText, this.removed, this.inserted);
+    }
+
+    /**
+     * Returns the old text, given the new text.
+     *
+     * @param newText The text after the change
+     * @return The text before the change
+     */
+    private String revert(String newText) {
+      return this.replace(newText, this.inserted, this.removed);
+    }
+
+    /**
+     * Returns the given text with the given span after the shared start replaced.
+     */
+    private String replace(String text, String span, String replacement) {
+      return text.substring(0, this.start) + replacement
+          + text.substring(this.start + span.length());
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package project.toDoListApp.utility;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.model.TaskRegisterListener;
+
+/**
+ * Class TaskCompletions represents the completions of the categories and titles
+ * of the tasks in a TaskRegister, the ones used by the most tasks first.
+ * It follows the changes made to the register one task at a time.
+ */
+public final class TaskCompletions implements TaskRegisterListener {
+  private final PrefixTrie categories;
+  private final PrefixTrie titles;
+  private final Map<Task, String[]> indexedTasks;
+
+  /**
+   * TaskCompletions constructor.
+   *
+   * @param register The register holding the tasks, can not be null.
+   *                 The completions must be added to the listeners of the register
+   *                 to follow its changes
+   */
+  public TaskCompletions(TaskRegister register) {
+    if (register == null) {
+      throw new IllegalArgumentException("register can not be null!");
+    }
+    this.categories = new PrefixTrie();
+    this.titles = new PrefixTrie();
+    this.indexedTasks = new IdentityHashMap<>();
+    for (Task task : register.getAllTasks()) {
+      this.taskAdded(task);
+    }
+  }
+
+  /**
+   * Returns the categories starting with the given prefix, ignoring case.
+   *
+   * @param prefix The prefix to complete, can not be null
+   * @param limit  The highest number of categories to return
+   * @return A List of at most limit categories, the ones of the most tasks first
+   */
+  public List<String> completeCategory(String prefix, int limit) {
+    return this.categories.complete(prefix, limit);
+  }
+
+  /**
+   * Returns the task titles starting with the given prefix, ignoring case.
+   *
+   * @param prefix The prefix to complete, can not be null
+   * @param limit  The highest number of titles to return
+   * @return A List of at most limit titles, the ones of the most tasks first
+   */
+  public List<String> completeTitle(String prefix, int limit) {
+    return this.titles.complete(prefix, limit);
+  }
+
+  @Override
+  public void taskAdded(Task task) {
+    String[] indexed = {task.getTaskName(), task.getCategory()};
+    this.titles.add(indexed[0]);
+    this.categories.add(indexed[1]);
+    this.indexedTasks.put(task, indexed);
+  }
+
+  @Override
+  public void taskRemoved(Task task) {
+    String[] indexed = this.indexedTasks.remove(task);
+    if (indexed != null) {
+      this.titles.remove(indexed[0]);
+      this.categories.remove(indexed[1]);
+    }
+  }
+
+  @Override
+  public void taskUpdated(Task task) {
+    String[] indexed = this.indexedTasks.get(task);
+    if (indexed != null && (!indexed[0].equals(task.getTaskName())
+        || !indexed[1].equals(task.getCategory()))) {
+      this.taskRemoved(task);
+      this.taskAdded(task);
+    }
+  }
+}
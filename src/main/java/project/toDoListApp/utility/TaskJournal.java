@@ -0,0 +1,380 @@
+package project.toDoListApp.utility;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.model.TaskRegisterListener;
+
+/**
+ * Class TaskJournal represents an append-only log of the changes made to a TaskRegister.
+ * Changes are collected in memory and appended to the journal file on each flush,
+ * so the cost of a save depends on the number of changes and not on the size of the register.
+ * The journal is replayed over the last full snapshot of the register on startup.
+ *
+ * <p>The journal file starts with the TaskCodec header, each record is an operation byte
+ * and the task id, followed by the task encoded by the TaskCodec for adds and updates.
+ * Every record is framed and checksummed by the TaskCodec, a torn record at the end of the file
+ * is detected on replay and cut off, so that new records are appended after the last valid one.</p>
+ *
+ * <p>The first record of a journal file names the generation of the description file
+ * its records refer to. A journal left behind by a crash during the compaction
+ * of the description file refers to the old generation, its changes are already part of
+ * the new snapshot, so it is recognized as stale and not replayed.</p>
+ */
+public class TaskJournal implements TaskRegisterListener {
+  private static final byte ADD = 1;
+  private static final byte UPDATE = 2;
+  private static final byte REMOVE = 3;
+  private static final byte GENERATION = 4;
+
+  /**
+   * The logger.
+   */
+  private final Logger logger;
+
+  private final Path journalFile;
+  private final TaskCodec codec;
+
+  /**
+   * The changes not yet written to the journal file, at most one per task id.
+   */
+  private final LinkedHashMap<Long, PendingChange> pendingChanges;
+
+  /**
+   * The number of records in the journal file.
+   */
+  private int entryCount;
+
+  /**
+   * True if the replayed journal file was written in an older format,
+   * new records can then not be appended to it.
+   */
+  private boolean outdated;
+
+  /**
+   * True if the replayed journal file refers to another generation of the description file.
+   */
+  private boolean stale;
+
+  /**
+   * The generation of the description file the records refer to.
+   */
+  private volatile long generation;
+
+  /**
+   * TaskJournal constructor, the descriptions are written inline.
+   *
+   * @param journalFile The file the journal is appended to, can not be null
+   */
+  public TaskJournal(Path journalFile) {
+    this(journalFile, null);
+  }
+
+  /**
+   * TaskJournal constructor with a store for the descriptions.
+   *
+   * @param journalFile      The file the journal is appended to, can not be null
+   * @param descriptionStore The store the descriptions are written to, null to write them inline
+   */
+  public TaskJournal(Path journalFile, DescriptionStore descriptionStore) {
+    if (journalFile == null) {
+      throw new IllegalArgumentException("journalFile can not be null!");
+    }
+    this.logger = Logger.getLogger(this.getClass().toString());
+    this.journalFile = journalFile;
+    this.codec = new TaskCodec(descriptionStore);
+    this.pendingChanges = new LinkedHashMap<>();
+    this.entryCount = 0;
+    this.outdated = false;
+    this.stale = false;
+    this.generation = 0;
+  }
+
+  @Override
+  public void taskAdded(Task task) {
+    this.pendingChanges.put(task.getId(), new PendingChange(ADD, task));
+  }
+
+  @Override
+  public void taskRemoved(Task task) {
+    PendingChange pending = this.pendingChanges.remove(task.getId());
+    if (pending == null || pending.operation != ADD) {
+      // The task is known to the journal file, record the removal
+      this.pendingChanges.put(task.getId(), new PendingChange(REMOVE, task));
+    }
+  }
+
+  @Override
+  public void taskUpdated(Task task) {
+    // A pending add already writes the latest state of the task
+    PendingChange pending = this.pendingChanges.get(task.getId());
+    if (pending == null || pending.operation != ADD) {
+      this.pendingChanges.put(task.getId(), new PendingChange(UPDATE, task));
+    }
+  }
+
+  /**
+   * Appends all the pending changes to the journal file.
+   *
+   * @return The number of records written
+   * @throws IOException If the journal file could not be written to
+   */
+  public int flush() throws IOException {
+    int pending = this.pendingChanges.size();
+    this.append(this.drain());
+    return pending;
+  }
+
+  /**
+   * Encodes all the pending changes and clears them, without touching the journal file.
+   * The task state is read at this point, so the returned records are a consistent
+   * view of the changes even if the tasks are changed again before they are written.
+   *
+   * @return A buffer holding the encoded records, to be passed to {@link #append(ByteBuffer)}
+   */
+  public ByteBuffer drain() {
+    this.codec.begin();
+    for (PendingChange change : this.pendingChanges.values()) {
+      this.writeRecord(change);
+    }
+    ByteBuffer encoded = this.codec.finish();
+    ByteBuffer records = ByteBuffer.allocate(encoded.remaining());
+    records.put(encoded);
+    records.flip();
+
+    this.entryCount += this.pendingChanges.size();
+    this.pendingChanges.clear();
+    return records;
+  }
+
+  /**
+   * Appends records returned by {@link #drain()} to the journal file
+   * and waits until they are on the disk. Does not access the pending changes, so it may be called from any thread.
+   *
+   * @param records The records to append
+   * @throws IOException If the journal file could not be written to
+   */
+  public void append(ByteBuffer records) throws IOException {
+    if (!records.hasRemaining()) {
+      return;
+    }
+    Path parent = this.journalFile.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+
+    try (FileChannel channel = FileChannel.open(this.journalFile,
+        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+      if (channel.size() == 0) {
+        FileUtility.writeFully(channel, this.encodeFileStart());
+      }
+      FileUtility.writeFully(channel, records);
+      channel.force(false);
+    }
+  }
+
+  /**
+   * Applies all the records in the journal file to the given register.
+   * Replaying is idempotent, replaying the same journal twice leaves the register unchanged.
+   * A torn or damaged record, left by an interrupted write, ends the replay
+   * and is cut off the file together with everything after it.
+   * A journal referring to another generation of the description file is not replayed.
+   *
+   * @param register The register to apply the journal to, can not be null
+   * @return The number of records applied
+   * @throws IOException If the journal file could not be read
+   */
+  public int replay(TaskRegister register) throws IOException {
+    this.entryCount = 0;
+    this.outdated = false;
+    this.stale = false;
+    if (register == null || !Files.exists(this.journalFile)) {
+      return 0;
+    }
+
+    ByteBuffer source = FileUtility.readFully(this.journalFile);
+    short version = this.codec.checkHeader(source);
+    this.outdated = (version != TaskCodec.VERSION);
+    int validLength = source.position();
+    while (source.hasRemaining()) {
+      try {
+        ByteBuffer record = (version == TaskCodec.UNFRAMED_VERSION)
+            ? source : this.codec.getRecord(source);
+        if (record == null) {
+          break;
+        }
+        if (record.get(record.position()) == GENERATION) {
+          record.get();
+          if (record.getLong() != this.generation) {
+            this.logger.log(Level.WARNING, "Ignoring a journal of another description file");
+            this.stale = true;
+            return 0;
+          }
+          validLength = source.position();
+          continue;
+        }
+        this.applyRecord(record, register);
+        validLength = source.position();
+        this.entryCount++;
+      } catch (BufferUnderflowException e) {
+        break;
+      }
+    }
+
+    if (validLength < source.limit()) {
+      this.logger.log(Level.WARNING, "Cutting off a torn record at the end of the journal");
+      try (FileChannel channel = FileChannel.open(this.journalFile, StandardOpenOption.WRITE)) {
+        channel.truncate(validLength);
+      }
+    }
+    return this.entryCount;
+  }
+
+  /**
+   * Returns true if the last replayed journal file was written in an older format.
+   * The journal file must then be replaced by a snapshot before new records are appended.
+   *
+   * @return True if the journal file is in an older format, false otherwise
+   */
+  public boolean isOutdated() {
+    return this.outdated;
+  }
+
+  /**
+   * Returns true if the last replayed journal file refers to another generation
+   * of the description file. It was not replayed and must be deleted.
+   *
+   * @return True if the journal file is stale, false otherwise
+   */
+  public boolean isStale() {
+    return this.stale;
+  }
+
+  /**
+   * Sets the generation of the description file the records refer to,
+   * a new journal file is marked with it.
+   *
+   * @param generation The generation of the description file
+   */
+  public void setGeneration(long generation) {
+    this.generation = generation;
+  }
+
+  /**
+   * Deletes the journal file and all the pending changes.
+   * Called after a full snapshot of the register has been written.
+   *
+   * @throws IOException If the journal file could not be deleted
+   */
+  public void reset() throws IOException {
+    this.discard();
+    this.deleteFile();
+  }
+
+  /**
+   * Clears all the pending changes without touching the journal file.
+   * Called when a full snapshot of the register is taken, as it already holds the changes.
+   */
+  public void discard() {
+    this.pendingChanges.clear();
+    this.entryCount = 0;
+  }
+
+  /**
+   * Deletes the journal file. Does not access the pending changes,
+   * so it may be called from any thread.
+   *
+   * @throws IOException If the journal file could not be deleted
+   */
+  public void deleteFile() throws IOException {
+    Files.deleteIfExists(this.journalFile);
+  }
+
+  /**
+   * Returns the number of records in the journal file.
+   *
+   * @return The number of records in the journal file
+   */
+  public int getEntryCount() {
+    return this.entryCount;
+  }
+
+  /**
+   * Returns the number of changes not yet written to the journal file.
+   *
+   * @return The number of pending changes
+   */
+  public int getPendingCount() {
+    return this.pendingChanges.size();
+  }
+
+  /**
+   * Returns the start of a new journal file: the header and the generation record.
+   */
+  private ByteBuffer encodeFileStart() {
+    TaskCodec startCodec = new TaskCodec();
+    startCodec.begin();
+    startCodec.putHeader();
+    startCodec.beginRecord();
+    startCodec.putByte(GENERATION);
+    startCodec.putLong(this.generation);
+    startCodec.endRecord();
+    return startCodec.finish();
+  }
+
+  /**
+   * Applies a single record to the given register.
+   */
+  private void applyRecord(ByteBuffer record, TaskRegister register) {
+    byte operation = record.get();
+    long id = record.getLong();
+    Task task = null;
+    if (operation == ADD || operation == UPDATE) {
+      task = this.codec.getTask(record);
+    }
+
+    Task removed = register.getTask(id);
+    if (removed != null) {
+      register.removeTask(removed);
+    }
+    if (task != null) {
+      register.addTask(task);
+    }
+  }
+
+  /**
+   * Writes a single record to the codec.
+   */
+  private void writeRecord(PendingChange change) {
+    this.codec.beginRecord();
+    this.codec.putByte(change.operation);
+    this.codec.putLong(change.task.getId());
+    if (change.operation != REMOVE) {
+      this.codec.putTask(change.task);
+    }
+    this.codec.endRecord();
+  }
+
+  /**
+   * A change to a single task that is not yet written to the journal file.
+   * The task's state is read when the change is written, so only the latest state is stored.
+   */
+  private static final class PendingChange {
+    private final byte operation;
+    private final Task task;
+
+    private PendingChange(byte operation, Task task) {
+      this.operation = operation;
+      this.task = task;
+    }
+  }
+}
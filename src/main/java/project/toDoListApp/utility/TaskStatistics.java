@@ -0,0 +1,413 @@
+package project.toDoListApp.utility;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import project.toDoListApp.model.CategoryDictionary;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskPriority;
+import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.model.TaskRegisterListener;
+
+/**
+ * Class TaskStatistics represents the counts of the tasks of a TaskRegister shown at a glance:
+ * the open and completed tasks, the overdue tasks, the tasks due this week and the open and
+ * completed tasks of each category and priority. The counts are kept up to date as the register
+ * changes, each change only moves the counts of the changed task, and are never counted
+ * again from all the tasks.
+ *
+ * <p>The overdue and due this week counts depend on the day, the open tasks due today or later
+ * are also counted by due date, so a new day only moves the counts of the days passed.
+ * The day is checked on every change and by {@link #updateDay()}, the listener methods and
+ * the getters are expected to be called from the same thread.</p>
+ */
+public final class TaskStatistics implements TaskRegisterListener {
+  private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+  private final CategoryDictionary categories;
+  private final Clock clock;
+
+  /**
+   * The fields each task was counted with, a task changes before it is reported as updated.
+   */
+  private final Map<Task, Counted> countedTasks;
+
+  /**
+   * The number of open tasks due on each day from today on, by epoch day.
+   */
+  private final Map<Long, Integer> openByDueDay;
+  private final int[] openByPriority;
+  private final int[] completedByPriority;
+  private int[] openByCategory;
+  private int[] completedByCategory;
+  private int open;
+  private int completed;
+  private int overdue;
+  private int dueThisWeek;
+  private LocalDate today;
+  private Runnable onChanged;
+
+  /**
+   * TaskStatistics constructor, counts the tasks in the given register.
+   *
+   * @param register The register holding the tasks, can not be null.
+   *                 The statistics must be added to the listeners of the register
+   *                 to follow its changes
+   * @param clock    The clock giving the current day, can not be null
+   */
+  public TaskStatistics(TaskRegister register, Clock clock) {
+    if (register == null || clock == null) {
+      throw new IllegalArgumentException("register and clock can not be null!");
+    }
+    this.categories = register.getCategoryDictionary();
+    this.clock = clock;
+    this.countedTasks = new IdentityHashMap<>();
+    this.openByDueDay = new HashMap<>();
+    this.openByPriority = new int[PRIORITIES.length];
+    this.completedByPriority = new int[PRIORITIES.length];
+    this.openByCategory = new int[0];
+    this.completedByCategory = new int[0];
+    this.today = LocalDate.now(clock);
+    this.onChanged = null;
+    for (Task task : register.getAllTasks()) {
+      this.count(task, new Counted(task), 1);
+    }
+  }
+
+  /**
+   * Sets the action run after the counts have changed.
+   *
+   * @param onChanged The action to run, null for none
+   */
+  public void setOnChanged(Runnable onChanged) {
+    this.onChanged = onChanged;
+  }
+
+  /**
+   * Moves the counts to the current day if a new day began since they were last moved.
+   * To be called now and then, so the counts follow the days while the register is not changed.
+   *
+   * @return True if a new day began, false otherwise
+   */
+  public boolean updateDay() {
+    boolean newDay = this.checkDay();
+    if (newDay) {
+      this.changed();
+    }
+    return newDay;
+  }
+
+  /**
+   * Returns the day the counts depending on the day are counted on.
+   *
+   * @return The current day of the statistics
+   */
+  public LocalDate getToday() {
+    return this.today;
+  }
+
+  /**
+   * Returns the number of uncompleted tasks.
+   *
+   * @return The number of uncompleted tasks
+   */
+  public int getNumberOfOpenTasks() {
+    return this.open;
+  }
+
+  /**
+   * Returns the number of completed tasks.
+   *
+   * @return The number of completed tasks
+   */
+  public int getNumberOfCompletedTasks() {
+    return this.completed;
+  }
+
+  /**
+   * Returns the number of uncompleted tasks due before today.
+   *
+   * @return The number of overdue tasks
+   */
+  public int getNumberOfOverdueTasks() {
+    return this.overdue;
+  }
+
+  /**
+   * Returns the number of uncompleted tasks due from today until the end of the week, a Sunday.
+   *
+   * @return The number of tasks due this week
+   */
+  public int getNumberOfTasksDueThisWeek() {
+    return this.dueThisWeek;
+  }
+
+  /**
+   * Returns the number of uncompleted tasks with the given priority.
+   *
+   * @param priority The priority, can not be null
+   * @return The number of uncompleted tasks with the priority
+   */
+  public int getNumberOfOpenTasks(TaskPriority priority) {
+    return this.openByPriority[priority.ordinal()];
+  }
+
+  /**
+   * Returns the number of completed tasks with the given priority.
+   *
+   * @param priority The priority, can not be null
+   * @return The number of completed tasks with the priority
+   */
+  public int getNumberOfCompletedTasks(TaskPriority priority) {
+    return this.completedByPriority[priority.ordinal()];
+  }
+
+  /**
+   * Returns the number of uncompleted tasks in the given category.
+   *
+   * @param category The category
+   * @return The number of uncompleted tasks in the category
+   */
+  public int getNumberOfOpenTasks(String category) {
+    int code = this.categories.getCode(category);
+    return (code >= 0 && code < this.openByCategory.length) ? this.openByCategory[code] : 0;
+  }
+
+  /**
+   * Returns the number of completed tasks in the given category.
+   *
+   * @param category The category
+   * @return The number of completed tasks in the category
+   */
+  public int getNumberOfCompletedTasks(String category) {
+    int code = this.categories.getCode(category);
+    return (code >= 0 && code < this.completedByCategory.length) ? this.completedByCategory[code] : 0;
+  }
+
+  /**
+   * Returns the categories of the counted tasks, in the order they were first used.
+   *
+   * @return A List of the categories holding at least one task
+   */
+  public List<String> getCategories() {
+    List<String> used = new ArrayList<>();
+    for (int code = 0; code < this.openByCategory.length; code++) {
+      if (this.openByCategory[code] + this.completedByCategory[code] > 0) {
+        used.add(this.categories.getName(code));
+      }
+    }
+    return used;
+  }
+
+  @Override
+  public void taskAdded(Task task) {
+    this.checkDay();
+    this.addTask(task);
+    this.changed();
+  }
+
+  @Override
+  public void taskRemoved(Task task) {
+    this.checkDay();
+    this.removeTask(task);
+    this.changed();
+  }
+
+  @Override
+  public void taskUpdated(Task task) {
+    boolean newDay = this.checkDay();
+    // A change to the title or the description leaves the counts as they are
+    if (this.updateTask(task) || newDay) {
+      this.changed();
+    }
+  }
+
+  @Override
+  public void tasksChanged(List<Task> added, List<Task> removed, List<Task> updated) {
+    this.checkDay();
+    for (Task task : added) {
+      this.addTask(task);
+    }
+    for (Task task : removed) {
+      this.removeTask(task);
+    }
+    for (Task task : updated) {
+      this.updateTask(task);
+    }
+    this.changed();
+  }
+
+  /**
+   * Counts the given added task.
+   */
+  private void addTask(Task task) {
+    this.count(task, new Counted(task), 1);
+  }
+
+  /**
+   * Takes the given removed task out of the counts.
+   */
+  private void removeTask(Task task) {
+    Counted counted = this.countedTasks.get(task);
+    if (counted != null) {
+      this.count(task, counted, -1);
+    }
+  }
+
+  /**
+   * Moves the given updated task from the counts of its old fields to the counts of its new ones.
+   *
+   * @return True if the counts changed, false otherwise
+   */
+  private boolean updateTask(Task task) {
+    Counted counted = this.countedTasks.get(task);
+    if (counted == null || counted.matches(task)) {
+      return false;
+    }
+    this.count(task, counted, -1);
+    this.count(task, new Counted(task), 1);
+    return true;
+  }
+
+  /**
+   * Adds the given fields of a task to the counts, or takes them out of the counts.
+   *
+   * @param task    The task the fields are of
+   * @param counted The fields of the task
+   * @param delta   1 to add the task, -1 to take it out
+   */
+  private void count(Task task, Counted counted, int delta) {
+    if (delta > 0) {
+      this.countedTasks.put(task, counted);
+      this.ensureCategory(counted.category);
+    } else {
+      this.countedTasks.remove(task);
+    }
+    int priority = counted.priority.ordinal();
+    if (counted.status) {
+      this.completed += delta;
+      this.completedByPriority[priority] += delta;
+      this.completedByCategory[counted.category] += delta;
+    } else {
+      this.open += delta;
+      this.openByPriority[priority] += delta;
+      this.openByCategory[counted.category] += delta;
+      if (counted.dueDate != null) {
+        if (counted.dueDate.isBefore(this.today)) {
+          this.overdue += delta;
+        } else {
+          this.openByDueDay.merge(counted.dueDate.toEpochDay(), delta,
+              (count, change) -> (count + change == 0) ? null : count + change);
+          if (!counted.dueDate.isAfter(endOfWeek(this.today))) {
+            this.dueThisWeek += delta;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Grows the category counts to hold the given category code.
+   */
+  private void ensureCategory(int code) {
+    if (code >= this.openByCategory.length) {
+      int length = Math.max(code + 1, this.openByCategory.length * 2);
+      this.openByCategory = Arrays.copyOf(this.openByCategory, length);
+      this.completedByCategory = Arrays.copyOf(this.completedByCategory, length);
+    }
+  }
+
+  /**
+   * Moves the day dependent counts to the current day if a new day began.
+   * The tasks due on the days passed become overdue, and the week is counted again
+   * from the tasks counted by due date, at most seven days.
+   *
+   * @return True if a new day began, false otherwise
+   */
+  private boolean checkDay() {
+    LocalDate now = LocalDate.now(this.clock);
+    if (!now.isAfter(this.today)) {
+      return false;
+    }
+    long firstDay = this.today.toEpochDay();
+    long newDay = now.toEpochDay();
+    if (newDay - firstDay <= this.openByDueDay.size()) {
+      for (long day = firstDay; day < newDay; day++) {
+        Integer count = this.openByDueDay.remove(day);
+        this.overdue += (count != null) ? count : 0;
+      }
+    } else {
+      // After a long time away, going over the few days with due tasks is quicker
+      this.openByDueDay.entrySet().removeIf(entry -> {
+        boolean passed = entry.getKey() < newDay;
+        this.overdue += passed ? entry.getValue() : 0;
+        return passed;
+      });
+    }
+    this.today = now;
+    this.dueThisWeek = 0;
+    for (long day = newDay; day <= endOfWeek(now).toEpochDay(); day++) {
+      this.dueThisWeek += this.openByDueDay.getOrDefault(day, 0);
+    }
+    return true;
+  }
+
+  /**
+   * Runs the action set to run after the counts have changed, if any.
+   */
+  private void changed() {
+    if (this.onChanged != null) {
+      this.onChanged.run();
+    }
+  }
+
+  /**
+   * Returns the last day of the week of the given day.
+   */
+  private static LocalDate endOfWeek(LocalDate day) {
+    return day.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+  }
+
+  /**
+   * Class Counted represents the fields a task was counted with.
+   */
+  private static final class Counted {
+    private final boolean status;
+    private final LocalDate dueDate;
+    private final TaskPriority priority;
+    private final int category;
+
+    /**
+     * Counted constructor, holds the current fields of the given task.
+     *
+     * @param task The counted task
+     */
+    private Counted(Task task) {
+      this.status = task.getStatus();
+      this.dueDate = task.getDueDate();
+      this.priority = task.getTaskPriority();
+      this.category = task.getCategoryCode();
+    }
+
+    /**
+     * Returns true if the given task still has the counted fields.
+     *
+     * @param task The task to compare with
+     * @return True if the counts of the task are unchanged, false otherwise
+     */
+    private boolean matches(Task task) {
+      return this.status == task.getStatus()
+          && this.priority == task.getTaskPriority()
+          && this.category == task.getCategoryCode()
+          && Objects.equals(this.dueDate, task.getDueDate());
+    }
+  }
+}
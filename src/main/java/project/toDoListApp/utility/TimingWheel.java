@@ -0,0 +1,181 @@
+package project.toDoListApp.utility;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Class TimingWheel represents a hashed timing wheel of timeouts.
+ * Time is cut into ticks of a fixed length, and every timeout is kept in the slot
+ * of the wheel its deadline tick hashes to, so scheduling and cancelling a timeout
+ * take constant time however many timeouts there are. Advancing the wheel only visits
+ * the slots of the ticks that went by, a timeout further away than one turn
+ * of the wheel stays in its slot until the turn it is due in.
+ *
+ * <p>The wheel holds at most one timeout per item and is not thread safe.</p>
+ *
+ * @param <T> The type of the items timing out
+ */
+public final class TimingWheel<T> {
+  private final long tickMillis;
+  private final Entry<T>[] slots;
+  private final int mask;
+  private final Map<T, Entry<T>> entries;
+
+  /**
+   * The last tick the wheel was advanced to.
+   */
+  private long currentTick;
+
+  /**
+   * TimingWheel constructor.
+   *
+   * @param tickMillis The length of a tick in milliseconds, must be positive
+   * @param wheelSize  The number of slots, rounded up to a power of two, must be positive
+   * @param nowMillis  The current time in milliseconds
+   */
+  @SuppressWarnings("unchecked")
+  public TimingWheel(long tickMillis, int wheelSize, long nowMillis) {
+    if (tickMillis <= 0 || wheelSize <= 0 || wheelSize > (1 << 30)) {
+      throw new IllegalArgumentException("tickMillis and wheelSize must be positive!");
+    }
+    int size = Integer.highestOneBit(wheelSize);
+    if (size < wheelSize) {
+      size <<= 1;
+    }
+    this.tickMillis = tickMillis;
+    this.slots = (Entry<T>[]) new Entry<?>[size];
+    this.mask = size - 1;
+    this.entries = new IdentityHashMap<>();
+    this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+  }
+
+  /**
+   * Schedules the given item to time out at the given time, replacing its previous timeout.
+   * A deadline already past times out on the next advance.
+   *
+   * @param item           The item to schedule, can not be null
+   * @param deadlineMillis The time to time out at in milliseconds
+   */
+  public void schedule(T item, long deadlineMillis) {
+    if (item == null) {
+      throw new IllegalArgumentException("item can not be null!");
+    }
+    this.cancel(item);
+    // Rounded up, a timeout never fires before its deadline
+    long deadlineTick = Math.max(this.currentTick + 1,
+        Math.floorDiv(deadlineMillis, this.tickMillis)
+            + (Math.floorMod(deadlineMillis, this.tickMillis) != 0 ? 1 : 0));
+    Entry<T> entry = new Entry<>(item, deadlineTick);
+    this.link(entry);
+    this.entries.put(item, entry);
+  }
+
+  /**
+   * Cancels the timeout of the given item.
+   *
+   * @param item The item to cancel
+   * @return True if the item had a timeout, false otherwise
+   */
+  public boolean cancel(T item) {
+    Entry<T> entry = this.entries.remove(item);
+    if (entry != null) {
+      this.unlink(entry);
+    }
+    return entry != null;
+  }
+
+  /**
+   * Returns true if the given item has a timeout.
+   *
+   * @param item The item to look for
+   * @return True if the item has a timeout, false otherwise
+   */
+  public boolean isScheduled(T item) {
+    return this.entries.containsKey(item);
+  }
+
+  /**
+   * Returns the number of timeouts in the wheel.
+   *
+   * @return The number of timeouts
+   */
+  public int size() {
+    return this.entries.size();
+  }
+
+  /**
+   * Advances the wheel to the given time and passes every item timed out meanwhile
+   * to the given action. A time before the last advance is ignored.
+   *
+   * @param nowMillis The current time in milliseconds
+   * @param expired   The action given the items timed out, can not be null
+   */
+  public void advance(long nowMillis, Consumer<T> expired) {
+    if (expired == null) {
+      throw new IllegalArgumentException("expired can not be null!");
+    }
+    long nowTick = Math.floorDiv(nowMillis, this.tickMillis);
+    // Past one turn of the wheel every slot is visited once
+    long firstTick = Math.max(this.currentTick + 1, nowTick - this.mask);
+    for (long tick = firstTick; tick <= nowTick; tick++) {
+      Entry<T> entry = this.slots[(int) tick & this.mask];
+      while (entry != null) {
+        Entry<T> next = entry.next;
+        if (entry.deadlineTick <= nowTick) {
+          this.unlink(entry);
+          this.entries.remove(entry.item);
+          expired.accept(entry.item);
+        }
+        entry = next;
+      }
+    }
+    this.currentTick = Math.max(this.currentTick, nowTick);
+  }
+
+  /**
+   * Adds the given entry to the front of the list of its slot.
+   */
+  private void link(Entry<T> entry) {
+    int slot = (int) entry.deadlineTick & this.mask;
+    entry.next = this.slots[slot];
+    if (entry.next != null) {
+      entry.next.previous = entry;
+    }
+    this.slots[slot] = entry;
+  }
+
+  /**
+   * Takes the given entry out of the list of its slot.
+   */
+  private void unlink(Entry<T> entry) {
+    if (entry.previous != null) {
+      entry.previous.next = entry.next;
+    } else {
+      this.slots[(int) entry.deadlineTick & this.mask] = entry.next;
+    }
+    if (entry.next != null) {
+      entry.next.previous = entry.previous;
+    }
+    entry.previous = null;
+    entry.next = null;
+  }
+
+  /**
+   * Class Entry represents the timeout of an item, linked into the list of its slot.
+   */
+  private static final class Entry<T> {
+    private final T item;
+    private final long deadlineTick;
+    private Entry<T> previous;
+    private Entry<T> next;
+
+    /**
+     * Entry constructor.
+     */
+    private Entry(T item, long deadlineTick) {
+      this.item = item;
+      this.deadlineTick = deadlineTick;
+    }
+  }
+}
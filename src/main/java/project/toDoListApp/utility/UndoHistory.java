@@ -0,0 +1,179 @@
+package project.toDoListApp.utility;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Class UndoHistory represents the changes made by the user that can be undone and redone,
+ * the most recent first. Each change is a {@link Command} holding only what it changed,
+ * so a long history takes little memory. Performing a new change drops the changes undone
+ * before it, and the oldest changes are dropped past the limit of the history.
+ *
+ * <p>The commands are expected to be performed, undone and redone in the order they were made,
+ * from the thread that changes the register.</p>
+ */
+public final class UndoHistory {
+  /**
+   * Interface Command represents a change that can be undone and redone.
+   */
+  public interface Command {
+    /**
+     * Returns the name of the change, shown after "Undo" and "Redo" in the menu.
+     *
+     * @return The name of the change, like "Set priority"
+     */
+    String getName();
+
+    /**
+     * Makes the change, or makes it again after it was undone.
+     */
+    void redo();
+
+    /**
+     * Reverts the change.
+     */
+    void undo();
+
+    /**
+     * Returns true if the command changes nothing, it is then left out of the history.
+     *
+     * @return True if the command changes nothing, false otherwise
+     */
+    default boolean isEmpty() {
+      return false;
+    }
+  }
+
+  private final int limit;
+  private final Deque<Command> undoCommands;
+  private final Deque<Command> redoCommands;
+  private Runnable onChanged;
+
+  /**
+   * UndoHistory constructor.
+   *
+   * @param limit The highest number of changes that can be undone, must be positive
+   */
+  public UndoHistory(int limit) {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("limit must be positive!");
+    }
+    this.limit = limit;
+    this.undoCommands = new ArrayDeque<>();
+    this.redoCommands = new ArrayDeque<>();
+    this.onChanged = null;
+  }
+
+  /**
+   * Sets the action run after the history has changed.
+   *
+   * @param onChanged The action to run, null for none
+   */
+  public void setOnChanged(Runnable onChanged) {
+    this.onChanged = onChanged;
+  }
+
+  /**
+   * Makes the change of the given command and adds it to the history.
+   *
+   * @param command The command to perform, can not be null
+   */
+  public void perform(Command command) {
+    if (command == null) {
+      throw new IllegalArgumentException("command can not be null!");
+    }
+    if (!command.isEmpty()) {
+      command.redo();
+      this.record(command);
+    }
+  }
+
+  /**
+   * Adds the given command to the history, its change has already been made.
+   *
+   * @param command The command to add, can not be null
+   */
+  public void record(Command command) {
+    if (command == null) {
+      throw new IllegalArgumentException("command can not be null!");
+    }
+    if (!command.isEmpty()) {
+      this.undoCommands.push(command);
+      if (this.undoCommands.size() > this.limit) {
+        this.undoCommands.removeLast();
+      }
+      this.redoCommands.clear();
+      this.changed();
+    }
+  }
+
+  /**
+   * Undoes the most recent change.
+   *
+   * @return True if a change was undone, false if there is none to undo
+   */
+  public boolean undo() {
+    Command command = this.undoCommands.poll();
+    if (command == null) {
+      return false;
+    }
+    command.undo();
+    this.redoCommands.push(command);
+    this.changed();
+    return true;
+  }
+
+  /**
+   * Redoes the most recently undone change.
+   *
+   * @return True if a change was redone, false if there is none to redo
+   */
+  public boolean redo() {
+    Command command = this.redoCommands.poll();
+    if (command == null) {
+      return false;
+    }
+    command.redo();
+    this.undoCommands.push(command);
+    this.changed();
+    return true;
+  }
+
+  /**
+   * Returns the name of the change undone next.
+   *
+   * @return The name of the change, null if there is none to undo
+   */
+  public String getUndoName() {
+    Command command = this.undoCommands.peek();
+    return (command != null) ? command.getName() : null;
+  }
+
+  /**
+   * Returns the name of the change redone next.
+   *
+   * @return The name of the change, null if there is none to redo
+   */
+  public String getRedoName() {
+    Command command = this.redoCommands.peek();
+    return (command != null) ? command.getName() : null;
+  }
+
+  /**
+   * Returns the number of changes that can be undone.
+   *
+   * @return The number of changes that can be undone
+   */
+  public int getNumberOfUndoableChanges() {
+    return this.undoCommands.size();
+  }
+
+  /**
+   * Runs the action set to run after the history has changed, if any.
+   */
+  private void changed() {
+    if (this.onChanged != null) {
+      this.onChanged.run();
+    }
+  }
+}
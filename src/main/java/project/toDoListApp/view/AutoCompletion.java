@@ -0,0 +1,61 @@
+package project.toDoListApp.view;
+
+import java.util.List;
+import java.util.function.Function;
+import javafx.geometry.Side;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.TextField;
+
+/**
+ * Class AutoCompletion shows the completions of the text typed in a TextField
+ * in a popup below it, choosing one sets it as the text of the field.
+ */
+public final class AutoCompletion {
+  /**
+   * AutoCompletion constructor, not used.
+   */
+  private AutoCompletion() {
+  }
+
+  /**
+   * Shows the completions of the text typed in the given field below it.
+   *
+   * @param textField The field to complete the text of, can not be null
+   * @param completer Returns the completions of the given text, the best first
+   */
+  public static void install(TextField textField, Function<String, List<String>> completer) {
+    if (textField == null || completer == null) {
+      throw new IllegalArgumentException("textField and completer can not be null!");
+    }
+    ContextMenu popup = new ContextMenu();
+    textField.textProperty().addListener((observable, oldText, newText) -> {
+      List<String> completions = (newText == null || newText.isBlank() || !textField.isFocused())
+          ? List.of() : completer.apply(newText);
+      // A text already typed in full needs no completion
+      if (completions.isEmpty()
+          || (completions.size() == 1 && completions.get(0).equalsIgnoreCase(newText.trim()))) {
+        popup.hide();
+      } else {
+        popup.getItems().clear();
+        for (String completion : completions) {
+          MenuItem item = new MenuItem(completion);
+          item.setMnemonicParsing(false);
+          item.setOnAction(event -> {
+            textField.setText(completion);
+            textField.positionCaret(completion.length());
+          });
+          popup.getItems().add(item);
+        }
+        if (!popup.isShowing()) {
+          popup.show(textField, Side.BOTTOM, 0, 0);
+        }
+      }
+    });
+    textField.focusedProperty().addListener((observable, wasFocused, focused) -> {
+      if (!focused) {
+        popup.hide();
+      }
+    });
+  }
+}
@@ -0,0 +1,158 @@
+package project.toDoListApp.view;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.HPos;
+import javafx.geometry.Insets;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.ColumnConstraints;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.VBox;
+import javafx.util.Duration;
+import project.toDoListApp.model.CategoryDictionary;
+import project.toDoListApp.model.TaskPriority;
+import project.toDoListApp.utility.TaskColumns;
+import project.toDoListApp.utility.TaskStatistics;
+
+/**
+ * Class DashboardPane represents a pane showing the statistics of the tasks at a glance:
+ * the open, completed, overdue and due this week tasks, and the open and completed tasks
+ * of each priority and category, and the overdue tasks of each category. The pane reads the counts
+ * kept by the statistics, the overdue tasks of each category are counted over the columns of the tasks
+ * when the pane is shown. It is shown again after every change while it is visible,
+ * and after a new day begins.
+ */
+public final class DashboardPane extends ScrollPane {
+  /**
+   * How often the statistics are asked whether a new day began.
+   */
+  private static final Duration DAY_CHECK_INTERVAL = Duration.minutes(1);
+
+  private final TaskStatistics statistics;
+  private final TaskColumns columns;
+  private final GridPane totals;
+  private final GridPane byPriority;
+  private final GridPane byCategory;
+
+  /**
+   * DashboardPane constructor.
+   *
+   * @param statistics The statistics to show, can not be null
+   * @param columns    The columns of the same tasks, to count the overdue tasks of each category,
+   *                   can not be null
+   */
+  public DashboardPane(TaskStatistics statistics, TaskColumns columns) {
+    if (statistics == null || columns == null) {
+      throw new IllegalArgumentException("statistics and columns can not be null!");
+    }
+    this.statistics = statistics;
+    this.columns = columns;
+    this.totals = createGrid();
+    this.byPriority = createGrid();
+    this.byCategory = createGrid();
+
+    VBox content = new VBox(8, createHeader("Tasks"), this.totals,
+        createHeader("By priority"), this.byPriority,
+        createHeader("By category"), this.byCategory);
+    content.setPadding(new Insets(10));
+    this.setContent(content);
+    this.setFitToWidth(true);
+    this.setPrefWidth(220);
+
+    statistics.setOnChanged(() -> {
+      if (this.isVisible()) {
+        this.refresh();
+      }
+    });
+    this.visibleProperty().addListener((observable, wasVisible, visible) -> {
+      if (visible) {
+        this.refresh();
+      }
+    });
+    Timeline dayCheck = new Timeline(new KeyFrame(DAY_CHECK_INTERVAL,
+        event -> statistics.updateDay()));
+    dayCheck.setCycleCount(Animation.INDEFINITE);
+    dayCheck.play();
+    this.refresh();
+  }
+
+  /**
+   * Shows the current counts of the statistics.
+   */
+  public void refresh() {
+    this.totals.getChildren().clear();
+    addRow(this.totals, 0, "Open", this.statistics.getNumberOfOpenTasks());
+    addRow(this.totals, 1, "Completed", this.statistics.getNumberOfCompletedTasks());
+    Label overdue = addRow(this.totals, 2, "Overdue", this.statistics.getNumberOfOverdueTasks());
+    if (this.statistics.getNumberOfOverdueTasks() > 0) {
+      overdue.setStyle("-fx-text-fill: firebrick; -fx-font-weight: bold;");
+    }
+    addRow(this.totals, 3, "Due this week", this.statistics.getNumberOfTasksDueThisWeek());
+
+    this.byPriority.getChildren().clear();
+    int row = 0;
+    for (TaskPriority priority : TaskPriority.values()) {
+      addRow(this.byPriority, row++, priority.getDisplayName(),
+          this.statistics.getNumberOfOpenTasks(priority),
+          this.statistics.getNumberOfCompletedTasks(priority), 0);
+    }
+
+    this.byCategory.getChildren().clear();
+    int[] overdueByCategory = this.columns.countOverdueByCategory(this.statistics.getToday());
+    row = 0;
+    for (String category : this.statistics.getCategories()) {
+      int code = this.columns.getCategoryCode(category);
+      addRow(this.byCategory, row++, category,
+          this.statistics.getNumberOfOpenTasks(category),
+          this.statistics.getNumberOfCompletedTasks(category),
+          (code != CategoryDictionary.NO_CODE) ? overdueByCategory[code] : 0);
+    }
+  }
+
+  /**
+   * Returns a grid with a name column and a right aligned count column.
+   */
+  private static GridPane createGrid() {
+    GridPane grid = new GridPane();
+    grid.setHgap(10);
+    grid.setVgap(2);
+    ColumnConstraints countColumn = new ColumnConstraints();
+    countColumn.setHalignment(HPos.RIGHT);
+    grid.getColumnConstraints().addAll(new ColumnConstraints(), countColumn);
+    return grid;
+  }
+
+  /**
+   * Returns a header label.
+   */
+  private static Label createHeader(String text) {
+    Label header = new Label(text);
+    header.setStyle("-fx-font-weight: bold;");
+    return header;
+  }
+
+  /**
+   * Adds a row with the given name and count to the given grid.
+   *
+   * @return The label of the count
+   */
+  private static Label addRow(GridPane grid, int row, String name, int count) {
+    Label countLabel = new Label(String.valueOf(count));
+    grid.addRow(row, new Label(name), countLabel);
+    return countLabel;
+  }
+
+  /**
+   * Adds a row with the given name and the given open, completed and overdue counts to the given grid.
+   * The overdue count is left out when there is no overdue task.
+   */
+  private static void addRow(GridPane grid, int row, String name, int open, int completed,
+      int overdue) {
+    Label counts = new Label(open + " open, " + completed + " done"
+        + ((overdue > 0) ? ", " + overdue + " overdue" : ""));
+    counts.setStyle("-fx-text-fill: grey;");
+    grid.addRow(row, new Label(name), counts);
+  }
+}
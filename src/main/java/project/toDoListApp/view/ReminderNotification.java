@@ -0,0 +1,104 @@
+package project.toDoListApp.view;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.animation.PauseTransition;
+import javafx.geometry.Insets;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+import javafx.stage.Popup;
+import javafx.stage.Window;
+import javafx.util.Duration;
+import project.toDoListApp.model.Task;
+
+/**
+ * Class ReminderNotification shows a reminder of a due task in a small popup
+ * in the bottom right corner of the window. The popup does not block the window,
+ * it hides itself after a while, and clicking it opens the task.
+ */
+public final class ReminderNotification {
+  /**
+   * How long a notification is shown.
+   */
+  private static final Duration SHOWN_FOR = Duration.seconds(10);
+
+  /**
+   * The space between the notifications and the edges of the window.
+   */
+  private static final double MARGIN = 12;
+
+  /**
+   * The notifications currently shown, the oldest at the bottom.
+   */
+  private static final List<Popup> SHOWN = new ArrayList<>();
+
+  /**
+   * ReminderNotification constructor, not used.
+   */
+  private ReminderNotification() {
+  }
+
+  /**
+   * Shows a reminder of the given task above the notifications already shown.
+   *
+   * @param owner  The window to show the notification in, can not be null
+   * @param task   The due task, can not be null
+   * @param onOpen The action run when the notification is clicked, can not be null
+   */
+  public static void show(Window owner, Task task, Runnable onOpen) {
+    if (owner == null || task == null || onOpen == null) {
+      throw new IllegalArgumentException("owner, task and onOpen can not be null!");
+    }
+    Label header = new Label("Due today");
+    header.setStyle("-fx-font-weight: bold;");
+    Label title = new Label(task.getTaskName());
+    title.setMaxWidth(240);
+    Label category = new Label(task.getCategory());
+    category.setStyle("-fx-text-fill: grey;");
+
+    VBox content = new VBox(4, header, title, category);
+    content.setPadding(new Insets(10));
+    content.setStyle("-fx-background-color: white; -fx-border-color: #b0b0b0;"
+        + " -fx-effect: dropshadow(gaussian, rgba(0, 0, 0, 0.25), 8, 0, 0, 2);");
+
+    Popup popup = new Popup();
+    popup.getContent().add(content);
+    popup.setAutoFix(true);
+    content.setOnMouseClicked(event -> {
+      hide(popup);
+      onOpen.run();
+    });
+    PauseTransition timeout = new PauseTransition(SHOWN_FOR);
+    timeout.setOnFinished(event -> hide(popup));
+
+    SHOWN.add(popup);
+    popup.show(owner);
+    layout(owner);
+    timeout.play();
+  }
+
+  /**
+   * Hides the given notification and moves the ones above it down.
+   */
+  private static void hide(Popup popup) {
+    if (SHOWN.remove(popup)) {
+      popup.hide();
+      if (popup.getOwnerWindow() != null) {
+        layout(popup.getOwnerWindow());
+      }
+    }
+  }
+
+  /**
+   * Stacks the shown notifications up from the bottom right corner of the given window.
+   */
+  private static void layout(Window owner) {
+    double y = owner.getY() + owner.getHeight() - MARGIN;
+    for (Popup shown : SHOWN) {
+      y -= shown.getHeight();
+      shown.setX(owner.getX() + owner.getWidth() - shown.getWidth() - MARGIN);
+      shown.setY(y);
+      y -= MARGIN / 2;
+    }
+  }
+}
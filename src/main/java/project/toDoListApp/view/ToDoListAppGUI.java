@@ -1,16 +1,21 @@
 package project.toDoListApp.view;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import javafx.application.Application;
 import javafx.beans.binding.Bindings;
 import javafx.beans.binding.BooleanBinding;
-import javafx.beans.property.BooleanProperty;
-import javafx.beans.property.SimpleBooleanProperty;
+import javafx.collections.ObservableList;
 import javafx.event.Event;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckMenuItem;
 import javafx.scene.control.ContextMenu;
 import javafx.scene.control.Control;
 import javafx.scene.control.Label;
@@ -18,7 +23,9 @@ import javafx.scene.control.Labeled;
 import javafx.scene.control.Menu;
 import javafx.scene.control.MenuBar;
 import javafx.scene.control.MenuItem;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.RadioMenuItem;
+import javafx.scene.control.SelectionMode;
 import javafx.scene.control.SeparatorMenuItem;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableRow;
@@ -29,7 +36,6 @@ import javafx.scene.control.ToggleGroup;
 import javafx.scene.control.Tooltip;
 import javafx.scene.control.cell.CheckBoxTableCell;
 import javafx.scene.control.cell.ComboBoxTableCell;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.ContextMenuEvent;
 import javafx.scene.input.KeyCode;
@@ -41,14 +47,16 @@ import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.web.HTMLEditor;
 import javafx.scene.web.WebView;
 import javafx.stage.Stage;
 import project.toDoListApp.controller.Controller;
+import project.toDoListApp.controller.TaskViewModels;
 import project.toDoListApp.model.Task;
-import project.toDoListApp.utility.PriorityComparator;
+import project.toDoListApp.model.TaskPriority;
 
 /**
  * Class ToDoListAppGUI represents the main window in the application.
@@ -68,6 +76,12 @@ public class ToDoListAppGUI extends Application {
   private final Button dueDateButton;
   private final Label dateLabel;
   private final Label zoomLabel;
+  private final DashboardPane dashboardPane;
+
+  /**
+   * The Comparators of the tasks by the value shown in each column of the left TableView.
+   */
+  private final Map<TableColumn<Task, ?>, Comparator<Task>> taskComparators;
 
   /**
    * ToDoListAppGUI constructor.
@@ -82,6 +96,11 @@ public class ToDoListAppGUI extends Application {
     this.dueDateButton = new Button();
     this.dateLabel = new Label();
     this.zoomLabel = new Label();
+    this.dashboardPane = new DashboardPane(this.controller.getTaskStatistics(),
+        this.controller.getTaskColumns());
+    this.dashboardPane.setVisible(false);
+    this.dashboardPane.managedProperty().bind(this.dashboardPane.visibleProperty());
+    this.taskComparators = new HashMap<>();
   }
 
   /**
@@ -96,6 +115,7 @@ public class ToDoListAppGUI extends Application {
     this.root.setTop(this.setupTopMenu());
     this.root.setLeft(this.setupLeft());
     this.root.setCenter(this.setupCenter());
+    this.root.setRight(this.dashboardPane);
 
     stage.setTitle("To-Do List App");
     stage.getIcons().add(ImageLoader.getInstance().getIcon());
@@ -111,9 +131,30 @@ public class ToDoListAppGUI extends Application {
     // Disable the center pane on first run
     this.disableCenterPane();
 
+    this.controller.setOnTaskDue(task -> ReminderNotification.show(stage, task,
+        () -> this.openTask(task)));
+
     this.root.requestFocus();
   }
 
+  /**
+   * Selects the given task in the table and displays it, if it is shown in the table.
+   *
+   * @param task The task to open
+   */
+  private void openTask(Task task) {
+    if (this.getTaskTableView().getItems().contains(task)) {
+      this.getTaskTableView().getSelectionModel().select(task);
+      this.getTaskTableView().scrollTo(task);
+      if (this.controller.displayTask(task, this.getTaskTitleTextField(),
+          this.getHtmlEditor(), this.getDueDateButton(), this.getDateLabel())) {
+        this.enableCenterPane();
+      } else {
+        this.disableCenterPane();
+      }
+    }
+  }
+
   /**
    * Sets up the top menu bar.
    *
@@ -141,10 +182,7 @@ public class ToDoListAppGUI extends Application {
     KeyCombination keyCombinationNewReminder =
         new KeyCodeCombination(KeyCode.N, KeyCombination.CONTROL_DOWN);
     newReminder.setAccelerator(keyCombinationNewReminder);
-    newReminder.setOnAction(e -> {
-      this.controller.showNewReminderDialog();
-      this.refreshTable();
-    });
+    newReminder.setOnAction(e -> this.controller.showNewReminderDialog());
 
     MenuItem deleteReminder = new MenuItem("Delete Reminder");
     KeyCombination keyCombinationDeleteReminder =
@@ -176,10 +214,33 @@ public class ToDoListAppGUI extends Application {
    */
   private Menu setupEditMenu() {
     Menu editMenu = new Menu("Edit");
+
+    MenuItem undo = new MenuItem();
+    undo.textProperty().bind(Bindings.when(this.controller.undoNameProperty().isEmpty())
+        .then("Undo")
+        .otherwise(Bindings.concat("Undo ", this.controller.undoNameProperty())));
+    undo.disableProperty().bind(this.controller.undoNameProperty().isEmpty());
+    KeyCombination keyCombinationUndo =
+        new KeyCodeCombination(KeyCode.Z, KeyCombination.CONTROL_DOWN);
+    undo.setAccelerator(keyCombinationUndo);
+    undo.setOnAction(e -> this.undoAction(false));
+
+    MenuItem redo = new MenuItem();
+    redo.textProperty().bind(Bindings.when(this.controller.redoNameProperty().isEmpty())
+        .then("Redo")
+        .otherwise(Bindings.concat("Redo ", this.controller.redoNameProperty())));
+    redo.disableProperty().bind(this.controller.redoNameProperty().isEmpty());
+    KeyCombination keyCombinationRedo =
+        new KeyCodeCombination(KeyCode.Y, KeyCombination.CONTROL_DOWN);
+    redo.setAccelerator(keyCombinationRedo);
+    redo.setOnAction(e -> this.undoAction(true));
+
+    SeparatorMenuItem separator1 = new SeparatorMenuItem();
+
     MenuItem editEndDate = new MenuItem("Edit end date");
     editEndDate.setOnAction(e -> this.controller.doSetNewEndDate(this.getDateLabel()));
 
-    editMenu.getItems().add(editEndDate);
+    editMenu.getItems().addAll(undo, redo, separator1, editEndDate);
     return editMenu;
   }
 
@@ -220,8 +281,16 @@ public class ToDoListAppGUI extends Application {
         this.controller.doToggleDisplayMode(true, this));
     hideCompleted.setToggleGroup(showHideCompletedGroup);
 
+    SeparatorMenuItem separator2 = new SeparatorMenuItem();
+
+    CheckMenuItem showDashboard = new CheckMenuItem("Dashboard");
+    KeyCombination keyCombinationDashboard =
+        new KeyCodeCombination(KeyCode.D, KeyCombination.CONTROL_DOWN);
+    showDashboard.setAccelerator(keyCombinationDashboard);
+    showDashboard.selectedProperty().bindBidirectional(this.dashboardPane.visibleProperty());
+
     viewMenu.getItems().addAll(showCompleted, hideCompleted, separator1,
-        zoomInMenuItem, zoomOutMenuItem);
+        zoomInMenuItem, zoomOutMenuItem, separator2, showDashboard);
     return viewMenu;
   }
 
@@ -251,46 +320,61 @@ public class ToDoListAppGUI extends Application {
     VBox.setVgrow(this.getTaskTableView(), Priority.ALWAYS);
 
     this.setupLeftTopTable();
-    vBox.getChildren().addAll(this.getTaskTableView(), this.setupBottomLeftButtons());
+    vBox.getChildren().addAll(this.setupSearchField(), this.getTaskTableView(),
+        this.setupBottomLeftButtons());
     return vBox;
   }
 
+  /**
+   * Sets up the search field above the table, the table shows only the tasks matching its text.
+   *
+   * @return The already set up search field
+   */
+  private TextField setupSearchField() {
+    TextField searchField = new TextField();
+    searchField.setPromptText("Search");
+    searchField.setTooltip(new Tooltip("Search the titles, categories and descriptions, "
+        + "use OR to find either side"));
+    searchField.textProperty().addListener((observable, oldText, newText) ->
+        this.controller.doSearch(newText));
+    AutoCompletion.install(searchField, this.controller::getSearchCompletions);
+    return searchField;
+  }
+
   /**
    * Sets up the left table that contains the tasks.
    */
   private void setupLeftTopTable() {
     this.getTaskTableView().setPlaceholder(new Label("No tasks to display"));
     this.getTaskTableView().setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+    this.getTaskTableView().getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+
+    // The cells bind to the properties of the task view models, created once per task
+    TaskViewModels viewModels = this.controller.getTaskViewModels();
+    viewModels.setOnStatusEdited(task -> this.controller.doRecordStatusEdit(task, this));
 
     TableColumn<Task, String> titleColumn = new TableColumn<>("Task Title");
-    titleColumn.setCellValueFactory(new PropertyValueFactory<>("taskName"));
-
-    TableColumn<Task, BooleanProperty> statusColumn = new TableColumn<>("Done");
-    statusColumn.setCellValueFactory(new PropertyValueFactory<>("status"));
-
-    statusColumn.setCellFactory(col -> new CheckBoxTableCell<>(index -> {
-      BooleanProperty active = new SimpleBooleanProperty(
-          this.getTaskTableView().getItems().get(index).getStatus());
-      active.addListener((obs, wasActive, isNowActive) -> {
-        Task task = this.getTaskTableView().getItems().get(index);
-        task.setActiveStatus(isNowActive);
-
-        // Extra checks if the hide completed Tasks mode is turned on
-        this.controller.checkTaskVisibility(task, this);
-      });
-      return active;
-    }));
+    titleColumn.setCellValueFactory(cell -> viewModels.get(cell.getValue()).taskNameProperty());
+    this.taskComparators.put(titleColumn, Comparator.comparing(Task::getTaskName));
+
+    TableColumn<Task, Boolean> statusColumn = new TableColumn<>("Done");
+    // Checking the box sets the status property, which sets the status of the task
+    statusColumn.setCellValueFactory(cell -> viewModels.get(cell.getValue()).statusProperty());
+    statusColumn.setCellFactory(CheckBoxTableCell.forTableColumn(statusColumn));
     statusColumn.setMinWidth(34);
     statusColumn.setMaxWidth(34);
+    this.taskComparators.put(statusColumn,
+        (task1, task2) -> Boolean.compare(task1.getStatus(), task2.getStatus()));
 
 
-    TableColumn<Task, String> priorityColumn = new TableColumn<>("Priority");
+    TableColumn<Task, TaskPriority> priorityColumn = new TableColumn<>("Priority");
     priorityColumn.setEditable(true);
-    priorityColumn.setCellValueFactory(new PropertyValueFactory<>("priority"));
-    priorityColumn.setCellFactory(ComboBoxTableCell.forTableColumn("High", "Medium", "Low"));
-    priorityColumn.setOnEditCommit((TableColumn.CellEditEvent<Task, String> e) -> {
+    priorityColumn.setCellValueFactory(cell -> viewModels.get(cell.getValue()).priorityProperty());
+    priorityColumn.setCellFactory(ComboBoxTableCell.forTableColumn(
+        TaskPriority.HIGH, TaskPriority.MEDIUM, TaskPriority.LOW));
+    priorityColumn.setOnEditCommit((TableColumn.CellEditEvent<Task, TaskPriority> e) -> {
       // new value coming from combobox
-      String newValue = e.getNewValue();
+      TaskPriority newValue = e.getNewValue();
 
       // index of editing task in the tableview
       int index = e.getTablePosition().getRow();
@@ -298,12 +382,11 @@ public class ToDoListAppGUI extends Application {
       // task currently being edited
       Task task = e.getTableView().getItems().get(index);
 
-      task.setPriority(newValue);
-
-      // Refresh the table after the priority has changed
-      this.refreshTable();
+      // The sorted list moves the task to its new place
+      this.controller.doSetPriority(List.of(task), newValue);
     });
-    priorityColumn.setComparator(new PriorityComparator());
+    // Priorities compare by their ordinal
+    this.taskComparators.put(priorityColumn, Comparator.comparing(Task::getTaskPriority));
 
 
     ContextMenu contextMenu = this.setupTableContextMenu();
@@ -326,11 +409,12 @@ public class ToDoListAppGUI extends Application {
       if ((event.getButton().equals(MouseButton.PRIMARY)
           || event.getButton().equals(MouseButton.SECONDARY))
               && task != null) {
-        this.controller.displayTask(task, this.getTaskTitleTextField(),
-            this.getHtmlEditor(), this.getDueDateButton(), this.getDateLabel());
-
-        this.enableCenterPane();
-        this.refreshTable();
+        if (this.controller.displayTask(task, this.getTaskTitleTextField(),
+            this.getHtmlEditor(), this.getDueDateButton(), this.getDateLabel())) {
+          this.enableCenterPane();
+        } else {
+          this.disableCenterPane();
+        }
 
         if (event.getButton().equals(MouseButton.PRIMARY)) {
           contextMenu.hide();
@@ -341,6 +425,11 @@ public class ToDoListAppGUI extends Application {
     // Make the table editable to allow the user to directly change the Task active status
     this.getTaskTableView().setEditable(true);
 
+    // Sort the tasks by putting them in order in the list, instead of sorting the list itself
+    this.getTaskTableView().setSortPolicy(tableView -> {
+      this.controller.getTaskListWrapper().setComparator(this.createTaskComparator());
+      return true;
+    });
     this.getTaskTableView().setItems(this.controller.getTaskListWrapper());
     this.getTaskTableView()
         .getColumns().addAll(Arrays.asList(titleColumn, priorityColumn, statusColumn));
@@ -348,6 +437,25 @@ public class ToDoListAppGUI extends Application {
     this.getTaskTableView().getSortOrder().add(titleColumn);
   }
 
+  /**
+   * Returns a Comparator of the tasks in the sort order of the left TableView.
+   * The task fields are compared directly, the comparator of the TableView would
+   * create the cell values of both tasks again for every comparison.
+   *
+   * @return A Comparator of the tasks in the sort order of the table, null if the table is not sorted
+   */
+  private Comparator<Task> createTaskComparator() {
+    Comparator<Task> comparator = null;
+    for (TableColumn<Task, ?> column : this.getTaskTableView().getSortOrder()) {
+      Comparator<Task> columnComparator = this.taskComparators.get(column);
+      if (column.getSortType() == TableColumn.SortType.DESCENDING) {
+        columnComparator = columnComparator.reversed();
+      }
+      comparator = (comparator == null) ? columnComparator : comparator.thenComparing(columnComparator);
+    }
+    return comparator;
+  }
+
   /**
    * Sets up a ContextMenu containing the MenuItems for the left TableView.
    *
@@ -356,43 +464,36 @@ public class ToDoListAppGUI extends Application {
   private ContextMenu setupTableContextMenu() {
     ContextMenu contextMenu = new ContextMenu();
 
+    // The status, priority, category and delete items change all the selected tasks at once
+    ObservableList<Task> selectedTasks = this.getTaskTableView().getSelectionModel().getSelectedItems();
+
     MenuItem markAsComplete = new MenuItem("Mark as complete");
-    markAsComplete.setOnAction(e -> {
-      Task task = this.controller.getCurrentlySelectedTask();
-      if ((task != null) && !task.getStatus()) {
-        task.setActiveStatus(true);
-        this.controller.checkTaskVisibility(task, this);
-      }
-    });
-    // Create a Binding that disables a button if the task is already marked as completed
-    BooleanBinding taskCompletedBinding = Bindings.createBooleanBinding(() -> {
-      boolean buttonDisabled = false;
-      Task task = this.getTaskTableView().getSelectionModel().getSelectedItem();
-      if ((task == null) || task.getStatus()) {
-        buttonDisabled = true;
-      }
-      return buttonDisabled;
-    }, this.getTaskTableView().getSelectionModel().selectedItemProperty());
-    markAsComplete.disableProperty().bind(taskCompletedBinding);
+    markAsComplete.setOnAction(e ->
+        this.controller.doSetStatus(new ArrayList<>(selectedTasks), true, this));
+    // Create a Binding that disables a button if all the selected tasks are already marked as completed
+    BooleanBinding tasksCompletedBinding = Bindings.createBooleanBinding(
+        () -> selectedTasks.stream().allMatch(Task::getStatus), selectedTasks);
+    markAsComplete.disableProperty().bind(tasksCompletedBinding);
 
     MenuItem markAsIncomplete = new MenuItem("Mark as incomplete");
-    markAsIncomplete.setOnAction(e -> {
-      Task task = this.controller.getCurrentlySelectedTask();
-      if ((task != null) && task.getStatus()) {
-        task.setActiveStatus(false);
-        this.controller.checkTaskVisibility(task, this);
-      }
-    });
-    // Create a Binding that disables a button if the task is already marked as not completed
-    BooleanBinding taskNotCompletedBinding = Bindings.createBooleanBinding(() -> {
-      boolean buttonDisabled = false;
-      Task task = this.getTaskTableView().getSelectionModel().getSelectedItem();
-      if ((task == null) || !task.getStatus()) {
-        buttonDisabled = true;
-      }
-      return buttonDisabled;
-    }, this.getTaskTableView().getSelectionModel().selectedItemProperty());
-    markAsIncomplete.disableProperty().bind(taskNotCompletedBinding);
+    markAsIncomplete.setOnAction(e ->
+        this.controller.doSetStatus(new ArrayList<>(selectedTasks), false, this));
+    // Create a Binding that disables a button if none of the selected tasks is marked as completed
+    BooleanBinding tasksNotCompletedBinding = Bindings.createBooleanBinding(
+        () -> selectedTasks.stream().noneMatch(Task::getStatus), selectedTasks);
+    markAsIncomplete.disableProperty().bind(tasksNotCompletedBinding);
+
+    Menu setPriorityMenu = new Menu("Set priority");
+    for (TaskPriority priority : new TaskPriority[] {
+        TaskPriority.HIGH, TaskPriority.MEDIUM, TaskPriority.LOW}) {
+      MenuItem priorityItem = new MenuItem(priority.getDisplayName());
+      priorityItem.setOnAction(e ->
+          this.controller.doSetPriority(new ArrayList<>(selectedTasks), priority));
+      setPriorityMenu.getItems().add(priorityItem);
+    }
+
+    MenuItem setCategoryMenu = new MenuItem("Set category");
+    setCategoryMenu.setOnAction(e -> this.controller.doSetCategory(new ArrayList<>(selectedTasks)));
 
     SeparatorMenuItem separator1 = new SeparatorMenuItem();
 
@@ -402,10 +503,18 @@ public class ToDoListAppGUI extends Application {
     SeparatorMenuItem separator2 = new SeparatorMenuItem();
 
     MenuItem deleteTaskMenu = new MenuItem("Delete task");
-    deleteTaskMenu.setOnAction(e -> this.deleteReminderAction());
+    deleteTaskMenu.setOnAction(e -> {
+      if (this.controller.doDeleteTasks(new ArrayList<>(selectedTasks))) {
+        this.disableCenterPane();
+      }
+    });
+    // Name the number of tasks deleted once more than one is selected
+    deleteTaskMenu.textProperty().bind(Bindings.createStringBinding(
+        () -> (selectedTasks.size() > 1) ? "Delete " + selectedTasks.size() + " tasks" : "Delete task",
+        selectedTasks));
 
-    contextMenu.getItems().addAll(markAsComplete, markAsIncomplete, separator1,
-        setDueDateMenu, separator2, deleteTaskMenu);
+    contextMenu.getItems().addAll(markAsComplete, markAsIncomplete, setPriorityMenu,
+        setCategoryMenu, separator1, setDueDateMenu, separator2, deleteTaskMenu);
     return contextMenu;
   }
 
@@ -419,10 +528,7 @@ public class ToDoListAppGUI extends Application {
 
     Button newReminderButton = new Button("New Reminder");
     newReminderButton.setTooltip(new Tooltip("Create a New Reminder"));
-    newReminderButton.setOnAction(e -> {
-      this.controller.showNewReminderDialog();
-      this.refreshTable();
-    });
+    newReminderButton.setOnAction(e -> this.controller.showNewReminderDialog());
     newReminderButton.setPrefWidth(LEFT_PANE_WIDTH);
     newReminderButton.setAlignment(Pos.CENTER);
 
@@ -531,7 +637,18 @@ public class ToDoListAppGUI extends Application {
     this.getZoomLabel().setText("100%");
     this.getZoomLabel().setAlignment(Pos.CENTER_RIGHT);
 
-    hBox.getChildren().addAll(zoomOutButton, zoomInButton, this.getZoomLabel());
+    // Show the progress of the background saves without blocking the GUI
+    ProgressIndicator savingIndicator = new ProgressIndicator();
+    savingIndicator.setPrefSize(14, 14);
+    savingIndicator.visibleProperty().bind(this.controller.savingProperty());
+    Label saveStatusLabel = new Label();
+    saveStatusLabel.textProperty().bind(this.controller.saveStatusProperty());
+
+    Region spacer = new Region();
+    HBox.setHgrow(spacer, Priority.ALWAYS);
+
+    hBox.getChildren().addAll(savingIndicator, saveStatusLabel, spacer,
+        zoomOutButton, zoomInButton, this.getZoomLabel());
     return hBox;
   }
 
@@ -556,7 +673,23 @@ public class ToDoListAppGUI extends Application {
     boolean taskDeleted = this.controller.doDeleteReminder();
     if (taskDeleted) {
       this.disableCenterPane();
-      this.refreshTable();
+    }
+  }
+
+  /**
+   * Performs the undo or the redo action, the task displayed is displayed again
+   * with its changes if it is still shown.
+   *
+   * @param redo True to redo the most recently undone change, false to undo the most recent one
+   */
+  private void undoAction(boolean redo) {
+    Task shownTask = redo
+        ? this.controller.doRedo(this.getTaskTitleTextField(), this.getHtmlEditor())
+        : this.controller.doUndo(this.getTaskTitleTextField(), this.getHtmlEditor());
+    if (shownTask != null && this.getTaskTableView().getItems().contains(shownTask)) {
+      this.openTask(shownTask);
+    } else {
+      this.disableCenterPane();
     }
   }
 
@@ -599,14 +732,6 @@ public class ToDoListAppGUI extends Application {
     this.root.getCenter().setDisable(false);
   }
 
-  /**
-   * Refreshes the table and forces a sort of the data.
-   */
-  public void refreshTable() {
-    this.getTaskTableView().refresh();
-    this.getTaskTableView().sort();
-  }
-
   // -----------------------------------------------------------
   //    GETTERS
   // -----------------------------------------------------------
@@ -0,0 +1,81 @@
+package project.toDoListApp;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.utility.AutoSaveScheduler;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AutoSaveSchedulerTest
+{
+    @Test
+    @DisplayName("Test that a burst of changes results in a single save")
+    void testBurstIsSavedOnce() throws InterruptedException
+    {
+        AtomicInteger saves = new AtomicInteger();
+        CountDownLatch saved = new CountDownLatch(1);
+        AutoSaveScheduler scheduler = new AutoSaveScheduler(() -> {
+            saves.incrementAndGet();
+            saved.countDown();
+        }, Runnable::run, 200, 1000);
+        TaskRegister register = new TaskRegister();
+        register.addListener(scheduler);
+
+        Task task = new Task("Title", "Description", "None");
+        register.addTask(task);
+        for (int i = 0; i < 20; i++) {
+            task.setDescription("Description " + i);
+        }
+
+        assertTrue(saved.await(5, TimeUnit.SECONDS));
+        Thread.sleep(400);
+        assertEquals(1, saves.get());
+        scheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("Test that reaching the change threshold saves immediately")
+    void testThresholdSavesImmediately()
+    {
+        AtomicInteger saves = new AtomicInteger();
+        AutoSaveScheduler scheduler = new AutoSaveScheduler(saves::incrementAndGet,
+                Runnable::run, 60_000, 10);
+        TaskRegister register = new TaskRegister();
+        register.addListener(scheduler);
+
+        for (int i = 0; i < 25; i++) {
+            register.addTask(new Task("Title " + i, "Description", "None"));
+        }
+
+        assertEquals(2, saves.get());
+        assertEquals(5, scheduler.getUnsavedChanges());
+        scheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("Test that nothing is saved when nothing changed")
+    void testNoChangesAreNotSaved()
+    {
+        AtomicInteger saves = new AtomicInteger();
+        AutoSaveScheduler scheduler = new AutoSaveScheduler(saves::incrementAndGet,
+                Runnable::run, 60_000, 10);
+        TaskRegister register = new TaskRegister();
+        Task task = new Task("Title", "Description", "None");
+        register.addTask(task);
+        register.addListener(scheduler);
+
+        task.setDescription("Description");
+        task.setActiveStatus(false);
+        scheduler.flush();
+
+        assertEquals(0, saves.get());
+        scheduler.shutdown();
+    }
+}
@@ -0,0 +1,74 @@
+package project.toDoListApp;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.utility.BackgroundSaver;
+import project.toDoListApp.utility.FileUtility;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BackgroundSaverTest
+{
+    private static final String DIRECTORY = "target/backgroundSaverTest";
+
+    @BeforeEach
+    void deleteFiles() throws IOException
+    {
+        Files.deleteIfExists(Paths.get(DIRECTORY, FileUtility.SNAPSHOT_FILE));
+        Files.deleteIfExists(Paths.get(DIRECTORY, FileUtility.JOURNAL_FILE));
+    }
+
+    @Test
+    @DisplayName("Test that all the saves are written before shutting down")
+    void testSavesAreWrittenOnShutdown() throws Exception
+    {
+        FileUtility fileUtility = new FileUtility(DIRECTORY);
+        TaskRegister register = fileUtility.getRegister();
+        BackgroundSaver saver = new BackgroundSaver(fileUtility);
+
+        for (int i = 0; i < 200; i++) {
+            register.addTask(new Task("Title " + i, "Description " + i, "None"));
+            saver.save(register);
+        }
+        Task task = register.getAllTasks().get(0);
+        task.setActiveStatus(true);
+        CompletableFuture<Void> lastSave = saver.save(register);
+        saver.shutdown();
+
+        assertTrue(lastSave.isDone());
+        TaskRegister registerRead = new FileUtility(DIRECTORY).getRegister();
+        assertEquals(200, registerRead.getNumberOfTasks());
+        assertTrue(registerRead.getAllTasks().stream()
+                .filter(t -> t.getId() == task.getId())
+                .findFirst()
+                .orElseThrow()
+                .getStatus());
+    }
+
+    @Test
+    @DisplayName("Test that the saved state is the state at the time of the save request")
+    void testSaveUsesStateAtRequestTime() throws Exception
+    {
+        FileUtility fileUtility = new FileUtility(DIRECTORY);
+        TaskRegister register = fileUtility.getRegister();
+        BackgroundSaver saver = new BackgroundSaver(fileUtility);
+        Task task = new Task("Title", "Description", "None");
+        register.addTask(task);
+
+        saver.save(register).get();
+        task.setTaskName("Not saved yet");
+        saver.shutdown();
+
+        TaskRegister registerRead = new FileUtility(DIRECTORY).getRegister();
+        assertEquals("Title", registerRead.getAllTasks().get(0).getTaskName());
+    }
+}
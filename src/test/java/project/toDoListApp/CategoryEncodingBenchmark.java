@@ -0,0 +1,102 @@
+package project.toDoListApp;
+
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.utility.TaskCodec;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compares a snapshot holding the category codes of the tasks to task records holding
+ * the category names: in bytes written, in category String instances held after reading,
+ * and in the time taken to count the tasks of every category by name and by code.
+ * Not run as part of the test suite, run the main method from the IDE.
+ */
+public class CategoryEncodingBenchmark
+{
+    private static final int TASKS = 100_000;
+    private static final int CATEGORIES = 40;
+    private static final int ROUNDS = 50;
+
+    public static void main(String[] args) throws Exception
+    {
+        TaskRegister register = new TaskRegister();
+        for (int i = 0; i < TASKS; i++) {
+            register.addTask(new Task("Task " + i, "", "Category number " + (i % CATEGORIES)));
+        }
+
+        TaskCodec codec = new TaskCodec();
+        int codedBytes = codec.encodeRegister(register).remaining();
+        TaskRegister codedRead = codec.decodeRegister(codec.encodeRegister(register));
+
+        // The same tasks written one record each with the category name, the way version 3 did
+        TaskCodec inlineCodec = new TaskCodec();
+        inlineCodec.begin();
+        for (Task task : register.getAllTasks()) {
+            inlineCodec.beginRecord();
+            inlineCodec.putTask(task);
+            inlineCodec.endRecord();
+        }
+        ByteBuffer inline = inlineCodec.finish();
+        int inlineBytes = inline.remaining();
+        Set<String> inlineInstances = Collections.newSetFromMap(new IdentityHashMap<>());
+        while (inline.hasRemaining()) {
+            inlineInstances.add(inlineCodec.getTask(inlineCodec.getRecord(inline)).getCategory());
+        }
+        Set<String> codedInstances = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Task task : codedRead.getAllTasks()) {
+            codedInstances.add(task.getCategory());
+        }
+
+        System.out.printf("Category names  %,12d bytes  %,8d category Strings held%n",
+                inlineBytes, inlineInstances.size());
+        System.out.printf("Category codes  %,12d bytes  %,8d category Strings held%n",
+                codedBytes, codedInstances.size());
+
+        // Warm up both ways before measuring
+        for (int round = 0; round < ROUNDS; round++) {
+            countByName(codedRead);
+            countByCode(codedRead);
+        }
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            countByName(codedRead);
+        }
+        long byName = (System.nanoTime() - start) / ROUNDS;
+        start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            countByCode(codedRead);
+        }
+        long byCode = (System.nanoTime() - start) / ROUNDS;
+        System.out.printf("Group by name %,10.3f ms, by code %,10.3f ms%n", byName / 1e6, byCode / 1e6);
+    }
+
+    /**
+     * Returns the number of tasks in every category, grouped by the category names.
+     */
+    private static Map<String, Integer> countByName(TaskRegister register)
+    {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Task task : register.getAllTasks()) {
+            counts.merge(task.getCategory(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the number of tasks in every category, at the index of the category code.
+     */
+    private static int[] countByCode(TaskRegister register)
+    {
+        int[] counts = new int[register.getCategoryDictionary().size()];
+        for (Task task : register.getAllTasks()) {
+            counts[task.getCategoryCode()]++;
+        }
+        return counts;
+    }
+}
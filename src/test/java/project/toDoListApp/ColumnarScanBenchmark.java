@@ -0,0 +1,106 @@
+package project.toDoListApp;
+
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskPriority;
+import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.utility.TaskColumns;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Compares counting the overdue tasks of every category and the completion ratio of every priority
+ * from the columns of the tasks to walking the task objects, in time and in bytes allocated.
+ * The tasks are shuffled before they are added, so they are spread over the heap the way
+ * the tasks of a register read from file and edited over time are.
+ * Not run as part of the test suite, run the main method from the IDE.
+ */
+public class ColumnarScanBenchmark
+{
+    private static final int TASKS = 200_000;
+    private static final int CATEGORIES = 40;
+    private static final int ROUNDS = 200;
+
+    private static double sink;
+
+    public static void main(String[] args) throws Exception
+    {
+        LocalDate today = LocalDate.now();
+        List<Task> created = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            created.add(new Task.TaskBuilder("Task " + i, "", "Category " + (i % CATEGORIES))
+                    .withDueDate((i % 5 == 0) ? null : today.plusDays(1 + i % 30))
+                    .withTaskPriority(TaskPriority.values()[i % 3])
+                    .withStatus(i % 4 == 0)
+                    .build());
+        }
+        Collections.shuffle(created);
+        TaskRegister register = new TaskRegister();
+        register.addAll(created);
+        TaskColumns columns = new TaskColumns(register);
+        // Two weeks from now, half of the tasks due are overdue
+        LocalDate later = today.plusDays(15);
+        int categories = register.getCategoryDictionary().size();
+
+        IntSupplier objects = () -> {
+            int[] overdue = new int[categories];
+            int[] open = new int[3];
+            int[] done = new int[3];
+            for (Task task : register.getAllTasks()) {
+                if (!task.getStatus() && task.getDueDate() != null && task.getDueDate().isBefore(later)) {
+                    overdue[task.getCategoryCode()]++;
+                }
+                if (task.getStatus()) {
+                    done[task.getTaskPriority().ordinal()]++;
+                } else {
+                    open[task.getTaskPriority().ordinal()]++;
+                }
+            }
+            sink += (double) done[0] / (done[0] + open[0]);
+            return overdue[0];
+        };
+        IntSupplier packed = () -> {
+            int[] overdue = columns.countOverdueByCategory(later);
+            int[] open = columns.countByPriority(false);
+            int[] done = columns.countByPriority(true);
+            sink += (double) done[0] / (done[0] + open[0]);
+            return overdue[0];
+        };
+
+        // Warm up both ways before measuring
+        measure(objects);
+        measure(packed);
+        long[] walked = measure(objects);
+        long[] scanned = measure(packed);
+
+        System.out.printf("Object walk  %,10.2f us  %,10d bytes allocated per count%n",
+                walked[0] / 1e3, walked[1]);
+        System.out.printf("Column scan  %,10.2f us  %,10d bytes allocated per count%n",
+                scanned[0] / 1e3, scanned[1]);
+    }
+
+    /**
+     * Returns the average time and allocated bytes of a count.
+     */
+    private static long[] measure(IntSupplier count) throws Exception
+    {
+        // The management beans are looked up reflectively, the application module does not read them
+        Object threads = Class.forName("java.lang.management.ManagementFactory")
+                .getMethod("getThreadMXBean").invoke(null);
+        Method allocatedBytes = Class.forName("com.sun.management.ThreadMXBean")
+                .getMethod("getThreadAllocatedBytes", long.class);
+        long threadId = Thread.currentThread().getId();
+        long startBytes = (long) allocatedBytes.invoke(threads, threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += count.getAsInt();
+        }
+        long nanos = System.nanoTime() - start;
+        long bytes = (long) allocatedBytes.invoke(threads, threadId) - startBytes;
+        return new long[] {nanos / ROUNDS, bytes / ROUNDS};
+    }
+}
@@ -0,0 +1,153 @@
+package project.toDoListApp;
+
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.utility.DescriptionCompressor;
+import project.toDoListApp.utility.DescriptionStore;
+import project.toDoListApp.utility.FileUtility;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Reports how much the DescriptionCompressor shrinks typical HTMLEditor descriptions,
+ * compared to deflating them without the preset dictionary,
+ * and how long it takes to decode a single description on display.
+ * Not run as part of the test suite, run the main method from the IDE.
+ */
+public class DescriptionCompressionBenchmark
+{
+    private static final String DIRECTORY = "target/compressionBenchmark";
+    private static final int TASKS = 10_000;
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) throws Exception
+    {
+        List<byte[]> descriptions = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            descriptions.add(createDescription(i).getBytes(StandardCharsets.UTF_8));
+        }
+
+        DescriptionCompressor compressor = new DescriptionCompressor();
+        Deflater plainDeflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        byte[] plainBuffer = new byte[64 * 1024];
+        List<byte[]> compressed = new ArrayList<>();
+        long rawSize = 0;
+        long compressedSize = 0;
+        long plainSize = 0;
+        for (byte[] description : descriptions) {
+            byte[] bytes = compressor.compress(description);
+            compressed.add(bytes);
+            rawSize += description.length;
+            compressedSize += (bytes != null) ? bytes.length : description.length;
+
+            plainDeflater.reset();
+            plainDeflater.setInput(description);
+            plainDeflater.finish();
+            plainSize += plainDeflater.deflate(plainBuffer);
+        }
+
+        // Warm up the decoder before measuring
+        for (int round = 0; round < ROUNDS; round++) {
+            decompressAll(compressor, descriptions, compressed);
+        }
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            decompressAll(compressor, descriptions, compressed);
+        }
+        long decompressNanos = (System.nanoTime() - start) / ((long) ROUNDS * TASKS);
+
+        long loadNanos = measureLoad();
+
+        System.out.printf("Raw HTML            %,12d bytes%n", rawSize);
+        System.out.printf("Deflate             %,12d bytes  ratio %5.2f%n",
+                plainSize, (double) rawSize / plainSize);
+        System.out.printf("Deflate, dictionary %,12d bytes  ratio %5.2f%n",
+                compressedSize, (double) rawSize / compressedSize);
+        System.out.printf("Decompress          %,12.2f us per description%n", decompressNanos / 1e3);
+        System.out.printf("Load from file      %,12.2f us per description, cache missed%n",
+                loadNanos / 1e3);
+    }
+
+    /**
+     * Decompresses all the given descriptions.
+     */
+    private static void decompressAll(DescriptionCompressor compressor,
+                                      List<byte[]> descriptions, List<byte[]> compressed)
+            throws Exception
+    {
+        for (int i = 0; i < descriptions.size(); i++) {
+            if (compressed.get(i) != null) {
+                compressor.decompress(ByteBuffer.wrap(compressed.get(i)), descriptions.get(i).length);
+            }
+        }
+    }
+
+    /**
+     * Returns the average time a task takes to load its description from the description file,
+     * visiting the tasks in turn so that the cache never holds the next description.
+     */
+    private static long measureLoad() throws Exception
+    {
+        Path directory = Paths.get(DIRECTORY);
+        if (Files.exists(directory)) {
+            Files.deleteIfExists(directory.resolve(FileUtility.SNAPSHOT_FILE));
+            Files.deleteIfExists(directory.resolve(FileUtility.JOURNAL_FILE));
+            Files.deleteIfExists(directory.resolve(DescriptionStore.FILE_PREFIX + 0 + DescriptionStore.FILE_SUFFIX));
+        }
+        FileUtility fileUtility = new FileUtility(DIRECTORY);
+        TaskRegister register = fileUtility.getRegister();
+        for (int i = 0; i < TASKS; i++) {
+            register.addTask(new Task("Task " + i, createDescription(i), "None"));
+        }
+        fileUtility.saveRegister(register);
+
+        List<Task> tasks = new FileUtility(DIRECTORY).getRegister().getAllTasks();
+        long length = 0;
+        for (Task task : tasks) {
+            length += task.getDescription().length();
+        }
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (Task task : tasks) {
+                length += task.getDescription().length();
+            }
+        }
+        long nanos = (System.nanoTime() - start) / ((long) ROUNDS * tasks.size());
+        if (length == 0) {
+            throw new IllegalStateException("No descriptions were loaded");
+        }
+        return nanos;
+    }
+
+    /**
+     * Returns a description the HTMLEditor could have written,
+     * from a single line of text up to a few formatted paragraphs.
+     */
+    static String createDescription(int index)
+    {
+        StringBuilder body = new StringBuilder();
+        int paragraphs = 1 + index % 5;
+        for (int i = 0; i < paragraphs; i++) {
+            body.append("<p><span style=\"font-family: &quot;Segoe UI&quot;;\">")
+                    .append("Step ").append(i + 1).append(" of task ").append(index)
+                    .append(": remember to check the notes from ").append(index % 28 + 1)
+                    .append(" March before starting.</span></p>");
+            if (i % 2 == 1) {
+                body.append("<ul><li>Item ").append(index).append("</li><li>Item ")
+                        .append(index + i).append("</li></ul>");
+            }
+        }
+        if (index % 3 == 0) {
+            body.append("<p><span style=\"font-weight: bold;\">Due soon</span></p>");
+        }
+        return "<html dir=\"ltr\"><head></head><body contenteditable=\"true\">"
+                + body + "</body></html>";
+    }
+}
@@ -0,0 +1,54 @@
+package project.toDoListApp;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.toDoListApp.utility.DescriptionCompressor;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DescriptionCompressorTest
+{
+    @Test
+    @DisplayName("Test compressing and decompressing an HTMLEditor description")
+    void testRoundTrip() throws DataFormatException
+    {
+        DescriptionCompressor compressor = new DescriptionCompressor();
+        byte[] bytes = ("<html dir=\"ltr\"><head></head><body contenteditable=\"true\">"
+                + "<p>Buy milk, eggs and æøå</p></body></html>").getBytes(StandardCharsets.UTF_8);
+
+        byte[] compressed = compressor.compress(bytes);
+
+        assertTrue(compressed.length < bytes.length / 2);
+        assertArrayEquals(bytes, compressor.decompress(ByteBuffer.wrap(compressed), bytes.length));
+    }
+
+    @Test
+    @DisplayName("Test that bytes that do not compress are left as they are")
+    void testIncompressibleBytes()
+    {
+        byte[] bytes = new byte[1000];
+        new Random(42).nextBytes(bytes);
+
+        assertNull(new DescriptionCompressor().compress(bytes));
+    }
+
+    @Test
+    @DisplayName("Test decompressing truncated bytes")
+    void testTruncatedBytes()
+    {
+        DescriptionCompressor compressor = new DescriptionCompressor();
+        byte[] bytes = "<p>Test description</p>".repeat(100).getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = compressor.compress(bytes);
+
+        assertThrows(DataFormatException.class, () -> compressor.decompress(
+                ByteBuffer.wrap(compressed, 0, compressed.length / 2), bytes.length));
+    }
+}
@@ -0,0 +1,181 @@
+package project.toDoListApp;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.utility.DescriptionStore;
+import project.toDoListApp.utility.FileUtility;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DescriptionStoreTest
+{
+    private static final String DIRECTORY = "target/descriptionStoreTest";
+
+    @BeforeEach
+    void deleteFiles() throws IOException
+    {
+        Path directory = Paths.get(DIRECTORY);
+        if (Files.exists(directory)) {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test that descriptions are stored apart and loaded on demand")
+    void testDescriptionsAreLoadedOnDemand() throws IOException
+    {
+        FileUtility fileUtility = new FileUtility(DIRECTORY);
+        TaskRegister register = fileUtility.getRegister();
+        Task task = new Task("Test title", "<html>Test description</html>", "None");
+        register.addTask(task);
+        fileUtility.saveRegister(register);
+
+        assertTrue(task.isDescriptionStored());
+        String journal = new String(Files.readAllBytes(Paths.get(DIRECTORY, FileUtility.JOURNAL_FILE)),
+                StandardCharsets.ISO_8859_1);
+        assertFalse(journal.contains("Test description"));
+
+        TaskRegister registerRead = new FileUtility(DIRECTORY).getRegister();
+        Task taskRead = registerRead.getAllTasks().get(0);
+        assertTrue(taskRead.isDescriptionStored());
+        assertEquals("<html>Test description</html>", taskRead.getDescription());
+    }
+
+    @Test
+    @DisplayName("Test that descriptions are stored compressed")
+    void testDescriptionsAreCompressed() throws IOException
+    {
+        FileUtility fileUtility = new FileUtility(DIRECTORY);
+        TaskRegister register = fileUtility.getRegister();
+        String description = "<html dir=\"ltr\"><head></head><body contenteditable=\"true\">"
+                + "<p>Test description</p>".repeat(100) + "</body></html>";
+        register.addTask(new Task("Test title", description, "None"));
+        fileUtility.saveRegister(register);
+
+        Path file = Paths.get(DIRECTORY, DescriptionStore.FILE_PREFIX + 0 + DescriptionStore.FILE_SUFFIX);
+        assertTrue(Files.size(file) < description.length() / 10);
+        assertEquals(description, new FileUtility(DIRECTORY).getRegister().getAllTasks().get(0).getDescription());
+    }
+
+    @Test
+    @DisplayName("Test that a changed description replaces the stored one")
+    void testChangedDescriptionIsSaved() throws IOException
+    {
+        FileUtility fileUtility = new FileUtility(DIRECTORY);
+        TaskRegister register = fileUtility.getRegister();
+        Task task = new Task("Test title", "Test description", "None");
+        register.addTask(task);
+        fileUtility.saveRegister(register);
+
+        task.setDescription("Test description 2");
+        assertFalse(task.isDescriptionStored());
+        fileUtility.saveRegister(register);
+
+        FileUtility fileUtilityRead = new FileUtility(DIRECTORY);
+        TaskRegister registerRead = fileUtilityRead.getRegister();
+        assertEquals("Test description 2", registerRead.getAllTasks().get(0).getDescription());
+
+        // The snapshot written after the journal holds the same description
+        fileUtilityRead.writeRegister(Paths.get(DIRECTORY, FileUtility.SNAPSHOT_FILE), registerRead);
+        Files.delete(Paths.get(DIRECTORY, FileUtility.JOURNAL_FILE));
+        assertEquals("Test description 2",
+                new FileUtility(DIRECTORY).getRegister().getAllTasks().get(0).getDescription());
+    }
+
+    @Test
+    @DisplayName("Test that a description that can not be read fails to load instead of being empty")
+    void testUnreadableDescriptionIsNotLoaded() throws IOException
+    {
+        FileUtility fileUtility = new FileUtility(DIRECTORY);
+        TaskRegister register = fileUtility.getRegister();
+        register.addTask(new Task("Test title", "Test description", "None"));
+        fileUtility.saveRegister(register);
+        Path file = Paths.get(DIRECTORY, DescriptionStore.FILE_PREFIX + 0 + DescriptionStore.FILE_SUFFIX);
+        Files.write(file, new byte[0]);
+
+        FileUtility fileUtilityRead = new FileUtility(DIRECTORY);
+        TaskRegister registerRead = fileUtilityRead.getRegister();
+        Task taskRead = registerRead.getAllTasks().get(0);
+        assertThrows(UncheckedIOException.class, taskRead::getDescription);
+
+        // Saving again keeps the location of the description, it is not written as empty
+        fileUtilityRead.saveRegister(registerRead);
+        assertTrue(taskRead.isDescriptionStored());
+        assertThrows(UncheckedIOException.class,
+                () -> new FileUtility(DIRECTORY).getRegister().getAllTasks().get(0).getDescription());
+    }
+
+    @Test
+    @DisplayName("Test that replaced descriptions are compacted away on startup")
+    void testDescriptionFileIsCompacted() throws IOException
+    {
+        FileUtility fileUtility = new FileUtility(DIRECTORY);
+        TaskRegister register = fileUtility.getRegister();
+        Task task = new Task("Test title", "", "None");
+        Task otherTask = new Task("Test title 2", "Test description 2", "None");
+        register.addTask(task);
+        register.addTask(otherTask);
+        String description = this.randomText(100_000);
+        for (int i = 0; i < 20; i++) {
+            task.setDescription(description + i);
+            fileUtility.saveRegister(register);
+        }
+        Path oldFile = Paths.get(DIRECTORY, DescriptionStore.FILE_PREFIX + 0 + DescriptionStore.FILE_SUFFIX);
+        assertTrue(Files.size(oldFile) > 1_000_000);
+
+        TaskRegister registerRead = new FileUtility(DIRECTORY).getRegister();
+
+        Path newFile = Paths.get(DIRECTORY, DescriptionStore.FILE_PREFIX + 1 + DescriptionStore.FILE_SUFFIX);
+        assertFalse(Files.exists(oldFile));
+        assertTrue(Files.size(newFile) < 200_000);
+        this.assertDescriptions(registerRead, description + 19);
+        this.assertDescriptions(new FileUtility(DIRECTORY).getRegister(), description + 19);
+    }
+
+    /**
+     * Returns random letters, which do not compress as well as the HTMLEditor markup.
+     */
+    private String randomText(int length)
+    {
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('a' + random.nextInt(26)));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Asserts that the descriptions of the two tasks of the compaction test were kept.
+     */
+    private void assertDescriptions(TaskRegister register, String description)
+    {
+        assertEquals(2, register.getNumberOfTasks());
+        for (Task task : register.getAllTasks()) {
+            if (task.getTaskName().equals("Test title")) {
+                assertEquals(description, task.getDescription());
+            } else {
+                assertEquals("Test description 2", task.getDescription());
+            }
+        }
+    }
+}
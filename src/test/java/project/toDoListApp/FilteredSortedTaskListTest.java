@@ -0,0 +1,188 @@
+package project.toDoListApp;
+
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.toDoListApp.controller.FilteredSortedTaskList;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskRegister;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class FilteredSortedTaskListTest
+{
+    private boolean hideCompleted;
+
+    @Test
+    @DisplayName("Test that a changed task is only reported as updated")
+    void testChangedTaskIsUpdated()
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        FilteredSortedTaskList taskList = this.createTaskList(taskRegister);
+        List<String> changes = this.recordChanges(taskList);
+        Task task = taskList.get(1);
+
+        task.setActiveStatus(true);
+
+        assertEquals(List.of("updated 1..2"), changes);
+        assertEquals(List.of("Test title 1", "Test title 2", "Test title 3"), this.titlesOf(taskList));
+    }
+
+    @Test
+    @DisplayName("Test that a task whose sort key changed is moved to its new place")
+    void testChangedTaskIsMoved()
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        FilteredSortedTaskList taskList = this.createTaskList(taskRegister);
+        List<String> changes = this.recordChanges(taskList);
+
+        taskList.get(0).setTaskName("Test title 9");
+
+        assertEquals(List.of("permutated 0..3", "updated 2..3"), changes);
+        assertEquals(List.of("Test title 2", "Test title 3", "Test title 9"), this.titlesOf(taskList));
+    }
+
+    @Test
+    @DisplayName("Test that added and removed tasks are put in place and removed")
+    void testAddedAndRemovedTasks()
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        FilteredSortedTaskList taskList = this.createTaskList(taskRegister);
+        List<String> changes = this.recordChanges(taskList);
+        Task task = new Task("Test title 25", "Test description", "None");
+
+        taskRegister.addTask(task);
+        assertEquals(List.of("added 2..3"), changes);
+        assertEquals(task, taskList.get(2));
+
+        taskRegister.removeTask(task);
+        assertEquals(List.of("added 2..3", "removed 2"), changes);
+        assertFalse(taskList.contains(task));
+    }
+
+    @Test
+    @DisplayName("Test that completed tasks are hidden and shown again")
+    void testHidingCompletedTasks()
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        FilteredSortedTaskList taskList = this.createTaskList(taskRegister);
+        taskList.get(0).setActiveStatus(true);
+        taskList.get(2).setActiveStatus(true);
+        List<String> changes = this.recordChanges(taskList);
+
+        this.hideCompleted = true;
+        taskList.refilter(taskRegister.getAllCompletedTasks());
+        assertEquals(List.of("Test title 2"), this.titlesOf(taskList));
+
+        // A task completed in this mode is hidden right away
+        taskList.get(0).setActiveStatus(true);
+        assertEquals(0, taskList.size());
+
+        this.hideCompleted = false;
+        taskList.refilter(taskRegister.getAllCompletedTasks());
+        assertEquals(List.of("Test title 1", "Test title 2", "Test title 3"), this.titlesOf(taskList));
+        assertEquals(List.of("removed 0", "removed 1", "removed 0",
+                "added 0..3"), changes);
+    }
+
+    @Test
+    @DisplayName("Test that a batch of changes is reported as a single change")
+    void testBatchIsSingleChange()
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        FilteredSortedTaskList taskList = this.createTaskList(taskRegister);
+        this.hideCompleted = true;
+        List<Integer> changeSizes = new ArrayList<>();
+        taskList.addListener((ListChangeListener<Task>) change -> {
+            int size = 0;
+            while (change.next()) {
+                size++;
+            }
+            changeSizes.add(size);
+        });
+
+        taskRegister.setStatus(List.of(taskList.get(0), taskList.get(2)), true);
+        assertEquals(List.of("Test title 2"), this.titlesOf(taskList));
+        assertEquals(1, changeSizes.size());
+
+        taskRegister.addAll(List.of(new Task("Test title 0", "Test description", "None"),
+                new Task("Test title 5", "Test description", "None")));
+        taskRegister.removeIf(task -> task.getTaskName().equals("Test title 2"));
+        assertEquals(List.of("Test title 0", "Test title 5"), this.titlesOf(taskList));
+        assertEquals(3, changeSizes.size());
+    }
+
+    @Test
+    @DisplayName("Test that a task is found in its place after the tasks before it were moved")
+    void testChangedTaskIsFoundAfterMoves()
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        FilteredSortedTaskList taskList = this.createTaskList(taskRegister);
+        Task lastTask = taskList.get(2);
+        taskRegister.removeTask(taskList.get(0));
+        taskRegister.addAll(List.of(new Task("Test title 0", "Test description", "None"),
+                new Task("Test title 1", "Test description", "None")));
+        List<String> changes = this.recordChanges(taskList);
+
+        lastTask.setActiveStatus(true);
+        lastTask.setTaskName("Test title 00");
+
+        assertEquals(List.of("updated 3..4", "permutated 1..4", "updated 1..2"), changes);
+        assertEquals(List.of("Test title 0", "Test title 00", "Test title 1", "Test title 2"),
+                this.titlesOf(taskList));
+    }
+
+    /**
+     * Returns a list of three uncompleted tasks ordered by title, kept up to date by the given register.
+     */
+    private FilteredSortedTaskList createTaskList(TaskRegister taskRegister)
+    {
+        for (int i = 3; i >= 1; i--) {
+            taskRegister.addTask(new Task("Test title " + i, "Test description " + i, "None"));
+        }
+        FilteredSortedTaskList taskList = new FilteredSortedTaskList(taskRegister,
+                task -> !this.hideCompleted || !task.getStatus());
+        taskRegister.addListener(taskList);
+        taskList.setComparator(Comparator.comparing(Task::getTaskName));
+        return taskList;
+    }
+
+    /**
+     * Returns the titles of the tasks in the given list, in order.
+     */
+    private List<String> titlesOf(List<Task> taskList)
+    {
+        List<String> titles = new ArrayList<>();
+        for (Task task : taskList) {
+            titles.add(task.getTaskName());
+        }
+        return titles;
+    }
+
+    /**
+     * Returns a list that describes every change made to the given list from now on.
+     */
+    private List<String> recordChanges(FilteredSortedTaskList taskList)
+    {
+        List<String> changes = new ArrayList<>();
+        taskList.addListener((ListChangeListener<Task>) change -> {
+            while (change.next()) {
+                if (change.wasPermutated()) {
+                    changes.add("permutated " + change.getFrom() + ".." + change.getTo());
+                } else if (change.wasUpdated()) {
+                    changes.add("updated " + change.getFrom() + ".." + change.getTo());
+                } else if (change.wasRemoved()) {
+                    changes.add("removed " + change.getFrom());
+                } else if (change.wasAdded()) {
+                    changes.add("added " + change.getFrom() + ".." + change.getTo());
+                }
+            }
+        });
+        return changes;
+    }
+}
@@ -0,0 +1,81 @@
+package project.toDoListApp;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.toDoListApp.model.LongTaskMap;
+import project.toDoListApp.model.Task;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LongTaskMapTest
+{
+    @Test
+    @DisplayName("Test putting, getting and removing tasks")
+    void testPutGetRemove()
+    {
+        LongTaskMap map = new LongTaskMap();
+        Task task1 = new Task("Test title", "Test description", "None");
+        Task task2 = new Task("Test title 2", "Test description 2", "None");
+
+        assertNull(map.put(1, task1));
+        assertNull(map.put(2, task2));
+        assertSame(task1, map.put(1, task1));
+
+        assertEquals(2, map.size());
+        assertSame(task2, map.get(2));
+        assertSame(task2, map.remove(2));
+        assertNull(map.get(2));
+        assertNull(map.remove(2));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    @DisplayName("Test that the id 0 can not be used")
+    void testZeroId()
+    {
+        LongTaskMap map = new LongTaskMap();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> map.put(0, new Task("Test title", "Test description", "None")));
+        assertNull(map.get(0));
+    }
+
+    @Test
+    @DisplayName("Test the map against a HashMap with random puts and removes")
+    void testAgainstHashMap()
+    {
+        LongTaskMap map = new LongTaskMap();
+        Map<Long, Task> expected = new HashMap<>();
+        Task task = new Task("Test title", "Test description", "None");
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            long id = 1 + random.nextInt(5000);
+            if (random.nextInt(3) == 0) {
+                assertSame(expected.remove(id), map.remove(id));
+            } else {
+                Task value = (id % 2 == 0) ? task : new Task("Task " + id, "", "None");
+                assertSame(expected.put(id, value), map.put(id, value));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long id = 1; id <= 5000; id++) {
+            assertSame(expected.get(id), map.get(id));
+        }
+        int iterated = 0;
+        for (Task value : map) {
+            iterated++;
+        }
+        assertEquals(expected.size(), iterated);
+        assertEquals(new HashSet<>(expected.values()), new HashSet<>(map.values()));
+    }
+}
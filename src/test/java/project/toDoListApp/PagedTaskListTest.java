@@ -0,0 +1,152 @@
+package project.toDoListApp;
+
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.toDoListApp.controller.PagedTaskList;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskQuery;
+import project.toDoListApp.model.TaskRegister;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PagedTaskListTest
+{
+    @Test
+    @DisplayName("Test that the list holds all the tasks in order and keeps few pages")
+    void testPagesAreReadOnDemand()
+    {
+        TaskRegister taskRegister = this.createRegister(1000);
+        PagedTaskList taskList = new PagedTaskList(taskRegister, TaskQuery.Order.TITLE, 50, 3);
+
+        assertEquals(1000, taskList.size());
+        assertEquals(0, taskList.getNumberOfPagesKept());
+        assertEquals(this.sortedTasks(taskRegister).get(777), taskList.get(777));
+        assertEquals(1, taskList.getNumberOfPagesKept());
+
+        assertEquals(this.sortedTasks(taskRegister), new ArrayList<>(taskList));
+        assertEquals(3, taskList.getNumberOfPagesKept());
+    }
+
+    @Test
+    @DisplayName("Test that added and removed tasks are reported at their place")
+    void testAddedAndRemovedTasks()
+    {
+        TaskRegister taskRegister = this.createRegister(200);
+        PagedTaskList taskList = new PagedTaskList(taskRegister, TaskQuery.Order.TITLE, 20, 4);
+        taskRegister.addListener(taskList);
+        List<Task> mirror = new ArrayList<>(taskList);
+        taskList.addListener((ListChangeListener<Task>) change -> {
+            while (change.next()) {
+                if (change.wasRemoved()) {
+                    mirror.subList(change.getFrom(), change.getFrom() + change.getRemovedSize()).clear();
+                }
+                if (change.wasAdded()) {
+                    mirror.addAll(change.getFrom(), change.getAddedSubList());
+                }
+            }
+        });
+
+        taskRegister.addTask(new Task("Title 0050b", "Description", "None"));
+        taskRegister.removeTask(this.sortedTasks(taskRegister).get(3));
+        taskRegister.addAll(List.of(new Task("Title 0000a", "Description", "None"),
+                new Task("Title 0150a", "Description", "None")));
+        taskRegister.removeIf(task -> task.getTaskName().endsWith("7"));
+
+        assertEquals(this.sortedTasks(taskRegister), mirror);
+        assertEquals(this.sortedTasks(taskRegister), new ArrayList<>(taskList));
+    }
+
+    @Test
+    @DisplayName("Test that a changed task is read again at its new place")
+    void testChangedTaskMoves()
+    {
+        TaskRegister taskRegister = this.createRegister(100);
+        PagedTaskList taskList = new PagedTaskList(taskRegister, TaskQuery.Order.TITLE, 10, 2);
+        taskRegister.addListener(taskList);
+        List<Integer> updated = new ArrayList<>();
+        taskList.addListener((ListChangeListener<Task>) change -> {
+            while (change.next()) {
+                if (change.wasUpdated()) {
+                    for (int i = change.getFrom(); i < change.getTo(); i++) {
+                        updated.add(i);
+                    }
+                }
+            }
+        });
+        Task task = taskList.get(5);
+
+        task.setTaskName("Title 0099z");
+
+        assertEquals(task, taskList.get(99));
+        assertTrue(updated.contains(5));
+        assertEquals(this.sortedTasks(taskRegister), new ArrayList<>(taskList));
+    }
+
+    @Test
+    @DisplayName("Test that the pages a change does not reach are kept")
+    void testUnchangedPagesAreKept()
+    {
+        TaskRegister taskRegister = this.createRegister(100);
+        PagedTaskList taskList = new PagedTaskList(taskRegister, TaskQuery.Order.TITLE, 10, 3);
+        taskRegister.addListener(taskList);
+        List<Task> firstPage = new ArrayList<>(taskList.subList(0, 10));
+        Task task = taskList.get(50);
+
+        // The task moves within the tasks after the first page
+        task.setTaskName("Title 0080a");
+        taskRegister.addTask(new Task("Title 0090a", "Description", "None"));
+        assertEquals(1, taskList.getNumberOfPagesKept());
+        assertEquals(firstPage, taskList.subList(0, 10));
+        assertEquals(1, taskList.getNumberOfPagesKept());
+
+        // A task added before the first page moves all its rows
+        taskRegister.addTask(new Task("Title 0000a", "Description", "None"));
+        assertEquals(0, taskList.getNumberOfPagesKept());
+        assertEquals(this.sortedTasks(taskRegister), new ArrayList<>(taskList));
+    }
+
+    @Test
+    @DisplayName("Test that a row is not read from a register changed without telling the list")
+    void testChangeNotToldIsNotRead()
+    {
+        TaskRegister taskRegister = this.createRegister(30);
+        PagedTaskList taskList = new PagedTaskList(taskRegister, TaskQuery.Order.TITLE, 10, 3);
+
+        taskRegister.removeIf(task -> task.getTaskName().compareTo("Title 0025") >= 0);
+
+        assertEquals(30, taskList.size());
+        assertEquals(this.sortedTasks(taskRegister).get(24), taskList.get(24));
+        assertThrows(ConcurrentModificationException.class, () -> taskList.get(25));
+    }
+
+    /**
+     * Returns a register holding the given number of tasks.
+     */
+    private TaskRegister createRegister(int numberOfTasks)
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        for (int i = 0; i < numberOfTasks; i++) {
+            taskRegister.addTask(new Task(String.format("Title %04d", (i * 7919) % numberOfTasks),
+                    "Description", "None"));
+        }
+        return taskRegister;
+    }
+
+    /**
+     * Returns the tasks of the given register in the order of the list.
+     */
+    private List<Task> sortedTasks(TaskRegister taskRegister)
+    {
+        List<Task> tasks = new ArrayList<>(taskRegister.getAllTasks());
+        tasks.sort(Comparator.comparing(Task::getTaskName).thenComparingLong(Task::getId));
+        return tasks;
+    }
+}
@@ -0,0 +1,84 @@
+package project.toDoListApp;
+
+import project.toDoListApp.controller.PagedTaskList;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskQuery;
+import project.toDoListApp.model.TaskRegister;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Compares showing the first rows of a table sorted by title from a paged task list
+ * to sorting a copy of all the tasks, the way the filtered list does,
+ * in time and in bytes allocated, for registers of growing size.
+ * Not run as part of the test suite, run the main method from the IDE.
+ */
+public class PagingBenchmark
+{
+    private static final int[] SIZES = {10_000, 50_000, 200_000};
+    private static final int VISIBLE_ROWS = 40;
+    private static final int ROUNDS = 20;
+
+    private static int sink;
+
+    public static void main(String[] args) throws Exception
+    {
+        for (int size : SIZES) {
+            TaskRegister register = new TaskRegister();
+            for (int i = 0; i < size; i++) {
+                register.addTask(new Task("Task " + ((i * 7919L) % size), "", "None"));
+            }
+
+            ToIntFunction<TaskRegister> paged = taskRegister -> {
+                PagedTaskList tasks = new PagedTaskList(taskRegister, TaskQuery.Order.TITLE, VISIBLE_ROWS, 4);
+                int rows = 0;
+                for (int i = 0; i < VISIBLE_ROWS; i++) {
+                    rows += tasks.get(i).getTaskName().length();
+                }
+                return rows;
+            };
+            ToIntFunction<TaskRegister> sorted = taskRegister -> {
+                List<Task> tasks = new ArrayList<>(taskRegister.getAllTasks());
+                tasks.sort(TaskQuery.Order.TITLE.getComparator());
+                int rows = 0;
+                for (int i = 0; i < VISIBLE_ROWS; i++) {
+                    rows += tasks.get(i).getTaskName().length();
+                }
+                return rows;
+            };
+
+            // Warm up both ways before measuring
+            measure(register, paged);
+            measure(register, sorted);
+            long[] pages = measure(register, paged);
+            long[] copies = measure(register, sorted);
+
+            System.out.printf("%,8d tasks  sorted copy %,10.2f us %,12d bytes  paged %,8.2f us %,8d bytes%n",
+                    size, copies[0] / 1e3, copies[1], pages[0] / 1e3, pages[1]);
+        }
+    }
+
+    /**
+     * Returns the average time and allocated bytes of showing the first rows.
+     */
+    private static long[] measure(TaskRegister register, ToIntFunction<TaskRegister> firstRows) throws Exception
+    {
+        // The management beans are looked up reflectively, the application module does not read them
+        Object threads = Class.forName("java.lang.management.ManagementFactory")
+                .getMethod("getThreadMXBean").invoke(null);
+        Method allocatedBytes = Class.forName("com.sun.management.ThreadMXBean")
+                .getMethod("getThreadAllocatedBytes", long.class);
+        long threadId = Thread.currentThread().getId();
+        long startBytes = (long) allocatedBytes.invoke(threads, threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += firstRows.applyAsInt(register);
+        }
+        long nanos = System.nanoTime() - start;
+        long bytes = (long) allocatedBytes.invoke(threads, threadId) - startBytes;
+        return new long[] {nanos / ROUNDS, bytes / ROUNDS};
+    }
+}
@@ -0,0 +1,97 @@
+package project.toDoListApp;
+
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.utility.FileUtility;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+
+/**
+ * Compares the load and save throughput of the TaskCodec format
+ * against the Java serialization format used by earlier versions.
+ * Not run as part of the test suite, run the main method from the IDE.
+ */
+public class PersistenceBenchmark
+{
+    private static final String DIRECTORY = "target/benchmark";
+    private static final int TASKS = 50_000;
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args) throws Exception
+    {
+        TaskRegister register = createRegister(TASKS);
+        FileUtility fileUtility = new FileUtility(DIRECTORY);
+        Path legacyFile = Paths.get(DIRECTORY, FileUtility.LEGACY_SNAPSHOT_FILE);
+        Path codecFile = Paths.get(DIRECTORY, FileUtility.SNAPSHOT_FILE);
+
+        // Warm up both paths before measuring
+        for (int i = 0; i < ROUNDS; i++) {
+            fileUtility.saveToFile(legacyFile.toString(), register);
+            fileUtility.readFromFile(legacyFile.toString());
+            fileUtility.writeRegister(codecFile, register);
+            fileUtility.readRegister(codecFile);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            fileUtility.saveToFile(legacyFile.toString(), register);
+        }
+        long legacySave = (System.nanoTime() - start) / ROUNDS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            fileUtility.readFromFile(legacyFile.toString());
+        }
+        long legacyLoad = (System.nanoTime() - start) / ROUNDS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            fileUtility.writeRegister(codecFile, register);
+        }
+        long codecSave = (System.nanoTime() - start) / ROUNDS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            fileUtility.readRegister(codecFile);
+        }
+        long codecLoad = (System.nanoTime() - start) / ROUNDS;
+
+        report("Serialization", Files.size(legacyFile), legacySave, legacyLoad);
+        report("TaskCodec", Files.size(codecFile), codecSave, codecLoad);
+    }
+
+    /**
+     * Returns a register holding the given number of generated tasks.
+     */
+    static TaskRegister createRegister(int size)
+    {
+        TaskRegister register = new TaskRegister();
+        String[] categories = {"None", "Home", "Work", "Shopping", "Cooking"};
+        String[] priorities = {"Low", "Medium", "High"};
+        for (int i = 0; i < size; i++) {
+            Task task = new Task("Task " + i,
+                    "<html dir=\"ltr\"><head></head><body contenteditable=\"true\">"
+                            + "Description of task " + i + "</body></html>",
+                    categories[i % categories.length],
+                    LocalDate.now().plusDays(1 + i % 365));
+            task.setPriority(priorities[i % priorities.length]);
+            task.setActiveStatus(i % 3 == 0);
+            register.addTask(task);
+        }
+        return register;
+    }
+
+    /**
+     * Prints the file size and the save and load times of a format.
+     */
+    private static void report(String format, long fileSize, long saveNanos, long loadNanos)
+    {
+        System.out.printf("%-14s %,10d bytes  save %8.2f ms (%7.1f MB/s)  load %8.2f ms (%7.1f MB/s)%n",
+                format, fileSize,
+                saveNanos / 1e6, fileSize / 1e6 / (saveNanos / 1e9),
+                loadNanos / 1e6, fileSize / 1e6 / (loadNanos / 1e9));
+    }
+}
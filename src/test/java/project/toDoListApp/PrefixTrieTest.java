@@ -0,0 +1,90 @@
+package project.toDoListApp;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.utility.PrefixTrie;
+import project.toDoListApp.utility.TaskCompletions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefixTrieTest
+{
+    @Test
+    @DisplayName("Test that the most used texts are completed first, equally used ones alphabetically")
+    void testCompletionOrder()
+    {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("Work");
+        trie.add("Workout");
+        trie.add("Workout");
+        trie.add("Worship");
+        trie.add("Home");
+
+        assertEquals(List.of("Workout", "Work", "Worship"), trie.complete("wor", 5));
+        assertEquals(List.of("Workout", "Work"), trie.complete("wor", 2));
+        assertEquals(List.of("Workout", "Home", "Work", "Worship"), trie.complete("", 5));
+        assertEquals(List.of("Workout", "Work"), trie.complete("WORK", 5));
+        assertTrue(trie.complete("works", 5).isEmpty());
+        assertTrue(trie.complete("x", 5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test that texts differing only in case are completed to the first one added")
+    void testIgnoringCase()
+    {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("Shopping");
+        trie.add("shopping ");
+
+        assertEquals(1, trie.size());
+        assertEquals(List.of("Shopping"), trie.complete("sh", 5));
+    }
+
+    @Test
+    @DisplayName("Test that a text is removed when removed as many times as added")
+    void testRemoving()
+    {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("Garden");
+        trie.add("Garage");
+        trie.add("Garage");
+
+        assertTrue(trie.remove("Garage"));
+        assertEquals(List.of("Garage", "Garden"), trie.complete("gar", 5));
+        assertTrue(trie.remove("garage"));
+        assertEquals(List.of("Garden"), trie.complete("gar", 5));
+        assertFalse(trie.remove("Garage"));
+        assertFalse(trie.remove("Gar"));
+        assertEquals(1, trie.size());
+
+        trie.add("Garage");
+        assertEquals(List.of("Garage", "Garden"), trie.complete("ga", 5));
+    }
+
+    @Test
+    @DisplayName("Test that the task completions follow the changes made to the register")
+    void testTaskCompletions()
+    {
+        TaskRegister register = new TaskRegister();
+        Task task1 = new Task("Mow the lawn", "", "Garden");
+        Task task2 = new Task("Move the desk", "", "Work");
+        register.addTask(task1);
+        register.addTask(task2);
+        TaskCompletions completions = new TaskCompletions(register);
+        register.addListener(completions);
+
+        assertEquals(List.of("Move the desk", "Mow the lawn"), completions.completeTitle("mo", 5));
+        assertEquals(List.of("Garden"), completions.completeCategory("g", 5));
+
+        task2.setCategory("Garage");
+        register.removeTask(task1);
+        assertEquals(List.of("Garage"), completions.completeCategory("g", 5));
+        assertEquals(List.of("Move the desk"), completions.completeTitle("mo", 5));
+    }
+}
@@ -0,0 +1,100 @@
+package project.toDoListApp;
+
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskPriority;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Compares sorting a large list of tasks by priority with the enum ordinals
+ * to sorting it by the priority names, the way the table used to,
+ * in time and in bytes allocated by the sorting thread.
+ * Not run as part of the test suite, run the main method from the IDE.
+ */
+public class PrioritySortBenchmark
+{
+    private static final int TASKS = 100_000;
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) throws Exception
+    {
+        List<Task> tasks = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task("Task " + i, "", "None");
+            task.setTaskPriority(TaskPriority.fromOrdinal(random.nextInt(3)));
+            tasks.add(task);
+        }
+        Comparator<Task> byName = Comparator.comparing(Task::getPriority,
+                PrioritySortBenchmark::compareNames);
+        Comparator<Task> byOrdinal = Comparator.comparing(Task::getTaskPriority);
+
+        // Warm up both ways before measuring
+        measure(tasks, byName);
+        measure(tasks, byOrdinal);
+        long[] name = measure(tasks, byName);
+        long[] ordinal = measure(tasks, byOrdinal);
+
+        System.out.printf("Priority names    %,10.2f ms  %,14d bytes allocated per sort%n",
+                name[0] / 1e6, name[1]);
+        System.out.printf("Priority ordinals %,10.2f ms  %,14d bytes allocated per sort%n",
+                ordinal[0] / 1e6, ordinal[1]);
+    }
+
+    /**
+     * Returns the average time and allocated bytes of sorting the tasks.
+     * The sort itself allocates a merge buffer of at most half the array.
+     */
+    private static long[] measure(List<Task> tasks, Comparator<Task> comparator) throws Exception
+    {
+        // The management beans are looked up reflectively, the application module does not read them
+        Object threads = Class.forName("java.lang.management.ManagementFactory")
+                .getMethod("getThreadMXBean").invoke(null);
+        Method allocatedBytes = Class.forName("com.sun.management.ThreadMXBean")
+                .getMethod("getThreadAllocatedBytes", long.class);
+        long threadId = Thread.currentThread().getId();
+        long nanos = 0;
+        long bytes = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            Task[] shuffled = tasks.toArray(new Task[0]);
+            long startBytes = (long) allocatedBytes.invoke(threads, threadId);
+            long start = System.nanoTime();
+            Arrays.sort(shuffled, comparator);
+            nanos += System.nanoTime() - start;
+            bytes += (long) allocatedBytes.invoke(threads, threadId) - startBytes;
+        }
+        return new long[] {nanos / ROUNDS, bytes / ROUNDS};
+    }
+
+    /**
+     * Compares two priority names the way the removed PriorityComparator did.
+     */
+    private static int compareNames(String priority1, String priority2)
+    {
+        if (priority1.isBlank() || priority2.isBlank()) {
+            return -1;
+        }
+        return Integer.compare(rankOf(priority1), rankOf(priority2));
+    }
+
+    /**
+     * Returns the rank of the given priority name.
+     */
+    private static int rankOf(String priority)
+    {
+        switch (priority.toLowerCase(Locale.ROOT)) {
+            case "low":
+                return 0;
+            case "medium":
+                return 1;
+            default:
+                return 2;
+        }
+    }
+}
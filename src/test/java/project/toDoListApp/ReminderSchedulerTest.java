@@ -0,0 +1,128 @@
+package project.toDoListApp;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.utility.ReminderScheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ReminderSchedulerTest
+{
+    // After the date the tasks are added, the due dates of the tasks can only be moved past it
+    private static final LocalDate TODAY = LocalDate.now().plusDays(2);
+
+    @Test
+    @DisplayName("Test that a task is reminded of on its due date")
+    void testTaskIsRemindedWhenDue() throws InterruptedException
+    {
+        MovableClock clock = new MovableClock(TODAY.atTime(8, 0));
+        TaskRegister register = new TaskRegister();
+        Task dueToday = new Task("Due today", "Description", "None", TODAY);
+        Task dueTomorrow = new Task("Due tomorrow", "Description", "None", TODAY.plusDays(1));
+        Task overdue = new Task("Overdue", "Description", "None", TODAY.minusDays(1));
+        register.addTask(dueToday);
+        register.addTask(dueTomorrow);
+        register.addTask(overdue);
+        BlockingQueue<Task> reminded = new LinkedBlockingQueue<>();
+        ReminderScheduler scheduler = new ReminderScheduler(register, reminded::add,
+                Runnable::run, clock, LocalTime.of(9, 0), 10);
+        register.addListener(scheduler);
+
+        assertEquals(2, scheduler.getNumberOfScheduledReminders());
+        assertNull(reminded.poll(100, TimeUnit.MILLISECONDS));
+
+        clock.moveTo(TODAY.atTime(9, 0));
+        assertSame(dueToday, reminded.poll(5, TimeUnit.SECONDS));
+        // Changing anything but the due date does not remind again
+        dueToday.setTaskName("Renamed");
+        assertNull(reminded.poll(100, TimeUnit.MILLISECONDS));
+
+        clock.moveTo(TODAY.plusDays(1).atTime(9, 0));
+        assertSame(dueTomorrow, reminded.poll(5, TimeUnit.SECONDS));
+        assertNull(reminded.poll(100, TimeUnit.MILLISECONDS));
+        scheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("Test that changing the due date or deleting a task moves its reminder")
+    void testRescheduleAndDelete() throws InterruptedException
+    {
+        MovableClock clock = new MovableClock(TODAY.atTime(8, 0));
+        TaskRegister register = new TaskRegister();
+        BlockingQueue<Task> reminded = new LinkedBlockingQueue<>();
+        ReminderScheduler scheduler = new ReminderScheduler(register, reminded::add,
+                Runnable::run, clock, LocalTime.of(9, 0), 10);
+        register.addListener(scheduler);
+        Task moved = new Task("Moved", "Description", "None", TODAY);
+        Task deleted = new Task("Deleted", "Description", "None", TODAY);
+        Task completed = new Task("Completed", "Description", "None", TODAY);
+        register.addTask(moved);
+        register.addTask(deleted);
+        register.addTask(completed);
+        assertEquals(3, scheduler.getNumberOfScheduledReminders());
+
+        moved.setDueDate(TODAY.plusDays(2));
+        register.removeTask(deleted);
+        completed.setActiveStatus(true);
+        assertEquals(1, scheduler.getNumberOfScheduledReminders());
+
+        clock.moveTo(TODAY.atTime(12, 0));
+        assertNull(reminded.poll(200, TimeUnit.MILLISECONDS));
+
+        clock.moveTo(TODAY.plusDays(2).atTime(9, 30));
+        assertSame(moved, reminded.poll(5, TimeUnit.SECONDS));
+        assertEquals(0, scheduler.getNumberOfScheduledReminders());
+        scheduler.shutdown();
+    }
+
+    /**
+     * A clock that only moves when told to.
+     */
+    private static final class MovableClock extends Clock
+    {
+        private volatile Instant now;
+
+        private MovableClock(LocalDateTime now)
+        {
+            this.moveTo(now);
+        }
+
+        private void moveTo(LocalDateTime now)
+        {
+            this.now = now.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone()
+        {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant()
+        {
+            return this.now;
+        }
+    }
+}
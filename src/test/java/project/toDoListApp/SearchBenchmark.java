@@ -0,0 +1,79 @@
+package project.toDoListApp;
+
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.utility.SearchIndex;
+import project.toDoListApp.utility.SearchQuery;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Measures building the search index over a large register and the latency of a few queries,
+ * compared to scanning the titles, categories and descriptions of all the tasks.
+ * Not run as part of the test suite, run the main method from the IDE.
+ */
+public class SearchBenchmark
+{
+    private static final int TASKS = 100_000;
+    private static final int ROUNDS = 20;
+    private static final String[] CATEGORIES = {"None", "Work", "Home", "Shopping", "Garden"};
+    private static final String[] QUERIES = {"task 4711 ", "remember march ", "garden OR shopping ", "ste"};
+
+    public static void main(String[] args)
+    {
+        TaskRegister register = new TaskRegister();
+        for (int i = 0; i < TASKS; i++) {
+            register.addTask(new Task("Task " + i,
+                    DescriptionCompressionBenchmark.createDescription(i), CATEGORIES[i % CATEGORIES.length]));
+        }
+        SearchIndex index = new SearchIndex(register);
+        register.addListener(index);
+
+        long start = System.nanoTime();
+        index.search(SearchQuery.parse("warm up "));
+        System.out.printf("Index build %,10.2f ms for %,d terms%n",
+                (System.nanoTime() - start) / 1e6, index.getNumberOfTerms());
+
+        for (String text : QUERIES) {
+            SearchQuery query = SearchQuery.parse(text);
+            int found = 0;
+            // Warm up both ways before measuring
+            for (int round = 0; round < ROUNDS; round++) {
+                found = index.search(query).size();
+                scan(register, text);
+            }
+            start = System.nanoTime();
+            for (int round = 0; round < ROUNDS; round++) {
+                index.search(query);
+            }
+            long indexed = (System.nanoTime() - start) / ROUNDS;
+            start = System.nanoTime();
+            for (int round = 0; round < ROUNDS; round++) {
+                scan(register, text);
+            }
+            long scanned = (System.nanoTime() - start) / ROUNDS;
+            System.out.printf("%-22s %,7d found  index %,10.3f ms  scan %,10.3f ms%n",
+                    "\"" + text + "\"", found, indexed / 1e6, scanned / 1e6);
+        }
+    }
+
+    /**
+     * Returns the number of tasks holding the first word of the text somewhere,
+     * the way a search without an index has to look for it.
+     */
+    private static int scan(TaskRegister register, String text)
+    {
+        String word = text.trim().split("\\s+")[0].toLowerCase(Locale.ROOT);
+        int found = 0;
+        List<Task> tasks = register.getAllTasks();
+        for (Task task : tasks) {
+            if (task.getTaskName().toLowerCase(Locale.ROOT).contains(word)
+                    || task.getCategory().toLowerCase(Locale.ROOT).contains(word)
+                    || task.getDescription().toLowerCase(Locale.ROOT).contains(word)) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
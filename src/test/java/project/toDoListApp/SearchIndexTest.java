@@ -0,0 +1,129 @@
+package project.toDoListApp;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.utility.SearchIndex;
+import project.toDoListApp.utility.SearchQuery;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchIndexTest
+{
+    @Test
+    @DisplayName("Test that all the words of a query must be found, unless split by OR")
+    void testAndOrQueries()
+    {
+        TaskRegister register = new TaskRegister();
+        Task milk = new Task("Buy milk", "<p>And some eggs</p>", "Shopping");
+        Task bread = new Task("Buy bread", "", "Shopping");
+        Task report = new Task("Write report", "<p>Quarterly numbers</p>", "Work");
+        register.addTask(milk);
+        register.addTask(bread);
+        register.addTask(report);
+        SearchIndex index = this.createIndex(register);
+
+        assertEquals(List.of(milk), index.search(SearchQuery.parse("milk eggs ")));
+        assertEquals(List.of(bread, milk), this.sortByName(index.search(SearchQuery.parse("buy shopping "))));
+        assertEquals(List.of(milk, report),
+            this.sortByName(index.search(SearchQuery.parse("eggs OR quarterly "))));
+        assertTrue(index.search(SearchQuery.parse("milk report ")).isEmpty());
+        assertTrue(index.matches(report, SearchQuery.parse("WORK ")));
+        assertFalse(index.matches(bread, SearchQuery.parse("work ")));
+    }
+
+    @Test
+    @DisplayName("Test that the last word being typed matches the words starting with it")
+    void testPrefixQueries()
+    {
+        TaskRegister register = new TaskRegister();
+        Task groceries = new Task("Groceries", "", "None");
+        Task garden = new Task("Garden", "", "None");
+        register.addTask(groceries);
+        register.addTask(garden);
+        SearchIndex index = this.createIndex(register);
+
+        assertEquals(List.of(groceries), index.search(SearchQuery.parse("gro")));
+        assertEquals(List.of(garden, groceries), this.sortByName(index.search(SearchQuery.parse("g"))));
+        assertTrue(index.search(SearchQuery.parse("gro ")).isEmpty());
+        assertTrue(index.matches(groceries, SearchQuery.parse("groc")));
+    }
+
+    @Test
+    @DisplayName("Test that a word in the title ranks higher than a word in the description")
+    void testRanking()
+    {
+        TaskRegister register = new TaskRegister();
+        Task inDescription = new Task("Call the plumber", "<p>About the kitchen sink</p>", "Home");
+        Task inTitle = new Task("Clean the kitchen", "", "Home");
+        register.addTask(inDescription);
+        register.addTask(inTitle);
+        SearchIndex index = this.createIndex(register);
+
+        assertEquals(List.of(inTitle, inDescription), index.search(SearchQuery.parse("kitchen ")));
+    }
+
+    @Test
+    @DisplayName("Test that the index follows the changes made to the register")
+    void testIncrementalUpdates()
+    {
+        TaskRegister register = new TaskRegister();
+        Task task = new Task("Old title", "", "None");
+        register.addTask(task);
+        SearchIndex index = this.createIndex(register);
+        assertEquals(List.of(task), index.search(SearchQuery.parse("old ")));
+
+        task.setTaskName("New title");
+        task.setDescription("<p>With a description</p>");
+        assertTrue(index.search(SearchQuery.parse("old ")).isEmpty());
+        assertEquals(List.of(task), index.search(SearchQuery.parse("new description ")));
+
+        Task added = new Task("Another title", "", "None");
+        register.addTask(added);
+        assertEquals(List.of(added, task), this.sortByName(index.search(SearchQuery.parse("title "))));
+
+        register.removeTask(task);
+        assertEquals(List.of(added), index.search(SearchQuery.parse("title ")));
+        assertFalse(index.matches(task, SearchQuery.parse("title ")));
+    }
+
+    @Test
+    @DisplayName("Test that the HTML markup of the descriptions is not indexed")
+    void testMarkupIsNotIndexed()
+    {
+        TaskRegister register = new TaskRegister();
+        Task task = new Task("Title", "<p><span style=\"font-family: &quot;Segoe UI&quot;;\">"
+            + "Fish&amp;chips</span></p>", "None");
+        register.addTask(task);
+        SearchIndex index = this.createIndex(register);
+
+        assertTrue(index.search(SearchQuery.parse("span ")).isEmpty());
+        assertTrue(index.search(SearchQuery.parse("segoe ")).isEmpty());
+        assertTrue(index.search(SearchQuery.parse("quot ")).isEmpty());
+        assertEquals(List.of(task), index.search(SearchQuery.parse("fish chips ")));
+    }
+
+    /**
+     * Returns an index of the given register, following its changes.
+     */
+    private SearchIndex createIndex(TaskRegister register)
+    {
+        SearchIndex index = new SearchIndex(register);
+        register.addListener(index);
+        return index;
+    }
+
+    /**
+     * Returns the given tasks sorted by their titles, for results ranked equally.
+     */
+    private List<Task> sortByName(List<Task> tasks)
+    {
+        tasks.sort((task1, task2) -> task1.getTaskName().compareTo(task2.getTaskName()));
+        return tasks;
+    }
+}
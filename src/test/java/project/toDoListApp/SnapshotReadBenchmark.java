@@ -0,0 +1,73 @@
+package project.toDoListApp;
+
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskRegister;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Compares reading the list of all the tasks and the list of the uncompleted tasks
+ * from the shared snapshots to copying them on every read, the way the register used to,
+ * in time and in bytes allocated by the reading thread.
+ * A change is made to the register every CHANGE_INTERVAL reads, so the snapshots are rebuilt.
+ * Not run as part of the test suite, run the main method from the IDE.
+ */
+public class SnapshotReadBenchmark
+{
+    private static final int TASKS = 100_000;
+    private static final int READS = 1_000;
+    private static final int CHANGE_INTERVAL = 100;
+
+    public static void main(String[] args) throws Exception
+    {
+        TaskRegister register = new TaskRegister();
+        for (int i = 0; i < TASKS; i++) {
+            register.addTask(new Task("Task " + i, "", "None"));
+        }
+        Task toggled = register.getAllTasks().get(0);
+
+        Supplier<Integer> snapshots = () -> register.getAllTasks().size()
+                + register.getAllUncompletedTasks().size();
+        Supplier<Integer> copies = () -> new ArrayList<>(register.getAllTasks()).size()
+                + new ArrayList<>(register.getAllUncompletedTasks()).size();
+
+        // Warm up both ways before measuring
+        measure(snapshots, toggled);
+        measure(copies, toggled);
+        long[] shared = measure(snapshots, toggled);
+        long[] copied = measure(copies, toggled);
+
+        System.out.printf("Copy on every read %,10.2f us  %,12d bytes allocated per read%n",
+                copied[0] / 1e3, copied[1]);
+        System.out.printf("Shared snapshots   %,10.2f us  %,12d bytes allocated per read%n",
+                shared[0] / 1e3, shared[1]);
+    }
+
+    /**
+     * Returns the average time and allocated bytes of a read, toggling a task now and then.
+     */
+    private static long[] measure(Supplier<Integer> read, Task toggled) throws Exception
+    {
+        // The management beans are looked up reflectively, the application module does not read them
+        Object threads = Class.forName("java.lang.management.ManagementFactory")
+                .getMethod("getThreadMXBean").invoke(null);
+        Method allocatedBytes = Class.forName("com.sun.management.ThreadMXBean")
+                .getMethod("getThreadAllocatedBytes", long.class);
+        long threadId = Thread.currentThread().getId();
+        List<Integer> sizes = new ArrayList<>(READS);
+        long startBytes = (long) allocatedBytes.invoke(threads, threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < READS; i++) {
+            if (i % CHANGE_INTERVAL == 0) {
+                toggled.setActiveStatus(!toggled.getStatus());
+            }
+            sizes.add(read.get());
+        }
+        long nanos = System.nanoTime() - start;
+        long bytes = (long) allocatedBytes.invoke(threads, threadId) - startBytes;
+        return new long[] {nanos / READS, bytes / READS};
+    }
+}
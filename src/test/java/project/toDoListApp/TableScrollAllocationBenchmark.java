@@ -0,0 +1,109 @@
+package project.toDoListApp;
+
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.cell.PropertyValueFactory;
+import project.toDoListApp.controller.TaskViewModels;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskPriority;
+import project.toDoListApp.model.TaskRegister;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Compares the work the table does for the cells of every row scrolled into view:
+ * the reflective PropertyValueFactory and a new BooleanProperty with a listener per status cell,
+ * as the table used to, against binding to the task view models.
+ * Reports the time and the bytes allocated by the scrolling thread.
+ * Not run as part of the test suite, run the main method from the IDE.
+ */
+public class TableScrollAllocationBenchmark
+{
+    private static final int TASKS = 100_000;
+    private static final int ROUNDS = 10;
+
+    private static int sink;
+
+    public static void main(String[] args) throws Exception
+    {
+        TaskRegister register = new TaskRegister();
+        for (int i = 0; i < TASKS; i++) {
+            register.addTask(new Task("Task " + i, "", "None"));
+        }
+        List<Task> tasks = register.getAllTasks();
+        TaskViewModels viewModels = new TaskViewModels();
+        register.addListener(viewModels);
+
+        PropertyValueFactory<Task, String> titleFactory = new PropertyValueFactory<>("taskName");
+        PropertyValueFactory<Task, TaskPriority> priorityFactory =
+                new PropertyValueFactory<>("taskPriority");
+        CellUpdate oldCells = task -> {
+            consume(titleFactory.call(new TableColumn.CellDataFeatures<>(null, null, task)));
+            consume(priorityFactory.call(new TableColumn.CellDataFeatures<>(null, null, task)));
+            BooleanProperty status = new SimpleBooleanProperty(task.getStatus());
+            status.addListener((observable, wasDone, isDone) -> task.setActiveStatus(isDone));
+            consume(status);
+        };
+        CellUpdate viewModelCells = task -> {
+            consume(viewModels.get(task).taskNameProperty());
+            consume(viewModels.get(task).priorityProperty());
+            consume(viewModels.get(task).statusProperty());
+        };
+
+        // Scroll through the whole table once both ways before measuring,
+        // this also creates the view models, which happens once per task
+        measure(tasks, oldCells);
+        measure(tasks, viewModelCells);
+        long[] old = measure(tasks, oldCells);
+        long[] bound = measure(tasks, viewModelCells);
+
+        System.out.printf("Reflection, new properties %,10.2f ms  %,14d bytes per scroll through %,d rows%n",
+                old[0] / 1e6, old[1], TASKS);
+        System.out.printf("View models                %,10.2f ms  %,14d bytes per scroll through %,d rows%n",
+                bound[0] / 1e6, bound[1], TASKS);
+    }
+
+    /**
+     * Returns the average time and allocated bytes of updating the cells of every task once.
+     */
+    private static long[] measure(List<Task> tasks, CellUpdate cellUpdate) throws Exception
+    {
+        // The management beans are looked up reflectively, the application module does not read them
+        Object threads = Class.forName("java.lang.management.ManagementFactory")
+                .getMethod("getThreadMXBean").invoke(null);
+        Method allocatedBytes = Class.forName("com.sun.management.ThreadMXBean")
+                .getMethod("getThreadAllocatedBytes", long.class);
+        long threadId = Thread.currentThread().getId();
+        long nanos = 0;
+        long bytes = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long startBytes = (long) allocatedBytes.invoke(threads, threadId);
+            long start = System.nanoTime();
+            for (Task task : tasks) {
+                cellUpdate.update(task);
+            }
+            nanos += System.nanoTime() - start;
+            bytes += (long) allocatedBytes.invoke(threads, threadId) - startBytes;
+        }
+        return new long[] {nanos / ROUNDS, bytes / ROUNDS};
+    }
+
+    /**
+     * Keeps the given value from being optimized away.
+     */
+    private static void consume(ObservableValue<?> value)
+    {
+        sink += System.identityHashCode(value) & 1;
+    }
+
+    /**
+     * The work done for the cells of a single row.
+     */
+    private interface CellUpdate
+    {
+        void update(Task task);
+    }
+}
@@ -0,0 +1,219 @@
+package project.toDoListApp;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.utility.FileUtility;
+import project.toDoListApp.utility.TaskCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskCodecTest
+{
+    private static final String DIRECTORY = "target/codecTest";
+
+    @BeforeEach
+    void deleteFiles() throws IOException
+    {
+        Files.deleteIfExists(Paths.get(DIRECTORY, FileUtility.SNAPSHOT_FILE));
+        Files.deleteIfExists(Paths.get(DIRECTORY, FileUtility.JOURNAL_FILE));
+        Files.deleteIfExists(Paths.get(DIRECTORY, FileUtility.LEGACY_SNAPSHOT_FILE));
+        Files.deleteIfExists(Paths.get(DIRECTORY, FileUtility.LEGACY_SNAPSHOT_FILE + ".migrated"));
+        Files.deleteIfExists(Paths.get(DIRECTORY, FileUtility.SNAPSHOT_FILE + ".damaged"));
+    }
+
+    @Test
+    @DisplayName("Test encoding and decoding a register")
+    void testRoundTrip() throws IOException
+    {
+        TaskRegister register = new TaskRegister();
+        Task task1 = new Task("Test title", "<html>Test æøå description</html>",
+                "None", this.getEndDate());
+        task1.setPriority("High");
+        task1.setActiveStatus(true);
+        Task task2 = new Task("Test title 2", "", "None 2");
+        register.addTask(task1);
+        register.addTask(task2);
+        register.removeTask(task2);
+        register.addTask(task2);
+
+        TaskCodec codec = new TaskCodec();
+        TaskRegister registerRead = codec.decodeRegister(codec.encodeRegister(register));
+
+        assertEquals(2, registerRead.getNumberOfTasks());
+        assertEquals(register.getNextId(), registerRead.getNextId());
+        Task task1Read = this.findById(registerRead, task1.getId());
+        assertEquals(task1.getTaskName(), task1Read.getTaskName());
+        assertEquals(task1.getDescription(), task1Read.getDescription());
+        assertEquals(task1.getCategory(), task1Read.getCategory());
+        assertEquals("High", task1Read.getPriority());
+        assertEquals(task1.getDueDate(), task1Read.getDueDate());
+        assertEquals(task1.getDateAdded(), task1Read.getDateAdded());
+        assertTrue(task1Read.getStatus());
+        assertNull(this.findById(registerRead, task2.getId()).getDueDate());
+    }
+
+    @Test
+    @DisplayName("Test that a category name is written once and shared by the tasks read back")
+    void testCategoriesAreWrittenOnce() throws IOException
+    {
+        TaskRegister register = new TaskRegister();
+        for (int i = 0; i < 10; i++) {
+            register.addTask(new Task("Test title " + i, "", new String("Household")));
+        }
+
+        TaskCodec codec = new TaskCodec();
+        ByteBuffer encoded = codec.encodeRegister(register);
+        byte[] bytes = new byte[encoded.remaining()];
+        encoded.duplicate().get(bytes);
+        String text = new String(bytes, StandardCharsets.ISO_8859_1);
+        assertEquals(text.indexOf("Household"), text.lastIndexOf("Household"));
+
+        TaskRegister registerRead = codec.decodeRegister(encoded);
+        List<Task> tasksRead = registerRead.getTasksByCategory("Household");
+        assertEquals(10, tasksRead.size());
+        for (Task task : tasksRead) {
+            assertSame(tasksRead.get(0).getCategory(), task.getCategory());
+            assertEquals(tasksRead.get(0).getCategoryCode(), task.getCategoryCode());
+        }
+    }
+
+    @Test
+    @DisplayName("Test decoding a file that is not in the task format")
+    void testDecodingInvalidFile()
+    {
+        TaskCodec codec = new TaskCodec();
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+
+        assertThrows(IOException.class, () -> codec.decodeRegister(buffer));
+    }
+
+    @Test
+    @DisplayName("Test that a damaged task record is skipped")
+    void testDamagedRecordIsSkipped() throws IOException
+    {
+        TaskRegister register = new TaskRegister();
+        register.addTask(new Task("Test title", "Test description", "None"));
+        register.addTask(new Task("Test title 2", "Test description 2", "None"));
+        register.addTask(new Task("Test title 3", "Test description 3", "None"));
+        TaskCodec codec = new TaskCodec();
+        ByteBuffer encoded = codec.encodeRegister(register);
+
+        // Damage the title of the second task, inside its record
+        int damaged = this.indexOf(encoded, "Test title 2");
+        encoded.put(damaged, (byte) 'X');
+        TaskRegister registerRead = codec.decodeRegister(encoded);
+
+        assertEquals(2, registerRead.getNumberOfTasks());
+        assertEquals(1, codec.getSkippedRecords());
+    }
+
+    @Test
+    @DisplayName("Test that an unreadable snapshot is kept instead of overwritten")
+    void testUnreadableSnapshotIsKept() throws IOException
+    {
+        Path snapshot = Paths.get(DIRECTORY, FileUtility.SNAPSHOT_FILE);
+        Path damaged = Paths.get(DIRECTORY, FileUtility.SNAPSHOT_FILE + ".damaged");
+        Files.createDirectories(snapshot.getParent());
+        Files.write(snapshot, new byte[] {1, 2, 3});
+
+        TaskRegister registerRead = new FileUtility(DIRECTORY).getRegister();
+
+        assertEquals(0, registerRead.getNumberOfTasks());
+        assertTrue(Files.exists(damaged));
+        Files.delete(damaged);
+    }
+
+    @Test
+    @DisplayName("Test migrating a register saved with Java serialization")
+    void testMigratingLegacyFile() throws IOException
+    {
+        TaskRegister register = new TaskRegister();
+        register.addTask(new Task("Test title", "Test description", "None", this.getEndDate()));
+        register.addTask(new Task("Test title 2", "Test description 2", "None 2"));
+        FileUtility fileUtility = new FileUtility(DIRECTORY);
+        fileUtility.saveToFile(DIRECTORY + "/" + FileUtility.LEGACY_SNAPSHOT_FILE, register);
+
+        TaskRegister registerRead = fileUtility.getRegister();
+
+        assertEquals(2, registerRead.getNumberOfTasks());
+        Path snapshot = Paths.get(DIRECTORY, FileUtility.SNAPSHOT_FILE);
+        assertTrue(Files.exists(snapshot));
+        assertEquals(2, fileUtility.readRegister(snapshot).getNumberOfTasks());
+        assertFalse(Files.exists(Paths.get(DIRECTORY, FileUtility.LEGACY_SNAPSHOT_FILE)));
+        assertTrue(Files.exists(Paths.get(DIRECTORY, FileUtility.LEGACY_SNAPSHOT_FILE + ".migrated")));
+    }
+
+    @Test
+    @DisplayName("Test that the legacy file is not read in place of a damaged snapshot")
+    void testLegacyFileIsNotReadAfterDamagedSnapshot() throws IOException
+    {
+        TaskRegister register = new TaskRegister();
+        register.addTask(new Task("Test title", "Test description", "None", this.getEndDate()));
+        FileUtility fileUtility = new FileUtility(DIRECTORY);
+        fileUtility.saveToFile(DIRECTORY + "/" + FileUtility.LEGACY_SNAPSHOT_FILE, register);
+        Path snapshot = Paths.get(DIRECTORY, FileUtility.SNAPSHOT_FILE);
+        Files.write(snapshot, new byte[] {1, 2, 3});
+
+        assertEquals(0, new FileUtility(DIRECTORY).getRegister().getNumberOfTasks());
+        // The next start finds the damaged snapshot kept, and still not the old tasks
+        assertEquals(0, new FileUtility(DIRECTORY).getRegister().getNumberOfTasks());
+        assertTrue(Files.exists(Paths.get(DIRECTORY, FileUtility.SNAPSHOT_FILE + ".damaged")));
+    }
+
+    /**
+     * Returns the index of the given ASCII text in the given buffer.
+     */
+    private int indexOf(ByteBuffer buffer, String text)
+    {
+        for (int i = 0; i <= buffer.limit() - text.length(); i++) {
+            boolean found = true;
+            for (int j = 0; j < text.length() && found; j++) {
+                found = buffer.get(i + j) == text.charAt(j);
+            }
+            if (found) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the task with the given id from the given register.
+     */
+    private Task findById(TaskRegister register, long id)
+    {
+        return register.getAllTasks().stream()
+                .filter(task -> task.getId() == id)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    /**
+     * Returns a LocalDate that always set to 1000 years in the future from the current year
+     * @return a LocalDate set a 1000 years in the future
+     */
+    private LocalDate getEndDate()
+    {
+        int currentYear = LocalDate.now().getYear();
+        int endYear = currentYear + 1000;
+        String endDate = endYear + "-12-01";
+        return LocalDate.parse(endDate);
+    }
+}
@@ -0,0 +1,75 @@
+package project.toDoListApp;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskPriority;
+import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.utility.TaskColumns;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskColumnsTest
+{
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Test
+    @DisplayName("Test that the counts of the columns match a walk over the tasks")
+    void testCountsMatchTasks()
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        for (int i = 0; i < 200; i++) {
+            taskRegister.addTask(new Task.TaskBuilder("Test title " + i, "Test description", "Category " + (i % 5))
+                    .withDueDate((i % 4 == 0) ? null : TODAY.plusDays(1 + i % 9))
+                    .withTaskPriority(TaskPriority.values()[i % 3])
+                    .withStatus(i % 3 == 0)
+                    .build());
+        }
+        TaskColumns taskColumns = new TaskColumns(taskRegister);
+        taskRegister.addListener(taskColumns);
+
+        taskRegister.removeIf(task -> task.getTaskName().endsWith("7"));
+        taskRegister.setStatus(taskRegister.getTasksByCategory("Category 2"), false);
+        taskRegister.setCategory(taskRegister.getTasksByPriority(TaskPriority.LOW), "Category 9");
+        taskRegister.addTask(new Task("Test title new", "Test description", "Category 1"));
+        this.assertMatches(taskRegister, taskColumns, TODAY);
+        assertEquals(taskRegister.getCategoryDictionary().getCode("Category 9"),
+                taskColumns.getCategoryCode("Category 9"));
+        // Days later, the tasks due soon are overdue
+        this.assertMatches(taskRegister, taskColumns, TODAY.plusDays(5));
+    }
+
+    /**
+     * Asserts that the counts of the given columns are the counts of the tasks of the register.
+     */
+    private void assertMatches(TaskRegister taskRegister, TaskColumns taskColumns, LocalDate today)
+    {
+        List<Task> tasks = taskRegister.getAllTasks();
+        int[] overdue = new int[taskRegister.getCategoryDictionary().size()];
+        int[] uncompleted = new int[TaskPriority.values().length];
+        int dueThisWeek = 0;
+        for (Task task : tasks) {
+            boolean due = !task.getStatus() && task.getDueDate() != null;
+            if (due && task.getDueDate().isBefore(today)) {
+                overdue[task.getCategoryCode()]++;
+            }
+            if (due && !task.getDueDate().isAfter(today.plusDays(6)) && !task.getDueDate().isBefore(today)) {
+                dueThisWeek++;
+            }
+            if (!task.getStatus()) {
+                uncompleted[task.getTaskPriority().ordinal()]++;
+            }
+        }
+
+        assertEquals(tasks.size(), taskColumns.size());
+        assertEquals(taskRegister.getAllCompletedTasks().size(), taskColumns.countCompleted());
+        assertArrayEquals(overdue, taskColumns.countOverdueByCategory(today));
+        assertArrayEquals(uncompleted, taskColumns.countByPriority(false));
+        assertEquals(dueThisWeek, taskColumns.countUncompletedDueBetween(today, today.plusDays(6)));
+        assertEquals(tasks.size(), taskColumns.countAddedSince(TODAY));
+    }
+}
@@ -0,0 +1,192 @@
+package project.toDoListApp;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.utility.FileUtility;
+import project.toDoListApp.utility.TaskJournal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskJournalTest
+{
+    private static final String DIRECTORY = "target/journalTest";
+    private static final String JOURNAL_FILE = DIRECTORY + "/" + FileUtility.JOURNAL_FILE;
+
+    @BeforeEach
+    void deleteFiles() throws IOException
+    {
+        Files.deleteIfExists(Paths.get(DIRECTORY, FileUtility.SNAPSHOT_FILE));
+        Files.deleteIfExists(Paths.get(JOURNAL_FILE));
+    }
+
+    @Test
+    @DisplayName("Test that the changes are recorded and replayed")
+    void testReplayingChanges() throws IOException
+    {
+        FileUtility fileUtility = new FileUtility(DIRECTORY);
+        TaskRegister register = fileUtility.getRegister();
+        Task task1 = new Task("Test title", "Test description", "None", this.getEndDate());
+        Task task2 = new Task("Test title 2", "Test description 2", "None 2", this.getEndDate());
+        register.addTask(task1);
+        register.addTask(task2);
+        fileUtility.saveRegister(register);
+
+        task1.setActiveStatus(true);
+        task1.setPriority("High");
+        task2.setDescription("Changed description");
+        register.removeTask(task2);
+        Task task3 = new Task("Test title 3", "Test description 3", "None");
+        register.addTask(task3);
+        fileUtility.saveRegister(register);
+
+        TaskRegister registerRead = new FileUtility(DIRECTORY).getRegister();
+
+        assertEquals(2, registerRead.getNumberOfTasks());
+        Task task1Read = this.findByName(registerRead, "Test title");
+        assertEquals(task1.getId(), task1Read.getId());
+        assertTrue(task1Read.getStatus());
+        assertEquals("High", task1Read.getPriority());
+        assertEquals(this.getEndDate(), task1Read.getDueDate());
+        assertEquals(task3.getId(), this.findByName(registerRead, "Test title 3").getId());
+    }
+
+    @Test
+    @DisplayName("Test that only the changes since the last save are appended")
+    void testOnlyChangesAreAppended() throws IOException
+    {
+        TaskJournal journal = new TaskJournal(Paths.get(JOURNAL_FILE));
+        TaskRegister register = new TaskRegister();
+        register.addListener(journal);
+        for (int i = 0; i < 100; i++) {
+            register.addTask(new Task("Title " + i, "Description " + i, "None"));
+        }
+        assertEquals(100, journal.flush());
+
+        Task task = register.getAllTasks().get(0);
+        task.setCategory("Cooking");
+        task.setCategory("Work");
+        task.setActiveStatus(true);
+
+        assertEquals(1, journal.getPendingCount());
+        assertEquals(1, journal.flush());
+        assertEquals(0, journal.flush());
+        assertEquals(101, journal.getEntryCount());
+    }
+
+    @Test
+    @DisplayName("Test that a task added and removed before a save is never written")
+    void testAddedAndRemovedTaskIsNotWritten() throws IOException
+    {
+        TaskJournal journal = new TaskJournal(Paths.get(JOURNAL_FILE));
+        TaskRegister register = new TaskRegister();
+        register.addListener(journal);
+        Task task = new Task("Test title", "Test description", "None");
+        register.addTask(task);
+        task.setDescription("Changed description");
+        register.removeTask(task);
+
+        assertEquals(0, journal.flush());
+        assertFalse(Files.exists(Paths.get(JOURNAL_FILE)));
+    }
+
+    @Test
+    @DisplayName("Test that a torn record at the end of the journal is ignored")
+    void testTornRecordIsIgnored() throws IOException
+    {
+        Path journalFile = Paths.get(JOURNAL_FILE);
+        TaskJournal journal = new TaskJournal(journalFile);
+        TaskRegister register = new TaskRegister();
+        register.addListener(journal);
+        register.addTask(new Task("Test title", "Test description", "None"));
+        register.addTask(new Task("Test title 2", "Test description 2", "None"));
+        journal.flush();
+
+        byte[] bytes = Files.readAllBytes(journalFile);
+        Files.write(journalFile, Arrays.copyOf(bytes, bytes.length - 5));
+
+        TaskRegister registerRead = new TaskRegister();
+        assertEquals(1, new TaskJournal(journalFile).replay(registerRead));
+        assertEquals(1, registerRead.getNumberOfTasks());
+    }
+
+    @Test
+    @DisplayName("Test that records appended after a torn record are replayed")
+    void testAppendingAfterTornRecord() throws IOException
+    {
+        Path journalFile = Paths.get(JOURNAL_FILE);
+        TaskJournal journal = new TaskJournal(journalFile);
+        TaskRegister register = new TaskRegister();
+        register.addListener(journal);
+        register.addTask(new Task("Test title", "Test description", "None"));
+        register.addTask(new Task("Test title 2", "Test description 2", "None"));
+        journal.flush();
+        byte[] bytes = Files.readAllBytes(journalFile);
+        Files.write(journalFile, Arrays.copyOf(bytes, bytes.length - 5));
+
+        TaskJournal recoveredJournal = new TaskJournal(journalFile);
+        TaskRegister recoveredRegister = new TaskRegister();
+        recoveredJournal.replay(recoveredRegister);
+        recoveredRegister.addListener(recoveredJournal);
+        recoveredRegister.addTask(new Task("Test title 3", "Test description 3", "None"));
+        recoveredJournal.flush();
+
+        TaskRegister registerRead = new TaskRegister();
+        assertEquals(2, new TaskJournal(journalFile).replay(registerRead));
+        assertEquals(2, registerRead.getNumberOfTasks());
+    }
+
+    @Test
+    @DisplayName("Test that a journal of another description file generation is not replayed")
+    void testStaleJournalIsIgnored() throws IOException
+    {
+        Path journalFile = Paths.get(JOURNAL_FILE);
+        TaskJournal journal = new TaskJournal(journalFile);
+        TaskRegister register = new TaskRegister();
+        register.addListener(journal);
+        register.addTask(new Task("Test title", "Test description", "None"));
+        journal.flush();
+
+        TaskJournal staleJournal = new TaskJournal(journalFile);
+        staleJournal.setGeneration(1);
+        TaskRegister registerRead = new TaskRegister();
+
+        assertEquals(0, staleJournal.replay(registerRead));
+        assertTrue(staleJournal.isStale());
+        assertEquals(0, registerRead.getNumberOfTasks());
+    }
+
+    /**
+     * Returns the task with the given name from the given register.
+     */
+    private Task findByName(TaskRegister register, String name)
+    {
+        return register.getAllTasks().stream()
+                .filter(task -> task.getTaskName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    /**
+     * Returns a LocalDate that always set to 1000 years in the future from the current year
+     * @return a LocalDate set a 1000 years in the future
+     */
+    private LocalDate getEndDate()
+    {
+        int currentYear = LocalDate.now().getYear();
+        int endYear = currentYear + 1000;
+        String endDate = endYear + "-12-01";
+        return LocalDate.parse(endDate);
+    }
+}
@@ -0,0 +1,122 @@
+package project.toDoListApp;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import project.toDoListApp.controller.FilteredSortedTaskList;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskRegister;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Compares the cost of status toggles and display mode switches on a large register
+ * when the table's list is refilled from the register and sorted again, as it used to be,
+ * and when the FilteredSortedTaskList puts only the changed tasks in place.
+ * A listener walks every change of the list like a TableView does on the next pulse.
+ * Not run as part of the test suite, run the main method from the IDE.
+ */
+public class TaskListUpdateBenchmark
+{
+    private static final int TASKS = 50_000;
+    private static final int TOGGLES = 1_000;
+    private static final int MODE_SWITCHES = 100;
+    private static final Comparator<Task> BY_TITLE = Comparator.comparing(Task::getTaskName);
+
+    private final TaskRegister register;
+    private final boolean pipeline;
+    private final FilteredSortedTaskList taskList;
+    private final ObservableList<Task> refilledTasks;
+    private final ObservableList<Task> sortedTasks;
+    private boolean hideCompleted;
+    private long touchedRows;
+
+    public static void main(String[] args)
+    {
+        // Warm up both ways before measuring
+        new TaskListUpdateBenchmark(false).run();
+        new TaskListUpdateBenchmark(true).run();
+        long[] refill = new TaskListUpdateBenchmark(false).run();
+        long[] pipeline = new TaskListUpdateBenchmark(true).run();
+
+        System.out.printf("Status toggle, refill and sort   %,12.2f us%n", refill[0] / 1e3);
+        System.out.printf("Status toggle, pipeline          %,12.2f us%n", pipeline[0] / 1e3);
+        System.out.printf("Mode switch, refill and sort     %,12.2f us%n", refill[1] / 1e3);
+        System.out.printf("Mode switch, pipeline            %,12.2f us%n", pipeline[1] / 1e3);
+    }
+
+    private TaskListUpdateBenchmark(boolean pipeline)
+    {
+        this.register = new TaskRegister();
+        for (int i = 0; i < TASKS; i++) {
+            this.register.addTask(new Task.TaskBuilder("Task " + i, "", "None")
+                    .withStatus(i % 2 == 0)
+                    .build());
+        }
+        this.pipeline = pipeline;
+        if (pipeline) {
+            this.taskList = new FilteredSortedTaskList(this.register,
+                    task -> !this.hideCompleted || !task.getStatus());
+            this.register.addListener(this.taskList);
+            this.taskList.setComparator(BY_TITLE);
+            this.refilledTasks = null;
+            this.sortedTasks = this.taskList;
+        } else {
+            this.taskList = null;
+            this.refilledTasks = FXCollections.observableArrayList(this.register.getAllTasks());
+            this.sortedTasks = this.refilledTasks;
+            FXCollections.sort(this.refilledTasks, BY_TITLE);
+        }
+        this.sortedTasks.addListener((ListChangeListener<Task>) change -> {
+            while (change.next()) {
+                this.touchedRows += change.wasUpdated()
+                        ? change.getTo() - change.getFrom()
+                        : change.getAddedSize() + change.getRemovedSize();
+            }
+        });
+    }
+
+    /**
+     * Returns the average time of a status toggle and of a display mode switch.
+     */
+    private long[] run()
+    {
+        List<Task> tasks = this.register.getAllTasks();
+        long start = System.nanoTime();
+        for (int i = 0; i < TOGGLES; i++) {
+            Task task = tasks.get(i * (TASKS / TOGGLES));
+            task.setActiveStatus(!task.getStatus());
+            if (!this.pipeline) {
+                this.refill();
+            }
+        }
+        long toggleNanos = (System.nanoTime() - start) / TOGGLES;
+        long toggleRows = this.touchedRows / TOGGLES;
+
+        this.touchedRows = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < MODE_SWITCHES; i++) {
+            this.hideCompleted = !this.hideCompleted;
+            if (this.pipeline) {
+                this.taskList.refilter(this.register.getAllCompletedTasks());
+            } else {
+                this.refill();
+            }
+        }
+        long switchNanos = (System.nanoTime() - start) / MODE_SWITCHES;
+        System.out.printf("%s: %,d rows touched per toggle, %,d per mode switch%n",
+                this.pipeline ? "Pipeline" : "Refill", toggleRows, this.touchedRows / MODE_SWITCHES);
+        return new long[] {toggleNanos, switchNanos};
+    }
+
+    /**
+     * Refills the list from the register and sorts it the way the controller and the table used to.
+     */
+    private void refill()
+    {
+        this.refilledTasks.setAll(this.hideCompleted
+                ? this.register.getAllUncompletedTasks() : this.register.getAllTasks());
+        FXCollections.sort(this.refilledTasks, BY_TITLE);
+    }
+}
@@ -0,0 +1,120 @@
+package project.toDoListApp;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskPriority;
+import project.toDoListApp.model.TaskQuery;
+import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.utility.SearchIndex;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskQueryTest
+{
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Test
+    @DisplayName("Test that a query returns the same tasks as a scan of all the tasks")
+    void testQueryMatchesScan()
+    {
+        TaskRegister taskRegister = this.createRegister(300);
+        List<TaskQuery> queries = List.of(
+                new TaskQuery.QueryBuilder().withStatus(false).build(),
+                new TaskQuery.QueryBuilder().withCategory("Category 3").withStatus(true).build(),
+                new TaskQuery.QueryBuilder().withPriority(TaskPriority.HIGH)
+                        .withDueBetween(TODAY.plusDays(3), TODAY.plusDays(5)).build(),
+                new TaskQuery.QueryBuilder().withCategory("Unknown").build(),
+                new TaskQuery.QueryBuilder().withDueBetween(TODAY.plusDays(9), TODAY.plusDays(1)).build());
+
+        for (TaskQuery query : queries) {
+            Set<Task> expected = taskRegister.getAllTasks().stream()
+                    .filter(query::accepts).collect(Collectors.toSet());
+            assertEquals(expected, taskRegister.query(query).collect(Collectors.toSet()));
+        }
+    }
+
+    @Test
+    @DisplayName("Test that the most selective index is chosen")
+    void testMostSelectiveIndexIsChosen()
+    {
+        TaskRegister taskRegister = this.createRegister(300);
+
+        assertTrue(taskRegister.explain(new TaskQuery.QueryBuilder()
+                .withStatus(false).withCategory("Category 3").build()).startsWith("category index"));
+        assertTrue(taskRegister.explain(new TaskQuery.QueryBuilder().withStatus(false)
+                .withDueBetween(TODAY.plusDays(2), TODAY.plusDays(2)).build()).startsWith("due date index"));
+        assertEquals("category index, 0 tasks", taskRegister.explain(new TaskQuery.QueryBuilder()
+                .withPriority(TaskPriority.LOW).withCategory("Unknown").build()));
+        assertTrue(taskRegister.explain(new TaskQuery.QueryBuilder().build()).startsWith("all tasks"));
+    }
+
+    @Test
+    @DisplayName("Test ordering and limiting the tasks of a query")
+    void testOrderAndLimit()
+    {
+        TaskRegister taskRegister = this.createRegister(300);
+
+        List<Task> firstDue = taskRegister.query(new TaskQuery.QueryBuilder()
+                .orderBy(TaskQuery.Order.DUE_DATE).withLimit(25).build()).collect(Collectors.toList());
+        assertTrue(taskRegister.explain(new TaskQuery.QueryBuilder()
+                .orderBy(TaskQuery.Order.DUE_DATE).withLimit(25).build()).startsWith("due date index in order"));
+        assertEquals(25, firstDue.size());
+        List<Task> allByDueDate = new ArrayList<>(taskRegister.getAllTasks());
+        allByDueDate.sort(TaskQuery.Order.DUE_DATE.getComparator());
+        assertEquals(allByDueDate.get(24).getDueDate(), firstDue.get(24).getDueDate());
+
+        List<Task> firstTitles = taskRegister.query(new TaskQuery.QueryBuilder().withStatus(false)
+                .orderBy(TaskQuery.Order.TITLE).withLimit(3).build()).collect(Collectors.toList());
+        List<Task> expected = taskRegister.getAllUncompletedTasks().stream()
+                .sorted(TaskQuery.Order.TITLE.getComparator()).limit(3).collect(Collectors.toList());
+        assertEquals(expected, firstTitles);
+    }
+
+    @Test
+    @DisplayName("Test the text condition with and without a text index")
+    void testTextCondition()
+    {
+        TaskRegister taskRegister = this.createRegister(600);
+        TaskQuery query = new TaskQuery.QueryBuilder().withText("title 13").withStatus(false).build();
+        Set<Task> scanned = taskRegister.query(query).collect(Collectors.toSet());
+
+        SearchIndex searchIndex = new SearchIndex(taskRegister);
+        taskRegister.addListener(searchIndex);
+        taskRegister.setTextIndex(searchIndex);
+        Set<Task> indexed = taskRegister.query(query).collect(Collectors.toSet());
+
+        assertTrue(taskRegister.explain(query).startsWith("text index"));
+        assertTrue(indexed.contains(taskRegister.getAllTasks().stream()
+                .filter(task -> task.getTaskName().equals("Test title 13")).findFirst().orElseThrow()));
+        // The index matches words, a scan matches any text within
+        assertTrue(scanned.containsAll(indexed));
+        assertEquals(new HashSet<>(indexed), taskRegister.query(query).collect(Collectors.toSet()));
+    }
+
+    /**
+     * Returns a register holding the given number of tasks, in ten categories,
+     * due over the next ten days and every third one completed.
+     */
+    private TaskRegister createRegister(int numberOfTasks)
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        for (int i = 0; i < numberOfTasks; i++) {
+            Task task = new Task.TaskBuilder("Test title " + i, "Test description " + i, "Category " + (i % 10))
+                    .withDueDate((i % 7 == 0) ? null : TODAY.plusDays(1 + i % 10))
+                    .withTaskPriority(TaskPriority.values()[i % 3])
+                    .withStatus(i % 3 == 0)
+                    .build();
+            taskRegister.addTask(task);
+        }
+        return taskRegister;
+    }
+}
@@ -0,0 +1,230 @@
+package project.toDoListApp;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskPriority;
+import project.toDoListApp.model.TaskRegister;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stress tests for reading and changing the task register from several threads at once.
+ */
+class TaskRegisterConcurrencyTest
+{
+    private static final int THREADS = 4;
+    private static final int TASKS_PER_THREAD = 2_000;
+
+    @Test
+    @DisplayName("Test adding and removing tasks from several threads")
+    void testConcurrentAddingAndRemoving() throws Exception
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        List<Callable<List<Task>>> writers = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int writer = thread;
+            writers.add(() -> {
+                List<Task> kept = new ArrayList<>();
+                for (int i = 0; i < TASKS_PER_THREAD; i++) {
+                    Task task = this.createTask(writer, i);
+                    taskRegister.addTask(task);
+                    if (i % 2 == 0) {
+                        taskRegister.removeTask(task);
+                    } else {
+                        kept.add(task);
+                    }
+                }
+                return kept;
+            });
+        }
+
+        List<Task> kept = new ArrayList<>();
+        for (List<Task> tasks : this.runAll(writers)) {
+            kept.addAll(tasks);
+        }
+
+        assertEquals(kept.size(), taskRegister.getNumberOfTasks());
+        Set<Long> ids = new HashSet<>();
+        for (Task task : kept) {
+            assertTrue(ids.add(task.getId()));
+            assertSame(task, taskRegister.getTask(task.getId()));
+        }
+        assertEquals(kept.size(), taskRegister.getAllUncompletedTasks().size()
+                + taskRegister.getAllCompletedTasks().size());
+        int byPriority = 0;
+        for (TaskPriority priority : TaskPriority.values()) {
+            byPriority += taskRegister.getTasksByPriority(priority).size();
+        }
+        assertEquals(kept.size(), byPriority);
+    }
+
+    @Test
+    @DisplayName("Test reading the task register while other threads change it")
+    void testReadingWhileChanging() throws Exception
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger writersLeft = new AtomicInteger(THREADS / 2);
+        List<Callable<Integer>> workers = new ArrayList<>();
+        for (int thread = 0; thread < THREADS / 2; thread++) {
+            int writer = thread;
+            workers.add(() -> {
+                try {
+                    for (int i = 0; i < TASKS_PER_THREAD; i++) {
+                        Task task = this.createTask(writer, i);
+                        taskRegister.addTask(task);
+                        task.setActiveStatus(i % 3 == 0);
+                        task.setCategory("Category " + (i % 5));
+                        if (i % 4 == 0) {
+                            taskRegister.removeTask(task);
+                        }
+                    }
+                } finally {
+                    if (writersLeft.decrementAndGet() == 0) {
+                        writing.set(false);
+                    }
+                }
+                return 0;
+            });
+        }
+        for (int thread = 0; thread < THREADS / 2; thread++) {
+            workers.add(() -> {
+                int reads = 0;
+                while (writing.get()) {
+                    this.assertSnapshot(taskRegister.getAllTasks());
+                    this.assertSnapshot(taskRegister.getAllUncompletedTasks());
+                    this.assertSnapshot(taskRegister.getAllCompletedTasks());
+                    assertFalse(taskRegister.getCategories().contains(null));
+
+                    boolean consistent = taskRegister.read(() -> {
+                        List<Task> uncompleted = taskRegister.getAllUncompletedTasks();
+                        List<Task> completed = taskRegister.getAllCompletedTasks();
+                        for (Task task : completed) {
+                            if (!task.getStatus()) {
+                                return false;
+                            }
+                        }
+                        return uncompleted.size() + completed.size() == taskRegister.getNumberOfTasks();
+                    });
+                    assertTrue(consistent);
+                    reads++;
+                }
+                return reads;
+            });
+        }
+
+        this.runAll(workers);
+
+        int expected = THREADS / 2 * (TASKS_PER_THREAD - TASKS_PER_THREAD / 4);
+        assertEquals(expected, taskRegister.getNumberOfTasks());
+        assertEquals(expected, taskRegister.getAllTasks().size());
+    }
+
+    @Test
+    @DisplayName("Test that a reader sees a single state of the register while a writer waits")
+    void testReaderSeesSingleState() throws Exception
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        taskRegister.addTask(this.createTask(0, 0));
+        CountDownLatch readerStarted = new CountDownLatch(1);
+        CountDownLatch readerReleased = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> reader = executor.submit(() -> taskRegister.read(() -> {
+                readerStarted.countDown();
+                try {
+                    readerReleased.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return taskRegister.getAllTasks().size();
+            }));
+
+            assertTrue(readerStarted.await(10, TimeUnit.SECONDS));
+            Future<?> writer = executor.submit(() -> taskRegister.addTask(this.createTask(0, 1)));
+            // The writer waits for the read lock held by the reader
+            assertThrows(TimeoutException.class, () -> writer.get(200, TimeUnit.MILLISECONDS));
+            readerReleased.countDown();
+
+            assertEquals(1, reader.get(10, TimeUnit.SECONDS));
+            writer.get(10, TimeUnit.SECONDS);
+            assertEquals(2, taskRegister.getNumberOfTasks());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Asserts that the given snapshot holds no nulls nor the same task twice.
+     */
+    private void assertSnapshot(List<Task> snapshot)
+    {
+        Set<Task> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Task task : snapshot) {
+            assertNotNull(task);
+            assertTrue(seen.add(task));
+        }
+    }
+
+    /**
+     * Runs the given tasks on their own threads at once and returns their results.
+     */
+    private <T> List<T> runAll(List<Callable<T>> tasks) throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (Callable<T> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns a new task for the given writer.
+     */
+    private Task createTask(int writer, int index)
+    {
+        return new Task.TaskBuilder("Task " + writer + "-" + index, "Description " + index,
+                "Category " + (index % 5))
+                .withDueDate(LocalDate.now().plusDays(index % 30))
+                .withTaskPriority(TaskPriority.values()[index % TaskPriority.values().length])
+                .build();
+    }
+}
@@ -4,12 +4,26 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import project.toDoListApp.model.CategoryDictionary;
 import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskCursor;
+import project.toDoListApp.model.TaskPage;
+import project.toDoListApp.model.TaskPriority;
+import project.toDoListApp.model.TaskQuery;
 import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.model.TaskRegisterListener;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class TaskRegisterTest
@@ -166,6 +180,302 @@ class TaskRegisterTest
         assertTrue(taskRegister.getAllUncompletedTasks().isEmpty());
     }
 
+    @Test
+    @DisplayName("Test looking up tasks by their id")
+    void testGettingTaskById()
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        Task task1 = new Task("Test title", "Test description",
+            "None");
+        Task task2 = new Task("Test title 2", "Test description 2",
+            "None 2");
+        taskRegister.addTask(task1);
+        taskRegister.addTask(task2);
+
+        assertSame(task1, taskRegister.getTask(task1.getId()));
+        assertSame(task2, taskRegister.getTask(task2.getId()));
+
+        taskRegister.removeTask(task1);
+        assertNull(taskRegister.getTask(task1.getId()));
+    }
+
+    @Test
+    @DisplayName("Test that a task with a taken id is given a new one")
+    void testAddingTaskWithTakenId()
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        TaskRegister otherRegister = new TaskRegister();
+        Task task1 = new Task("Test title", "Test description",
+            "None");
+        Task task2 = new Task("Test title 2", "Test description 2",
+            "None 2");
+        taskRegister.addTask(task1);
+        otherRegister.addTask(task2);
+        assertEquals(task1.getId(), task2.getId());
+
+        taskRegister.addTask(task2);
+
+        assertEquals(2, taskRegister.getNumberOfTasks());
+        assertNotEquals(task1.getId(), task2.getId());
+        assertSame(task1, taskRegister.getTask(task1.getId()));
+        assertSame(task2, taskRegister.getTask(task2.getId()));
+    }
+
+    @Test
+    @DisplayName("Test that the filtered lists follow the changes made to the tasks")
+    void testIndexesFollowTaskChanges()
+    {
+        LocalDate endDate = this.getEndDate();
+        TaskRegister taskRegister = new TaskRegister();
+        Task task1 = new Task("Test title", "Test description",
+            "None", endDate);
+        Task task2 = new Task("Test title 2", "Test description 2",
+            "None 2");
+        taskRegister.addTask(task1);
+        taskRegister.addTask(task2);
+
+        task1.setActiveStatus(true);
+        task1.setCategory("Work");
+        task1.setPriority("High");
+        task2.setDueDate(endDate.minusDays(10));
+
+        assertEquals(List.of(task1), taskRegister.getAllCompletedTasks());
+        assertEquals(List.of(task2), taskRegister.getAllUncompletedTasks());
+        assertEquals(List.of(task1), taskRegister.getTasksByCategory("Work"));
+        assertTrue(taskRegister.getTasksByCategory("None").isEmpty());
+        assertEquals(List.of(task1), taskRegister.getTasksByPriority("High"));
+        assertEquals(List.of(task2), taskRegister.getTasksByPriority("Medium"));
+        assertEquals(List.of(task2, task1),
+            taskRegister.getTasksDueBetween(endDate.minusDays(10), endDate));
+        assertEquals(List.of(task2),
+            taskRegister.getTasksDueBetween(endDate.minusDays(20), endDate.minusDays(1)));
+        assertTrue(taskRegister.getTasksWithoutDueDate().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test that a removed task is removed from the filtered lists")
+    void testRemovedTaskLeavesIndexes()
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        Task task1 = new Task("Test title", "Test description",
+            "None");
+        taskRegister.addTask(task1);
+
+        taskRegister.removeTask(task1);
+        task1.setActiveStatus(true);
+
+        assertTrue(taskRegister.getAllCompletedTasks().isEmpty());
+        assertTrue(taskRegister.getAllUncompletedTasks().isEmpty());
+        assertTrue(taskRegister.getCategories().isEmpty());
+        assertTrue(taskRegister.getTasksByPriority("Medium").isEmpty());
+        assertTrue(taskRegister.getTasksWithoutDueDate().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test that the tasks of a category share its code and name")
+    void testCategoryCodes()
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        Task task1 = new Task("Test title", "Test description",
+            new String("Work"));
+        Task task2 = new Task("Test title 2", "Test description 2",
+            new String("Work"));
+        Task task3 = new Task("Test title 3", "Test description 3",
+            "Home");
+        assertEquals(CategoryDictionary.NO_CODE, task1.getCategoryCode());
+        taskRegister.addTask(task1);
+        taskRegister.addTask(task2);
+        taskRegister.addTask(task3);
+
+        assertEquals(task1.getCategoryCode(), task2.getCategoryCode());
+        assertNotEquals(task1.getCategoryCode(), task3.getCategoryCode());
+        assertSame(task1.getCategory(), task2.getCategory());
+        assertEquals(List.of(task3), taskRegister.getTasksByCategory(task3.getCategoryCode()));
+
+        task2.setCategory("Home");
+        assertEquals(task3.getCategoryCode(), task2.getCategoryCode());
+        assertSame(task3.getCategory(), task2.getCategory());
+        assertEquals(List.of(task1), taskRegister.getTasksByCategory("Work"));
+
+        taskRegister.removeTask(task1);
+        assertEquals(CategoryDictionary.NO_CODE, task1.getCategoryCode());
+        assertEquals(List.of("Home"), taskRegister.getCategories());
+    }
+
+    @Test
+    @DisplayName("Test that the task lists are shared snapshots until the register changes")
+    void testSnapshots()
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        Task task1 = new Task("Test title", "Test description",
+            "None");
+        Task task2 = new Task("Test title 2", "Test description 2",
+            "None 2");
+        taskRegister.addTask(task1);
+
+        List<Task> allTasks = taskRegister.getAllTasks();
+        List<Task> uncompletedTasks = taskRegister.getAllUncompletedTasks();
+        List<Task> completedTasks = taskRegister.getAllCompletedTasks();
+        assertSame(allTasks, taskRegister.getAllTasks());
+        assertThrows(UnsupportedOperationException.class, () -> allTasks.add(task2));
+
+        task1.setCategory("Work");
+        assertSame(allTasks, taskRegister.getAllTasks());
+        assertSame(uncompletedTasks, taskRegister.getAllUncompletedTasks());
+
+        task1.setActiveStatus(true);
+        assertSame(allTasks, taskRegister.getAllTasks());
+        assertEquals(List.of(task1), taskRegister.getAllCompletedTasks());
+        assertTrue(taskRegister.getAllUncompletedTasks().isEmpty());
+        assertEquals(List.of(task1), uncompletedTasks);
+        assertTrue(completedTasks.isEmpty());
+
+        taskRegister.addTask(task2);
+        assertEquals(2, taskRegister.getAllTasks().size());
+        assertEquals(List.of(task1), allTasks);
+    }
+
+    @Test
+    @DisplayName("Test that the batch operations notify the listeners once")
+    void testBatchOperations()
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        List<String> notifications = new ArrayList<>();
+        taskRegister.addListener(new TaskRegisterListener()
+        {
+            @Override
+            public void taskAdded(Task task)
+            {
+                notifications.add("added");
+            }
+
+            @Override
+            public void taskRemoved(Task task)
+            {
+                notifications.add("removed");
+            }
+
+            @Override
+            public void taskUpdated(Task task)
+            {
+                notifications.add("updated");
+            }
+
+            @Override
+            public void tasksChanged(List<Task> added, List<Task> removed, List<Task> updated)
+            {
+                notifications.add(added.size() + " added, " + removed.size() + " removed, "
+                        + updated.size() + " updated");
+            }
+        });
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tasks.add(new Task("Test title " + i, "Test description", "None"));
+        }
+
+        taskRegister.addAll(tasks);
+        taskRegister.setStatus(tasks.subList(0, 3), true);
+        taskRegister.setPriority(tasks, TaskPriority.HIGH);
+        taskRegister.setCategory(tasks.subList(3, 5), "Work");
+        List<Task> removed = taskRegister.removeIf(Task::getStatus);
+
+        assertEquals(List.of("5 added, 0 removed, 0 updated", "0 added, 0 removed, 3 updated",
+                "0 added, 0 removed, 5 updated", "0 added, 0 removed, 2 updated",
+                "0 added, 3 removed, 0 updated"), notifications);
+        assertEquals(new HashSet<>(tasks.subList(0, 3)), new HashSet<>(removed));
+        assertEquals(2, taskRegister.getNumberOfTasks());
+        assertEquals(0, taskRegister.getAllCompletedTasks().size());
+        assertEquals(2, taskRegister.getTasksByPriority(TaskPriority.HIGH).size());
+        assertEquals(List.of("Work"), taskRegister.getCategories());
+
+        // A task changed outside of a batch is notified on its own again
+        tasks.get(4).setTaskName("Renamed");
+        assertEquals("updated", notifications.get(notifications.size() - 1));
+    }
+
+    @Test
+    @DisplayName("Test reading the tasks a page at a time")
+    void testPages()
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        for (int i = 0; i < 25; i++) {
+            taskRegister.addTask(new Task("Test title " + (char) ('a' + i), "Test description", "None"));
+        }
+        assertThrows(IllegalStateException.class, () -> taskRegister.getPage(TaskQuery.Order.TITLE, null, 10));
+        taskRegister.keepOrder(TaskQuery.Order.TITLE);
+
+        TaskPage first = taskRegister.getPage(TaskQuery.Order.TITLE, null, 10);
+        assertEquals("Test title a", first.getTasks().get(0).getTaskName());
+        assertEquals(10, first.getTasks().size());
+        assertTrue(first.hasNext());
+
+        // A task removed before the cursor does not move the next page
+        taskRegister.removeTask(first.getTasks().get(2));
+        TaskPage second = taskRegister.getPage(TaskQuery.Order.TITLE, first.getNext(), 10);
+        assertEquals("Test title k", second.getTasks().get(0).getTaskName());
+        assertEquals(18, taskRegister.getPosition(second.getNext()));
+
+        TaskPage last = taskRegister.getPage(TaskQuery.Order.TITLE, second.getNext(), 10);
+        assertEquals(List.of("Test title u", "Test title v", "Test title w", "Test title x", "Test title y"),
+                last.getTasks().stream().map(Task::getTaskName).collect(Collectors.toList()));
+        assertFalse(last.hasNext());
+        assertEquals(second.getNext(), taskRegister.skip(TaskQuery.Order.TITLE, first.getNext(), 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> taskRegister.getPage(TaskQuery.Order.DUE_DATE, first.getNext(), 10));
+
+        // A renamed task is found at its new place, by position as by cursor
+        second.getTasks().get(0).setTaskName("Test title z");
+        assertEquals("Test title l", taskRegister.getPage(TaskQuery.Order.TITLE, 9, 1).getTasks().get(0).getTaskName());
+        assertEquals("Test title z", taskRegister.getPage(TaskQuery.Order.TITLE, 23, 10).getTasks().get(0).getTaskName());
+        assertTrue(taskRegister.getPage(TaskQuery.Order.TITLE, 24, 10).getTasks().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test that the tasks kept in every order follow the changes made to them")
+    void testKeptOrdersFollowChanges()
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        for (TaskQuery.Order order : TaskQuery.Order.values()) {
+            taskRegister.keepOrder(order);
+        }
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            List<Task> tasks = taskRegister.getAllTasks();
+            int change = random.nextInt(5);
+            if (tasks.isEmpty() || change < 2) {
+                taskRegister.addTask(new Task.TaskBuilder("Test title " + random.nextInt(50), "Test description", "None")
+                        .withDueDate(random.nextBoolean() ? null : LocalDate.of(2030, 1, 1 + random.nextInt(20)))
+                        .withTaskPriority(TaskPriority.values()[random.nextInt(3)])
+                        .build());
+            } else {
+                Task task = tasks.get(random.nextInt(tasks.size()));
+                if (change == 2) {
+                    taskRegister.removeTask(task);
+                } else if (change == 3) {
+                    task.setTaskName("Test title " + random.nextInt(50));
+                } else {
+                    task.setTaskPriority(TaskPriority.values()[random.nextInt(3)]);
+                    task.setDueDate(random.nextBoolean() ? null : LocalDate.of(2030, 1, 1 + random.nextInt(20)));
+                }
+            }
+        }
+
+        for (TaskQuery.Order order : TaskQuery.Order.values()) {
+            List<Task> sorted = new ArrayList<>(taskRegister.getAllTasks());
+            sorted.sort((task1, task2) -> TaskCursor.of(order, task1).compareTo(TaskCursor.of(order, task2)));
+            List<Task> paged = new ArrayList<>();
+            TaskPage page = taskRegister.getPage(order, null, 7);
+            paged.addAll(page.getTasks());
+            while (page.hasNext()) {
+                assertEquals(paged.size(), taskRegister.getPosition(page.getNext()) + 1);
+                page = taskRegister.getPage(order, page.getNext(), 7);
+                paged.addAll(page.getTasks());
+            }
+            assertEquals(sorted, paged);
+            assertEquals(sorted.subList(100, 107), taskRegister.getPage(order, 100, 7).getTasks());
+        }
+    }
+
     /**
      * Returns a LocalDate that always set to 1000 years in the future from the current year
      * @return a LocalDate set a 1000 years in the future
@@ -0,0 +1,165 @@
+package project.toDoListApp;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskPriority;
+import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.utility.TaskStatistics;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskStatisticsTest
+{
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Test
+    @DisplayName("Test that the statistics follow the changes made to the register")
+    void testStatisticsFollowChanges()
+    {
+        TaskRegister taskRegister = this.createRegister();
+        MovableClock clock = new MovableClock(TODAY.atTime(LocalTime.NOON));
+        TaskStatistics statistics = new TaskStatistics(taskRegister, clock);
+        taskRegister.addListener(statistics);
+        List<String> changes = new ArrayList<>();
+        statistics.setOnChanged(() -> changes.add("changed"));
+        this.assertCounts(taskRegister, statistics, TODAY);
+
+        Task task = taskRegister.getAllUncompletedTasks().get(0);
+        task.setDescription("Only the description changed");
+        assertTrue(changes.isEmpty());
+        task.setActiveStatus(true);
+        task.setCategory("Category 7");
+        taskRegister.removeTask(taskRegister.getAllTasks().get(3));
+        taskRegister.setPriority(taskRegister.getTasksByCategory("Category 1"), TaskPriority.HIGH);
+        taskRegister.removeIf(removed -> removed.getTaskName().endsWith("9"));
+        taskRegister.addTask(new Task.TaskBuilder("Test title new", "Test description", "Category 8")
+                .withDueDate(TODAY.plusDays(1)).build());
+
+        assertEquals(6, changes.size());
+        this.assertCounts(taskRegister, statistics, TODAY);
+    }
+
+    @Test
+    @DisplayName("Test that the day dependent counts move when a new day begins")
+    void testNewDay()
+    {
+        TaskRegister taskRegister = this.createRegister();
+        MovableClock clock = new MovableClock(TODAY.atTime(LocalTime.NOON));
+        TaskStatistics statistics = new TaskStatistics(taskRegister, clock);
+        taskRegister.addListener(statistics);
+        assertFalse(statistics.updateDay());
+
+        clock.moveTo(TODAY.plusDays(4).atTime(LocalTime.MIDNIGHT));
+        assertTrue(statistics.updateDay());
+        this.assertCounts(taskRegister, statistics, TODAY.plusDays(4));
+
+        // A change after a long time away moves the day first
+        clock.moveTo(TODAY.plusDays(400).atTime(LocalTime.NOON));
+        taskRegister.getAllUncompletedTasks().get(0).setActiveStatus(true);
+        this.assertCounts(taskRegister, statistics, TODAY.plusDays(400));
+    }
+
+    /**
+     * Returns a register holding tasks in five categories, due over the next twenty days.
+     */
+    private TaskRegister createRegister()
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        for (int i = 0; i < 100; i++) {
+            taskRegister.addTask(new Task.TaskBuilder("Test title " + i, "Test description", "Category " + (i % 5))
+                    .withDueDate((i % 6 == 0) ? null : TODAY.plusDays(1 + i % 20))
+                    .withTaskPriority(TaskPriority.values()[i % 3])
+                    .withStatus(i % 4 == 0)
+                    .build());
+        }
+        return taskRegister;
+    }
+
+    /**
+     * Asserts that the given statistics match the counts of the tasks of the register on the given day.
+     */
+    private void assertCounts(TaskRegister taskRegister, TaskStatistics statistics, LocalDate today)
+    {
+        LocalDate endOfWeek = today.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+        int overdue = 0;
+        int dueThisWeek = 0;
+        for (Task task : taskRegister.getAllUncompletedTasks()) {
+            if (task.getDueDate() != null && task.getDueDate().isBefore(today)) {
+                overdue++;
+            } else if (task.getDueDate() != null && !task.getDueDate().isAfter(endOfWeek)) {
+                dueThisWeek++;
+            }
+        }
+
+        assertEquals(taskRegister.getAllUncompletedTasks().size(), statistics.getNumberOfOpenTasks());
+        assertEquals(taskRegister.getAllCompletedTasks().size(), statistics.getNumberOfCompletedTasks());
+        assertEquals(overdue, statistics.getNumberOfOverdueTasks());
+        assertEquals(dueThisWeek, statistics.getNumberOfTasksDueThisWeek());
+        for (TaskPriority priority : TaskPriority.values()) {
+            List<Task> tasks = taskRegister.getTasksByPriority(priority);
+            assertEquals(tasks.stream().filter(Task::getStatus).count(),
+                    statistics.getNumberOfCompletedTasks(priority));
+            assertEquals(tasks.stream().filter(task -> !task.getStatus()).count(),
+                    statistics.getNumberOfOpenTasks(priority));
+        }
+        assertEquals(taskRegister.getCategories().size(), statistics.getCategories().size());
+        for (String category : taskRegister.getCategories()) {
+            List<Task> tasks = taskRegister.getTasksByCategory(category);
+            assertEquals(tasks.stream().filter(Task::getStatus).count(),
+                    statistics.getNumberOfCompletedTasks(category));
+            assertEquals(tasks.stream().filter(task -> !task.getStatus()).count(),
+                    statistics.getNumberOfOpenTasks(category));
+        }
+    }
+
+    /**
+     * A clock that only moves when told to.
+     */
+    private static final class MovableClock extends Clock
+    {
+        private volatile Instant now;
+
+        private MovableClock(LocalDateTime now)
+        {
+            this.moveTo(now);
+        }
+
+        private void moveTo(LocalDateTime now)
+        {
+            this.now = now.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone()
+        {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant()
+        {
+            return this.now;
+        }
+    }
+}
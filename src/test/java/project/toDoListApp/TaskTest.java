@@ -5,9 +5,12 @@ import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
 import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskPriority;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class TaskTest
@@ -226,6 +229,25 @@ class TaskTest
         assertEquals(endDate, task.getDueDate());
     }
 
+    @Test
+    @DisplayName("Test that only a due date saved from the task can be restored")
+    void testRestoringSavedDueDate()
+    {
+        LocalDate endDate = this.getEndDate();
+        Task task = new Task("Test title", "Test description",
+                "None", endDate);
+        Task otherTask = new Task("Other title", "Test description",
+                "None", endDate);
+        Task.SavedDueDate saved = task.saveDueDate();
+
+        task.setDueDate(LocalDate.parse("4100-12-01"));
+        task.restoreDueDate(saved);
+
+        assertEquals(endDate, task.getDueDate());
+        assertThrows(IllegalArgumentException.class, () -> otherTask.restoreDueDate(saved));
+        assertThrows(IllegalArgumentException.class, () -> task.restoreDueDate(null));
+    }
+
     @Test
     @DisplayName("Test setting the task's status to false")
     void testSettingTaskStatusToFalse()
@@ -252,6 +274,35 @@ class TaskTest
         assertTrue(task.getStatus());
     }
 
+    @Test
+    @DisplayName("Test setting the task's priority by its name")
+    void testSettingTaskPriorityByName()
+    {
+        LocalDate endDate = this.getEndDate();
+        Task task = new Task("Test title", "Test description",
+                "None", endDate);
+        assertEquals(TaskPriority.MEDIUM, task.getTaskPriority());
+
+        task.setPriority("high");
+        assertEquals(TaskPriority.HIGH, task.getTaskPriority());
+        assertEquals("High", task.getPriority());
+
+        assertThrows(IllegalArgumentException.class, () -> task.setPriority("Urgent"));
+        task.setPriority(null);
+        task.setPriority(" ");
+        assertEquals(TaskPriority.HIGH, task.getTaskPriority());
+    }
+
+    @Test
+    @DisplayName("Test that priorities are ordered from low to high")
+    void testPriorityOrder()
+    {
+        assertTrue(TaskPriority.LOW.compareTo(TaskPriority.MEDIUM) < 0);
+        assertTrue(TaskPriority.MEDIUM.compareTo(TaskPriority.HIGH) < 0);
+        assertEquals(TaskPriority.HIGH, TaskPriority.fromOrdinal(TaskPriority.HIGH.ordinal()));
+        assertNull(TaskPriority.fromOrdinal(3));
+    }
+
     /**
      * Returns a LocalDate that always set to 1000 years in the future from the current year
      * @return a LocalDate set a 1000 years in the future
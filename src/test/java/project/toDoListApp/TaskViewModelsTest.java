@@ -0,0 +1,80 @@
+package project.toDoListApp;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.toDoListApp.controller.TaskViewModel;
+import project.toDoListApp.controller.TaskViewModels;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskPriority;
+import project.toDoListApp.model.TaskRegister;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskViewModelsTest
+{
+    @Test
+    @DisplayName("Test that a task has a single view model that follows its changes")
+    void testViewModelFollowsTask()
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        TaskViewModels viewModels = new TaskViewModels();
+        taskRegister.addListener(viewModels);
+        Task task = new Task("Test title", "Test description", "None");
+        taskRegister.addTask(task);
+
+        TaskViewModel viewModel = viewModels.get(task);
+        assertSame(viewModel, viewModels.get(task));
+
+        task.setTaskName("Test title 2");
+        task.setTaskPriority(TaskPriority.HIGH);
+        task.setActiveStatus(true);
+
+        assertEquals("Test title 2", viewModel.taskNameProperty().get());
+        assertEquals(TaskPriority.HIGH, viewModel.priorityProperty().get());
+        assertTrue(viewModel.statusProperty().get());
+    }
+
+    @Test
+    @DisplayName("Test that a status changed through the view model is set on the task")
+    void testStatusEditedThroughViewModel()
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        TaskViewModels viewModels = new TaskViewModels();
+        taskRegister.addListener(viewModels);
+        List<Task> editedTasks = new ArrayList<>();
+        viewModels.setOnStatusEdited(editedTasks::add);
+        Task task = new Task("Test title", "Test description", "None");
+        taskRegister.addTask(task);
+
+        viewModels.get(task).statusProperty().set(true);
+        assertTrue(task.getStatus());
+        assertEquals(List.of(task), editedTasks);
+
+        // A change made to the task is not reported as edited through the view model
+        task.setActiveStatus(false);
+        assertEquals(List.of(task), editedTasks);
+    }
+
+    @Test
+    @DisplayName("Test that the view model of a removed task is dropped")
+    void testViewModelOfRemovedTaskIsDropped()
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        TaskViewModels viewModels = new TaskViewModels();
+        taskRegister.addListener(viewModels);
+        Task task = new Task("Test title", "Test description", "None");
+        taskRegister.addTask(task);
+        TaskViewModel viewModel = viewModels.get(task);
+
+        taskRegister.removeTask(task);
+
+        assertEquals(0, viewModels.size());
+        assertNotSame(viewModel, viewModels.get(task));
+    }
+}
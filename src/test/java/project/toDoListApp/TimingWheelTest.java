@@ -0,0 +1,81 @@
+package project.toDoListApp;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import project.toDoListApp.utility.TimingWheel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest
+{
+    @Test
+    @DisplayName("Test that timeouts fire on their tick and not before")
+    void testTimeoutsFireOnTime()
+    {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        wheel.schedule("a", 25);
+        wheel.schedule("b", 40);
+        List<String> expired = new ArrayList<>();
+
+        wheel.advance(29, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(30, expired::add);
+        assertEquals(List.of("a"), expired);
+
+        wheel.advance(45, expired::add);
+        assertEquals(List.of("a", "b"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Test timeouts further away than one turn of the wheel")
+    void testTimeoutsBeyondOneTurn()
+    {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        // Both hash to the same slot, one turn apart
+        wheel.schedule("near", 30);
+        wheel.schedule("far", 110);
+        List<String> expired = new ArrayList<>();
+
+        wheel.advance(100, expired::add);
+        assertEquals(List.of("near"), expired);
+        assertTrue(wheel.isScheduled("far"));
+
+        // Jumping many turns ahead fires everything due
+        wheel.advance(10_000, expired::add);
+        assertEquals(List.of("near", "far"), expired);
+    }
+
+    @Test
+    @DisplayName("Test cancelling and rescheduling timeouts")
+    void testCancelAndReschedule()
+    {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        wheel.schedule("a", 20);
+        wheel.schedule("b", 20);
+        wheel.schedule("c", 20);
+        List<String> expired = new ArrayList<>();
+
+        assertTrue(wheel.cancel("b"));
+        assertFalse(wheel.cancel("b"));
+        wheel.schedule("c", 500);
+        assertEquals(2, wheel.size());
+
+        wheel.advance(100, expired::add);
+        assertEquals(List.of("a"), expired);
+        assertTrue(wheel.isScheduled("c"));
+
+        // A deadline already past fires on the next advance
+        wheel.schedule("d", 50);
+        wheel.advance(101, expired::add);
+        assertEquals(List.of("a"), expired);
+        wheel.advance(110, expired::add);
+        assertEquals(List.of("a", "d"), expired);
+    }
+}
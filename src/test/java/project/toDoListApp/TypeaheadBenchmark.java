@@ -0,0 +1,74 @@
+package project.toDoListApp;
+
+import project.toDoListApp.utility.PrefixTrie;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compares completing a prefix to the most used of a large number of task titles with the trie
+ * to filtering and sorting all the titles.
+ * Not run as part of the test suite, run the main method from the IDE.
+ */
+public class TypeaheadBenchmark
+{
+    private static final int TITLES = 100_000;
+    private static final int LIMIT = 8;
+    private static final int ROUNDS = 2_000;
+    private static final String[] WORDS = {"buy", "call", "clean", "check", "fix", "mow", "move",
+            "pay", "plan", "read", "write", "send"};
+    private static final String[] PREFIXES = {"c", "ch", "check 1", "mo", "write 99", "zzz"};
+
+    public static void main(String[] args)
+    {
+        Random random = new Random(42);
+        PrefixTrie trie = new PrefixTrie();
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < TITLES; i++) {
+            // Some titles are used by many tasks, most by a single one
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + random.nextInt(TITLES / 4);
+            trie.add(title);
+            counts.merge(title, 1, Integer::sum);
+        }
+
+        for (String prefix : PREFIXES) {
+            // Warm up both ways before measuring
+            for (int round = 0; round < ROUNDS; round++) {
+                trie.complete(prefix, LIMIT);
+                scan(counts, prefix);
+            }
+            long start = System.nanoTime();
+            for (int round = 0; round < ROUNDS; round++) {
+                trie.complete(prefix, LIMIT);
+            }
+            long trieNanos = (System.nanoTime() - start) / ROUNDS;
+            start = System.nanoTime();
+            for (int round = 0; round < ROUNDS / 100; round++) {
+                scan(counts, prefix);
+            }
+            long scanNanos = (System.nanoTime() - start) / (ROUNDS / 100);
+            System.out.printf("%-10s trie %,10.2f us  scan %,10.2f us  %s%n", "\"" + prefix + "\"",
+                    trieNanos / 1e3, scanNanos / 1e3, trie.complete(prefix, LIMIT));
+        }
+    }
+
+    /**
+     * Returns the most used titles starting with the prefix, filtering and sorting all of them.
+     */
+    private static List<String> scan(Map<String, Integer> counts, String prefix)
+    {
+        List<String> found = new ArrayList<>();
+        for (String title : counts.keySet()) {
+            if (title.startsWith(prefix)) {
+                found.add(title);
+            }
+        }
+        found.sort(Comparator.<String>comparingInt(counts::get).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+        return found.subList(0, Math.min(LIMIT, found.size()));
+    }
+}
@@ -0,0 +1,154 @@
+package project.toDoListApp;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.toDoListApp.model.Task;
+import project.toDoListApp.model.TaskPriority;
+import project.toDoListApp.model.TaskRegister;
+import project.toDoListApp.utility.TaskCommands;
+import project.toDoListApp.utility.UndoHistory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UndoHistoryTest
+{
+    @Test
+    @DisplayName("Test undoing and redoing changes made to several tasks at once")
+    void testUndoBatchChanges()
+    {
+        TaskRegister taskRegister = this.createRegister();
+        UndoHistory history = new UndoHistory(10);
+        List<Task> tasks = this.getTasks(taskRegister);
+        Task first = tasks.get(0);
+
+        history.perform(TaskCommands.setPriority(taskRegister, tasks, TaskPriority.HIGH));
+        history.perform(TaskCommands.setCategory(taskRegister, tasks.subList(0, 3), "Errands"));
+        history.perform(TaskCommands.removeTasks(taskRegister, List.of(first, tasks.get(1))));
+        assertEquals(4, taskRegister.getNumberOfTasks());
+        assertEquals("Delete 2 tasks", history.getUndoName());
+
+        assertTrue(history.undo());
+        assertSame(first, taskRegister.getTask(first.getId()));
+        assertTrue(history.undo());
+        assertEquals(List.of("Category 0", "Category 1", "Category 0"),
+                List.of(tasks.get(0).getCategory(), tasks.get(1).getCategory(), tasks.get(2).getCategory()));
+        assertTrue(history.undo());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(TaskPriority.values()[i % 3], tasks.get(i).getTaskPriority());
+        }
+        assertFalse(history.undo());
+
+        assertTrue(history.redo());
+        assertEquals(tasks.size(), taskRegister.getTasksByPriority(TaskPriority.HIGH).size());
+        assertEquals("Set category", history.getRedoName());
+        // A new change drops the changes undone before it
+        history.perform(TaskCommands.setStatus(taskRegister, tasks, true));
+        assertNull(history.getRedoName());
+        assertEquals("Mark as complete", history.getUndoName());
+    }
+
+    @Test
+    @DisplayName("Test undoing edits of a long description and of the due date")
+    void testUndoEdits()
+    {
+        TaskRegister taskRegister = this.createRegister();
+        UndoHistory history = new UndoHistory(10);
+        Task task = this.getTasks(taskRegister).get(0);
+        String description = "<p>" + "Long description. ".repeat(5000) + "</p>";
+        String edited = description.replace("Long description. </p>", "Long description, edited.</p>");
+
+        history.perform(TaskCommands.editTask(task, task.getTaskName(), description));
+        history.perform(TaskCommands.editTask(task, "New title", edited));
+        history.perform(TaskCommands.setDueDate(task, LocalDate.now().plusDays(3)));
+        // Nothing changed, nothing to undo
+        history.perform(TaskCommands.editTask(task, "New title", edited));
+        assertEquals(3, history.getNumberOfUndoableChanges());
+
+        history.undo();
+        assertNull(task.getDueDate());
+        history.undo();
+        assertEquals("Test title 0", task.getTaskName());
+        assertEquals(description, task.getDescription());
+        history.redo();
+        assertEquals("New title", task.getTaskName());
+        assertEquals(edited, task.getDescription());
+        history.undo();
+        history.undo();
+        assertEquals("Test description", task.getDescription());
+    }
+
+    @Test
+    @DisplayName("Test that the oldest changes are dropped past the limit")
+    void testLimit()
+    {
+        TaskRegister taskRegister = this.createRegister();
+        UndoHistory history = new UndoHistory(3);
+        Task task = this.getTasks(taskRegister).get(0);
+
+        for (int i = 1; i <= 5; i++) {
+            history.perform(TaskCommands.editTask(task, "Title " + i, task.getDescription()));
+        }
+        while (history.undo()) {
+            // Undo all the changes kept
+        }
+
+        assertEquals(0, history.getNumberOfUndoableChanges());
+        assertEquals("Title 2", task.getTaskName());
+    }
+
+    @Test
+    @DisplayName("Test undoing a change of the due date of a task due on the day it was created")
+    void testUndoDueDateOfTaskDueToday()
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        LocalDate today = LocalDate.now();
+        Task task = new Task.TaskBuilder("Test title", "Test description", "Test category")
+                .withDueDate(today)
+                .build();
+        taskRegister.addTask(task);
+        UndoHistory history = new UndoHistory(10);
+
+        history.perform(TaskCommands.setDueDate(task, today.plusDays(3)));
+        assertEquals(today.plusDays(3), task.getDueDate());
+        assertTrue(history.undo());
+        assertEquals(today, task.getDueDate());
+        assertEquals(List.of(task), taskRegister.getTasksDueBetween(today, today));
+
+        // Today is refused as a new due date, so setting it changes nothing
+        history.perform(TaskCommands.setDueDate(task, today));
+        assertNull(history.getUndoName());
+    }
+
+    /**
+     * Returns the tasks of the given register by title.
+     */
+    private List<Task> getTasks(TaskRegister taskRegister)
+    {
+        List<Task> tasks = new ArrayList<>(taskRegister.getAllTasks());
+        tasks.sort(Comparator.comparing(Task::getTaskName));
+        return tasks;
+    }
+
+    /**
+     * Returns a register holding six tasks in two categories with every priority.
+     */
+    private TaskRegister createRegister()
+    {
+        TaskRegister taskRegister = new TaskRegister();
+        for (int i = 0; i < 6; i++) {
+            taskRegister.addTask(new Task.TaskBuilder("Test title " + i, "Test description", "Category " + (i % 2))
+                    .withTaskPriority(TaskPriority.values()[i % 3])
+                    .build());
+        }
+        return taskRegister;
+    }
+}